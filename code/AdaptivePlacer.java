@@ -0,0 +1,322 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the demonstration's table can't be opened
+import java.nio.file.Path; // The location of the demonstration's table
+import java.util.Random; // To sample the placements
+
+/**
+ * Samples ship placements that avoid the cells opponents tend to fire at early (see ShotFrequencyTable). Every possible
+ * placement of every ship length (each start cell, Right or Down) is precomputed once as a bitboard mask. The risk of a
+ * placement is the expected number of early hits on it (the sum of its cells' early-shot probabilities), and it is
+ * weighted by exp(-SELECTIVITY * risk), so low-risk placements are strongly preferred without the placement ever
+ * becoming predictable. The weights of every ship length are held in an alias table (Vose's method), so sampling a
+ * placement is one random number and one lookup instead of rejecting random cells until one fits; the only check left
+ * is whether the placement overlaps a ship already placed, which is a two-word AND. The alias tables are rebuilt (in
+ * place, without allocating) only when the shot frequency table has recorded new games.
+ * (Note: instances hold their own tables and scratch arrays and are not thread-safe; use one instance per board).
+ */
+public class AdaptivePlacer {
+    // Variables
+    private static final double SELECTIVITY = 4; // How strongly low-risk placements are preferred (the weight falls by e^4 for every expected early hit)
+    private final ShotFrequencyTable shotFrequencyTable; // Where opponents fire early
+    private final int[][] firstCells; // firstCells[length][placement] is the cell id of the placement's first (top or leftmost) position
+    private final boolean[][] horizontal; // horizontal[length][placement] is true if the placement goes Right, false if it goes Down
+    private final long[][] lowMasks; // lowMasks[length][placement] is the first word of the placement's bitboard (cells 0-63)
+    private final long[][] highMasks; // highMasks[length][placement] is the second word of the placement's bitboard (cells 64-99)
+    private final double[][] aliasProbabilities; // aliasProbabilities[length][slot] is the chance that the slot picks its own placement rather than its alias
+    private final int[][] aliases; // aliases[length][slot] is the placement the slot picks otherwise
+    private final double[] cellProbabilities; // cellProbabilities[cell] is the probability that an opponent fires at the cell early
+    private final double[] weights; // Scratch array holding the weights of a length's placements (scaled so they average 1)
+    private final int[] small; // Scratch stack of the slots whose scaled weight is below 1
+    private final int[] large; // Scratch stack of the slots whose scaled weight is at least 1
+    private long builtGames; // The number of games the shot frequency table had recorded when the alias tables were built
+
+    // Constructors
+
+    /**
+     * --Constructor for AdaptivePlacer--
+     * Precomputes the placement masks of every length of the standard fleet, and builds their alias tables.
+     *
+     * @param shotFrequencyTable: where opponents fire early
+     */
+    public AdaptivePlacer(ShotFrequencyTable shotFrequencyTable) {
+        this.shotFrequencyTable = shotFrequencyTable;
+        firstCells = new int[11][]; // Ships are at most 10 positions long
+        horizontal = new boolean[11][];
+        lowMasks = new long[11][];
+        highMasks = new long[11][];
+        aliasProbabilities = new double[11][];
+        aliases = new int[11][];
+        int largestCount = 0;
+        for (int shipLength : Ship.getStandardFleetLengths()) {
+            if (firstCells[shipLength] == null) {
+                largestCount = Math.max(largestCount, this.precomputePlacements(shipLength));
+            }
+        }
+        cellProbabilities = new double[100];
+        weights = new double[largestCount];
+        small = new int[largestCount];
+        large = new int[largestCount];
+        builtGames = -1;
+        this.refresh();
+    }
+
+    // Methods
+
+    /**
+     * Rebuilds the alias tables if the shot frequency table has recorded new games since they were built.
+     */
+    public void refresh() {
+        if (shotFrequencyTable.getGames() == builtGames) {
+            return;
+        }
+        builtGames = shotFrequencyTable.copyProbabilities(cellProbabilities);
+        for (int shipLength = 0; shipLength < firstCells.length; shipLength++) {
+            if (firstCells[shipLength] != null) {
+                this.buildAliasTable(shipLength);
+            }
+        }
+    }
+
+    /**
+     * Samples a placement of a ship of the passed length from its alias table.
+     *
+     * @param shipLength:            the length of the ship
+     * @param randomNumberGenerator: the random number generator
+     * @return the index of the placement
+     */
+    public int samplePlacement(int shipLength, Random randomNumberGenerator) {
+        int slot = randomNumberGenerator.nextInt(firstCells[shipLength].length);
+        return (randomNumberGenerator.nextDouble() < aliasProbabilities[shipLength][slot]) ? slot : aliases[shipLength][slot];
+    }
+
+    /**
+     * @param shipLength: the length of the ship
+     * @param placement:  the index of the placement
+     * @param occupied:   the bitboard of the cells already holding a ship
+     * @return boolean: true if the placement covers a cell that already holds a ship, false otherwise
+     */
+    public boolean overlaps(int shipLength, int placement, long[] occupied) {
+        return ((lowMasks[shipLength][placement] & occupied[0]) | (highMasks[shipLength][placement] & occupied[1])) != 0;
+    }
+
+    /**
+     * Adds the cells of the placement to the bitboard of occupied cells.
+     *
+     * @param shipLength: the length of the ship
+     * @param placement:  the index of the placement
+     * @param occupied:   the bitboard of the cells already holding a ship
+     */
+    public void occupy(int shipLength, int placement, long[] occupied) {
+        occupied[0] |= lowMasks[shipLength][placement];
+        occupied[1] |= highMasks[shipLength][placement];
+    }
+
+    /**
+     * Precomputes every placement of a ship of the passed length: its first cell, its direction and its bitboard.
+     *
+     * @param shipLength: the length of the ship
+     * @return the number of placements
+     */
+    private int precomputePlacements(int shipLength) {
+        int count = 2 * 10 * (11 - shipLength); // Every row and column holds (11 - length) placements in each direction
+        firstCells[shipLength] = new int[count];
+        horizontal[shipLength] = new boolean[count];
+        lowMasks[shipLength] = new long[count];
+        highMasks[shipLength] = new long[count];
+        aliasProbabilities[shipLength] = new double[count];
+        aliases[shipLength] = new int[count];
+        long[] mask = new long[BitBoard.WORDS];
+
+        int placement = 0;
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                for (Direction direction : new Direction[]{Direction.RIGHT, Direction.DOWN}) {
+                    if ((i + (shipLength - 1) * direction.getStepI() > 9) || (j + (shipLength - 1) * direction.getStepJ() > 9)) { // Would leave the board
+                        continue;
+                    }
+                    BitBoard.clearAll(mask);
+                    for (int k = 0; k < shipLength; k++) {
+                        BitBoard.set(mask, Board.cellOf(i + k * direction.getStepI(), j + k * direction.getStepJ()));
+                    }
+                    firstCells[shipLength][placement] = Board.cellOf(i, j);
+                    horizontal[shipLength][placement] = direction == Direction.RIGHT;
+                    lowMasks[shipLength][placement] = mask[0];
+                    highMasks[shipLength][placement] = mask[1];
+                    placement++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Builds the alias table of a ship length (Vose's method) from the weights of its placements, exp(-SELECTIVITY *
+     * risk), where the risk is the sum of the early-shot probabilities of the placement's cells.
+     *
+     * @param shipLength: the length of the ship
+     */
+    private void buildAliasTable(int shipLength) {
+        int count = firstCells[shipLength].length;
+        double[] probabilities = aliasProbabilities[shipLength];
+        int[] alias = aliases[shipLength];
+        double totalWeight = 0;
+
+        for (int placement = 0; placement < count; placement++) {
+            weights[placement] = Math.exp(-SELECTIVITY * this.getRisk(shipLength, placement));
+            totalWeight += weights[placement];
+        }
+
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int placement = 0; placement < count; placement++) {
+            weights[placement] *= count / totalWeight; // Scaled so the weights average 1
+            if (weights[placement] < 1) {
+                small[smallCount++] = placement;
+            } else {
+                large[largeCount++] = placement;
+            }
+        }
+        while ((smallCount > 0) && (largeCount > 0)) { // Every small slot is topped up by a large placement
+            int lesser = small[--smallCount];
+            int greater = large[--largeCount];
+            probabilities[lesser] = weights[lesser];
+            alias[lesser] = greater;
+            weights[greater] -= 1 - weights[lesser];
+            if (weights[greater] < 1) {
+                small[smallCount++] = greater;
+            } else {
+                large[largeCount++] = greater;
+            }
+        }
+        while (largeCount > 0) { // The rest are (up to rounding) exactly 1
+            int greater = large[--largeCount];
+            probabilities[greater] = 1;
+            alias[greater] = greater;
+        }
+        while (smallCount > 0) {
+            int lesser = small[--smallCount];
+            probabilities[lesser] = 1;
+            alias[lesser] = lesser;
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @param shipLength: the length of the ship
+     * @param placement:  the index of the placement
+     * @return the cell id of the placement's first (top or leftmost) position
+     */
+    public int getFirstCell(int shipLength, int placement) {
+        return firstCells[shipLength][placement];
+    }
+
+    /**
+     * @param shipLength: the length of the ship
+     * @param placement:  the index of the placement
+     * @return the direction of the placement from its first position (Right or Down)
+     */
+    public Direction getDirection(int shipLength, int placement) {
+        return horizontal[shipLength][placement] ? Direction.RIGHT : Direction.DOWN;
+    }
+
+    /**
+     * @param shipLength: the length of the ship
+     * @param placement:  the index of the placement
+     * @return the expected number of early hits on the placement, given the probabilities the tables were built from
+     */
+    public double getRisk(int shipLength, int placement) {
+        int step = horizontal[shipLength][placement] ? 1 : 10;
+        double risk = 0;
+        for (int k = 0; k < shipLength; k++) {
+            risk += cellProbabilities[firstCells[shipLength][placement] + k * step];
+        }
+        return risk;
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: AdaptivePlacer [table] [fleets] - compares random and adaptive placement of [fleets] fleets (100000 by
+     * default) against a simulated opponent who fires at the middle of the board more often than at its edges. If the
+     * shot frequency table (demoShotTable.bin by default) has no games yet, 1000 of the simulated opponent's games are
+     * recorded in it first. Outputs the time taken to place a fleet and the mean number of the opponent's first
+     * ShotFrequencyTable.EARLY_SHOTS shots that hit it, for both ways of placing.
+     *
+     * @param args: the command line arguments
+     * @throws IOException if the table can't be opened or written
+     */
+    public static void main(String[] args) throws IOException {
+        ShotFrequencyTable table = new ShotFrequencyTable(Path.of((args.length > 0) ? args[0] : "demoShotTable.bin"));
+        int fleets = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+        Random randomNumberGenerator = new Random();
+        int[] earlyShots = new int[ShotFrequencyTable.EARLY_SHOTS];
+        if (table.getGames() == 0) {
+            for (int game = 0; game < 1000; game++) {
+                AdaptivePlacer.simulateEarlyShots(randomNumberGenerator, earlyShots);
+                table.recordGame(earlyShots, earlyShots.length);
+            }
+        }
+
+        ComputerBoard randomBoard = new ComputerBoard();
+        ComputerBoard adaptiveBoard = new ComputerBoard();
+        adaptiveBoard.setAdaptivePlacer(new AdaptivePlacer(table));
+        for (ComputerBoard board : new ComputerBoard[]{randomBoard, adaptiveBoard}) {
+            AdaptivePlacer.placeFleets(board, fleets, null, null); // Warms up the JIT, so the timed run doesn't pay for compiling
+            long[] earlyHits = new long[1];
+            long startTime = System.nanoTime();
+            AdaptivePlacer.placeFleets(board, fleets, null, null);
+            long elapsedNanos = System.nanoTime() - startTime;
+            AdaptivePlacer.placeFleets(board, fleets, earlyShots, earlyHits);
+            System.out.printf("%-8s placement: %.2f us per fleet, %.3f of the opponent's first %d shots hit%n", (board == randomBoard) ? "Random" : "Adaptive", elapsedNanos / 1e3 / fleets, earlyHits[0] / (double) fleets, earlyShots.length);
+        }
+        System.out.println("The table holds " + table.getGames() + " games");
+        table.close();
+    }
+
+    /**
+     * Places fleets on a board over and over, optionally counting how many of a fresh set of simulated early shots hit
+     * each of them.
+     *
+     * @param board:      the board
+     * @param fleets:     the number of fleets to place
+     * @param earlyShots: an array to hold the simulated early shots, or null if they aren't counted
+     * @param earlyHits:  earlyHits[0] is increased by the number of early shots that hit, unless earlyShots is null
+     */
+    private static void placeFleets(ComputerBoard board, int fleets, int[] earlyShots, long[] earlyHits) {
+        Random randomNumberGenerator = new Random();
+        for (int fleet = 0; fleet < fleets; fleet++) {
+            board.clear();
+            board.generateComputerBoard();
+            if (earlyShots != null) {
+                AdaptivePlacer.simulateEarlyShots(randomNumberGenerator, earlyShots);
+                for (int cell : earlyShots) {
+                    earlyHits[0] += board.isShip(cell) ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the passed array with the distinct first shots of a simulated opponent, who is 6 times as likely to fire at
+     * a cell of the middle 4x4 square, and 3 times as likely to fire at a cell of the ring around it, as at an edge cell.
+     *
+     * @param randomNumberGenerator: the random number generator
+     * @param earlyShots:            the array to fill with cell ids
+     */
+    private static void simulateEarlyShots(Random randomNumberGenerator, int[] earlyShots) {
+        long[] fired = new long[BitBoard.WORDS];
+        for (int shot = 0; shot < earlyShots.length; ) {
+            int cell = randomNumberGenerator.nextInt(100);
+            int ring = Math.max(Math.abs(2 * Board.cellIndexI(cell) - 9), Math.abs(2 * Board.cellIndexJ(cell) - 9)) / 2; // 0 for the middle 2x2 square, up to 4 for the edge
+            int weight = (ring <= 1) ? 6 : ((ring == 2) ? 3 : 1);
+            if ((!BitBoard.get(fired, cell)) && (randomNumberGenerator.nextInt(6) < weight)) {
+                BitBoard.set(fired, cell);
+                earlyShots[shot++] = cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.lang.management.CompilationMXBean; // Reports the time the JIT has spent compiling
+import java.lang.management.ManagementFactory; // To get the JVM's thread and compilation beans
+
+/**
+ * A check that the headless move loop (see HeadlessGame) doesn't allocate once it has warmed up. For every hunt mode,
+ * it plays warm-up rounds of games until QUIET_ROUNDS in a row allocate nothing and the JIT compiles nothing during
+ * them, then measures the bytes allocated by the current thread (through the ThreadMXBean) across a fixed number of
+ * moves, once. Exits with status 1 if any mode allocated a single byte, so it can be run as a regression check after
+ * every change to the move pipeline. (Note: the JIT has to be quiet as well, because while it is still replacing the
+ * move loop's compiled code, the switches between tiers can allocate a few bytes on the running thread, which would be
+ * measured as allocations of the loop).
+ */
+public final class AllocationCheck {
+    // Variables
+    private static final long WARM_UP_MOVES = 50000; // The number of moves per warm-up round
+    private static final int MAX_WARM_UP_ROUNDS = 40; // The number of warm-up rounds after which the loop is measured regardless
+    private static final int QUIET_ROUNDS = 3; // The number of warm-up rounds in a row that must allocate nothing while the JIT compiles nothing
+    private static final CompilationMXBean compilationBean = ManagementFactory.getCompilationMXBean(); // Reports the time the JIT has spent compiling
+    private static final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean(); // Reports the bytes allocated by a thread
+
+    // Constructors
+
+    /**
+     * --Constructor for AllocationCheck--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private AllocationCheck() {
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: AllocationCheck [moves] - measures [moves] moves (100000 by default) of the headless move loop in every
+     * hunt mode, after warming up. Outputs the bytes allocated per mode, and exits with status 1 if any were.
+     *
+     * @param args: the command line arguments
+     */
+    public static void main(String[] args) {
+        long measuredMoves = (args.length > 0) ? Long.parseLong(args[0]) : 100000;
+        boolean passed = true;
+
+        for (HuntMode huntMode : HuntMode.values()) {
+            HeadlessGame game = new HeadlessGame(huntMode);
+            int warmUpRounds = 0;
+            int cleanRounds = 0; // The number of warm-up rounds in a row that allocated nothing while the JIT compiled nothing
+            while ((cleanRounds < QUIET_ROUNDS) && (warmUpRounds < MAX_WARM_UP_ROUNDS)) {
+                long compilationMillis = compilationBean.getTotalCompilationTime();
+                boolean clean = (AllocationCheck.measure(game, WARM_UP_MOVES) == 0) && (compilationBean.getTotalCompilationTime() == compilationMillis);
+                cleanRounds = clean ? cleanRounds + 1 : 0;
+                warmUpRounds++;
+            }
+
+            long allocatedBytes = AllocationCheck.measure(game, measuredMoves);
+            System.out.println(huntMode + ": " + allocatedBytes + " bytes allocated over " + measuredMoves + " moves (after " + warmUpRounds + " warm-up rounds)");
+            passed &= allocatedBytes == 0;
+        }
+
+        if (!passed) {
+            System.out.println("FAILED: the headless move loop allocates");
+            System.exit(1);
+        }
+        System.out.println("PASSED: the headless move loop is allocation-free");
+    }
+
+    /**
+     * Plays games until at least the passed number of moves have been made, and measures the bytes the current thread
+     * allocated meanwhile. (Note: the last game is finished, so slightly more moves may be made).
+     *
+     * @param game:  the warmed-up game
+     * @param moves: the number of moves to measure
+     * @return the number of bytes allocated
+     */
+    private static long measure(HeadlessGame game, long moves) {
+        threadBean.getCurrentThreadAllocatedBytes(); // The first call may allocate
+        long lastMove = game.getMoves() + moves;
+        long startBytes = threadBean.getCurrentThreadAllocatedBytes();
+        while (game.getMoves() < lastMove) {
+            game.play();
+        }
+        return threadBean.getCurrentThreadAllocatedBytes() - startBytes;
+    }
+}
@@ -0,0 +1,508 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * A data-oriented simulator that plays thousands of computer vs computer games in lockstep, for parameter sweeps over
+ * the computer's settings (e.g. which HuntMode each side uses). Instead of a graph of Computer/ComputerBoard/Ship
+ * objects per game, every game is a set of entries in parallel primitive arrays (struct-of-arrays): one fleet bitboard
+ * and one shot bitboard per side, one bitboard per ship with a hit counter, the attacker's unresolved hits, a random
+ * number generator state and a turn index. Each .step() advances every unfinished game by one shot, walking the arrays
+ * in order, and never allocates.
+ * The computers follow the same rules as Computer: finish off unresolved hits first (preferring cells that extend a
+ * line of hits), otherwise hunt in RANDOM or PARITY mode. Two simplifications keep every game in a few bitboards: when
+ * a ship is sunk, its own cells are retired from the unresolved hits (instead of being inferred from the hits around
+ * the sinking shot), and fleets are placed by choosing each ship's placement uniformly at random among those that don't
+ * overlap the ships already placed. Bitboards are held as two longs (see BitBoard): cells 0-63 in a low word and cells
+ * 64-99 in a high word.
+ */
+public class BatchSimulator {
+    // Variables
+    private static final int SIDES = 2; // The number of sides per game
+    private static final long HIGH_WORD_MASK = (1L << 36) - 1; // The bits of the high word that hold cells (64-99)
+    private static final int[] shipLengths = Ship.getStandardFleetLengths(); // The lengths of the standard fleet
+    private static final int SHIPS = shipLengths.length; // The number of ships per side
+    private static final int ALL_SHIPS = (1 << SHIPS) - 1; // The alive-ship bitmask of a side with no sunk ships
+    private static final long[][] placementLows = new long[11][]; // placementLows[length][p] is the low word of the p-th placement of a ship of that length
+    private static final long[][] placementHighs = new long[11][]; // placementHighs[length][p] is the high word of the same placement
+    private static final long[][] latticeLows = new long[11][]; // latticeLows[length][offset] is the low word of the cells with (i + j) % length == offset
+    private static final long[][] latticeHighs = new long[11][]; // latticeHighs[length][offset] is the high word of the same lattice
+    private static final long NOT_FIRST_COLUMN_LOW; // The cells whose column isn't 0 (low word)
+    private static final long NOT_FIRST_COLUMN_HIGH; // The cells whose column isn't 0 (high word)
+    private static final long NOT_LAST_COLUMN_LOW; // The cells whose column isn't 9 (low word)
+    private static final long NOT_LAST_COLUMN_HIGH; // The cells whose column isn't 9 (high word)
+
+    private final int games; // The number of games in the batch
+    private final HuntMode[] huntModes; // The hunt mode of each side
+    private final long[] fleetLows; // fleetLows[game * 2 + side]: the side's ship cells (low word)
+    private final long[] fleetHighs; // fleetHighs[game * 2 + side]: the side's ship cells (high word)
+    private final long[] shotLows; // shotLows[game * 2 + side]: the cells of the side's board that have been fired at (low word)
+    private final long[] shotHighs; // shotHighs[game * 2 + side]: the same (high word)
+    private final long[] unresolvedLows; // unresolvedLows[game * 2 + side]: the side's hits on the enemy that aren't explained by a sunk ship (low word)
+    private final long[] unresolvedHighs; // unresolvedHighs[game * 2 + side]: the same (high word)
+    private final long[] shipLows; // shipLows[(game * 2 + side) * SHIPS + ship]: the ship's cells (low word)
+    private final long[] shipHighs; // shipHighs[(game * 2 + side) * SHIPS + ship]: the ship's cells (high word)
+    private final byte[] shipHits; // shipHits[(game * 2 + side) * SHIPS + ship]: the number of the ship's cells that have been hit
+    private final int[] aliveShips; // aliveShips[game * 2 + side]: a bitmask of the side's ships that haven't been sunk
+    private final int[] huntOffsets; // huntOffsets[game * 2 + side]: the side's parity lattice offset
+    private final long[] randomStates; // randomStates[game]: the game's xorshift random number generator state
+    private final int[] turns; // turns[game]: the number of shots fired so far; side turns % 2 fires next
+    private final int[] winners; // winners[game]: the winning side, or -1 while the game is running
+    private int runningGames; // The number of games that haven't finished
+
+    static { // Precomputes the placements, lattices and column masks once
+        long notFirstLow = 0;
+        long notFirstHigh = 0;
+        long notLastLow = 0;
+        long notLastHigh = 0;
+        for (int cell = 0; cell < 100; cell++) {
+            if (Board.cellIndexJ(cell) != 0) {
+                if (cell < 64) {
+                    notFirstLow |= 1L << cell;
+                } else {
+                    notFirstHigh |= 1L << cell;
+                }
+            }
+            if (Board.cellIndexJ(cell) != 9) {
+                if (cell < 64) {
+                    notLastLow |= 1L << cell;
+                } else {
+                    notLastHigh |= 1L << cell;
+                }
+            }
+        }
+        NOT_FIRST_COLUMN_LOW = notFirstLow;
+        NOT_FIRST_COLUMN_HIGH = notFirstHigh;
+        NOT_LAST_COLUMN_LOW = notLastLow;
+        NOT_LAST_COLUMN_HIGH = notLastHigh;
+
+        for (int shipLength = 1; shipLength <= 10; shipLength++) {
+            int placements = (shipLength == 1) ? 100 : 2 * 10 * (11 - shipLength); // Right and Down placements (a ship of length 1 only once)
+            placementLows[shipLength] = new long[placements];
+            placementHighs[shipLength] = new long[placements];
+            int p = 0;
+            for (int cell = 0; cell < 100; cell++) {
+                int i = Board.cellIndexI(cell);
+                int j = Board.cellIndexJ(cell);
+                if (j + shipLength <= 10) { // Right
+                    for (int k = 0; k < shipLength; k++) {
+                        BatchSimulator.addCell(placementLows[shipLength], placementHighs[shipLength], p, cell + k);
+                    }
+                    p++;
+                }
+                if ((i + shipLength <= 10) && (shipLength > 1)) { // Down
+                    for (int k = 0; k < shipLength; k++) {
+                        BatchSimulator.addCell(placementLows[shipLength], placementHighs[shipLength], p, cell + 10 * k);
+                    }
+                    p++;
+                }
+            }
+
+            latticeLows[shipLength] = new long[shipLength];
+            latticeHighs[shipLength] = new long[shipLength];
+            for (int cell = 0; cell < 100; cell++) {
+                BatchSimulator.addCell(latticeLows[shipLength], latticeHighs[shipLength], (Board.cellIndexI(cell) + Board.cellIndexJ(cell)) % shipLength, cell);
+            }
+        }
+    }
+
+    // Constructors
+
+    /**
+     * --Constructor for BatchSimulator--
+     * Allocates every array of the batch once. Call .reset() to set up the games before stepping them.
+     *
+     * @param games:     the number of games in the batch
+     * @param firstMode: the hunt mode of side 0, which fires first (RANDOM or PARITY)
+     * @param otherMode: the hunt mode of side 1 (RANDOM or PARITY)
+     */
+    public BatchSimulator(int games, HuntMode firstMode, HuntMode otherMode) {
+        if (((firstMode != HuntMode.RANDOM) && (firstMode != HuntMode.PARITY)) || ((otherMode != HuntMode.RANDOM) && (otherMode != HuntMode.PARITY))) {
+            throw new IllegalArgumentException("The batch simulator only supports the RANDOM and PARITY hunt modes");
+        }
+        this.games = games;
+        huntModes = new HuntMode[]{firstMode, otherMode};
+        fleetLows = new long[games * SIDES];
+        fleetHighs = new long[games * SIDES];
+        shotLows = new long[games * SIDES];
+        shotHighs = new long[games * SIDES];
+        unresolvedLows = new long[games * SIDES];
+        unresolvedHighs = new long[games * SIDES];
+        shipLows = new long[games * SIDES * SHIPS];
+        shipHighs = new long[games * SIDES * SHIPS];
+        shipHits = new byte[games * SIDES * SHIPS];
+        aliveShips = new int[games * SIDES];
+        huntOffsets = new int[games * SIDES];
+        randomStates = new long[games];
+        turns = new int[games];
+        winners = new int[games];
+    }
+
+    // Methods
+
+    /**
+     * Sets up every game of the batch from scratch: places both fleets and clears every shot, using random number
+     * generators seeded from the passed seed (so the same seed always plays the same games).
+     *
+     * @param seed: the seed of the batch
+     */
+    public void reset(long seed) {
+        for (int game = 0; game < games; game++) {
+            randomStates[game] = BatchSimulator.mix(seed + game) | 1; // Never 0, which xorshift can't leave
+            turns[game] = 0;
+            winners[game] = -1;
+            for (int side = 0; side < SIDES; side++) {
+                int sideIndex = game * SIDES + side;
+                this.placeFleet(game, sideIndex);
+                shotLows[sideIndex] = 0;
+                shotHighs[sideIndex] = 0;
+                unresolvedLows[sideIndex] = 0;
+                unresolvedHighs[sideIndex] = 0;
+                aliveShips[sideIndex] = ALL_SHIPS;
+                huntOffsets[sideIndex] = this.nextInt(game, 10);
+            }
+        }
+        runningGames = games;
+    }
+
+    /**
+     * Places a side's fleet: each ship, in order, gets a placement chosen uniformly at random among the placements of
+     * its length, retrying until it doesn't overlap the ships already placed.
+     *
+     * @param game:      the game
+     * @param sideIndex: the side's index (game * 2 + side)
+     */
+    private void placeFleet(int game, int sideIndex) {
+        long fleetLow = 0;
+        long fleetHigh = 0;
+
+        for (int ship = 0; ship < SHIPS; ship++) {
+            long[] lows = placementLows[shipLengths[ship]];
+            long[] highs = placementHighs[shipLengths[ship]];
+            int p;
+            do {
+                p = this.nextInt(game, lows.length);
+            } while (((lows[p] & fleetLow) != 0) || ((highs[p] & fleetHigh) != 0));
+            fleetLow |= lows[p];
+            fleetHigh |= highs[p];
+            shipLows[sideIndex * SHIPS + ship] = lows[p];
+            shipHighs[sideIndex * SHIPS + ship] = highs[p];
+            shipHits[sideIndex * SHIPS + ship] = 0;
+        }
+        fleetLows[sideIndex] = fleetLow;
+        fleetHighs[sideIndex] = fleetHigh;
+    }
+
+    /**
+     * Advances every unfinished game by one shot: the side whose turn it is chooses a cell and fires it at the other
+     * side's fleet.
+     *
+     * @return the number of games that are still running
+     */
+    public int step() {
+        for (int game = 0; game < games; game++) {
+            if (winners[game] == -1) {
+                int side = turns[game] & 1; // The side firing this turn
+                int cell = this.chooseCell(game, side);
+                this.fire(game, side, cell);
+                turns[game]++;
+            }
+        }
+        return runningGames;
+    }
+
+    /**
+     * Steps every game until they have all finished.
+     */
+    public void run() {
+        while (this.step() > 0) {
+            // Every step advances each running game by one shot
+        }
+    }
+
+    /**
+     * Chooses the cell the passed side fires at: an unknown cell extending a line of unresolved hits, otherwise an
+     * unknown neighbour of an unresolved hit, otherwise a hunt cell (on the parity lattice of the smallest surviving
+     * enemy ship in PARITY mode, or any unknown cell in RANDOM mode).
+     *
+     * @param game: the game
+     * @param side: the side firing
+     * @return the cell id of the chosen cell
+     */
+    private int chooseCell(int game, int side) {
+        int attacker = game * SIDES + side;
+        int defender = game * SIDES + (1 - side);
+        long unknownLow = ~shotLows[defender]; // Cells of the enemy's board that haven't been fired at
+        long unknownHigh = ~shotHighs[defender] & HIGH_WORD_MASK;
+        long hitLow = unresolvedLows[attacker];
+        long hitHigh = unresolvedHighs[attacker];
+
+        if ((hitLow | hitHigh) != 0) { // Target mode
+            // Cells c with c and c - 1 unresolved, then c and c + 1, c and c - 10, c and c + 10
+            long rightEndLow = hitLow & (hitLow << 1) & NOT_FIRST_COLUMN_LOW;
+            long rightEndHigh = hitHigh & BatchSimulator.shiftUpHigh(hitLow, hitHigh, 1) & NOT_FIRST_COLUMN_HIGH;
+            long leftEndLow = hitLow & BatchSimulator.shiftDownLow(hitLow, hitHigh, 1) & NOT_LAST_COLUMN_LOW;
+            long leftEndHigh = hitHigh & (hitHigh >>> 1) & NOT_LAST_COLUMN_HIGH;
+            long bottomEndLow = hitLow & (hitLow << 10);
+            long bottomEndHigh = hitHigh & BatchSimulator.shiftUpHigh(hitLow, hitHigh, 10);
+            long topEndLow = hitLow & BatchSimulator.shiftDownLow(hitLow, hitHigh, 10);
+            long topEndHigh = hitHigh & (hitHigh >>> 10);
+
+            long extensionLow = ((rightEndLow << 1) & NOT_FIRST_COLUMN_LOW) | (BatchSimulator.shiftDownLow(leftEndLow, leftEndHigh, 1) & NOT_LAST_COLUMN_LOW)
+                    | (bottomEndLow << 10) | BatchSimulator.shiftDownLow(topEndLow, topEndHigh, 10);
+            long extensionHigh = (BatchSimulator.shiftUpHigh(rightEndLow, rightEndHigh, 1) & NOT_FIRST_COLUMN_HIGH) | ((leftEndHigh >>> 1) & NOT_LAST_COLUMN_HIGH)
+                    | BatchSimulator.shiftUpHigh(bottomEndLow, bottomEndHigh, 10) | (topEndHigh >>> 10);
+            extensionLow &= unknownLow;
+            extensionHigh &= unknownHigh;
+            if ((extensionLow | extensionHigh) != 0) {
+                return this.randomCell(game, extensionLow, extensionHigh);
+            }
+
+            long neighbourLow = ((hitLow << 1) & NOT_FIRST_COLUMN_LOW) | (BatchSimulator.shiftDownLow(hitLow, hitHigh, 1) & NOT_LAST_COLUMN_LOW)
+                    | (hitLow << 10) | BatchSimulator.shiftDownLow(hitLow, hitHigh, 10);
+            long neighbourHigh = (BatchSimulator.shiftUpHigh(hitLow, hitHigh, 1) & NOT_FIRST_COLUMN_HIGH) | ((hitHigh >>> 1) & NOT_LAST_COLUMN_HIGH)
+                    | BatchSimulator.shiftUpHigh(hitLow, hitHigh, 10) | (hitHigh >>> 10);
+            neighbourLow &= unknownLow;
+            neighbourHigh &= unknownHigh;
+            if ((neighbourLow | neighbourHigh) != 0) {
+                return this.randomCell(game, neighbourLow, neighbourHigh);
+            }
+        }
+
+        if (huntModes[side] == HuntMode.PARITY) { // Hunt mode; the lattice of the smallest surviving enemy ship
+            int smallestLength = 10;
+            for (int alive = aliveShips[defender]; alive != 0; alive &= alive - 1) {
+                smallestLength = Math.min(smallestLength, shipLengths[Integer.numberOfTrailingZeros(alive)]);
+            }
+            int offset = huntOffsets[attacker] % smallestLength;
+            long latticeLow = latticeLows[smallestLength][offset] & unknownLow;
+            long latticeHigh = latticeHighs[smallestLength][offset] & unknownHigh;
+            if ((latticeLow | latticeHigh) != 0) {
+                return this.randomCell(game, latticeLow, latticeHigh);
+            }
+        }
+        return this.randomCell(game, unknownLow, unknownHigh);
+    }
+
+    /**
+     * Fires the passed side's shot at the other side's fleet and updates both sides: the shot bitboard, the hit ship's
+     * counter and, if the ship sinks, the alive ships and the attacker's unresolved hits. Ends the game if the last
+     * ship sinks.
+     *
+     * @param game: the game
+     * @param side: the side firing
+     * @param cell: the cell id of the shot
+     */
+    private void fire(int game, int side, int cell) {
+        int attacker = game * SIDES + side;
+        int defender = game * SIDES + (1 - side);
+        long cellLow = (cell < 64) ? (1L << cell) : 0;
+        long cellHigh = (cell < 64) ? 0 : (1L << cell);
+
+        shotLows[defender] |= cellLow;
+        shotHighs[defender] |= cellHigh;
+        if (((fleetLows[defender] & cellLow) | (fleetHighs[defender] & cellHigh)) == 0) { // Miss
+            return;
+        }
+
+        unresolvedLows[attacker] |= cellLow;
+        unresolvedHighs[attacker] |= cellHigh;
+        for (int ship = 0; ship < SHIPS; ship++) {
+            int shipIndex = defender * SHIPS + ship;
+            if (((shipLows[shipIndex] & cellLow) | (shipHighs[shipIndex] & cellHigh)) != 0) { // The ship holding the cell
+                if (++shipHits[shipIndex] == shipLengths[ship]) { // Sunk
+                    aliveShips[defender] &= ~(1 << ship);
+                    unresolvedLows[attacker] &= ~shipLows[shipIndex];
+                    unresolvedHighs[attacker] &= ~shipHighs[shipIndex];
+                    if (aliveShips[defender] == 0) {
+                        winners[game] = side;
+                        runningGames--;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Chooses a uniformly random cell from the passed non-empty bitboard, using the game's random number generator.
+     *
+     * @param game: the game
+     * @param low:  the bitboard's low word
+     * @param high: the bitboard's high word
+     * @return the cell id of the chosen cell
+     */
+    private int randomCell(int game, long low, long high) {
+        int lowCount = Long.bitCount(low);
+        int n = this.nextInt(game, lowCount + Long.bitCount(high));
+        if (n >= lowCount) {
+            n -= lowCount;
+            low = high;
+            lowCount = 64;
+        } else {
+            lowCount = 0;
+        }
+        for (; n > 0; n--) { // Drop the n lowest cells
+            low &= low - 1;
+        }
+        return lowCount + Long.numberOfTrailingZeros(low);
+    }
+
+    /**
+     * Advances the game's xorshift random number generator and returns a random int from 0 (inclusive) to the passed
+     * bound (exclusive).
+     *
+     * @param game:  the game
+     * @param bound: the exclusive upper bound
+     * @return the random int
+     */
+    private int nextInt(int game, int bound) {
+        long state = randomStates[game];
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        randomStates[game] = state;
+        return (int) ((((state * 0x2545F4914F6CDD1DL) >>> 32) * bound) >>> 32);
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @param game: the game
+     * @return the winning side of the game (0 or 1), or -1 if the game is still running
+     */
+    public int getWinner(int game) {
+        return winners[game];
+    }
+
+    /**
+     * @param game: the game
+     * @return the number of shots fired in the game so far, by both sides
+     */
+    public int getTurns(int game) {
+        return turns[game];
+    }
+
+    /**
+     * @return the number of games in the batch
+     */
+    public int getGames() {
+        return games;
+    }
+
+    // Static Methods
+
+    /**
+     * Adds a cell to the index-th bitboard of a pair of low/high word arrays.
+     */
+    private static void addCell(long[] lows, long[] highs, int index, int cell) {
+        if (cell < 64) {
+            lows[index] |= 1L << cell;
+        } else {
+            highs[index] |= 1L << cell;
+        }
+    }
+
+    /**
+     * @return the high word of the bitboard (low, high) shifted towards higher cell ids by the passed amount (1-63)
+     */
+    private static long shiftUpHigh(long low, long high, int shift) {
+        return ((high << shift) | (low >>> (64 - shift))) & HIGH_WORD_MASK;
+    }
+
+    /**
+     * @return the low word of the bitboard (low, high) shifted towards lower cell ids by the passed amount (1-63)
+     */
+    private static long shiftDownLow(long low, long high, int shift) {
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * @return a well-mixed 64-bit value for the passed value (the SplitMix64 finalizer), used to seed each game
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Plays the passed number of games with the per-object game loop (two Computers firing at each other's
+     * ComputerBoards), for comparison with the batch simulator.
+     *
+     * @param games:     the number of games
+     * @param firstMode: the hunt mode of the computer that fires first
+     * @param otherMode: the hunt mode of the other computer
+     * @return the total number of shots fired
+     */
+    private static long playObjectGames(int games, HuntMode firstMode, HuntMode otherMode) {
+        long shots = 0;
+
+        for (int game = 0; game < games; game++) {
+            Computer[] computers = {new Computer(), new Computer()};
+            computers[0].setHuntMode(firstMode);
+            computers[1].setHuntMode(otherMode);
+            computers[0].generateBoard();
+            computers[1].generateBoard();
+            for (int side = 0; (!computers[0].checkWin()) && (!computers[1].checkWin()); side = 1 - side) {
+                int cell = computers[side].chooseMove();
+                computers[side].recordMoveResult(cell, computers[1 - side].getBoard().receiveShot(cell));
+                shots++;
+            }
+        }
+        return shots;
+    }
+
+    /**
+     * Usage: BatchSimulator [games] [rounds] - plays [rounds] batches (5 by default) of [games] games (10000 by
+     * default) for every pairing of the RANDOM and PARITY hunt modes, outputs the first side's win rate and the average
+     * game length, then compares the batch simulator's throughput against the per-object game loop (each timed after
+     * a warm-up).
+     *
+     * @param args: the command line arguments
+     */
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+        int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        HuntMode[] modes = {HuntMode.RANDOM, HuntMode.PARITY};
+
+        for (HuntMode firstMode : modes) { // Parameter sweep
+            for (HuntMode otherMode : modes) {
+                BatchSimulator simulator = new BatchSimulator(games, firstMode, otherMode);
+                long firstWins = 0;
+                long totalTurns = 0;
+                for (int round = 0; round < rounds; round++) {
+                    simulator.reset(round);
+                    simulator.run();
+                    for (int game = 0; game < games; game++) {
+                        firstWins += (simulator.getWinner(game) == 0) ? 1 : 0;
+                        totalTurns += simulator.getTurns(game);
+                    }
+                }
+                System.out.printf("%-6s vs %-6s: first side wins %.1f%%, %.1f shots per game%n", firstMode, otherMode, 100.0 * firstWins / ((long) games * rounds), (double) totalTurns / ((long) games * rounds));
+            }
+        }
+
+        BatchSimulator simulator = new BatchSimulator(games, HuntMode.PARITY, HuntMode.PARITY);
+        long batchShots = 0;
+        long startTime = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            simulator.reset(1000 + round);
+            simulator.run();
+            for (int game = 0; game < games; game++) {
+                batchShots += simulator.getTurns(game);
+            }
+        }
+        long batchTime = System.nanoTime() - startTime;
+
+        BatchSimulator.playObjectGames(games * rounds / 10, HuntMode.PARITY, HuntMode.PARITY); // Warms up the JIT, like the parameter sweep does for the batch simulator, so the timed run doesn't pay for compiling
+        startTime = System.nanoTime();
+        long objectShots = BatchSimulator.playObjectGames(games * rounds / 10, HuntMode.PARITY, HuntMode.PARITY); // A tenth of the games; the per-object loop is much slower
+        long objectTime = System.nanoTime() - startTime;
+
+        double batchRate = batchShots / (batchTime / 1e9); // Shots per second
+        double objectRate = objectShots / (objectTime / 1e9);
+        System.out.printf("Batch simulator:  %,.0f shots/s%n", batchRate);
+        System.out.printf("Per-object loop:  %,.0f shots/s%n", objectRate);
+        System.out.printf("Speed-up: %.1fx%n", batchRate / objectRate);
+    }
+}
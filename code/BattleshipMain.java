@@ -1,12 +1,22 @@
 // By: Adeshvir Dhillon
 // Date: Jun 20-28, 2023
 
+// Imports
+import java.io.IOException; // Thrown if the game journal, the shot frequency table or an opponent model can't be opened or written
+import java.nio.file.Path; // The location of the opening book file
+
 public class BattleshipMain {
     public static void main(String[] args){
         GameManager gameManager; // GameManager object that holds all the necessary objects and code to run the Battleship game
 
         System.out.println();
         System.out.println("~Beginning of Program~");
+        Computer.loadOpeningBook(Path.of(System.getProperty("battleship.openingBook", "openingBook.bin"))); // Uses the opening book, if one has been generated
+        MetricsServer metricsServer = MetricsServer.startFromProperty(); // Serves the metrics, if a port has been set
+        GameJournal journal = GameJournal.openFromProperty(); // Journals every game, if a journal file has been set
+        ShotFrequencyTable shotFrequencyTable = ShotFrequencyTable.openFromProperty(); // Learns where the player fires early, if a table file has been set
+        OpponentModelStore opponentModels = OpponentModelStore.openFromProperty(); // Learns the player's placement habits, if a model directory has been set
+        String playerName = System.getProperty("battleship.playerName", System.getProperty("user.name")); // The name the player's model is kept under
 
         System.out.println(); // Introduction
         System.out.println("...Welcome to Battleship");
@@ -17,7 +27,14 @@ public class BattleshipMain {
         System.out.println("   good luck...");
 
         while(true){ // Loops until the player chooses to end the game
-            gameManager = new GameManager();
+            gameManager = new GameManager(journal, shotFrequencyTable);
+            if (opponentModels != null) {
+                try {
+                    gameManager.setOpponentModel(opponentModels.get(playerName)); // Loaded the first time, then held by the store
+                } catch (IOException e) {
+                    System.out.println("Couldn't load the opponent model of [" + playerName + "]: " + e.getMessage());
+                }
+            }
             gameManager.enterToContinue(); // Allows the player to pause before initializing the game
 
             System.out.println();
@@ -35,5 +52,25 @@ public class BattleshipMain {
         System.out.println();
         System.out.println("Thank you for playing!"); // End of program
         System.out.println("~End of Program~");
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Couldn't write the game journal: " + e.getMessage());
+            }
+        }
+        if (opponentModels != null) {
+            opponentModels.close();
+        }
+        if (shotFrequencyTable != null) {
+            try {
+                shotFrequencyTable.close();
+            } catch (IOException e) {
+                System.out.println("Couldn't write the shot frequency table: " + e.getMessage());
+            }
+        }
     }
 }
\ No newline at end of file
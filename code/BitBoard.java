@@ -0,0 +1,123 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * A static class that functions as a collection of static methods for bitboards: sets of board cells held as bits in a
+ * long[] array of length 2, where bit (cell % 64) of word (cell / 64) represents the cell id (i * 10 + j). Cells 0-63
+ * are held in the first word and cells 64-99 in the second. (Note: bitboards allow a whole set of cells to be stored,
+ * updated and counted without any objects, which is why they are used wherever the same set is checked many times).
+ */
+public final class BitBoard {
+    // Variables
+    public static final int WORDS = 2; // The number of longs needed to hold the 100 cells of a board
+
+    // Constructors
+
+    /**
+     * --Constructor for BitBoard--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private BitBoard() {
+    }
+
+    // Static Methods
+
+    /**
+     * @param mask: the bitboard
+     * @param cell: a cell id from 0-99
+     * @return boolean: true if the cell is in the bitboard, false otherwise
+     */
+    public static boolean get(long[] mask, int cell) {
+        return (mask[cell >>> 6] & (1L << cell)) != 0; // (1L << cell) only uses the lowest 6 bits of cell
+    }
+
+    /**
+     * Adds the passed cell to the bitboard.
+     *
+     * @param mask: the bitboard
+     * @param cell: a cell id from 0-99
+     */
+    public static void set(long[] mask, int cell) {
+        mask[cell >>> 6] |= 1L << cell;
+    }
+
+    /**
+     * Removes the passed cell from the bitboard.
+     *
+     * @param mask: the bitboard
+     * @param cell: a cell id from 0-99
+     */
+    public static void clear(long[] mask, int cell) {
+        mask[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /**
+     * Adds the passed cell to the bitboard if value is true, otherwise removes it.
+     *
+     * @param mask:  the bitboard
+     * @param cell:  a cell id from 0-99
+     * @param value: true to add the cell, false to remove it
+     */
+    public static void set(long[] mask, int cell, boolean value) {
+        if (value) {
+            BitBoard.set(mask, cell);
+        } else {
+            BitBoard.clear(mask, cell);
+        }
+    }
+
+    /**
+     * Sets the bitboard to contain every cell of the board (0-99).
+     *
+     * @param mask: the bitboard
+     */
+    public static void fill(long[] mask) {
+        mask[0] = -1L; // Cells 0-63
+        mask[1] = (1L << 36) - 1; // Cells 64-99
+    }
+
+    /**
+     * Removes every cell from the bitboard.
+     *
+     * @param mask: the bitboard
+     */
+    public static void clearAll(long[] mask) {
+        mask[0] = 0;
+        mask[1] = 0;
+    }
+
+    /**
+     * @param mask: the bitboard
+     * @return the number of cells in the bitboard
+     */
+    public static int count(long[] mask) {
+        return Long.bitCount(mask[0]) + Long.bitCount(mask[1]);
+    }
+
+    /**
+     * Returns the n-th cell (in increasing cell id order) in the bitboard, or Board.INVALID_CELL if the bitboard holds
+     * n or fewer cells. Used to pick a uniformly random cell from a bitboard with a single random index.
+     *
+     * @param mask: the bitboard
+     * @param n:    the index of the cell among the cells in the bitboard
+     * @return the cell id of the n-th cell, or Board.INVALID_CELL
+     */
+    public static int nthCell(long[] mask, int n) {
+        long word = mask[0];
+        int offset = 0; // The cell id of bit 0 of the current word
+        int lowCount = Long.bitCount(word);
+
+        if (n >= lowCount) { // The cell is in the second word
+            n -= lowCount;
+            word = mask[1];
+            offset = 64;
+            if (n >= Long.bitCount(word)) {
+                return Board.INVALID_CELL;
+            }
+        }
+        for (int k = 0; k < n; k++) { // Remove the lowest n cells
+            word &= word - 1;
+        }
+        return offset + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -1,16 +1,27 @@
 // By: Adeshvir Dhillon
 // Date: Jun 20-26, 2023
 
+// Imports
+import java.util.Arrays; // To fill the letterIndices lookup table
+import java.util.SplittableRandom; // To generate the Zobrist keys from a fixed seed
+
 /**
  * A class that represents a 10x10 playing board. Holds the board's positions (in an int[10][10] nested array) and
  * length. Also contains static variables that represent the board's letter headers (like a real Battleship board)
  * and the two types of board pieces (□ [Ships, ValidPositions, InvalidPositions] and x [Hit, Miss]). Contains methods
  * that allow for generating and printing the board, as well as checking position states, adding pieces/ships, and
- * static methods to parse Position <-> Indices. (Note: used and extended extensively throughout the Battleship program,
+ * static methods to parse Position <-> Indices. The board also keeps a 64-bit Zobrist hash of its observation state
+ * (its Hits and Misses), updated incrementally whenever a position changes, so that identical observations can be
+ * recognised in constant time (see MoveCache), along with the hash of each of its 7 symmetric images, so that
+ * observations that are rotations or reflections of each other share a canonical hash (see OpeningBook). When the
+ * board is used as an enemy board, it also records the lengths of the enemy ships sunk so far, which are part of the
+ * observation and so are folded into the hashes. (Note: used and extended extensively throughout the Battleship program,
  * thus it is an extremely important class).
  */
 public class Board {
     // Variables
+    private long sunkShips; // The number of sunk enemy ships of each length, 4 bits per length (bits 4 * length to 4 * length + 3)
+    private final long[] symmetricHashes = new long[SYMMETRIES]; // symmetricHashes[s] is the Zobrist hash of the board's Hits and Misses after being moved by symmetry s; symmetricHashes[0] is the observation hash
     private int[][] board; // A nested int[][] array representing the board and holding its positions and their states
     // Note: although traditional battleship positions are [Letter][Number], this board stores
     //       positions as [Number][Letter] (much easier to print), so extra care must be taken
@@ -23,6 +34,43 @@ public class Board {
     private final static char[] letterHeaders = new char[]{'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J'}; // A char[] array containing the board's letter headers
     private final static String boardPiece = "□"; // Piece representing Ships (Purple), ValidPositions (Green), and Invalid Positions (Red)
     private final static String hitPiece = "x"; // Piece representing Hits (Bolded and Bright Red) and Misses (Cyan)
+    public final static int INVALID_CELL = -1; // Returned by .positionStringToCell() when a position string is invalid
+    private final static int[] letterIndices = new int[128]; // Maps an ASCII character to the index of its (case-insensitive) letter header, or -1 if it isn't one
+    private final static String[] cellPositionStrings = new String[100]; // Maps a cell id (i * 10 + j) to its interned position string [Letter][Number]
+    public final static int SYMMETRIES = 8; // The number of symmetries of the square board (4 rotations, each optionally mirrored)
+    private final static int[][] symmetricCells = new int[SYMMETRIES][100]; // symmetricCells[s][cell] is the cell that the passed cell is moved to by symmetry s
+    private final static long ZOBRIST_SEED = 0x5EA_BA77_1E5L; // Fixed, so that observation hashes are the same in every run (and can be stored in files)
+    private final static long[] zobristKeys = new long[600]; // zobristKeys[cell * 6 + piece] is the random key of the piece at the cell; only Hits (2) and Misses (3) are used
+    private final static long[] sunkShipKeys = new long[16 * 16]; // sunkShipKeys[length * 16 + count] is the random key of the count-th sunk ship of that length
+
+    static { // Builds the lookup tables once, so that parsing and formatting positions never has to search or allocate
+        SplittableRandom zobristRandom = new SplittableRandom(ZOBRIST_SEED);
+        for (int cell = 0; cell < 100; cell++) {
+            zobristKeys[cell * 6 + 2] = zobristRandom.nextLong(); // Hit
+            zobristKeys[cell * 6 + 3] = zobristRandom.nextLong(); // Miss
+        }
+        for (int key = 0; key < sunkShipKeys.length; key++) { // Generated after the cell keys, so the cell keys stay the same
+            sunkShipKeys[key] = zobristRandom.nextLong();
+        }
+        Arrays.fill(letterIndices, -1);
+        for (int j = 0; j < letterHeaders.length; j++) {
+            letterIndices[letterHeaders[j]] = j;
+            letterIndices[Character.toLowerCase(letterHeaders[j])] = j;
+        }
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                cellPositionStrings[i * 10 + j] = (String.valueOf(letterHeaders[j]) + (i + 1)).intern();
+                symmetricCells[0][i * 10 + j] = i * 10 + j; // Identity
+                symmetricCells[1][i * 10 + j] = j * 10 + (9 - i); // Rotated 90 degrees clockwise
+                symmetricCells[2][i * 10 + j] = (9 - i) * 10 + (9 - j); // Rotated 180 degrees
+                symmetricCells[3][i * 10 + j] = (9 - j) * 10 + i; // Rotated 270 degrees clockwise
+                symmetricCells[4][i * 10 + j] = i * 10 + (9 - j); // Mirrored left-right
+                symmetricCells[5][i * 10 + j] = (9 - i) * 10 + j; // Mirrored top-bottom
+                symmetricCells[6][i * 10 + j] = j * 10 + i; // Mirrored along the main diagonal
+                symmetricCells[7][i * 10 + j] = (9 - j) * 10 + (9 - i); // Mirrored along the anti-diagonal
+            }
+        }
+    }
 
     // Constructors
 
@@ -58,6 +106,8 @@ public class Board {
                 board[i][j] = 0;
             }
         }
+        Arrays.fill(symmetricHashes, 0);
+        sunkShips = 0;
     }
 
     /**
@@ -69,11 +119,36 @@ public class Board {
      */
     private void copyBoard(Board oldBoard) {
         board = new int[10][10];
+        this.copyFrom(oldBoard);
+    }
+
+    /**
+     * Sets each position of this board to the passed board's state for the same position, reusing this board's
+     * existing array instead of allocating a new one. (Note: unlike .copyBoard(), this method is protected so that
+     * scratch boards, like DirectionBoard, can be reset to a copy of another board many times without allocating).
+     *
+     * @param oldBoard: the board to be copied
+     */
+    protected void copyFrom(Board oldBoard) {
+        int[][] oldBoardArray = oldBoard.getBoard();
         for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                board[i][j] = oldBoard.getPosition(i, j);
-            }
+            System.arraycopy(oldBoardArray[i], 0, board[i], 0, board[i].length);
+        }
+        System.arraycopy(oldBoard.symmetricHashes, 0, symmetricHashes, 0, SYMMETRIES);
+        sunkShips = oldBoard.sunkShips;
+        Metrics.countBoardCopy(); // Counts every copy: .getBoardCopy(), the copy constructor and in-place resets
+    }
+
+    /**
+     * Sets every position of the board back to 0 (empty) and forgets its sunk ships, reusing the board's existing
+     * array. (Note: lets a board be reused for a new game without allocating a new one).
+     */
+    public void clear() {
+        for (int[] row : board) {
+            Arrays.fill(row, 0);
         }
+        Arrays.fill(symmetricHashes, 0);
+        sunkShips = 0;
     }
 
     /**
@@ -90,6 +165,11 @@ public class Board {
      * // 5 = InvalidPosition -> Red -> □
      */
     public void printBoard() {
+        long startTime = Metrics.startTimer(); // Rendering is timed by the Metrics registry
+        RenderEvent renderEvent = new RenderEvent(); // Recorded by Java Flight Recorder, if enabled
+        int shots = 0; // The number of hits and misses printed
+
+        renderEvent.begin();
         System.out.print("  |"); // Letter Headers
         for (char letterHeader : letterHeaders) {
             System.out.print(" " + Colours.getYellow() + letterHeader + Colours.getReset() + " |");
@@ -105,13 +185,26 @@ public class Board {
                 switch (board[i][j]) {
                     case 0 -> System.out.print("   |"); // Empty
                     case 1 -> System.out.print(" " + Colours.getPurple() + Board.boardPiece + Colours.getReset() + " |"); // Ship
-                    case 2 -> System.out.print(" " + Colours.getRedBoldBright() + Board.hitPiece + Colours.getReset() + " |"); // Hit
-                    case 3 -> System.out.print(" " + Colours.getCyan() + Board.hitPiece + Colours.getReset() + " |"); // Miss
+                    case 2 -> { // Hit
+                        System.out.print(" " + Colours.getRedBoldBright() + Board.hitPiece + Colours.getReset() + " |");
+                        shots++;
+                    }
+                    case 3 -> { // Miss
+                        System.out.print(" " + Colours.getCyan() + Board.hitPiece + Colours.getReset() + " |");
+                        shots++;
+                    }
                     case 4 -> System.out.print(" " + Colours.getGreen() + Board.boardPiece + Colours.getReset() + " |"); // ValidPosition
                     case 5 -> System.out.print(" " + Colours.getRed() + Board.boardPiece + Colours.getReset() + " |"); // InvalidPosition
                 }
             }
         }
+        Metrics.recordPhase(GamePhase.RENDERING, startTime);
+        renderEvent.end();
+        if (renderEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            renderEvent.board = this.getClass().getSimpleName();
+            renderEvent.shots = shots;
+            renderEvent.commit();
+        }
     }
 
     /**
@@ -127,92 +220,98 @@ public class Board {
      * @return boolean: true if valid, false otherwise
      */
     public boolean checkPositionValidity(int i, int j, int shipLength) {
-        if (i + shipLength <= 10) { // Down check [i + k]
-            for (int k = 0; k < shipLength; k++) {
-                if ((k == shipLength - 1) && (!this.isShip(i + k, j))) { // If this is both the last position and not a ship
-                    return true; // If even one check is valid, the position is valid
-                } else if (this.isShip(i + k, j)) { // If this is not the last position, but a ship
-                    break; // Next check
-                }
-            }
+        return this.getValidDirections(i, j, shipLength) != 0; // If even one direction is valid, the position is valid
+    }
+
+    /**
+     * Receives a board position (i,j) and the length of the ship being placed, and returns a bitmask of every direction
+     * in which a ship (of the passed shipLength) can be placed starting at that position. A direction is valid if the
+     * ship would stay within the board and none of the positions it would occupy, including (i,j), is a ship. Each
+     * direction's bit is given by the Direction enum; a bitmask of 0 means the position is invalid.
+     *
+     * @param i:          indexI of the position
+     * @param j:          indexJ of the position
+     * @param shipLength: length of the ship being placed
+     * @return validDirections: a bitmask of the valid directions
+     * @see Direction
+     */
+    public int getValidDirections(int i, int j, int shipLength) {
+        int validDirections = 0;
+
+        if (this.isClearRun(i, j, Direction.DOWN, shipLength)) { // Down check [i + k]
+            validDirections |= Direction.DOWN.getBit();
         }
-        if (i - shipLength >= -1) { // Up check [i - k]
-            for (int k = 0; k < shipLength; k++) {
-                if ((k == shipLength - 1) && (!this.isShip(i - k, j))) { // If this is both the last position and not a ship
-                    return true; // If even one check is valid, the position is valid
-                } else if (this.isShip(i - k, j)) { // If this is not the last position, but a ship
-                    break; // Next check
-                }
-            }
+        if (this.isClearRun(i, j, Direction.UP, shipLength)) { // Up check [i - k]
+            validDirections |= Direction.UP.getBit();
         }
-        if (j + shipLength <= 10) { // Right check [j + k]
-            for (int k = 0; k < shipLength; k++) {
-                if ((k == shipLength - 1) && (!this.isShip(i, j + k))) { // If this is both the last position and not a ship
-                    return true; // If even one check is valid, the position is valid
-                } else if (this.isShip(i, j + k)) { // If this is not the last position, but a ship
-                    break; // Next check
-                }
-            }
+        if (this.isClearRun(i, j, Direction.RIGHT, shipLength)) { // Right check [j + k]
+            validDirections |= Direction.RIGHT.getBit();
         }
-        if (j - shipLength >= -1) { // Left check [j - k]
-            for (int k = 0; k < shipLength; k++) {
-                if ((k == shipLength - 1) && (!this.isShip(i, j - k))) { // If this is both the last position and not a ship
-                    return true; // If even one check is valid, the position is valid
-                } else if (this.isShip(i, j - k)) { // If this is not the last position, but a ship
-                    break; // Next check
-                }
+        if (this.isClearRun(i, j, Direction.LEFT, shipLength)) { // Left check [j - k]
+            validDirections |= Direction.LEFT.getBit();
+        }
+        return validDirections;
+    }
+
+    /**
+     * Checks if a ship of the passed length, starting at (i,j) and going in the passed direction, would stay within the
+     * board without overlapping any ships.
+     *
+     * @param i:          indexI of the first position
+     * @param j:          indexJ of the first position
+     * @param direction:  the direction of the ship
+     * @param shipLength: length of the ship
+     * @return boolean: true if the ship fits, false otherwise
+     */
+    private boolean isClearRun(int i, int j, Direction direction, int shipLength) {
+        int stepI = direction.getStepI();
+        int stepJ = direction.getStepJ();
+
+        if ((!this.containsPosition(i, j)) || (!this.containsPosition(i + (shipLength - 1) * stepI, j + (shipLength - 1) * stepJ))) { // If the first or last position is off the board
+            return false;
+        }
+        for (int k = 0; k < shipLength; k++) {
+            if (board[i + k * stepI][j + k * stepJ] == 1) { // If the position is a ship
+                return false;
             }
         }
-        return false; // No checks were valid, so the position is invalid
+        return true;
     }
 
     /**
      * Places a ship on the board based on the starting position (i,j), the direction, and the length of the ship.
-     * Returns an int[][] array containing all the positions of the placed ship. Assumes that there is enough space on
-     * the board to place a ship of the passed length in the passed direction.
+     * Returns an int[] array containing the cell ids (i * 10 + j) of all the positions of the placed ship. Assumes that
+     * there is enough space on the board to place a ship of the passed length in the passed direction.
      *
      * @param i:          indexI of the position
      * @param j:          indexJ of the position
-     * @param direction:  the direction ["D", "U", "R", "L"]
+     * @param direction:  the direction of the ship
      * @param shipLength: the length of the ship being placed
-     * @return shipPositions: the array containing the positions of the placed ship
-     */
-    public int[][] placeShipOnBoard(int i, int j, String direction, int shipLength) {
-        this.addShip(i, j); // Adds the first position of the ship to this object's board
-        int[][] shipPositions = new int[shipLength][2]; // Creates a new nested int[][] array of shipLength to hold and
-        // return the positions of the placed ship
-        shipPositions[0][0] = i; // Updates the I position of the first part of the current ship
-        shipPositions[0][1] = j; // Updates the J position of the first part of the current ship
-
-        switch (direction) {
-            case "D" -> {  // Down Direction [i + k]
-                for (int k = 1; k < shipLength; k++) { // Ignores the first position of the ship; it's already placed
-                    this.addShip(i + k, j);
-                    shipPositions[k][0] = i + k;
-                    shipPositions[k][1] = j;
-                }
-            }
-            case "U" -> {  // Up Direction [i - k]
-                for (int k = 1; k < shipLength; k++) { // Ignores the first position of the ship; it's already placed
-                    this.addShip(i - k, j);
-                    shipPositions[k][0] = i - k;
-                    shipPositions[k][1] = j;
-                }
-            }
-            case "R" -> {  // Right Direction [j + k]
-                for (int k = 1; k < shipLength; k++) { // Ignores the first position of the ship; it's already placed
-                    this.addShip(i, j + k);
-                    shipPositions[k][0] = i;
-                    shipPositions[k][1] = j + k;
-                }
-            }
-            case "L" -> {  // Left Direction [j - k]
-                for (int k = 1; k < shipLength; k++) { // Ignores the first position of the ship; it's already placed
-                    this.addShip(i, j - k);
-                    shipPositions[k][0] = i;
-                    shipPositions[k][1] = j - k;
-                }
-            }
+     * @return shipPositions: the array containing the cell ids of the placed ship's positions
+     */
+    public int[] placeShipOnBoard(int i, int j, Direction direction, int shipLength) {
+        return this.placeShipOnBoard(i, j, direction, shipLength, new int[shipLength]); // Creates a new int[] array of shipLength to hold and return the cell ids of the placed ship
+    }
+
+    /**
+     * Places a ship on the board like .placeShipOnBoard(), but fills the passed array with the cell ids of the placed
+     * ship's positions instead of creating a new one. (Note: used when placing fleets over and over, like in
+     * ComputerBoard, so that placing a ship doesn't allocate).
+     *
+     * @param i:             indexI of the position
+     * @param j:             indexJ of the position
+     * @param direction:     the direction of the ship
+     * @param shipLength:    the length of the ship being placed
+     * @param shipPositions: an array of at least shipLength elements to fill with the cell ids of the ship's positions
+     * @return shipPositions: the passed array
+     */
+    public int[] placeShipOnBoard(int i, int j, Direction direction, int shipLength, int[] shipPositions) {
+        int stepI = direction.getStepI(); // The change in indexI between two consecutive positions of the ship
+        int stepJ = direction.getStepJ(); // The change in indexJ between two consecutive positions of the ship
+
+        for (int k = 0; k < shipLength; k++) {
+            this.addShip(i + k * stepI, j + k * stepJ); // Adds the position of the ship to this object's board
+            shipPositions[k] = Board.cellOf(i + k * stepI, j + k * stepJ);
         }
         return shipPositions;
     }
@@ -229,6 +328,36 @@ public class Board {
         return ((0 <= i && i < board.length) && (0 <= j && j < board[0].length));
     }
 
+    /**
+     * Applies the passed shot to the board and the passed ships, and returns its result. These are the shot rules of
+     * both sides: PlayerBoard's and ComputerBoard's .receiveShot() both apply them, so the replays of
+     * GameReplayVerifier follow the same rules as live games. If the shot hits a Ship, the position becomes a Hit, the
+     * ship holding it is updated and, if that sinks it, the result holds the ship's length. An empty cell becomes a
+     * Miss. A position that was already fired at is left unchanged and reported as it was (a Hit or a Miss).
+     *
+     * @param cell:  the cell id (i * 10 + j) of the shot
+     * @param ships: the ships placed on the board
+     * @return the shot's result, encoded by the ShotResult class
+     */
+    protected int applyShot(int cell, Ship[] ships) {
+        if (this.isShip(cell)) { // First hit on this position
+            this.addHit(cell);
+            for (Ship ship : ships) {
+                if (ship.updateHitPositions(cell)) { // The ship holding the position
+                    return ship.isSunk() ? ShotResult.sunk(ship.getLength()) : ShotResult.HIT;
+                }
+            }
+            return ShotResult.HIT;
+        }
+        if (this.isHit(cell)) { // Already hit; there is a ship here, but it takes no further damage
+            return ShotResult.HIT;
+        }
+        if (this.isEmpty(cell)) {
+            this.addMiss(cell);
+        }
+        return ShotResult.MISS;
+    }
+
     // [Setter Methods]
 
     /**
@@ -245,6 +374,14 @@ public class Board {
         if (!this.containsPosition(i, j)) {
             return;
         }
+        int cell = i * 10 + j;
+        int oldSymbol = board[i][j];
+        if ((oldSymbol == 2) || (oldSymbol == 3) || (symbol == 2) || (symbol == 3)) { // If the observation state changes
+            for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) { // Removes the old piece's key and adds the new one's (0 for pieces that aren't observations)
+                int movedCell = symmetricCells[symmetry][cell];
+                symmetricHashes[symmetry] ^= zobristKeys[movedCell * 6 + oldSymbol] ^ zobristKeys[movedCell * 6 + symbol];
+            }
+        }
         board[i][j] = symbol;
     }
 
@@ -268,6 +405,15 @@ public class Board {
         this.updatePosition(i, j, 1);
     }
 
+    /**
+     * Calls .updatePosition() to add a Ship (1) to the passed cell.
+     *
+     * @param cell: the cell id (i * 10 + j) of the position
+     */
+    public void addShip(int cell) {
+        this.updatePosition(Board.cellIndexI(cell), Board.cellIndexJ(cell), 1);
+    }
+
     /**
      * Calls .updatePosition() to add a Hit (2) to the passed position.
      *
@@ -288,6 +434,41 @@ public class Board {
         this.updatePosition(i, j, 3);
     }
 
+    /**
+     * Calls .updatePosition() to add a Hit (2) to the passed cell.
+     *
+     * @param cell: the cell id (i * 10 + j) of the position
+     */
+    public void addHit(int cell) {
+        this.updatePosition(Board.cellIndexI(cell), Board.cellIndexJ(cell), 2);
+    }
+
+    /**
+     * Calls .updatePosition() to add a Miss (3) to the passed cell.
+     *
+     * @param cell: the cell id (i * 10 + j) of the position
+     */
+    public void addMiss(int cell) {
+        this.updatePosition(Board.cellIndexI(cell), Board.cellIndexJ(cell), 3);
+    }
+
+    /**
+     * Records that an enemy ship of the passed length has been sunk, and folds it into the observation hashes. The same
+     * key is added to every symmetric hash, because sinking a ship looks the same from every orientation.
+     *
+     * @param shipLength: the length of the sunk ship (1-10)
+     */
+    public void recordSunkShip(int shipLength) {
+        int count = this.getSunkShipCount(shipLength); // The number of ships of this length that were already sunk
+        if (count == 15) { // The 4-bit count is full (impossible with the standard fleet)
+            return;
+        }
+        sunkShips += 1L << (4 * shipLength);
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            symmetricHashes[symmetry] ^= sunkShipKeys[shipLength * 16 + count];
+        }
+    }
+
     /**
      * Calls .updatePosition() to add a ValidPosition (4) to the passed position.
      *
@@ -371,6 +552,51 @@ public class Board {
         return this.getPosition(i, j) == 3;
     }
 
+    /**
+     * Returns the piece at the passed cell, or -1 if the cell id is not within the board.
+     *
+     * @param cell: the cell id (i * 10 + j) of the position
+     * @return an int value from 0-5 that represents a specific board piece
+     */
+    public int getPosition(int cell) {
+        if ((cell < 0) || (cell >= 100)) {
+            return -1;
+        }
+        return board[Board.cellIndexI(cell)][Board.cellIndexJ(cell)];
+    }
+
+    /**
+     * @param cell: the cell id (i * 10 + j) of the position
+     * @return boolean: true if the cell is an empty cell (0), false otherwise
+     */
+    public boolean isEmpty(int cell) {
+        return this.getPosition(cell) == 0;
+    }
+
+    /**
+     * @param cell: the cell id (i * 10 + j) of the position
+     * @return boolean: true if the cell is a Ship (1), false otherwise
+     */
+    public boolean isShip(int cell) {
+        return this.getPosition(cell) == 1;
+    }
+
+    /**
+     * @param cell: the cell id (i * 10 + j) of the position
+     * @return boolean: true if the cell is a Hit (2), false otherwise
+     */
+    public boolean isHit(int cell) {
+        return this.getPosition(cell) == 2;
+    }
+
+    /**
+     * @param cell: the cell id (i * 10 + j) of the position
+     * @return boolean: true if the cell is a Miss (3), false otherwise
+     */
+    public boolean isMiss(int cell) {
+        return this.getPosition(cell) == 3;
+    }
+
     /**
      * Calls .getPosition() to see if the passed position is a ValidPosition (4); returns true if it is, false otherwise.
      *
@@ -409,6 +635,50 @@ public class Board {
         return board;
     }
 
+    /**
+     * Returns the Zobrist hash of the board's observation state: its Hits, Misses and recorded sunk ships. Two boards
+     * with the same observations always have the same hash, regardless of the order in which they were added or of
+     * any other pieces.
+     *
+     * @return observationHash: the 64-bit observation hash
+     */
+    public long getObservationHash() {
+        return symmetricHashes[0];
+    }
+
+    /**
+     * @param shipLength: a ship length (1-10)
+     * @return the number of enemy ships of the passed length that have been recorded as sunk
+     */
+    public int getSunkShipCount(int shipLength) {
+        return (int) (sunkShips >>> (4 * shipLength)) & 15;
+    }
+
+    /**
+     * Returns the symmetry that moves the board to its canonical image: the symmetric image with the smallest
+     * observation hash. Boards whose observations are rotations or reflections of each other have the same canonical
+     * image. A move chosen for the canonical image is moved back to this board with
+     * Board.symmetricCell(Board.inverseSymmetry(canonicalSymmetry), move).
+     *
+     * @return canonicalSymmetry: the symmetry (0-7) that moves the board to its canonical image
+     */
+    public int getCanonicalSymmetry() {
+        int canonicalSymmetry = 0;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            if (symmetricHashes[symmetry] < symmetricHashes[canonicalSymmetry]) {
+                canonicalSymmetry = symmetry;
+            }
+        }
+        return canonicalSymmetry;
+    }
+
+    /**
+     * @return the observation hash of the board's canonical image (see .getCanonicalSymmetry())
+     */
+    public long getCanonicalHash() {
+        return symmetricHashes[this.getCanonicalSymmetry()];
+    }
+
     /**
      * @return length: the current object's length (which is always 10)
      */
@@ -419,20 +689,107 @@ public class Board {
     // Static Methods
 
     /**
-     * Checks to see if the passed character is contained within the letterHeaders array, and returns the index of the
-     * character in the letterHeaders array if it is within it. Otherwise, returns -1 to signify that the character is
-     * not contained within the letterHeaders array.
+     * Packs the passed indices into a single cell id (i * 10 + j). Assumes that the indices are within the board.
+     *
+     * @param i: indexI of the position
+     * @param j: indexJ of the position
+     * @return cell: the cell id of the position, from 0-99
+     */
+    public static int cellOf(int i, int j) {
+        return i * 10 + j;
+    }
+
+    /**
+     * @param cell: a cell id from 0-99
+     * @return the indexI (row) of the cell
+     */
+    public static int cellIndexI(int cell) {
+        return cell / 10;
+    }
+
+    /**
+     * @param cell: a cell id from 0-99
+     * @return the indexJ (column) of the cell
+     */
+    public static int cellIndexJ(int cell) {
+        return cell % 10;
+    }
+
+    /**
+     * Returns the cell that the passed cell is moved to by one of the board's 8 symmetries (0 = identity, 1-3 =
+     * clockwise rotations by 90/180/270 degrees, 4-7 = mirrors). Because the board is square and every ship rule only
+     * depends on which cells are free, applying a symmetry to a valid layout always gives another valid layout.
+     *
+     * @param symmetry: the index of the symmetry, from 0 to SYMMETRIES - 1
+     * @param cell:     a cell id from 0-99
+     * @return the cell id of the moved cell
+     */
+    public static int symmetricCell(int symmetry, int cell) {
+        return symmetricCells[symmetry][cell];
+    }
+
+    /**
+     * @param symmetry: the index of a symmetry, from 0 to SYMMETRIES - 1
+     * @return the index of the symmetry that undoes the passed one (only the 90 and 270 degree rotations differ from
+     * their inverses)
+     */
+    public static int inverseSymmetry(int symmetry) {
+        return switch (symmetry) {
+            case 1 -> 3;
+            case 3 -> 1;
+            default -> symmetry;
+        };
+    }
+
+    /**
+     * Checks to see if the passed character is one of the letter headers (case-insensitive), and returns the index of the
+     * character in the letterHeaders array if it is. Otherwise, returns -1 to signify that the character is not
+     * contained within the letterHeaders array. Uses the letterIndices lookup table instead of searching.
      *
-     * @param character
-     * @return
+     * @param character: the character to look up
+     * @return the index of the character in letterHeaders, or -1 if it isn't a letter header
      */
     public static int letterIndexOf(char character) {
-        for (int i = 0; i < Board.letterHeaders.length; i++) {
-            if (letterHeaders[i] == Character.toUpperCase(character)) {// For case-insensitive comparison, make the passed character uppercase
-                return i;
-            }
+        return (character < letterIndices.length) ? letterIndices[character] : -1;
+    }
+
+    /**
+     * Receives a String position, expected to be in the form [Letter][Number], and parses it into the cell id
+     * (i * 10 + j) of the corresponding position on the board. Returns INVALID_CELL if the passed position is invalid.
+     * Unlike .positionStringToIndices(), this method never allocates, which makes it suitable for parsing positions in
+     * bulk (for example, when replaying recorded moves).
+     *
+     * @param position: a position string; valid positions are either of length 2 or 3, and are in the format
+     *                  [Letter {A-J}][Number {1-10}]
+     * @return cell: the cell id of the position, or INVALID_CELL if the position is invalid
+     */
+    public static int positionStringToCell(CharSequence position) {
+        int indexJ; // Holds the index of the letter value
+        char digit; // Holds the first digit of the number value
+
+        if ((position.length() < 2) || (position.length() > 3)) { // Valid positions are of length 2 or 3
+            return INVALID_CELL;
+        }
+        indexJ = Board.letterIndexOf(position.charAt(0)); // Get the letter's index
+        if (indexJ == -1) { // If the letter is invalid
+            return INVALID_CELL;
+        }
+        digit = position.charAt(1);
+        if (position.length() == 2) { // [Letter {A-J}][Number {1-9}]
+            return (('1' <= digit) && (digit <= '9')) ? (digit - '1') * 10 + indexJ : INVALID_CELL; // Given position is 1-indexed, so '1' is indexI 0
         }
-        return -1; // No matches found; returns -1 to show that the character is not contained in letterHeaders
+        return ((digit == '1') && (position.charAt(2) == '0')) ? 90 + indexJ : INVALID_CELL; // [Letter {A-J}][Number {10}] -> 10 is the only valid input for the last 2 characters
+    }
+
+    /**
+     * Returns the interned position string [Letter {A-J}][Number {1-10}] of the passed cell id, or null if the cell id
+     * is not within the board. (Note: the strings are built once, so this method never allocates).
+     *
+     * @param cell: a cell id from 0-99
+     * @return the position string of the cell, or null if the cell id is invalid
+     */
+    public static String cellToPositionString(int cell) {
+        return ((0 <= cell) && (cell < cellPositionStrings.length)) ? cellPositionStrings[cell] : null;
     }
 
     /**
@@ -446,36 +803,12 @@ public class Board {
      * @return positionIndices[]: an int[] array of length 2 that holds either the valid indices, or {-1,-1} if invalid
      */
     public static int[] positionStringToIndices(String position) {
-        int[] positionIndices = new int[2];
-        int indexI; // Holds the index of the number value
-        int indexJ; // Holds the index of the letter value
+        int cell = Board.positionStringToCell(position); // Parse the position into its cell id
 
-        if (position.length() == 2) { // [Letter {A-J}][Number {1-9}]
-            indexJ = Board.letterIndexOf(position.charAt(0)); // Get the letter's index
-            if (indexJ != -1) { // If the letter is valid
-                if (Character.isDigit(position.charAt(1))) { // If the second digit is a number
-                    indexI = Character.getNumericValue(position.charAt(1)) - 1; // Given position is 1-indexed, to convert it to 0-indexed, subtract 1
-                    if ((0 <= indexI) && (indexI <= 9)) { // If the number is valid
-                        positionIndices[0] = indexI;
-                        positionIndices[1] = indexJ;
-                        return positionIndices;
-                    }
-                }
-            }
-        } else if (position.length() == 3) { // [Letter {A-J}][Number {10}] -> 10 is the only valid input for the last 2 characters
-            indexJ = Board.letterIndexOf(position.charAt(0)); // Get the letter's index
-            if (indexJ != -1) { // If the letter is valid
-                if ((position.charAt(1) == '1') && (position.charAt(2) == '0')) { // If the number input is 10
-                    indexI = 9; // Given position is 1-indexed, to convert it to 0-indexed, subtract 1, in this case: 10-1 = 9
-                    positionIndices[0] = indexI;
-                    positionIndices[1] = indexJ;
-                    return positionIndices;
-                }
-            }
+        if (cell == INVALID_CELL) { // Returning indices of -1 means that the position to be parsed was invalid
+            return new int[]{-1, -1};
         }
-        positionIndices[0] = -1; // If the position was invalid, the program would eventually reach this code
-        positionIndices[1] = -1; // Returning indices of -1 means that the position to be parsed was invalid
-        return positionIndices;
+        return new int[]{Board.cellIndexI(cell), Board.cellIndexJ(cell)};
     }
 
     /**
@@ -489,13 +822,9 @@ public class Board {
      * the indices are invalid
      */
     public static String indicesToPositionString(int[] indices) {
-        String returnString = null;
-
         if (((0 <= indices[0]) && (indices[0] <= 9)) && ((0 <= indices[1]) && (indices[1] <= 9))) { // If the indices are valid -> (0 <= i <= 9) and (0 <= j <= 9)
-            returnString = "";
-            returnString += Board.letterHeaders[indices[1]];
-            returnString += (indices[0] + 1); // The position string is 1-indexed, so add 1 to the 0-indexed i to convert it to the proper format
+            return cellPositionStrings[Board.cellOf(indices[0], indices[1])]; // The interned position string
         }
-        return returnString; // Returns the position string if the indices are valid, returns null otherwise
+        return null; // Returns null if the indices are invalid
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.BufferedInputStream; // Buffers the compressed blocks on their way from the file
+import java.io.DataInputStream; // Reads the header, the blocks' lengths and the compressed columns
+import java.io.EOFException; // Thrown once the file has no more blocks
+import java.io.IOException; // Thrown if the file can't be read or isn't a columnar file
+import java.nio.file.Files; // To open the file
+import java.nio.file.Path; // The location of the file
+import java.util.Arrays; // To grow the compression buffer
+import java.util.zip.DataFormatException; // Thrown if a column can't be decompressed
+import java.util.zip.Inflater; // Decompresses the columns
+
+/**
+ * Reads a columnar file written by ColumnarGameWriter, one block at a time, so that only a single block is ever held in
+ * memory. Only the columns in the reader's column mask are decompressed and decoded; the others are skipped without
+ * being read. After .nextBlock(), the getters hold the block's rows (the arrays are reused for every block, and are
+ * only filled up to .getRows() for the columns that were read).
+ */
+public class ColumnarGameReader implements AutoCloseable {
+    // Variables
+    private final DataInputStream input; // The columnar file
+    private final int columnMask; // The bitmask of the columns to read (see GameColumn)
+    private final Inflater inflater; // Decompresses the columns; reset for every column
+    private final int[] gameIds; // gameIds[row] is the low 32 bits of the id of the row's game
+    private final byte[] turns; // turns[row] is the number of shots fired before the row's shot in its game
+    private final byte[] shooters; // shooters[row] is the side that fired the row's shot
+    private final byte[] cells; // cells[row] is the cell id of the row's shot
+    private final byte[] outcomes; // outcomes[row] is the row's shot result, packed by GameJournal.packShotResult()
+    private final byte[] remainingShips; // remainingShips[row] is the number of the opponent's ships afloat after the row's shot
+    private final byte[] encoded; // A decompressed column, before it is decoded
+    private byte[] compressed; // A compressed column, as read from the file (grown for larger columns)
+    private int rows; // The number of rows in the current block
+
+    // Constructors
+
+    /**
+     * --Constructor for ColumnarGameReader--
+     * Opens the file and checks its header.
+     *
+     * @param file:       the columnar file
+     * @param columnMask: the bitmask of the columns to read (see GameColumn.maskOf())
+     * @throws IOException if the file can't be read or isn't a columnar file of this version
+     */
+    public ColumnarGameReader(Path file, int columnMask) throws IOException {
+        input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        if ((input.readInt() != ColumnarGameWriter.MAGIC) || (input.readInt() != ColumnarGameWriter.VERSION) || (input.readInt() != GameColumn.getValues().length)) {
+            input.close();
+            throw new IOException(file + " isn't a version " + ColumnarGameWriter.VERSION + " columnar game file");
+        }
+        this.columnMask = columnMask;
+        inflater = new Inflater();
+        gameIds = new int[ColumnarGameWriter.BLOCK_ROWS];
+        turns = new byte[ColumnarGameWriter.BLOCK_ROWS];
+        shooters = new byte[ColumnarGameWriter.BLOCK_ROWS];
+        cells = new byte[ColumnarGameWriter.BLOCK_ROWS];
+        outcomes = new byte[ColumnarGameWriter.BLOCK_ROWS];
+        remainingShips = new byte[ColumnarGameWriter.BLOCK_ROWS];
+        encoded = new byte[ColumnarGameWriter.BLOCK_ROWS * GameColumn.GAME_ID.getWidth()]; // The widest column
+        compressed = new byte[1 << 16];
+    }
+
+    // Methods
+
+    /**
+     * Reads the next block, decompressing and decoding the columns in the column mask.
+     *
+     * @return boolean: true if a block was read, false if the file has no more blocks
+     * @throws IOException if the file can't be read or a column is corrupt
+     */
+    public boolean nextBlock() throws IOException {
+        try {
+            rows = input.readInt();
+        } catch (EOFException e) { // The end of the file
+            rows = 0;
+            return false;
+        }
+        if ((rows < 0) || (rows > ColumnarGameWriter.BLOCK_ROWS)) {
+            throw new IOException("Corrupt block of " + rows + " rows");
+        }
+
+        for (GameColumn column : GameColumn.getValues()) {
+            int compressedLength = input.readInt();
+            if (!column.isIn(columnMask)) {
+                input.skipNBytes(compressedLength);
+                continue;
+            }
+            if (compressedLength > compressed.length) {
+                compressed = Arrays.copyOf(compressed, Integer.highestOneBit(compressedLength) << 1);
+            }
+            input.readFully(compressed, 0, compressedLength);
+            int length = rows * column.getWidth();
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            try {
+                if (inflater.inflate(encoded, 0, length) != length) {
+                    throw new IOException("Corrupt " + column + " column");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt " + column + " column", e);
+            }
+            this.decodeColumn(column);
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a decompressed column into its array: the game ids from big-endian differences, every other column as
+     * one byte per row.
+     *
+     * @param column: the column to decode
+     */
+    private void decodeColumn(GameColumn column) {
+        byte[] values = switch (column) {
+            case TURN -> turns;
+            case SHOOTER -> shooters;
+            case CELL -> cells;
+            case OUTCOME -> outcomes;
+            case REMAINING_SHIPS -> remainingShips;
+            case GAME_ID -> null;
+        };
+        if (values != null) {
+            System.arraycopy(encoded, 0, values, 0, rows);
+            return;
+        }
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += ((encoded[4 * row] & 0xFF) << 24) | ((encoded[4 * row + 1] & 0xFF) << 16) | ((encoded[4 * row + 2] & 0xFF) << 8) | (encoded[4 * row + 3] & 0xFF);
+            gameIds[row] = previous;
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        input.close();
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of rows in the current block
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the GAME_ID column of the current block
+     */
+    public int[] getGameIds() {
+        return gameIds;
+    }
+
+    /**
+     * @return the TURN column of the current block
+     */
+    public byte[] getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the SHOOTER column of the current block
+     */
+    public byte[] getShooters() {
+        return shooters;
+    }
+
+    /**
+     * @return the CELL column of the current block
+     */
+    public byte[] getCells() {
+        return cells;
+    }
+
+    /**
+     * @return the OUTCOME column of the current block
+     */
+    public byte[] getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * @return the REMAINING_SHIPS column of the current block
+     */
+    public byte[] getRemainingShips() {
+        return remainingShips;
+    }
+}
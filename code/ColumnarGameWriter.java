@@ -0,0 +1,356 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.BufferedOutputStream; // Buffers the compressed blocks on their way to the file
+import java.io.DataOutputStream; // Writes the header and the blocks' lengths
+import java.io.IOException; // Thrown if the file can't be written or a journal can't be read
+import java.nio.ByteBuffer; // The mapped region of a journal being exported
+import java.nio.channels.FileChannel; // To map a journal into memory
+import java.nio.file.Files; // To create the export file
+import java.nio.file.Path; // The location of the export file or a journal
+import java.nio.file.StandardOpenOption; // To open a journal for reading
+import java.util.ArrayDeque; // The pool of reusable game buffers
+import java.util.Arrays; // To grow the compression buffer
+import java.util.HashMap; // Maps the id of every game in progress to its buffer
+import java.util.zip.Deflater; // Compresses every column of a block
+
+/**
+ * Writes game histories to a columnar file for offline analytics: one row per shot, stored as one primitive array per
+ * GameColumn instead of one record per shot, so that an analysis only decompresses and reads the columns it needs
+ * (see ColumnarGameReader). Rows are gathered into blocks of up to BLOCK_ROWS rows; every column of a block is
+ * compressed on its own with a Deflater (the game id column holds the difference from the previous row's id, which is
+ * almost always 0), and the block is written as soon as it is full, so only one block and the games in progress are
+ * ever held in memory. The shots of a game are held until its GAME_OVER and then written together, so every game's
+ * rows are consecutive (and in order) even when games were played at the same time; unfinished games aren't written.
+ * The writer is a GameEventHandler, so it can be subscribed to a game's GameEventBus like the GameJournal, and
+ * .exportJournal() streams a journal file through the same path.
+ * File format (big-endian): a 12-byte header (MAGIC, VERSION and the number of columns), then every block: the number
+ * of rows, then for every column in order, the length of the compressed column and the compressed column itself.
+ * (Note: a single writer must only be used from one thread at a time).
+ */
+public class ColumnarGameWriter implements GameEventHandler {
+    // Variables
+    public static final int MAGIC = 0x42534331; // "BSC1"; the first 4 bytes of every columnar file
+    public static final int VERSION = 1; // The version of the file format
+    public static final int BLOCK_ROWS = 1 << 16; // The largest number of rows in a block
+    private static final int MAX_SHOTS = 200; // The largest number of shots in a game (every cell of both boards)
+    private static final long MAP_BYTES = 1L << 30; // The largest region of a journal mapped at once (1 GiB, a whole number of records)
+    private final DataOutputStream output; // The export file
+    private final Deflater deflater; // Compresses the columns; reset for every column
+    private final int[] gameIds; // gameIds[row] is the low 32 bits of the id of the row's game
+    private final byte[] turns; // turns[row] is the number of shots fired before the row's shot in its game
+    private final byte[] shooters; // shooters[row] is the side that fired the row's shot
+    private final byte[] cells; // cells[row] is the cell id of the row's shot
+    private final byte[] outcomes; // outcomes[row] is the row's shot result, packed by GameJournal.packShotResult()
+    private final byte[] remainingShips; // remainingShips[row] is the number of the opponent's ships afloat after the row's shot
+    private final byte[] encoded; // A column of the block, encoded as bytes before it is compressed
+    private byte[] compressed; // A compressed column (grown if a column ever compresses to more than its size)
+    private int rows; // The number of rows in the block
+    private final HashMap<Long, GameRows> games; // The shots of every game in progress, by game id
+    private final ArrayDeque<GameRows> pool; // The buffers of written games, ready to be reused
+    private GameRows current; // The buffer of the last game looked up; consecutive events usually share it
+    private long currentId; // The id of current's game
+    private long exportedGames; // The number of games written
+    private long exportedRows; // The number of rows written
+    private long blocksWritten; // The number of blocks written
+    private IOException writeFailure; // The exception that stopped .onEvent() from writing, or null
+
+    // Constructors
+
+    /**
+     * --Constructor for ColumnarGameWriter--
+     * Creates (or truncates) the export file and writes its header.
+     *
+     * @param file: the export file
+     * @throws IOException if the file can't be created or its header can't be written
+     */
+    public ColumnarGameWriter(Path file) throws IOException {
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(GameColumn.getValues().length);
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        gameIds = new int[BLOCK_ROWS];
+        turns = new byte[BLOCK_ROWS];
+        shooters = new byte[BLOCK_ROWS];
+        cells = new byte[BLOCK_ROWS];
+        outcomes = new byte[BLOCK_ROWS];
+        remainingShips = new byte[BLOCK_ROWS];
+        encoded = new byte[BLOCK_ROWS * GameColumn.GAME_ID.getWidth()]; // The widest column
+        compressed = new byte[encoded.length + 1024];
+        games = new HashMap<>();
+        pool = new ArrayDeque<>();
+    }
+
+    // Methods
+
+    /**
+     * Adds the placement of one of a side's ships; every ship placed counts as afloat until it is sunk.
+     *
+     * @param gameId: the id of the game
+     * @param side:   the side whose ship it is
+     */
+    public void addShip(long gameId, int side) {
+        this.getGame(gameId).afloat[side]++;
+    }
+
+    /**
+     * Adds a shot to its game. (Note: if a side's fleet was never added, it is taken to be the standard fleet).
+     *
+     * @param gameId:     the id of the game
+     * @param shooter:    the side that fired
+     * @param cell:       the cell id of the shot
+     * @param shotResult: the shot's result, encoded by the ShotResult class
+     */
+    public void addShot(long gameId, int shooter, int cell, int shotResult) {
+        GameRows game = this.getGame(gameId);
+        int target = 1 - shooter;
+        if (game.shots == MAX_SHOTS) { // Can't happen in a game that follows the rules
+            return;
+        }
+        if ((game.afloat[target] == 0) && (!game.sunkAny[target])) {
+            game.afloat[target] = Ship.getStandardFleetLengths().length;
+        }
+        if (ShotResult.isSunk(shotResult)) {
+            game.afloat[target]--;
+            game.sunkAny[target] = true;
+        }
+        game.shooters[game.shots] = (byte) shooter;
+        game.cells[game.shots] = (byte) cell;
+        game.outcomes[game.shots] = (byte) GameJournal.packShotResult(shotResult);
+        game.remainingShips[game.shots] = (byte) game.afloat[target];
+        game.shots++;
+    }
+
+    /**
+     * Ends a game: writes its shots as consecutive rows (writing every block that fills up) and forgets it.
+     *
+     * @param gameId: the id of the game
+     * @throws IOException if a block can't be written
+     */
+    public void endGame(long gameId) throws IOException {
+        GameRows game = games.remove(gameId);
+        if (game == null) {
+            return;
+        }
+        if (game == current) {
+            current = null;
+        }
+        for (int shot = 0; shot < game.shots; shot++) {
+            gameIds[rows] = (int) gameId;
+            turns[rows] = (byte) shot;
+            shooters[rows] = game.shooters[shot];
+            cells[rows] = game.cells[shot];
+            outcomes[rows] = game.outcomes[shot];
+            remainingShips[rows] = game.remainingShips[shot];
+            rows++;
+            if (rows == BLOCK_ROWS) {
+                this.writeBlock();
+            }
+        }
+        exportedGames++;
+        exportedRows += game.shots;
+        pool.push(game);
+    }
+
+    /**
+     * Exports an event of a GameEventBus: placements and shot results are added to their game, which is written once
+     * its GAME_OVER arrives. (Note: an IOException can't be thrown from here, so it is kept and thrown by .close()).
+     */
+    @Override
+    public void onEvent(GameEventType type, long gameId, int actor, int cell, int value, long timestamp) {
+        switch (type) {
+            case SHIP_PLACED -> this.addShip(gameId, actor);
+            case HIT, MISS, SUNK -> this.addShot(gameId, actor, cell, value);
+            case GAME_OVER -> {
+                try {
+                    this.endGame(gameId);
+                } catch (IOException e) {
+                    writeFailure = e;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Exports every game of a journal file, streaming it through memory-mapped regions.
+     *
+     * @param journalFile: the journal file
+     * @throws IOException if the journal can't be read or the export can't be written
+     */
+    public void exportJournal(Path journalFile) throws IOException {
+        GameEventType[] types = GameEventType.values();
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            long end = GameJournal.getRecordsEnd(channel, journalFile);
+            for (long regionStart = GameJournal.HEADER_BYTES; regionStart < end; regionStart += MAP_BYTES) {
+                int regionBytes = (int) Math.min(MAP_BYTES, end - regionStart);
+                ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionBytes);
+                for (int offset = 0; offset < regionBytes; offset += GameJournal.RECORD_BYTES) {
+                    long gameId = region.getInt(offset + 8) & 0xFFFFFFFFL;
+                    int type = region.get(offset + 12) & 0xFF;
+                    int actor = region.get(offset + 13) & 1;
+                    int cell = region.get(offset + 14) & 0xFF;
+                    int value = region.get(offset + 15) & 0xFF;
+                    if (type >= types.length) {
+                        throw new IOException(journalFile + " has a record of unknown type " + type);
+                    }
+                    switch (types[type]) {
+                        case SHIP_PLACED -> this.addShip(gameId, actor);
+                        case HIT, MISS, SUNK -> this.addShot(gameId, actor, cell, GameJournal.unpackShotResult(value));
+                        case GAME_OVER -> this.endGame(gameId);
+                        default -> {
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the last (partial) block and closes the file. Games that never ended aren't written.
+     *
+     * @throws IOException if the file can't be written, or an earlier event couldn't be
+     */
+    public void close() throws IOException {
+        try {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+            if (rows > 0) {
+                this.writeBlock();
+            }
+        } finally {
+            deflater.end();
+            output.close();
+        }
+    }
+
+    /**
+     * Writes the block: its number of rows, then every column, encoded as bytes and compressed on its own. Empties the
+     * block.
+     *
+     * @throws IOException if the block can't be written
+     */
+    private void writeBlock() throws IOException {
+        output.writeInt(rows);
+        for (GameColumn column : GameColumn.getValues()) {
+            int length = this.encodeColumn(column);
+            deflater.reset();
+            deflater.setInput(encoded, 0, length);
+            deflater.finish();
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+            output.writeInt(compressedLength);
+            output.write(compressed, 0, compressedLength);
+        }
+        rows = 0;
+        blocksWritten++;
+    }
+
+    /**
+     * Encodes a column of the block into the encoded array: the game ids as big-endian differences from the previous
+     * row's id (the first row's from 0, so every block can be decoded on its own), every other column as one byte per
+     * row.
+     *
+     * @param column: the column to encode
+     * @return the number of bytes encoded
+     */
+    private int encodeColumn(GameColumn column) {
+        byte[] values = switch (column) {
+            case TURN -> turns;
+            case SHOOTER -> shooters;
+            case CELL -> cells;
+            case OUTCOME -> outcomes;
+            case REMAINING_SHIPS -> remainingShips;
+            case GAME_ID -> null;
+        };
+        if (values != null) {
+            System.arraycopy(values, 0, encoded, 0, rows);
+            return rows;
+        }
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            int difference = gameIds[row] - previous;
+            encoded[4 * row] = (byte) (difference >>> 24);
+            encoded[4 * row + 1] = (byte) (difference >>> 16);
+            encoded[4 * row + 2] = (byte) (difference >>> 8);
+            encoded[4 * row + 3] = (byte) difference;
+            previous = gameIds[row];
+        }
+        return 4 * rows;
+    }
+
+    /**
+     * @param gameId: the id of a game
+     * @return the buffer of the game's shots, taken from the pool (and registered) if the game is new
+     */
+    private GameRows getGame(long gameId) {
+        if ((current != null) && (gameId == currentId)) {
+            return current;
+        }
+        GameRows game = games.get(gameId);
+        if (game == null) {
+            game = pool.isEmpty() ? new GameRows() : pool.pop();
+            game.reset();
+            games.put(gameId, game);
+        }
+        current = game;
+        currentId = gameId;
+        return game;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of games written
+     */
+    public long getExportedGames() {
+        return exportedGames;
+    }
+
+    /**
+     * @return the number of rows (shots) written
+     */
+    public long getExportedRows() {
+        return exportedRows;
+    }
+
+    /**
+     * @return the number of blocks written (including the last one, once closed)
+     */
+    public long getBlocksWritten() {
+        return blocksWritten;
+    }
+
+    /**
+     * The shots of a game in progress, held until the game ends.
+     */
+    private static final class GameRows {
+        private final byte[] shooters = new byte[MAX_SHOTS]; // shooters[shot] is the side that fired the shot
+        private final byte[] cells = new byte[MAX_SHOTS]; // cells[shot] is the cell id of the shot
+        private final byte[] outcomes = new byte[MAX_SHOTS]; // outcomes[shot] is the shot's packed result
+        private final byte[] remainingShips = new byte[MAX_SHOTS]; // remainingShips[shot] is the number of the opponent's ships afloat after the shot
+        private final int[] afloat = new int[2]; // afloat[side] is the number of the side's ships afloat
+        private final boolean[] sunkAny = new boolean[2]; // sunkAny[side] is true once one of the side's ships was sunk
+        private int shots; // The number of shots held
+
+        /**
+         * Readies the buffer for a new game.
+         */
+        private void reset() {
+            afloat[0] = 0;
+            afloat[1] = 0;
+            sunkAny[0] = false;
+            sunkAny[1] = false;
+            shots = 0;
+        }
+    }
+}
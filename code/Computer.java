@@ -2,14 +2,18 @@
 // Date: Jun 23-26, 2023
 
 // Imports
+import java.io.IOException; // Thrown if the opening book can't be opened
+import java.nio.file.Files; // To check if the opening book file exists
+import java.nio.file.Path; // The location of the opening book file
+import java.util.Arrays; // To reset the cell priors
 import java.util.Random; // To simulate a random number generator (mainly uses .nextInt() method)
-import java.util.ArrayList; // To maintain a dynamic ArrayList of possible valid moves
 
 /**
  * A class to represent the computer and all its objects/variables. Holds the computer's ComputerBoard, enemyBoard,
- * random number generator, and possibleMoves. Allows the computer to make a move. (Note: this class was made to collect
+ * random number generator, and target queue. Allows the computer to make a move. (Note: this class was made to collect
  * all the computer's objects/variables in one class to allow for easier access and updating; it's used mainly in the
- * GameManager class).
+ * GameManager class). If an opening book has been loaded (see .loadOpeningBook()), every computer consults it for its
+ * first shots before falling back to its own strategy.
  */
 public class Computer {
     // Variables
@@ -19,22 +23,87 @@ public class Computer {
     private Random randomNumberGenerator; // A random number generator; because the computer must follow an algorithm
     // to make decisions, a random number generator makes the game fair and dynamic
     // by generating random numbers for the indices of moves
-    private ArrayList<int[]> possibleMoves; // An ArrayList of possible moves (each an int[] array of length 2, containing
-    // two indices {i,j}) that remain to be made; the number of possible moves is
-    // dynamic (0-4)
+    private final long[] unresolvedHits; // A bitboard of the hits that are not yet explained by a sunk ship
+    private final int[] targetQueue; // The cells (each a cell id, i * 10 + j) worth firing at to finish off the
+    // unresolved hits; only the first targetQueueLength elements are in use
+    private int targetQueueLength; // The number of cells in the target queue
+    private final long[] queuedCells; // A bitboard of the cells in the target queue, so none is queued twice
+    private final long[] unknownCells; // A bitboard of the cells that haven't been fired at yet
+    private final long[] huntCandidates; // Scratch bitboard of the cells the parity hunt may fire at
+    private HuntMode huntMode; // How the computer hunts when there are no unresolved hits (PARITY by default)
+    private int huntOffset; // Chooses which of a lattice's diagonals are fired at, so the parity hunt isn't the same every game
+    private FlatDensityScorer densityScorer; // Scores the enemy board in DENSITY (or MODELLED) mode; created the first time it is needed
+    private int[] densityScores; // The density score of every cell, filled by the densityScorer
+    private int[] survivingLengths; // The lengths of the enemy ships that haven't been recorded as sunk
+    private final int[] cellPriors; // cellPriors[cell] is the opponent model's weight of the cell in MODELLED mode (OpponentModel.WEIGHT_SCALE without a model)
+    private int horizontalPrior; // The opponent model's weight of horizontal placements in MODELLED mode
+    private int verticalPrior; // The opponent model's weight of vertical placements in MODELLED mode
+    private int clusterPrior; // The opponent model's weight of the cells next to a sunk ship in MODELLED mode
+    private final long[] nearSunkCells; // Scratch bitboard of the cells next to a sunk ship
+    private boolean neutralPriors; // True if the opponent model shows no habits, so MODELLED moves are plain density moves (and the opening book still applies)
+    private long priorsKey; // Mixed into the observation hash of MODELLED moves, so the density cache keeps them apart from other opponents' and from DENSITY moves
+    private int shotsTaken; // The number of moves whose result has been recorded
+    private String moveStrategy; // What chose the last move (OPENING_BOOK, DENSITY, MODELLED, TARGET, PARITY or RANDOM); reported by MoveEvent
+    private final MoveEvent moveEvent; // Records every move for Java Flight Recorder, if enabled; reused, so moves never allocate events
+    private GameEventBus eventBus; // The bus the computer's moves are published to (and rendered from), or null if they aren't reported
+    private long gameId; // The id of the game on the event bus
+    private static OpeningBook openingBook; // The opening book shared by every computer, or null if none has been loaded
+    private static final Direction[] directions = Direction.values(); // The 4 neighbours of a position; Down, Up, Right, Left
+    private static final Direction[] lineDirections = {Direction.DOWN, Direction.RIGHT}; // The directions of a vertical and a horizontal run
+    private static final int[] fleetLengthCounts = new int[11]; // fleetLengthCounts[length] is the number of ships of that length in the standard fleet
+    private static final long[][][] huntLattices = new long[11][][]; // huntLattices[length][offset] is the bitboard of the cells with (i + j) % length == offset
+    private static final MoveCache densityCache = new MoveCache(1 << 16); // Density moves shared by every computer, keyed by the enemy board's observation hash
+
+    static { // Precomputes one lattice per ship length and offset, so choosing a parity hunt cell is a single bitmask operation
+        for (int shipLength : Ship.getStandardFleetLengths()) {
+            fleetLengthCounts[shipLength]++;
+        }
+        for (int shipLength = 1; shipLength <= 10; shipLength++) {
+            huntLattices[shipLength] = new long[shipLength][BitBoard.WORDS];
+            for (int cell = 0; cell < 100; cell++) {
+                BitBoard.set(huntLattices[shipLength][(Board.cellIndexI(cell) + Board.cellIndexJ(cell)) % shipLength], cell);
+            }
+        }
+    }
 
     // Constructor
 
     /**
      * --Default Constructor for Computer--
      * Creates a new ComputerBoard (but doesn't generate it yet), an enemy board, a Random object to serve as a random
-     * number generator (using .nextInt()) for the ComputerBoard's methods, and a possible moves ArrayList.
+     * number generator (using .nextInt()) for the ComputerBoard's methods, and an empty target queue.
      */
     public Computer() {
-        board = new ComputerBoard();
+        this(new ComputerBoard());
+    }
+
+    /**
+     * --Constructor for Computer--
+     * Creates a computer that shares the passed ComputerBoard instead of creating its own, along with a new enemy
+     * board, random number generator and target queue. (Note: used by the FreeForAllManager class, where a
+     * single participant keeps one fleet but needs a separate enemy board for every opponent it is targeting).
+     *
+     * @param board: the ComputerBoard holding this computer's ships
+     * @see FreeForAllManager
+     */
+    public Computer(ComputerBoard board) {
+        this.board = board;
         enemyBoard = new Board();
         randomNumberGenerator = new Random();
-        possibleMoves = new ArrayList<>();
+        unresolvedHits = new long[BitBoard.WORDS];
+        targetQueue = new int[100]; // At most every cell
+        targetQueueLength = 0;
+        queuedCells = new long[BitBoard.WORDS];
+        unknownCells = new long[BitBoard.WORDS];
+        BitBoard.fill(unknownCells);
+        huntCandidates = new long[BitBoard.WORDS];
+        huntMode = HuntMode.PARITY;
+        huntOffset = randomNumberGenerator.nextInt(0, 10);
+        shotsTaken = 0;
+        cellPriors = new int[100];
+        nearSunkCells = new long[BitBoard.WORDS];
+        this.setOpponentModel(null); // No habits are known yet
+        moveEvent = new MoveEvent();
     }
 
     // Methods
@@ -50,24 +119,31 @@ public class Computer {
     }
 
     /**
-     * Prints the computer's ComputerBoard (Note: made to allow the GameManager class to access the ComputerBoard's
-     * .printBoard() method).
-     *
-     * @see GameManager
+     * Readies the computer for a new game without allocating anything: clears its ComputerBoard (which must be
+     * generated again, see .generateBoard()), its enemy board, its unresolved hits and target queue, and chooses a new
+     * parity hunt offset. (Note: lets headless loops, like HeadlessGame, reuse the same computers for every game; a
+     * computer that shares its ComputerBoard, like in the FreeForAllManager class, clears that board for every sharer).
      */
-    public void printBoard() {
-        board.printBoard();
+    public void reset() {
+        board.clear();
+        enemyBoard.clear();
+        BitBoard.clearAll(unresolvedHits);
+        targetQueueLength = 0;
+        BitBoard.clearAll(queuedCells);
+        BitBoard.fill(unknownCells);
+        huntOffset = randomNumberGenerator.nextInt(0, 10);
+        shotsTaken = 0;
+        moveStrategy = null;
     }
 
     /**
-     * Updates the ship position that has been hit by the player move in the ComputerBoard's ships (Note: made to allow
-     * the GameManager class to access the ComputerBoard's .updateHitShipPositions() method).
+     * Prints the computer's ComputerBoard (Note: made to allow the GameManager class to access the ComputerBoard's
+     * .printBoard() method).
      *
-     * @param playerMove: an int[] array of length 2 containing the two indices of the player's move {i,j}
      * @see GameManager
      */
-    public void updateHitShipPositions(int[] playerMove) {
-        board.updateHitShipPositions(playerMove);
+    public void printBoard() {
+        board.printBoard();
     }
 
     /**
@@ -83,161 +159,461 @@ public class Computer {
     }
 
     /**
-     * Generates a computer move by randomly picking a position on the computer's enemy board. If the move is a hit, the
-     * method will generate an ArrayList of possible moves, from which the computer will keep on randomly choosing moves
-     * until the ArrayList is depleted (if, at any point, one of the possible moves is a hit as well, the method will
-     * recalculate the ArrayList of possible moves using the position of that possible move). Otherwise, if the hit is a
-     * miss, the computer will either continue to randomly choose moves from the ArrayList of possible moves or, if
-     * there are no more possible moves, start randomly picking positions again. (Note: this method requires the
-     * player's board, which contains their ships, to determine if a move was a hit or a miss, however the passed board
-     * will always be a copy of the player's board, created in the GameManager class using the Board class'
-     * .getBoardCopy() method, to ensure that the player's board is not changed).
+     * Chooses a computer move (see .chooseMove()), fires it at the passed player's board and publishes its result. While
+     * hunting, the computer picks random positions; once it hits a ship, it keeps firing around its unresolved hits
+     * until a sunk ship explains them, then goes back to hunting. (Note: the shot is applied directly to the player's
+     * board through the ShotTarget interface, which also updates the player's ships and reports sunk ships, so no copy
+     * of the board is needed).
+     *
+     * @param playerBoard: the player's board, which applies the shot and reports its result
+     * @return shotResult: the result of the computer's move, encoded by the ShotResult class
+     */
+    public int makeMove(ShotTarget playerBoard) {
+        moveEvent.begin(); // The computer's event is reused, because a computer only makes one move at a time
+        int computerMove = this.chooseMove(); // Computer's move
+        long startTime = Metrics.startTimer(); // Hit resolution is timed by the Metrics registry
+        int shotResult = playerBoard.receiveShot(computerMove); // Fires the move at the player's board
+        this.checkComputerMove(computerMove, shotResult); // Publishes whether the computer move was a hit or a miss and updates the computer's enemy board
+        Metrics.recordPhase(GamePhase.HIT_RESOLUTION, startTime);
+        moveEvent.end();
+        if (moveEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            moveEvent.side = "Computer";
+            moveEvent.cell = computerMove;
+            moveEvent.position = Board.cellToPositionString(computerMove);
+            moveEvent.outcome = ShotResult.getOutcome(shotResult);
+            moveEvent.sunkLength = ShotResult.getSunkLength(shotResult);
+            moveEvent.strategy = moveStrategy;
+            moveEvent.commit();
+        }
+        return shotResult; // Return the result to the calling function (Note: this method is primarily called in the class GameManager, which uses the result to decide if the game might be over)
+    }
+
+    /**
+     * Chooses the computer's next move without checking it against any board. If an opening book is loaded and still
+     * covers this shot, the book's move for the enemy board is used (except in MODELLED mode against an opponent with
+     * habits, because the book was built from unweighted densities). In DENSITY mode, the move with the highest
+     * placement density is used (see .chooseDensityMove()); in MODELLED mode, the density is weighted by the opponent's
+     * habits. Otherwise, if there are unresolved hits (hits that are not yet explained by a sunk ship), it randomly
+     * chooses one of the cells in the target queue (see .updateTargetQueue()). If there are none, it hunts: in PARITY
+     * mode, it randomly picks one of the positions that haven't been fired at on the lattice of the smallest surviving
+     * enemy ship (see HuntMode); in RANDOM mode, or if the lattice is used up, it randomly picks a position on the
+     * computer's enemy board that is neither a hit nor a miss. (Note: this method only reads the computer's own state,
+     * which allows the FreeForAllManager class to choose the moves of many computers concurrently before applying
+     * them).
+     *
+     * @return computerMove: the cell id (i * 10 + j) of the computer's move
+     * @see FreeForAllManager
+     */
+    public int chooseMove() {
+        long startTime = Metrics.startTimer(); // Move selection is timed by the Metrics registry
+        int computerMove = this.selectMove();
+        Metrics.recordPhase(GamePhase.MOVE_SELECTION, startTime);
+        return computerMove;
+    }
+
+    /**
+     * Does the work of .chooseMove(), which times it.
      *
-     * @param playerBoard: a copy of the player's board, used to determine if the move made was a hit or a miss
-     * @return computerMove: an int[] array of length 2 containing the two indices of the computer's move {i,j}
+     * @return computerMove: the cell id (i * 10 + j) of the computer's move
      */
-    public int[] makeMove(Board playerBoard) {
-        int[] computerMove = new int[2]; // Computer's move, to be returned regardless of hit or miss
+    private int selectMove() {
+        int computerMove; // Computer's move
         int computerIndexI; // The indexI of the computer's move
         int computerIndexJ; // the indexJ of the computer's move
-        int possibleMovesIndex; // Randomly chosen index of a move in the possible moves ArrayList, if it is not empty
+        int attempts = 0; // The number of random positions tried by the random hunt
 
-        if (possibleMoves.size() == 0) { // If there are no possible moves; possibleMoves ArrayList is empty
-            do { // Loops until a valid position (not a hit nor a miss) is found
-                computerIndexI = randomNumberGenerator.nextInt(0, 10); // Random indexI
-                computerIndexJ = randomNumberGenerator.nextInt(0, 10); // Random indexJ
+        boolean bookApplies = (huntMode != HuntMode.MODELLED) || neutralPriors; // The book knows nothing of the opponent's habits
+        if (bookApplies && (openingBook != null) && (shotsTaken < openingBook.getDepth())) { // Early game; consult the opening book
+            computerMove = openingBook.lookup(enemyBoard);
+            if ((computerMove != Board.INVALID_CELL) && (enemyBoard.isEmpty(computerMove))) { // If the observation is in the book
+                moveStrategy = "OPENING_BOOK";
+                return computerMove;
             }
-            while ((enemyBoard.isHit(computerIndexI, computerIndexJ)) || (enemyBoard.isMiss(computerIndexI, computerIndexJ))); // While the position is a hit or a miss
-
-            computerMove[0] = computerIndexI; // Update the indexI of the computerMove
-            computerMove[1] = computerIndexJ; // Update the indexJ of the computerMove
-        } else { // If there are possible moves; possibleMoves ArrayList is not empty
-            possibleMovesIndex = randomNumberGenerator.nextInt(0, this.getPossibleMovesLength()); // Randomly choose a possible move index
-            computerMove = this.getPossibleMovesElement(possibleMovesIndex); // Get the randomly chosen possible move using the index
-            this.removePossibleMovesElement(possibleMovesIndex); // Remove the randomly chosen move from the Arraylist of possible moves (it cannot be chosen more than once)
         }
-        this.checkComputerMove(computerMove, playerBoard); // Checks and outputs whether the computer move was a hit or a miss and updates the computer's enemy board
-        return computerMove; // Return the computer move to the calling function (Note: this method is primarily called in the class GameManager, and the returned move is used to update the player's board)
+
+        if ((huntMode == HuntMode.DENSITY) || (huntMode == HuntMode.MODELLED)) {
+            computerMove = this.chooseDensityMove();
+            if (computerMove != Board.INVALID_CELL) {
+                moveStrategy = (huntMode == HuntMode.MODELLED) ? "MODELLED" : "DENSITY";
+                return computerMove;
+            }
+        }
+
+        this.updateTargetQueue();
+        if (targetQueueLength > 0) { // Target mode; finish off the unresolved hits
+            moveStrategy = "TARGET";
+            return targetQueue[randomNumberGenerator.nextInt(0, targetQueueLength)];
+        }
+
+        if (huntMode == HuntMode.PARITY) { // Hunt mode; fire at the unknown cells on the lattice of the smallest surviving ship
+            int smallestLength = this.getSmallestSurvivingLength();
+            long[] lattice = huntLattices[smallestLength][huntOffset % smallestLength];
+            for (int word = 0; word < BitBoard.WORDS; word++) {
+                huntCandidates[word] = lattice[word] & unknownCells[word];
+            }
+            int candidates = BitBoard.count(huntCandidates);
+            if (candidates > 0) {
+                moveStrategy = "PARITY";
+                return BitBoard.nthCell(huntCandidates, randomNumberGenerator.nextInt(0, candidates));
+            }
+        }
+
+        do { // Hunt mode; loops until a valid position (not a hit nor a miss) is found
+            attempts++;
+            computerIndexI = randomNumberGenerator.nextInt(0, 10); // Random indexI
+            computerIndexJ = randomNumberGenerator.nextInt(0, 10); // Random indexJ
+        }
+        while ((enemyBoard.isHit(computerIndexI, computerIndexJ)) || (enemyBoard.isMiss(computerIndexI, computerIndexJ))); // While the position is a hit or a miss
+        Metrics.countMoveRetries(attempts - 1); // Every attempt but the last was rejected
+        moveStrategy = "RANDOM";
+
+        computerMove = Board.cellOf(computerIndexI, computerIndexJ); // Pack the indices into the computerMove's cell id
+        return computerMove;
+    }
+
+    /**
+     * Publishes the passed computer move and its result to the event bus (see ConsoleRenderer for how they are output),
+     * then records it (see .recordMoveResult()).
+     *
+     * @param computerMove: the cell id (i * 10 + j) of the computer's move
+     * @param shotResult:   the result of the move, encoded by the ShotResult class
+     */
+    private void checkComputerMove(int computerMove, int shotResult) {
+        if (eventBus != null) {
+            eventBus.publishShot(gameId, GameEventBus.COMPUTER, GameEventBus.PLAYER, computerMove, shotResult); // Report the state of the move
+        }
+        this.recordMoveResult(computerMove, shotResult);
     }
 
     /**
-     * Determines if the passed computer move was a hit or a miss by checking the same position in the player's board,
-     * then outputs the state of the move using the Colours class and the position string representation of the
-     * computer's move indices. In the case of a hit, it calls the .updatePossibleMoves() method to recalculate and
-     * update the ArrayList of possible moves. Also updates the computer's enemy board.
+     * Records the result of the passed computer move without outputting anything. Updates the computer's enemy board
+     * with a hit or a miss. A hit is added to the unresolved hits; if it also sunk a ship, the sunk ship is recorded on
+     * the enemy board and the hits it explains are retired (see .retireSunkShip()).
      *
-     * @param computerMove: an int[] array of length 2 containing the indices of the computer's move {i,j}
-     * @param playerBoard:  the player's board, used to determine if the computer's move was a hit (ship) or a miss (no ship)
+     * @param computerMove: the cell id (i * 10 + j) of the computer's move
+     * @param shotResult:   the result of the move, encoded by the ShotResult class
      */
-    private void checkComputerMove(int[] computerMove, Board playerBoard) {
-        String computerMoveString = Board.indicesToPositionString(computerMove); // Parse the computer move indices into their position string representation (format [Letter][Number])
-
-        System.out.println();
-        if (playerBoard.isShip(computerMove[0], computerMove[1])) { // Hit (computer move position in the player's board was a ship, thus it hit the ship)
-            System.out.println("Computer Move [" + Colours.getYellow() + computerMoveString + Colours.getReset() + "] was a " + Colours.getRedBoldBright() + "HIT" + Colours.getReset()); // Output the state of the move
-            enemyBoard.addHit(computerMove[0], computerMove[1]); // Update the computer's enemyBoard with a hit
-            this.updatePossibleMoves(computerMove[0], computerMove[1]); // Because the computer made a hit, recalculate and update the ArrayList of possible moves
-        } else { // Miss (computer move position in the player's board was not a ship)
-            System.out.println("Computer Move [" + Colours.getYellow() + computerMoveString + Colours.getReset() + "] was a " + Colours.getCyan() + "MISS" + Colours.getReset()); // Output the state of the move
-            enemyBoard.addMiss(computerMove[0], computerMove[1]); // Update the computer's enemyBoard with a miss
+    public void recordMoveResult(int computerMove, int shotResult) {
+        shotsTaken++;
+        BitBoard.clear(unknownCells, computerMove);
+        if (ShotResult.isHit(shotResult)) {
+            enemyBoard.addHit(computerMove); // Update the computer's enemyBoard with a hit
+            BitBoard.set(unresolvedHits, computerMove);
+            if (ShotResult.isSunk(shotResult)) {
+                enemyBoard.recordSunkShip(ShotResult.getSunkLength(shotResult));
+                this.retireSunkShip(computerMove, ShotResult.getSunkLength(shotResult));
+            }
+        } else {
+            enemyBoard.addMiss(computerMove); // Update the computer's enemyBoard with a miss
         }
     }
 
     /**
-     * Calculates and updates the ArrayList of possible moves using the passed computer move indices. Performs 4 checks
-     * (down, up, right, left) to see if the next immediate position in each direction is valid. Appends any valid
-     * positions to the ArrayList of possible moves. (Note: this method is private because it requires that the passed
-     * move be a hit, thus it is safer to only have it be called from inside the .checkComputerMove() method that does
-     * just that).
+     * Records a ship of the enemy that another computer sunk (in free-for-all games, where only the shooter learns of
+     * the sinking from the shot's result). The wreck is retired (see .retireWreck()) and the sunk ship is recorded, so
+     * the computer stops targeting the wreck.
      *
-     * @param i: indexI of the computer's move
-     * @param j: indexJ of the computer's move
+     * @param shipCells:  the cell ids of the sunk ship
+     * @param shipLength: the length of the sunk ship
+     * @see FreeForAllManager
      */
-    private void updatePossibleMoves(int i, int j) {
-        this.resetPossibleMoves();
+    public void recordSunkShip(int[] shipCells, int shipLength) {
+        this.retireWreck(shipCells);
+        enemyBoard.recordSunkShip(shipLength);
+    }
 
-        if (i < 9) { // Down Check
-            if (enemyBoard.isEmpty(i + 1, j)) {
-                possibleMoves.add(new int[]{i + 1, j});
+    /**
+     * Retires the exact cells of a sunk ship, without recording the sunk ship itself: every cell becomes a hit on the
+     * enemy board and stops being unknown or an unresolved hit. (Note: used for the shooter of a sinking move in
+     * free-for-all games, which has already recorded the sunk ship in .recordMoveResult(), but whose own search for
+     * the wreck misses the cells other computers hit first).
+     *
+     * @param shipCells: the cell ids of the sunk ship
+     * @see FreeForAllManager
+     */
+    public void retireWreck(int[] shipCells) {
+        for (int cell : shipCells) {
+            if (!enemyBoard.isHit(cell)) {
+                enemyBoard.addHit(cell);
             }
+            BitBoard.clear(unknownCells, cell);
+            BitBoard.clear(unresolvedHits, cell);
         }
-        if (i > 0) { // Up Check
-            if (enemyBoard.isEmpty(i - 1, j)) {
-                possibleMoves.add(new int[]{i - 1, j});
+    }
+
+    /**
+     * Chooses the unknown cell with the highest placement density for the surviving enemy ships, where only unresolved
+     * hits attract placements (the hits of sunk ships are blocked like misses). Density moves are expensive to compute
+     * but recur often, so they are looked up in, and added to, a MoveCache shared by every computer, keyed by the enemy
+     * board's observation hash. In MODELLED mode, the placements are weighted by the opponent's orientation habit and
+     * the scores by their other habits (see .applyCellPriors()), and the cache is keyed by the observation hash
+     * mixed with the habits, so opponents with the same habits share their moves.
+     *
+     * @return the cell id of the chosen move, or Board.INVALID_CELL if no cell can hold a surviving ship
+     */
+    private int chooseDensityMove() {
+        boolean modelled = huntMode == HuntMode.MODELLED; // Modelled moves also depend on the opponent's habits
+        long observationHash = modelled ? (enemyBoard.getObservationHash() ^ priorsKey) : enemyBoard.getObservationHash();
+        int computerMove = densityCache.get(observationHash);
+        if ((computerMove != Board.INVALID_CELL) && (enemyBoard.isEmpty(computerMove))) {
+            return computerMove;
+        }
+
+        if (densityScorer == null) { // Only computers in DENSITY (or MODELLED) mode need the scratch arrays
+            densityScorer = new FlatDensityScorer();
+            densityScores = new int[100];
+            survivingLengths = new int[Ship.getStandardFleetLengths().length];
+        }
+        int survivingCount = 0; // The number of surviving ships
+        for (int shipLength = 1; shipLength < fleetLengthCounts.length; shipLength++) {
+            for (int ship = enemyBoard.getSunkShipCount(shipLength); ship < fleetLengthCounts[shipLength]; ship++) {
+                survivingLengths[survivingCount++] = shipLength;
             }
         }
-        if (j < 9) { // Right Check
-            if (enemyBoard.isEmpty(i, j + 1)) {
-                possibleMoves.add(new int[]{i, j + 1});
+        densityScorer.load(enemyBoard, unresolvedHits);
+        if (modelled) {
+            densityScorer.score(survivingLengths, survivingCount, densityScores, horizontalPrior, verticalPrior);
+            this.applyCellPriors();
+        } else {
+            densityScorer.score(survivingLengths, survivingCount, densityScores);
+        }
+        computerMove = densityScorer.bestCell(densityScores);
+        if ((computerMove != Board.INVALID_CELL) && (densityScores[computerMove] > 0)) {
+            densityCache.put(observationHash, computerMove);
+            return computerMove;
+        }
+        return Board.INVALID_CELL;
+    }
+
+    /**
+     * Multiplies the density scores by the opponent model's cell weights (edge bias), and the scores of the cells next
+     * to a sunk ship by its cluster weight (relative to OpponentModel.WEIGHT_SCALE). Takes one pass over the board.
+     */
+    private void applyCellPriors() {
+        BitBoard.clearAll(nearSunkCells);
+        if (clusterPrior != OpponentModel.WEIGHT_SCALE) {
+            for (int cell = 0; cell < 100; cell++) {
+                if ((enemyBoard.isHit(cell)) && (!BitBoard.get(unresolvedHits, cell))) { // A cell of a sunk ship
+                    for (Direction direction : directions) {
+                        int i = Board.cellIndexI(cell) + direction.getStepI();
+                        int j = Board.cellIndexJ(cell) + direction.getStepJ();
+                        if ((0 <= i) && (i < 10) && (0 <= j) && (j < 10)) {
+                            BitBoard.set(nearSunkCells, Board.cellOf(i, j));
+                        }
+                    }
+                }
             }
         }
-        if (j > 0) { // Left Check
-            if (enemyBoard.isEmpty(i, j - 1)) {
-                possibleMoves.add(new int[]{i, j - 1});
+        for (int cell = 0; cell < 100; cell++) {
+            densityScores[cell] *= cellPriors[cell];
+            if (BitBoard.get(nearSunkCells, cell)) {
+                densityScores[cell] = densityScores[cell] * clusterPrior / OpponentModel.WEIGHT_SCALE;
             }
         }
     }
 
     /**
-     * Checks to see if the passed index is valid for the length (size) of the ArrayList of possible moves, then
-     * removes the element at that index if the index is valid. Otherwise, doesn't remove anything.
+     * Finds the length of the smallest enemy ship that hasn't been recorded as sunk, by comparing the standard fleet
+     * against the sunk ships recorded on the enemy board.
      *
-     * @param index: the index of the element to be removed in the ArrayList of possible moves
+     * @return the length of the smallest surviving enemy ship, or 1 if every ship has been sunk
+     */
+    private int getSmallestSurvivingLength() {
+        for (int shipLength = 1; shipLength < fleetLengthCounts.length; shipLength++) {
+            if (fleetLengthCounts[shipLength] > enemyBoard.getSunkShipCount(shipLength)) {
+                return shipLength;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Removes the hits of a newly sunk ship from the unresolved hits. The sunk ship covers the sinking move and lies on
+     * a straight run of unresolved hits of exactly the ship's length, so every such run through the move (vertical or
+     * horizontal) is a candidate. If there is a single candidate, it is retired. If there are several, a run that ends
+     * at the sinking move is preferred, because ships are usually sunk by extending a line of hits. If there are none
+     * (the hits around the move belong to other ships that were hit out of line), only the move itself is retired.
+     *
+     * @param computerMove: the cell id (i * 10 + j) of the move that sunk the ship
+     * @param shipLength:   the length of the sunk ship
+     */
+    private void retireSunkShip(int computerMove, int shipLength) {
+        int chosenStart = Board.INVALID_CELL; // The first cell of the chosen run
+        Direction chosenDirection = null; // The direction of the chosen run (Down or Right)
+        boolean chosenEndsAtMove = false; // If the chosen run ends at the sinking move
+
+        for (Direction direction : lineDirections) {
+            for (int offset = 0; offset < shipLength; offset++) { // The position of the move within the run
+                int startI = Board.cellIndexI(computerMove) - offset * direction.getStepI();
+                int startJ = Board.cellIndexJ(computerMove) - offset * direction.getStepJ();
+                if (this.isUnresolvedRun(startI, startJ, direction, shipLength)) {
+                    boolean endsAtMove = (offset == 0) || (offset == shipLength - 1);
+                    if ((chosenDirection == null) || (endsAtMove && !chosenEndsAtMove)) {
+                        chosenStart = Board.cellOf(startI, startJ);
+                        chosenDirection = direction;
+                        chosenEndsAtMove = endsAtMove;
+                    }
+                }
+            }
+        }
+
+        if (chosenDirection == null) {
+            BitBoard.clear(unresolvedHits, computerMove);
+            return;
+        }
+        for (int k = 0; k < shipLength; k++) {
+            BitBoard.clear(unresolvedHits, chosenStart + k * (chosenDirection.getStepI() * 10 + chosenDirection.getStepJ()));
+        }
+    }
+
+    /**
+     * @param i:          indexI of the run's first position
+     * @param j:          indexJ of the run's first position
+     * @param direction:  the direction of the run (Down or Right)
+     * @param shipLength: the length of the run
+     * @return boolean: true if every position of the run is within the board and an unresolved hit, false otherwise
+     */
+    private boolean isUnresolvedRun(int i, int j, Direction direction, int shipLength) {
+        if ((!enemyBoard.containsPosition(i, j)) || (!enemyBoard.containsPosition(i + (shipLength - 1) * direction.getStepI(), j + (shipLength - 1) * direction.getStepJ()))) {
+            return false;
+        }
+        for (int k = 0; k < shipLength; k++) {
+            if (!BitBoard.get(unresolvedHits, Board.cellOf(i + k * direction.getStepI(), j + k * direction.getStepJ()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the target queue from the unresolved hits: the cells worth firing at to finish off the ships that have
+     * been hit but not yet sunk. Cells that extend a line of two or more unresolved hits are queued first; only if
+     * there are none are all the empty neighbours of the unresolved hits queued. Every cell is queued at most once, and
+     * the queue array is reused, so nothing is allocated.
      */
-    public void removePossibleMovesElement(int index) {
-        if ((0 <= index) && (index < possibleMoves.size())) { // If the index is contained within the ArrayList of possible moves
-            possibleMoves.remove(index); // Remove the element at the index
+    private void updateTargetQueue() {
+        targetQueueLength = 0;
+        if (BitBoard.count(unresolvedHits) == 0) {
+            return;
+        }
+        this.queueNeighbours(true); // Line extensions
+        if (targetQueueLength == 0) {
+            this.queueNeighbours(false); // Any neighbour
         }
     }
 
     /**
-     * Resets the ArrayList of possible moves to a new, empty ArrayList
+     * Adds the empty neighbours of every unresolved hit to the target queue.
+     *
+     * @param lineExtensionsOnly: if true, a neighbour is only added if the hit's neighbour on the opposite side is also
+     *                            an unresolved hit (so the neighbour extends a line of hits)
      */
-    public void resetPossibleMoves() {
-        possibleMoves = new ArrayList<>();
+    private void queueNeighbours(boolean lineExtensionsOnly) {
+        BitBoard.clearAll(queuedCells);
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            for (long bits = unresolvedHits[word]; bits != 0; bits &= bits - 1) {
+                int hit = word * 64 + Long.numberOfTrailingZeros(bits);
+                int i = Board.cellIndexI(hit);
+                int j = Board.cellIndexJ(hit);
+                for (Direction direction : Computer.directions) {
+                    int neighbourI = i + direction.getStepI();
+                    int neighbourJ = j + direction.getStepJ();
+                    if ((!enemyBoard.containsPosition(neighbourI, neighbourJ)) || (!enemyBoard.isEmpty(neighbourI, neighbourJ))) {
+                        continue;
+                    }
+                    if (lineExtensionsOnly) {
+                        int oppositeI = i - direction.getStepI();
+                        int oppositeJ = j - direction.getStepJ();
+                        if ((!enemyBoard.containsPosition(oppositeI, oppositeJ)) || (!BitBoard.get(unresolvedHits, Board.cellOf(oppositeI, oppositeJ)))) {
+                            continue;
+                        }
+                    }
+                    int neighbour = Board.cellOf(neighbourI, neighbourJ);
+                    if (!BitBoard.get(queuedCells, neighbour)) {
+                        BitBoard.set(queuedCells, neighbour);
+                        targetQueue[targetQueueLength++] = neighbour;
+                    }
+                }
+            }
+        }
     }
 
     // [Setter Methods]
 
     /**
-     * Adds a hit on the computer's board at the position of the passed player's move. (Note: made to allow the
-     * GameManager class to access the ComputerBoard's .addHit() method).
+     * @param huntMode: how the computer hunts when there are no unresolved hits
+     */
+    public void setHuntMode(HuntMode huntMode) {
+        this.huntMode = huntMode;
+    }
+
+    /**
+     * Makes the computer place its ships away from the cells opponents tend to fire at early, as recorded in the passed
+     * table (see AdaptivePlacer), instead of at random.
      *
-     * @param playerMove: an int[] array containing the 2 indices of the player's move {i,j}
-     * @see GameManager
+     * @param shotFrequencyTable: where opponents fire early, or null to place ships at random again
      */
-    public void addHit(int[] playerMove) {
-        board.addHit(playerMove[0], playerMove[1]);
+    public void setShotFrequencyTable(ShotFrequencyTable shotFrequencyTable) {
+        board.setAdaptivePlacer((shotFrequencyTable != null) ? new AdaptivePlacer(shotFrequencyTable) : null);
     }
 
     /**
-     * Adds a miss on the computer's board at the position of the passed player's move. (Note: made to allow the
-     * GameManager class to access the ComputerBoard's .addMiss() method).
+     * Takes the placement habits of the opponent from the passed model (read once here, so the moves never touch the
+     * model). The habits are only used in MODELLED mode. (Note: call it again before every game to pick up what the
+     * model learned from the last one).
      *
-     * @param playerMove: an int[] array containing the 2 indices of the player's move {i,j}
-     * @see GameManager
+     * @param opponentModel: the opponent's model, or null to assume no habits
      */
-    public void addMiss(int[] playerMove) {
-        board.addMiss(playerMove[0], playerMove[1]);
+    public void setOpponentModel(OpponentModel opponentModel) {
+        if (opponentModel == null) {
+            Arrays.fill(cellPriors, OpponentModel.WEIGHT_SCALE);
+            horizontalPrior = OpponentModel.WEIGHT_SCALE;
+            verticalPrior = OpponentModel.WEIGHT_SCALE;
+            clusterPrior = OpponentModel.WEIGHT_SCALE;
+        } else {
+            opponentModel.copyCellWeights(cellPriors);
+            horizontalPrior = opponentModel.getHorizontalWeight();
+            verticalPrior = opponentModel.getVerticalWeight();
+            clusterPrior = opponentModel.getClusterWeight();
+        }
+        long weights = 0; // Every weight is at most 64, so they fit side by side in 7 bits each
+        neutralPriors = true;
+        for (int weight : new int[]{cellPriors[0], cellPriors[11], horizontalPrior, verticalPrior, clusterPrior}) { // cellPriors[0] is an edge cell, cellPriors[11] an interior one
+            weights = (weights << 7) | weight;
+            neutralPriors &= weight == OpponentModel.WEIGHT_SCALE;
+        }
+        priorsKey = weights * 0x9E3779B97F4A7C15L; // Spreads the weights over the whole hash
     }
 
-    // [Getter Methods]
+    /**
+     * @param eventBus: the bus the computer's moves are published to
+     * @param gameId:   the id of the game on the event bus
+     */
+    public void setEventBus(GameEventBus eventBus, long gameId) {
+        this.eventBus = eventBus;
+        this.gameId = gameId;
+    }
 
     /**
-     * Checks to see if the passed index is valid for the length (size) of the ArrayList of possible moves, then returns
-     * the element at that index if the index is valid. Otherwise, returns null.
+     * Memory-maps the opening book in the passed file and makes every computer consult it, if the file exists.
+     * Otherwise (or if the file is not a valid opening book), the computers keep using their own strategy only.
      *
-     * @param index: the index of the element to be removed in the ArrayList of possible moves
-     * @return element: the element in possibleMoves at the passed index if the index is valid / null otherwise
+     * @param file: the opening book file, written by the OpeningBookGenerator
+     * @see OpeningBookGenerator
      */
-    public int[] getPossibleMovesElement(int index) {
-        if ((0 <= index) && (index < possibleMoves.size())) { // If the index is contained within the ArrayList of possible moves
-            return possibleMoves.get(index); // Return the element at that index
-        } else { // Index is not contained within the ArrayList of possible moves
-            return null;
+    public static void loadOpeningBook(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            openingBook = OpeningBook.open(file);
+        } catch (IOException e) {
+            System.out.println("Could not load the opening book [" + file + "]: " + e.getMessage());
         }
     }
 
+    // [Getter Methods]
+
     /**
      * @return the computer's board
      */
@@ -246,23 +622,30 @@ public class Computer {
     }
 
     /**
-     * @return a copy of the computer's board
+     * @return the computer's board's ships
      */
-    public Board getBoardCopy() {
-        return board.getBoardCopy();
+    public Ship[] getShips() {
+        return board.getShips();
     }
 
     /**
-     * @return the computer's board's ships
+     * @return the computer's enemy board
      */
-    public Ship[] getShips() {
-        return board.getShips();
+    public Board getEnemyBoard() {
+        return enemyBoard;
+    }
+
+    /**
+     * @return how the computer hunts when there are no unresolved hits
+     */
+    public HuntMode getHuntMode() {
+        return huntMode;
     }
 
     /**
-     * @return the length of the ArrayList of possible moves
+     * @return boolean: true if the computer has hits that are not yet explained by a sunk ship, false otherwise
      */
-    public int getPossibleMovesLength() {
-        return possibleMoves.size();
+    public boolean hasUnresolvedHits() {
+        return BitBoard.count(unresolvedHits) > 0;
     }
 }
\ No newline at end of file
@@ -7,14 +7,20 @@ import java.util.Random; // To simulate a random number generator (mainly uses .
 /**
  * A class that extends the Board class to represent the computer's board, a specialized board unique to the computer
  * that holds and represents where their ships are placed. This class both generates the computer's board and ships, and
- * also updates and returns them when needed.
+ * also updates and returns them when needed. It implements the ShotTarget interface, which lets the player (or other
+ * computers) fire at it.
  */
-public class ComputerBoard extends Board {
+public class ComputerBoard extends Board implements ShotTarget {
     // Variables
-    private DirectionBoard directionBoard; // Used to calculate and represent valid directions for when the computer
-    // board is being generated in .generateComputerBoard(); a copy of the main
-    // board, where each empty cell is replaced with an InvalidPosition
+    private final DirectionBoard directionBoard; // Used to calculate and represent valid directions for when the
+    // computer board is being generated in .generateComputerBoard(); reset
+    // to a copy of the main board, where each empty cell is replaced with
+    // an InvalidPosition, for every ship
     private Ship[] ships; // An array of Ship objects, holds all 5 of the computer's ships
+    private final PlacementEvent placementEvent; // Records every fleet placement for Java Flight Recorder, if enabled; reused, so placements never allocate events
+    private final int[][] placedPositions; // placedPositions[length] is reused to hold the cell ids of a ship of that length while it is placed
+    private AdaptivePlacer adaptivePlacer; // Samples placements away from where opponents fire early, or null if ships are placed at random
+    private final long[] occupiedCells; // A bitboard of the cells holding a ship, while the fleet is placed by the adaptivePlacer
     private final Random randomNumberGenerator; // A random number generator; because the computer must follow an algorithm
     // to make decisions, a random number generator makes the game fair and dynamic
     // by generating random numbers for the indices and directions of ships
@@ -33,76 +39,133 @@ public class ComputerBoard extends Board {
     public ComputerBoard() {
         super(); // Uses Board's constructor (board is not yet entirely generated)
         directionBoard = new DirectionBoard(this);
-        this.ships = new Ship[5];
-        this.ships[0] = new Ship("Carrier", 5);
-        this.ships[1] = new Ship("Battleship", 4);
-        this.ships[2] = new Ship("Destroyer", 3);
-        this.ships[3] = new Ship("Submarine", 3);
-        this.ships[4] = new Ship("Patrol Boat", 2);
+        this.ships = Ship.createStandardFleet();
+        placedPositions = new int[11][]; // Ships are at most 10 positions long
+        for (Ship ship : ships) {
+            placedPositions[ship.getLength()] = new int[ship.getLength()];
+        }
+        occupiedCells = new long[BitBoard.WORDS];
         randomNumberGenerator = new Random();
+        placementEvent = new PlacementEvent();
     }
 
     // Methods
 
     /**
      * Generates the computer's board by randomly placing each of the 5 ships. Extensively uses the random number
-     * generator to choose the indices of the first positions and the directions of each ship.
+     * generator to choose the indices of the first positions and the directions of each ship. If an AdaptivePlacer has
+     * been set, the ships are placed by it instead (see .generateAdaptiveBoard()).
      */
     public void generateComputerBoard() {
+        if (adaptivePlacer != null) {
+            this.generateAdaptiveBoard();
+            return;
+        }
         int computerIndexI; // The indexI of the computer's position
         int computerIndexJ; // The indexJ of the computer's position
         int shipLength; // The length of the current ship
-        int[][] shipPositions; // The positions of the current ship
+        int[] shipPositions; // The cell ids of the positions of the current ship
         int computerDirectionIndex; // Holds a random value that corresponds to an index in possibleDirections; used to randomly choose a ship direction
-        String computerDirection; // Holds the direction string itself
+        Direction computerDirection; // Holds the direction itself
+        int attempts; // The number of random positions tried for the current ship
+        int rejectedPositions = 0; // The number of random positions rejected for every ship
+        long startTime = Metrics.startTimer(); // Fleet generation is timed by the Metrics registry
 
+        placementEvent.begin();
         for (Ship ship : ships) { // For every ship [5] in the Ship[] array
-            this.resetDirectionBoard(); // Set directionBoard to a new DirectionBoard that is a copy of the current main board
+            this.resetDirectionBoard(); // Reset directionBoard to a copy of the current main board
             shipLength = ship.getLength();
 
+            attempts = 0;
             do { // Loops until a valid position is found (Note: if there are no valid positions, the game is already over)
+                attempts++;
                 computerIndexI = randomNumberGenerator.nextInt(0, 10); // Random indexI
                 computerIndexJ = randomNumberGenerator.nextInt(0, 10); // Random indexJ
             }
             while (!this.checkPositionValidity(computerIndexI, computerIndexJ, shipLength)); // While the randomly generated position is still invalid
+            Metrics.countPlacementRetries(attempts - 1); // Every attempt but the last was rejected
+            rejectedPositions += attempts - 1;
 
             directionBoard.addShip(computerIndexI, computerIndexJ); // Adds the valid position, which is the first position of the ship, to the directionBoard
             directionBoard.updateValidPositionDirections(computerIndexI, computerIndexJ, shipLength); // Calculate and represent the possible valid directions using the valid position
             computerDirectionIndex = randomNumberGenerator.nextInt(0, directionBoard.getPossibleDirectionsLength()); // Randomly chose a possible valid direction
-            computerDirection = directionBoard.getPossibleDirectionsElement(computerDirectionIndex); // Get the string representation of the randomly chosen direction (required for Board's .placeShipOnBoard() method)
-            shipPositions = this.placeShipOnBoard(computerIndexI, computerIndexJ, computerDirection, shipLength); // Place the ship on the main board
+            computerDirection = directionBoard.getPossibleDirectionsElement(computerDirectionIndex); // Get the randomly chosen direction (required for Board's .placeShipOnBoard() method)
+            shipPositions = this.placeShipOnBoard(computerIndexI, computerIndexJ, computerDirection, shipLength, placedPositions[shipLength]); // Place the ship on the main board (in the reused array of its length)
             ship.addPositions(shipPositions); // Add the ship's positions to the current Ship object
         }
+        Metrics.recordPhase(GamePhase.FLEET_GENERATION, startTime);
+        placementEvent.end();
+        if (placementEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            placementEvent.side = "Computer";
+            placementEvent.strategy = "RANDOM";
+            placementEvent.ships = ships.length;
+            placementEvent.rejectedPositions = rejectedPositions;
+            placementEvent.commit();
+        }
+    }
+
+    /**
+     * Generates the computer's board by sampling every ship's placement from the adaptivePlacer's alias tables, which
+     * favour the cells opponents rarely fire at early. A sampled placement is only rejected if it overlaps a ship that
+     * has already been placed (checked against a bitboard of the occupied cells).
+     */
+    private void generateAdaptiveBoard() {
+        int placement; // The index of the current ship's sampled placement
+        int firstCell; // The cell id of the placement's first position
+        int attempts; // The number of placements sampled for the current ship
+        int rejectedPositions = 0; // The number of sampled placements rejected for every ship
+        long startTime = Metrics.startTimer(); // Fleet generation is timed by the Metrics registry
+
+        placementEvent.begin();
+        adaptivePlacer.refresh(); // Picks up the games recorded since the last fleet
+        BitBoard.clearAll(occupiedCells);
+        for (Ship ship : ships) { // For every ship [5] in the Ship[] array
+            int shipLength = ship.getLength();
+            attempts = 0;
+            do { // Loops until the placement doesn't overlap another ship
+                attempts++;
+                placement = adaptivePlacer.samplePlacement(shipLength, randomNumberGenerator);
+            }
+            while (adaptivePlacer.overlaps(shipLength, placement, occupiedCells));
+            Metrics.countPlacementRetries(attempts - 1); // Every attempt but the last was rejected
+            rejectedPositions += attempts - 1;
+
+            adaptivePlacer.occupy(shipLength, placement, occupiedCells);
+            firstCell = adaptivePlacer.getFirstCell(shipLength, placement);
+            ship.addPositions(this.placeShipOnBoard(Board.cellIndexI(firstCell), Board.cellIndexJ(firstCell), adaptivePlacer.getDirection(shipLength, placement), shipLength, placedPositions[shipLength]));
+        }
+        Metrics.recordPhase(GamePhase.FLEET_GENERATION, startTime);
+        placementEvent.end();
+        if (placementEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            placementEvent.side = "Computer";
+            placementEvent.strategy = "ADAPTIVE";
+            placementEvent.ships = ships.length;
+            placementEvent.rejectedPositions = rejectedPositions;
+            placementEvent.commit();
+        }
     }
 
     /**
-     * Resets the directionBoard back to its original state by setting it to a new DirectionBoard that is a copy
-     * of the current main board.
+     * Resets the directionBoard back to its original state, in place, as a copy of the current main board.
      */
     public void resetDirectionBoard() {
-        directionBoard = new DirectionBoard(this);
+        directionBoard.reset(this);
     }
 
     /**
-     * Receives the player's move, which has been determined to be a hit, and updates the corresponding position in one
-     * of the ships in the computer board's array of ships. (Note: this method is only called in the Computer class, in
-     * which an instance of ComputerBoard exists, because, although player/computer moves are made in the Player/Computer
-     * classes respectively, their ships are stored within their Board classes (PlayerBoard/ComputerBoard), so there is
-     * a need to access the board classes).
+     * Applies the passed shot to the board and the computer's ships, and returns its result (see Board's .applyShot(),
+     * which holds the shot rules of both sides). This method's implementation is required by the ShotTarget interface.
      *
-     * @param playerMove: an int[] array of length 2 that contains the two indices of the player's move {i,j}
+     * @param cell: the cell id (i * 10 + j) of the shot
+     * @return the shot's result, encoded by the ShotResult class
+     * @see ShotTarget
      */
-    public void updateHitShipPositions(int[] playerMove) {
-        for (Ship ship : ships) { // For every ship in the Ship[] array; there will only be one position, in one ship,
-            // that is in the same position as the player move
-            ship.updateHitPositions(playerMove); // If the player move's position is in the current ship's positions,
-            // it will update the position to {-1,-1} to simulate removal,
-            // otherwise it does nothing
-        }
+    public int receiveShot(int cell) {
+        return this.applyShot(cell, ships);
     }
 
     /**
-     * Iterates through every ship in the Ship[] array and checks if they are sunk (all positions are {-1,-1}/removed).
+     * Iterates through every ship in the Ship[] array and checks if they are sunk (all positions are -1/removed).
      * If there is even one non-sunk ship, returns false. Otherwise, returns true.
      *
      * @return boolean: true if all ships are sunk, false if even one ship is not yet sunk
@@ -116,6 +179,15 @@ public class ComputerBoard extends Board {
         return true; // All the computer's ships are sunk -> game is over
     }
 
+    // [Setter Methods]
+
+    /**
+     * @param adaptivePlacer: the placer to sample the fleet's placements from, or null to place ships at random
+     */
+    public void setAdaptivePlacer(AdaptivePlacer adaptivePlacer) {
+        this.adaptivePlacer = adaptivePlacer;
+    }
+
     // [Getter Methods]
 
     /**
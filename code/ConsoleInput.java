@@ -0,0 +1,33 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Scanner; // For reading player input
+
+/**
+ * A static class that holds the single Scanner every prompt reads the player's input from. (Note: a Scanner buffers
+ * more of System.in than it returns, so creating a new one for every prompt both allocates a buffer per prompt and
+ * can lose input that an earlier Scanner had already read, e.g. when input is piped in).
+ */
+public final class ConsoleInput {
+    // Variables
+    private static final Scanner scanner = new Scanner(System.in); // Reads the player's input
+
+    // Constructors
+
+    /**
+     * --Constructor for ConsoleInput--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private ConsoleInput() {
+    }
+
+    // Static Methods
+
+    /**
+     * @return the Scanner reading the player's input
+     */
+    public static Scanner getScanner() {
+        return scanner;
+    }
+}
@@ -0,0 +1,55 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.PrintStream; // Where the events are rendered
+
+/**
+ * A GameEventHandler that renders the game's events to the console, replacing the messages the Player, Computer and
+ * GameManager classes used to print inline: the result of every move, and the winner once the game is over.
+ * @see GameEventBus
+ */
+public class ConsoleRenderer implements GameEventHandler {
+    // Variables
+    private final PrintStream out; // Where the events are rendered
+
+    // Constructors
+
+    /**
+     * --Constructor for ConsoleRenderer--
+     *
+     * @param out: where the events are rendered (usually System.out)
+     */
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    // Methods
+
+    /**
+     * Renders a single event. SHOT_FIRED events aren't rendered, because the shot's result follows right after.
+     */
+    @Override
+    public void onEvent(GameEventType type, long gameId, int actor, int cell, int value, long timestamp) {
+        long startTime = Metrics.startTimer(); // Rendering is timed by the Metrics registry
+
+        switch (type) {
+            case HIT, MISS, SUNK -> {
+                out.println();
+                out.println(((actor == GameEventBus.PLAYER) ? "Player" : "Computer") + " Move [" + Colours.getYellow() + Board.cellToPositionString(cell) + Colours.getReset() + "] was a " + ShotResult.toColouredString(value)); // Output the state of the move
+            }
+            case GAME_OVER -> {
+                out.println();
+                if (actor == GameEventBus.PLAYER) {
+                    out.println(Colours.getGreen() + "PLAYER WINS" + Colours.getReset()); // Player wins
+                } else {
+                    out.println(Colours.getRed() + "COMPUTER WINS" + Colours.getReset()); // Computer wins
+                }
+                out.println("You made " + Colours.getCyan() + value + Colours.getReset() + " moves in total"); // Output the number of moves that the player made
+            }
+            default -> {
+            }
+        }
+        Metrics.recordPhase(GamePhase.RENDERING, startTime);
+    }
+}
@@ -0,0 +1,109 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Arrays; // To compare the scores of both scorers
+import java.util.Random; // To generate the observations being scored
+
+/**
+ * A benchmark that compares the scalar DensityScorer against the FlatDensityScorer. Generates a set of mid-game enemy
+ * boards (random fleets with a random number of shots fired at them), checks that both scorers give exactly the same
+ * scores for every board, then times each scorer over the whole set several times and outputs the speed-up. (Note: the
+ * first rounds let the JIT compiler compile, and vectorize, the scoring loops; only the last rounds are reported).
+ */
+public class DensityBenchmark {
+    // Variables
+    private static final int WARMUP_ROUNDS = 5; // The number of untimed rounds
+    private static final int TIMED_ROUNDS = 5; // The number of timed rounds
+
+    // Constructors
+
+    /**
+     * --Constructor for DensityBenchmark--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private DensityBenchmark() {
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: DensityBenchmark [boards] - benchmarks both scorers over [boards] enemy boards (2000 by default).
+     *
+     * @param args: the command line arguments
+     */
+    public static void main(String[] args) {
+        int boardCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        Board[] enemyBoards = DensityBenchmark.generateEnemyBoards(boardCount, new Random(42));
+        int[] shipLengths = Ship.getStandardFleetLengths();
+        FlatDensityScorer flatScorer = new FlatDensityScorer();
+        int[] scalarScores = new int[100];
+        int[] flatScores = new int[100];
+
+        for (Board enemyBoard : enemyBoards) { // Both scorers must agree exactly
+            DensityScorer.score(enemyBoard, shipLengths, scalarScores);
+            flatScorer.load(enemyBoard);
+            flatScorer.score(shipLengths, shipLengths.length, flatScores);
+            if (!Arrays.equals(scalarScores, flatScores)) {
+                throw new IllegalStateException("The scalar and flat scores differ");
+            }
+        }
+
+        long scalarTime = 0; // Nanoseconds spent in the timed scalar rounds
+        long flatTime = 0; // Nanoseconds spent in the timed flat rounds
+        long checksum = 0; // Keeps the results alive, so the JIT compiler can't remove the scoring
+        for (int round = 0; round < WARMUP_ROUNDS + TIMED_ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            for (Board enemyBoard : enemyBoards) {
+                DensityScorer.score(enemyBoard, shipLengths, scalarScores);
+                checksum += scalarScores[55];
+            }
+            long middleTime = System.nanoTime();
+            for (Board enemyBoard : enemyBoards) {
+                flatScorer.load(enemyBoard);
+                flatScorer.score(shipLengths, shipLengths.length, flatScores);
+                checksum += flatScores[55];
+            }
+            long endTime = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                scalarTime += middleTime - startTime;
+                flatTime += endTime - middleTime;
+            }
+        }
+
+        long scorings = (long) boardCount * TIMED_ROUNDS; // The number of timed scorings per scorer
+        System.out.println("Boards: " + boardCount + " (scores identical)");
+        System.out.printf("Scalar: %.0f ns per board%n", (double) scalarTime / scorings);
+        System.out.printf("Flat:   %.0f ns per board (including loading the board)%n", (double) flatTime / scorings);
+        System.out.printf("Speed-up: %.2fx%n", (double) scalarTime / flatTime);
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    /**
+     * Generates the passed number of enemy boards, each holding the Hits and Misses of a random number of random shots
+     * (0-59) fired at a randomly generated fleet.
+     *
+     * @param boardCount:            the number of boards to generate
+     * @param randomNumberGenerator: the random number generator used to choose the shots
+     * @return the generated enemy boards
+     */
+    private static Board[] generateEnemyBoards(int boardCount, Random randomNumberGenerator) {
+        Board[] enemyBoards = new Board[boardCount];
+
+        for (int b = 0; b < boardCount; b++) {
+            ComputerBoard fleet = new ComputerBoard();
+            fleet.generateComputerBoard();
+            enemyBoards[b] = new Board();
+            int shots = randomNumberGenerator.nextInt(0, 60);
+            for (int shot = 0; shot < shots; shot++) {
+                int cell = randomNumberGenerator.nextInt(0, 100);
+                if (ShotResult.isHit(fleet.receiveShot(cell))) {
+                    enemyBoards[b].addHit(cell);
+                } else {
+                    enemyBoards[b].addMiss(cell);
+                }
+            }
+        }
+        return enemyBoards;
+    }
+}
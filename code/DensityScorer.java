@@ -0,0 +1,102 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Arrays; // To clear the scores
+
+/**
+ * A static class that scores every position of an enemy board by how many ways the remaining ships could be placed
+ * over it, given the Hits and Misses seen so far (a probability density targeting strategy). A placement is possible
+ * if it stays within the board and covers no Misses; placements that cover Hits are weighted more heavily, so that
+ * damaged ships are finished off. The position with the highest score is the most likely to hold a ship.
+ */
+public final class DensityScorer {
+    // Variables
+    private static final int HIT_WEIGHT = 20; // The extra weight of a placement for each Hit it covers
+
+    // Constructors
+
+    /**
+     * --Constructor for DensityScorer--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private DensityScorer() {
+    }
+
+    // Static Methods
+
+    /**
+     * Fills the passed scores array with the density score of every cell of the passed enemy board. Cells that are
+     * already a Hit or a Miss score 0.
+     *
+     * @param enemyBoard:  the board holding the Hits and Misses seen so far
+     * @param shipLengths: the lengths of the ships that may still be afloat
+     * @param scores:      the array (of length 100) to fill, indexed by cell id
+     */
+    public static void score(Board enemyBoard, int[] shipLengths, int[] scores) {
+        Arrays.fill(scores, 0);
+        for (int shipLength : shipLengths) {
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    if (j + shipLength <= 10) { // Horizontal placement (Right)
+                        DensityScorer.addPlacement(enemyBoard, Board.cellOf(i, j), 1, shipLength, scores);
+                    }
+                    if ((i + shipLength <= 10) && (shipLength > 1)) { // Vertical placement (Down); a ship of length 1 is only counted once
+                        DensityScorer.addPlacement(enemyBoard, Board.cellOf(i, j), 10, shipLength, scores);
+                    }
+                }
+            }
+        }
+        for (int cell = 0; cell < 100; cell++) {
+            if (!enemyBoard.isEmpty(cell)) { // Already a Hit or a Miss
+                scores[cell] = 0;
+            }
+        }
+    }
+
+    /**
+     * Adds the weight of a single placement to the score of every cell it covers, if the placement covers no Misses.
+     *
+     * @param enemyBoard: the board holding the Hits and Misses seen so far
+     * @param firstCell:  the cell id of the placement's first position
+     * @param step:       the difference in cell id between two consecutive positions (1 for Right, 10 for Down)
+     * @param shipLength: the length of the ship
+     * @param scores:     the scores to add to
+     */
+    private static void addPlacement(Board enemyBoard, int firstCell, int step, int shipLength, int[] scores) {
+        int weight = 1; // The weight of the placement
+
+        for (int k = 0, cell = firstCell; k < shipLength; k++, cell += step) {
+            if (enemyBoard.isMiss(cell)) {
+                return;
+            }
+            if (enemyBoard.isHit(cell)) {
+                weight += HIT_WEIGHT;
+            }
+        }
+        for (int k = 0, cell = firstCell; k < shipLength; k++, cell += step) {
+            scores[cell] += weight;
+        }
+    }
+
+    /**
+     * Scores the passed enemy board and returns the cell with the highest score (the lowest cell id, if several share
+     * it).
+     *
+     * @param enemyBoard:  the board holding the Hits and Misses seen so far
+     * @param shipLengths: the lengths of the ships that may still be afloat
+     * @param scores:      a scratch array (of length 100) to score into
+     * @return bestCell: the cell id of the best move, or Board.INVALID_CELL if every cell is a Hit or a Miss
+     */
+    public static int bestMove(Board enemyBoard, int[] shipLengths, int[] scores) {
+        int bestCell = Board.INVALID_CELL;
+
+        DensityScorer.score(enemyBoard, shipLengths, scores);
+        for (int cell = 0; cell < 100; cell++) {
+            if ((enemyBoard.isEmpty(cell)) && ((bestCell == Board.INVALID_CELL) || (scores[cell] > scores[bestCell]))) {
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+}
@@ -0,0 +1,145 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An enum that represents the 4 directions a ship can be placed in from its first position: Down, Up, Right and Left.
+ * Each direction holds its one-letter symbol (used for player input and output), the change in indices between two
+ * consecutive positions of a ship placed in that direction, and a bit, so that a set of valid directions can be held
+ * in a single int bitmask (e.g. Down and Right -> 0b0101). (Note: because the board is printed with row 0 at the top,
+ * going down means increasing i and going up means decreasing i).
+ */
+public enum Direction {
+    DOWN("D", 1, 0),
+    UP("U", -1, 0),
+    RIGHT("R", 0, 1),
+    LEFT("L", 0, -1);
+
+    // Variables
+    private final String symbol; // The one-letter symbol of the direction
+    private final int stepI; // The change in indexI between two consecutive positions of a ship
+    private final int stepJ; // The change in indexJ between two consecutive positions of a ship
+    private final int bit; // The bit representing this direction in a direction bitmask
+    private static final Direction[] values = Direction.values(); // Cached, because .values() returns a new array every call
+
+    // Constructors
+
+    /**
+     * --Constructor for Direction--
+     *
+     * @param symbol: the one-letter symbol of the direction
+     * @param stepI:  the change in indexI between two consecutive positions of a ship
+     * @param stepJ:  the change in indexJ between two consecutive positions of a ship
+     */
+    Direction(String symbol, int stepI, int stepJ) {
+        this.symbol = symbol;
+        this.stepI = stepI;
+        this.stepJ = stepJ;
+        this.bit = 1 << this.ordinal();
+    }
+
+    // Methods
+
+    /**
+     * @param mask: a direction bitmask
+     * @return boolean: true if this direction is in the passed bitmask, false otherwise
+     */
+    public boolean isIn(int mask) {
+        return (mask & bit) != 0;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the one-letter symbol of the direction
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the change in indexI between two consecutive positions of a ship
+     */
+    public int getStepI() {
+        return stepI;
+    }
+
+    /**
+     * @return the change in indexJ between two consecutive positions of a ship
+     */
+    public int getStepJ() {
+        return stepJ;
+    }
+
+    /**
+     * @return the bit representing this direction in a direction bitmask
+     */
+    public int getBit() {
+        return bit;
+    }
+
+    // Static Methods
+
+    /**
+     * Returns the direction with the passed one-letter symbol (case-insensitive), or null if there is none.
+     *
+     * @param symbol: the symbol to look up ("D", "U", "R", "L")
+     * @return the matching direction, or null if the symbol is invalid
+     */
+    public static Direction fromSymbol(String symbol) {
+        if (symbol.length() != 1) {
+            return null;
+        }
+        switch (Character.toUpperCase(symbol.charAt(0))) {
+            case 'D':
+                return DOWN;
+            case 'U':
+                return UP;
+            case 'R':
+                return RIGHT;
+            case 'L':
+                return LEFT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the index-th direction (in Down, Up, Right, Left order) contained in the passed bitmask, or null if the
+     * bitmask contains index or fewer directions. Used to pick one of the valid directions by a random index.
+     *
+     * @param mask:  a direction bitmask
+     * @param index: the index of the direction among the directions in the bitmask
+     * @return the index-th direction in the bitmask, or null
+     */
+    public static Direction fromMask(int mask, int index) {
+        for (Direction direction : values) {
+            if (direction.isIn(mask)) {
+                if (index == 0) {
+                    return direction;
+                }
+                index--;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Formats the passed bitmask as the list of its directions' symbols, e.g. "[D, R]". Returns "[None]" if the bitmask
+     * contains no directions.
+     *
+     * @param mask: a direction bitmask
+     * @return the String representation of the bitmask
+     */
+    public static String toString(int mask) {
+        StringBuilder builder = new StringBuilder("[");
+        for (Direction direction : values) {
+            if (direction.isIn(mask)) {
+                if (builder.length() > 1) { // If this is not the first direction
+                    builder.append(", ");
+                }
+                builder.append(direction.symbol);
+            }
+        }
+        return (builder.length() > 1) ? builder.append(']').toString() : "[None]";
+    }
+}
@@ -1,55 +1,52 @@
 // By: Adeshvir Dhillon
 // Date: Jun 23-26, 2023
 
-// Imports
-import java.util.ArrayList; // To maintain a dynamic ArrayList of possible valid directions
-
 /**
  * A class that extends the Board class to represent a direction board: a specialized board that determines and
  * maintains the possible valid directions of ship placement from a particular position. Primarily used when either the
- * player or the computer needs to place a ship.
+ * player or the computer needs to place a ship. The possible directions are held as a bitmask of Direction bits, and
+ * the board can be reset to a copy of another board in place, so a single DirectionBoard can be reused for every ship.
  */
 public class DirectionBoard extends Board {
     // Variables
-    private ArrayList<String> possibleDirections; // Holds the valid directions for the current ship; dynamic because size varies from 1-4
-    private static final String[] directions = {"D", "U", "R", "L"}; // Possible valid directions; "Down", "Up", "Right", "Left"
+    private int possibleDirections; // A bitmask of the valid directions for the current ship (see Direction)
+    private static final Direction[] directions = Direction.values(); // Possible valid directions; Down, Up, Right, Left
 
     // Constructors
 
     /**
      * --Default Constructor for DirectionBoard--
-     * Creates a completely new board with InvalidPositions (5) instead of empty cells (0) and initializes
-     * possibleDirections as an empty ArrayList. Calls super(); to generate the board (with empty cells), then calls
-     * .generateDirectionBoard() to replace every empty cell in the board with an InvalidPosition.
+     * Creates a completely new board with InvalidPositions (5) instead of empty cells (0) and no possible directions.
+     * Calls super(); to generate the board (with empty cells), then calls .generateDirectionBoard() to replace every
+     * empty cell in the board with an InvalidPosition.
      */
     public DirectionBoard() {
         super(); // Board's .generateBoard()
         this.generateDirectionBoard();
-        possibleDirections = new ArrayList<>();
+        possibleDirections = 0;
     }
 
     /**
      * --Copy Constructor for DirectionBoard--
      * Creates a new board that is a copy of the passed board and replaces every empty cell (0) with an
-     * InvalidPosition (5), but doesn't replace any other type of piece, and initializes possibleDirections as an empty
-     * ArrayList. Calls super(Board oldBoard); to generate the copy board, then calls .generateDirectionBoard() to
-     * replace every empty cell in the board with an InvalidPosition, while leaving non-empty cells the same.
+     * InvalidPosition (5), but doesn't replace any other type of piece, and starts with no possible directions. Calls
+     * super(Board oldBoard); to generate the copy board, then calls .generateDirectionBoard() to replace every empty
+     * cell in the board with an InvalidPosition, while leaving non-empty cells the same.
      *
      * @param oldBoard: the old board to be copied
      */
     public DirectionBoard(Board oldBoard) {
         super(oldBoard); // Board's .copyBoard(Board oldBoard)
         this.generateDirectionBoard();
-        possibleDirections = new ArrayList<>();
+        possibleDirections = 0;
     }
 
     // Methods
 
     /**
-     * Generates a new board from the superclass' (Board's) board. Calls Board's .getBoard() method and replaces every
-     * empty cell (0) in the returned board with an InvalidPosition (5), but leaves every non-empty cell the same.
-     * (Note: this method is private so that it can only be called from inside the constructor, otherwise the board
-     * risks getting reset).
+     * Replaces every empty cell (0) in the board with an InvalidPosition (5), but leaves every non-empty cell the same.
+     * (Note: this method is private so that it can only be called from inside the constructors and .reset(),
+     * otherwise the board risks getting reset).
      */
     private void generateDirectionBoard() {
         int[][] superBoard = this.getBoard();
@@ -63,151 +60,89 @@ public class DirectionBoard extends Board {
     }
 
     /**
-     * Calculates and updates the valid directions to place a ship of the passed shipLength from the passed position.
-     * Performs checks for all 4 directions (up, down, right, left) to determine if a ship (of the passed shipLength)
-     * can be placed at that position. If the direction is valid, it changes all the positions in which the ship would
-     * be placed if that direction were chosen to ValidPositions. Otherwise, it leaves the positions as
-     * InvalidPositions. (Note: this method is similar to the Board class' .checkPositionValidity(int i, int j, int
-     * shipLength) method, but where that method returns true after simply finding even a single valid direction, this
-     * method checks all valid directions and also updates the valid positions).
+     * Resets the direction board, in place, to a copy of the passed board (with every empty cell replaced by an
+     * InvalidPosition) and clears the possible directions. Used instead of creating a new DirectionBoard for every ship.
      *
-     * @param i:          indexI of the position
-     * @param j:          indexJ of the position
-     * @param shipLength: length of the ship being placed
+     * @param oldBoard: the board to be copied
      */
-    public void updateValidPositionDirections(int i, int j, int shipLength) {
-        if (i + shipLength <= 10) { // Down Check [i + k]
-            for (int k = 1; k < shipLength; k++) { // Checks every position except the already placed passed position
-                if ((k == shipLength - 1) && (!this.isShip(i + k, j))) { // If this is both the last position and not a ship
-                    possibleDirections.add(DirectionBoard.directions[0]); // "D"
-                    for (int l = 1; l < shipLength; l++) { // The same loop as the one using k
-                        this.addValidPosition(i + l, j); // Update all the positions to ValidPositions
-                    }
-                } else if (this.isShip(i + k, j)) { // If this is not the last position, but a ship
-                    break;
-                }
-            }
-        }
-        if (i - shipLength >= -1) { // Up Check [i - k]
-            for (int k = 1; k < shipLength; k++) { // Checks every position except the already placed passed position
-                if ((k == shipLength - 1) && (!this.isShip(i - k, j))) { // If this is both the last position and not a ship
-                    possibleDirections.add(DirectionBoard.directions[1]); // "U"
-                    for (int l = 1; l < shipLength; l++) { // The same loop as the one using k
-                        this.addValidPosition(i - l, j); // Update all the positions to ValidPositions
-                    }
-                } else if (this.isShip(i - k, j)) { // If this is not the last position, but a ship
-                    break;
-                }
-            }
-        }
-        if (j + shipLength <= 10) { // Right Check [j + k]
-            for (int k = 1; k < shipLength; k++) { // Checks every position except the already placed passed position
-                if ((k == shipLength - 1) && (!this.isShip(i, j + k))) { // If this is both the last position and not a ship
-                    possibleDirections.add(DirectionBoard.directions[2]); // "R"
-                    for (int l = 1; l < shipLength; l++) { // The same loop as the one using k
-                        this.addValidPosition(i, j + l); // Update all the positions to ValidPositions
-                    }
-                } else if (this.isShip(i, j + k)) { // If this is not the last position, but a ship
-                    break;
-                }
-            }
-        }
-        if (j - shipLength >= -1) { // Left Check [j - k]
-            for (int k = 1; k < shipLength; k++) { // Checks every position except the already placed passed position
-                if ((k == shipLength - 1) && (!this.isShip(i, j - k))) { // If this is both the last position and not a ship
-                    possibleDirections.add(DirectionBoard.directions[3]); // "L"
-                    for (int l = 1; l < shipLength; l++) { // The same loop as the one using k
-                        this.addValidPosition(i, j - l); // Update all the positions to ValidPositions
-                    }
-                } else if (this.isShip(i, j - k)) { // If this is not the last position, but a ship
-                    break;
-                }
-            }
-        }
+    public void reset(Board oldBoard) {
+        this.copyFrom(oldBoard);
+        this.generateDirectionBoard();
+        possibleDirections = 0;
     }
 
     /**
-     * Determines if the passed direction is a valid direction by comparing it to every valid direction string in the
-     * static directions array. Returns true if the passed direction is a valid direction. Otherwise, returns false.
-     * This method is case-insensitive, so the passed direction can be lower-case or upper-case.
+     * Calculates and updates the valid directions to place a ship of the passed shipLength from the passed position,
+     * which is expected to already hold the first position of the ship. Checks all 4 directions (down, up, right, left)
+     * the same way: a direction is valid if the last position of the ship is within the board and none of the other
+     * positions is a ship. If the direction is valid, it changes all the positions in which the ship would be placed if
+     * that direction were chosen to ValidPositions. Otherwise, it leaves the positions as InvalidPositions. (Note: this
+     * method is similar to the Board class' .getValidDirections(int i, int j, int shipLength) method, but it skips the
+     * already placed first position and also updates the valid positions).
      *
-     * @param direction: the direction to be compared with the valid directions
-     * @return boolean: true if the direction is a valid direction, false otherwise
+     * @param i:          indexI of the position
+     * @param j:          indexJ of the position
+     * @param shipLength: length of the ship being placed
+     * @return possibleDirections: the bitmask of valid directions
      */
-    public boolean validDirection(String direction) {
-        for (String validDirection : DirectionBoard.directions) { // For every valid direction {"D", "U", "R", "L"}
-            if (validDirection.equals(direction.toUpperCase())) { // .toUpperCase() to make it case-insensitive
-                return true; // Valid direction
+    public int updateValidPositionDirections(int i, int j, int shipLength) {
+        int stepI; // The change in indexI between two consecutive positions in the current direction
+        int stepJ; // The change in indexJ between two consecutive positions in the current direction
+        boolean clear; // If every position of the ship in the current direction is free
+
+        possibleDirections = 0;
+        for (Direction direction : DirectionBoard.directions) {
+            stepI = direction.getStepI();
+            stepJ = direction.getStepJ();
+            clear = this.containsPosition(i + (shipLength - 1) * stepI, j + (shipLength - 1) * stepJ); // If the last position is within the board
+            for (int k = 1; clear && (k < shipLength); k++) { // Checks every position except the already placed passed position
+                clear = !this.isShip(i + k * stepI, j + k * stepJ);
+            }
+            if (clear) {
+                possibleDirections |= direction.getBit();
+                for (int k = 1; k < shipLength; k++) {
+                    this.addValidPosition(i + k * stepI, j + k * stepJ); // Update all the positions to ValidPositions
+                }
             }
         }
-        return false; // Not a valid direction
-    }
-
-    /**
-     * Checks and returns true if the passed direction is a possible direction, meaning that it is within the
-     * possibleDirections ArrayList. Otherwise, returns false. This method is case-insensitive, so the passed direction
-     * can be lower-case or upper-case.
-     *
-     * @param direction: the direction to be compared with the possible directions
-     * @return boolean: true if the direction is a possible direction, false otherwise
-     */
-    public boolean possibleDirectionsContains(String direction) {
-        return possibleDirections.contains(direction.toUpperCase()); // .toUpperCase() to make it case-insensitive
+        return possibleDirections;
     }
 
     // [Getter Methods]
 
     /**
-     * Creates and returns a String representation of the possibleDirections ArrayList. Will return "[None]" if the
-     * possibleDirections ArrayList is of an invalid size (!= 1-4), which should not be possible and implies a bug in
-     * the code.
+     * Creates and returns a String representation of the possible directions, e.g. "[D, R]". Will return "[None]" if
+     * there are no possible directions, which should not be possible and implies a bug in the code. (Note: this is the
+     * only place the directions are turned into Strings; everything else uses the bitmask).
      *
      * @return possibleDirectionsString: a String that is either "[None]" or the valid string representation of the
-     * possibleDirections array
+     * possible directions
      */
     public String getPossibleDirectionsString() {
-        String returnString = "[None]"; // Will return this if possibleDirections is not a valid size (1-4)
-
-        if ((1 <= possibleDirections.size()) && (possibleDirections.size() <= 4)) { // If possibleDirections is a valid size (1-4)
-            returnString = "[";
-            for (int i = 0; i < possibleDirections.size(); i++) {
-                returnString += possibleDirections.get(i);
-                if (i < possibleDirections.size() - 1) { // If the direction is not the last possible direction
-                    returnString += ", ";
-                } else { // If the direction is the last possible direction
-                    returnString += "]";
-                }
-            }
-        }
-        return returnString; // Return either "[None]" or the valid possibleDirections string
+        return Direction.toString(possibleDirections);
     }
 
     /**
-     * Checks to see if the passed index is valid in the possibleDirections ArrayList and returns the direction at that
-     * index if it is. Otherwise, returns null.
+     * Returns the index-th possible direction (in Down, Up, Right, Left order), or null if the index is not valid.
      *
-     * @param index: the index of the direction in the possibleDirections ArrayList
-     * @return direction: a String direction if the index is valid, or null if the index is invalid
+     * @param index: the index of the direction among the possible directions
+     * @return direction: a Direction if the index is valid, or null if the index is invalid
      */
-    public String getPossibleDirectionsElement(int index) {
-        if ((0 <= index) && (index < possibleDirections.size())) {
-            return possibleDirections.get(index);
-        } else {
-            return null;
-        }
+    public Direction getPossibleDirectionsElement(int index) {
+        return Direction.fromMask(possibleDirections, index);
     }
 
     /**
-     * @return the length (.size()) of the possibleDirections ArrayList
+     * @return the number of possible directions (0-4)
      */
     public int getPossibleDirectionsLength() {
-        return possibleDirections.size();
+        return Integer.bitCount(possibleDirections);
     }
 
     /**
-     * @return the possibleDirections ArrayList
+     * @return the bitmask of possible directions
      */
-    public ArrayList<String> getPossibleDirections() {
+    public int getPossibleDirections() {
         return possibleDirections;
     }
 }
\ No newline at end of file
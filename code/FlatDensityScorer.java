@@ -0,0 +1,179 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Arrays; // To clear the scratch arrays
+
+/**
+ * A data-parallel version of the DensityScorer. The enemy board is first copied into flat primitive arrays on a padded
+ * 16x16 grid (cell (i,j) at index i * 16 + j, with the padding rows and columns always blocked), so that a placement
+ * that would leave the board simply runs into the padding. Every step of the scoring is then a straight loop over the
+ * whole grid that combines two arrays at the same index, with no branches and no bounds checks that depend on the
+ * cell, which the JIT compiler turns into SIMD instructions on CPUs that support them. The scalar DensityScorer is kept
+ * as the reference (and fallback) implementation; both produce exactly the same scores (see DensityBenchmark).
+ * (Note: instances hold their own scratch arrays and are not thread-safe; use one instance per thread).
+ */
+public class FlatDensityScorer {
+    // Variables
+    private static final int STRIDE = 16; // The distance between two rows of the padded grid
+    private static final int GRID = STRIDE * STRIDE; // The number of cells in the padded grid
+    private static final int PADDED = GRID + 10 * STRIDE; // The length of every array, so that a placement starting anywhere on the grid stays within the array
+    private static final int HIT_WEIGHT = 20; // The extra weight of a placement for each Hit it covers (same as DensityScorer)
+    private final int[] open; // open[c] is 1 if a ship could be on grid cell c (not a Miss, not padding), 0 otherwise
+    private final int[] hits; // hits[c] is 1 if grid cell c is a Hit that should attract placements, 0 otherwise
+    private final int[] unknown; // unknown[c] is 1 if grid cell c hasn't been fired at yet, 0 otherwise
+    private final int[] valid; // valid[c] is 1 if the current placement starting at grid cell c is possible, 0 otherwise
+    private final int[] weight; // weight[c] is the weight of the current placement starting at grid cell c
+    private final int[] gridScores; // gridScores[c] is the density score of grid cell c
+    private final int[] shifted; // Scratch array holding another array shifted by a ship position
+
+    // Constructors
+
+    /**
+     * --Constructor for FlatDensityScorer--
+     * Allocates the scratch arrays once; scoring never allocates.
+     */
+    public FlatDensityScorer() {
+        open = new int[PADDED];
+        hits = new int[PADDED];
+        unknown = new int[PADDED];
+        valid = new int[PADDED];
+        weight = new int[PADDED];
+        gridScores = new int[PADDED];
+        shifted = new int[PADDED];
+    }
+
+    // Methods
+
+    /**
+     * Copies the passed enemy board into the flat arrays. Every Hit counts as an open cell that attracts placements,
+     * just like in DensityScorer.
+     *
+     * @param enemyBoard: the board holding the Hits and Misses seen so far
+     */
+    public void load(Board enemyBoard) {
+        this.load(enemyBoard, null);
+    }
+
+    /**
+     * Copies the passed enemy board into the flat arrays. If a bitboard of unresolved hits is passed, only those Hits
+     * attract placements, and the Hits of ships that have already been sunk are blocked like Misses.
+     *
+     * @param enemyBoard:     the board holding the Hits and Misses seen so far
+     * @param unresolvedHits: a bitboard of the Hits that aren't explained by a sunk ship, or null to use every Hit
+     */
+    public void load(Board enemyBoard, long[] unresolvedHits) {
+        Arrays.fill(open, 0);
+        Arrays.fill(hits, 0);
+        Arrays.fill(unknown, 0);
+        for (int cell = 0; cell < 100; cell++) {
+            int gridCell = Board.cellIndexI(cell) * STRIDE + Board.cellIndexJ(cell);
+            if (enemyBoard.isEmpty(cell)) {
+                open[gridCell] = 1;
+                unknown[gridCell] = 1;
+            } else if ((enemyBoard.isHit(cell)) && ((unresolvedHits == null) || (BitBoard.get(unresolvedHits, cell)))) {
+                open[gridCell] = 1;
+                hits[gridCell] = 1;
+            }
+        }
+    }
+
+    /**
+     * Scores the loaded board and fills the passed scores array with the density score of every cell (indexed by cell
+     * id). Cells that have already been fired at score 0.
+     *
+     * @param shipLengths: the lengths of the ships that may still be afloat
+     * @param shipCount:   the number of elements of shipLengths in use
+     * @param scores:      the array (of length 100) to fill
+     */
+    public void score(int[] shipLengths, int shipCount, int[] scores) {
+        this.score(shipLengths, shipCount, scores, 1, 1);
+    }
+
+    /**
+     * Scores the loaded board like .score(), but weights every horizontal and every vertical placement by the passed
+     * weights (e.g. to favour the orientation an opponent usually places their ships in; see OpponentModel).
+     *
+     * @param shipLengths:      the lengths of the ships that may still be afloat
+     * @param shipCount:        the number of elements of shipLengths in use
+     * @param scores:           the array (of length 100) to fill
+     * @param horizontalWeight: the weight of every horizontal placement
+     * @param verticalWeight:   the weight of every vertical placement
+     */
+    public void score(int[] shipLengths, int shipCount, int[] scores, int horizontalWeight, int verticalWeight) {
+        Arrays.fill(gridScores, 0);
+        for (int ship = 0; ship < shipCount; ship++) {
+            this.addPlacements(shipLengths[ship], 1, horizontalWeight); // Horizontal placements (Right)
+            if (shipLengths[ship] > 1) { // A ship of length 1 is only counted once
+                this.addPlacements(shipLengths[ship], STRIDE, verticalWeight); // Vertical placements (Down)
+            }
+        }
+        for (int gridCell = 0; gridCell < GRID; gridCell++) { // Cells that have been fired at can't be chosen
+            gridScores[gridCell] *= unknown[gridCell];
+        }
+        for (int i = 0; i < 10; i++) {
+            System.arraycopy(gridScores, i * STRIDE, scores, i * 10, 10);
+        }
+    }
+
+    /**
+     * Adds the weight of every possible placement of a ship of the passed length, in one orientation, to the scores
+     * of the cells it covers. Each shifted neighbour is first moved into place with System.arraycopy(), so that every
+     * loop reads and writes its arrays at the same index; loops over a variable offset are not vectorized by the JIT
+     * compiler, but loops over the same index are.
+     *
+     * @param shipLength:        the length of the ship
+     * @param step:              the distance between two consecutive positions of the ship (1 for Right, STRIDE for Down)
+     * @param orientationWeight: the weight of every placement in this orientation
+     */
+    private void addPlacements(int shipLength, int step, int orientationWeight) {
+        int[] valid = this.valid; // Local copies of the arrays, so the JIT compiler knows they can't change during the loops
+        int[] weight = this.weight;
+        int[] shifted = this.shifted;
+        int[] gridScores = this.gridScores;
+
+        System.arraycopy(open, 0, valid, 0, GRID); // A placement is possible if every cell it covers is open
+        System.arraycopy(hits, 0, weight, 0, GRID); // Counts the Hits each placement covers
+        for (int k = 1; k < shipLength; k++) {
+            System.arraycopy(open, k * step, shifted, 0, GRID); // shifted[c] = open[c + k * step]
+            for (int c = 0; c < GRID; c++) {
+                valid[c] &= shifted[c];
+            }
+            System.arraycopy(hits, k * step, shifted, 0, GRID); // shifted[c] = hits[c + k * step]
+            for (int c = 0; c < GRID; c++) {
+                weight[c] += shifted[c];
+            }
+        }
+        for (int c = 0; c < GRID; c++) {
+            weight[c] = valid[c] * (1 + HIT_WEIGHT * weight[c]) * orientationWeight;
+        }
+        for (int c = 0; c < GRID; c++) { // k = 0
+            gridScores[c] += weight[c];
+        }
+        for (int k = 1; k < shipLength; k++) {
+            Arrays.fill(shifted, 0, k * step, 0);
+            System.arraycopy(weight, 0, shifted, k * step, GRID - k * step); // shifted[c] = weight[c - k * step]
+            for (int c = 0; c < GRID; c++) {
+                gridScores[c] += shifted[c];
+            }
+        }
+    }
+
+    /**
+     * Returns the unknown cell with the highest score from the passed scores (the lowest cell id, if several share
+     * it), as filled by .score().
+     *
+     * @param scores: the scores filled by .score()
+     * @return bestCell: the cell id of the best move, or Board.INVALID_CELL if every cell has been fired at
+     */
+    public int bestCell(int[] scores) {
+        int bestCell = Board.INVALID_CELL;
+
+        for (int cell = 0; cell < 100; cell++) {
+            if ((unknown[Board.cellIndexI(cell) * STRIDE + Board.cellIndexJ(cell)] == 1) && ((bestCell == Board.INVALID_CELL) || (scores[cell] > scores[bestCell]))) {
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+}
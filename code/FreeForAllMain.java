@@ -0,0 +1,42 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.nio.file.Path; // The location of the opening book file
+
+public class FreeForAllMain {
+    public static void main(String[] args) {
+        FreeForAllManager freeForAllManager; // FreeForAllManager object that holds all the necessary objects and code to run a free-for-all game
+        int participants = 64; // The number of participants; can be changed by passing a number as the first argument
+
+        if (args.length > 0) {
+            try {
+                participants = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid number of participants [" + args[0] + "], using " + participants);
+            }
+        }
+
+        System.out.println();
+        System.out.println("~Beginning of Program~");
+        Computer.loadOpeningBook(Path.of(System.getProperty("battleship.openingBook", "openingBook.bin"))); // Uses the opening book, if one has been generated
+        MetricsServer metricsServer = MetricsServer.startFromProperty(); // Serves the metrics, if a port has been set
+
+        freeForAllManager = new FreeForAllManager(participants);
+        System.out.println();
+        System.out.println("...Generating Boards...");
+        freeForAllManager.generateBoards(); // Generates every participant's board
+        freeForAllManager.runGame(); // Runs the main loop of the game until one participant is left
+
+        if (Metrics.ENABLED) { // Where the time went
+            System.out.println();
+            System.out.print(Metrics.snapshot());
+        }
+
+        System.out.println();
+        System.out.println("~End of Program~");
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.ArrayList; // To hold the move-choosing tasks submitted each round
+import java.util.List; // The type accepted by ExecutorService's .invokeAll() method
+import java.util.Random; // To randomly choose which opponent a participant targets
+import java.util.concurrent.Callable; // A move-choosing task for a single participant
+import java.util.concurrent.ExecutionException; // Thrown if a participant's move-choosing task fails
+import java.util.concurrent.ExecutorService; // Runs the participants' move-choosing tasks concurrently
+import java.util.concurrent.Executors; // To create the ExecutorService
+import java.util.concurrent.Future; // Returned by .invokeAll(), used to surface task failures
+
+/**
+ * A class that holds all the necessary objects and code to run an N-player free-for-all game between computers. Every
+ * participant has one ComputerBoard (its fleet) and one Computer per opponent (each with its own enemy board), so it
+ * can target any opponent that is still afloat. Each round, every remaining participant chooses a target and a move
+ * concurrently; the moves are then applied one participant at a time, in participant order, so the outcome of a game
+ * only depends on the moves chosen and not on which thread finished first. Participants whose ships have all been sunk
+ * are eliminated at the end of the round, and the last participant afloat wins.
+ */
+public class FreeForAllManager {
+    // Variables
+    private final ComputerBoard[] boards; // The fleet of every participant
+    private final int[][][] shipCells; // shipCells[p][ship] holds the cell ids of participant p's ship, taken before it can be hit
+    private final Computer[][] computers; // computers[p][q] is participant p's Computer targeting participant q; null when p == q
+    private final Random[] randomNumberGenerators; // One random number generator per participant, used to choose targets; a participant's generator is only used by its own task
+    private final boolean[] eliminated; // True if the participant has had all of its ships sunk
+    private final int[] targets; // The opponent chosen by each participant in the current round
+    private final int[] moves; // The move chosen by each participant in the current round; a cell id (i * 10 + j)
+    private final List<Callable<Void>> moveTasks; // One move-choosing task per participant, reused every round
+    private final ExecutorService moveExecutor; // Runs the move-choosing tasks concurrently
+    private int remainingParticipants; // The number of participants that have not been eliminated
+    private int roundCounter; // The number of rounds that have been played
+    private SpectatorHub spectatorHub; // The hub the game's shots are published to, or null if nobody can watch the game
+    private long gameId; // The id of the game on the spectator hub
+
+    // Constructors
+
+    /**
+     * --Constructor for FreeForAllManager--
+     * Creates a fleet, a random number generator and a Computer per opponent for each of the participants, and an
+     * ExecutorService with one thread per available processor to choose the participants' moves concurrently.
+     *
+     * @param participants: the number of participants in the game (at least 2)
+     */
+    public FreeForAllManager(int participants) {
+        if (participants < 2) {
+            throw new IllegalArgumentException("A free-for-all game needs at least 2 participants");
+        }
+        boards = new ComputerBoard[participants];
+        shipCells = new int[participants][][];
+        computers = new Computer[participants][participants];
+        randomNumberGenerators = new Random[participants];
+        eliminated = new boolean[participants];
+        targets = new int[participants];
+        moves = new int[participants];
+        moveTasks = new ArrayList<>(participants);
+        for (int p = 0; p < participants; p++) {
+            boards[p] = new ComputerBoard();
+            randomNumberGenerators[p] = new Random();
+        }
+        for (int p = 0; p < participants; p++) {
+            for (int q = 0; q < participants; q++) {
+                if (p != q) {
+                    computers[p][q] = new Computer(boards[p]); // Shares participant p's fleet, but tracks its own enemy board of participant q
+                }
+            }
+            final int participant = p; // Effectively final copy for the lambda
+            moveTasks.add(() -> {
+                this.chooseMove(participant);
+                return null;
+            });
+        }
+        remainingParticipants = participants;
+        moveExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "free-for-all-move");
+            thread.setDaemon(true); // Never keeps the program alive on its own
+            return thread;
+        });
+    }
+
+    // Methods
+
+    /**
+     * Generates every participant's fleet by randomly placing their ships, and keeps the cells of every ship (hit
+     * positions are removed from the ships, so a sunk ship's cells can't be read from it later).
+     */
+    public void generateBoards() {
+        for (int p = 0; p < boards.length; p++) {
+            boards[p].generateComputerBoard();
+            Ship[] ships = boards[p].getShips();
+            shipCells[p] = new int[ships.length][];
+            for (int ship = 0; ship < ships.length; ship++) {
+                shipCells[p][ship] = ships[ship].getPositions().clone();
+            }
+        }
+    }
+
+    /**
+     * The main loop of the free-for-all game. Plays rounds until at most one participant is left afloat, then outputs
+     * the winner (or a draw, if the last participants were all eliminated in the same round) and shuts down the
+     * ExecutorService.
+     *
+     * @return the index of the winning participant, or -1 if the game ended in a draw
+     */
+    public int runGame() {
+        System.out.println();
+        System.out.println("STARTING FREE-FOR-ALL (" + Colours.getCyan() + boards.length + Colours.getReset() + " participants)");
+        Metrics.gameStarted();
+
+        try {
+            while (remainingParticipants > 1) { // Loops until at most one participant is left afloat
+                this.playRound();
+            }
+        } finally {
+            moveExecutor.shutdown();
+            Metrics.gameEnded(-1); // The winner is a participant, not a side
+            if (spectatorHub != null) {
+                spectatorHub.endGame(gameId);
+            }
+        }
+
+        System.out.println();
+        for (int p = 0; p < boards.length; p++) {
+            if (!eliminated[p]) { // The only participant that is still afloat
+                System.out.println(Colours.getGreen() + "COMPUTER " + (p + 1) + " WINS" + Colours.getReset() + " after " + Colours.getCyan() + roundCounter + Colours.getReset() + " rounds");
+                return p;
+            }
+        }
+        System.out.println(Colours.getYellow() + "DRAW" + Colours.getReset() + " after " + Colours.getCyan() + roundCounter + Colours.getReset() + " rounds");
+        return -1;
+    }
+
+    /**
+     * Plays a single round. First, every remaining participant chooses a target and a move concurrently. Then, the moves
+     * are applied in participant order. Finally, every participant whose ships have all been sunk is eliminated.
+     * (Note: moves chosen in the same round are all applied, even if their shooter is eliminated by an earlier move in
+     * that round, because the moves are treated as simultaneous).
+     */
+    public void playRound() {
+        roundCounter++;
+        List<Callable<Void>> roundTasks = new ArrayList<>(remainingParticipants); // The tasks of the remaining participants
+        for (int p = 0; p < boards.length; p++) {
+            if (!eliminated[p]) {
+                roundTasks.add(moveTasks.get(p));
+            }
+        }
+
+        try {
+            for (Future<Void> future : moveExecutor.invokeAll(roundTasks)) { // Waits for every participant to choose a move
+                future.get(); // Rethrows any exception raised while choosing a move
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while choosing moves", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A participant failed to choose a move", e.getCause());
+        }
+
+        for (int p = 0; p < boards.length; p++) { // Apply the moves in a deterministic order
+            if (!eliminated[p]) {
+                this.applyMove(p);
+            }
+        }
+
+        for (int p = 0; p < boards.length; p++) { // Eliminate the participants whose ships have all been sunk
+            if ((!eliminated[p]) && (boards[p].checkWin())) {
+                eliminated[p] = true;
+                remainingParticipants--;
+                System.out.println(Colours.getRed() + "COMPUTER " + (p + 1) + " ELIMINATED" + Colours.getReset() + " in round " + roundCounter);
+            }
+        }
+    }
+
+    /**
+     * Chooses the target and the move of the passed participant. An opponent that the participant has already hit (and
+     * whose hit ships it hasn't sunk yet) is preferred, so that damaged ships are finished off; otherwise a random remaining
+     * opponent is chosen. (Note: this method is run concurrently for every participant, so it may only write to the
+     * passed participant's own entries in the targets and moves arrays).
+     *
+     * @param participant: the index of the participant choosing a move
+     */
+    private void chooseMove(int participant) {
+        int target = -1; // The chosen opponent
+
+        for (int q = 0; q < boards.length; q++) { // Prefer an opponent with unresolved hits
+            if ((q != participant) && (!eliminated[q]) && (computers[participant][q].hasUnresolvedHits())) {
+                target = q;
+                break;
+            }
+        }
+        if (target == -1) { // Otherwise, choose a random remaining opponent
+            int opponentIndex = randomNumberGenerators[participant].nextInt(0, remainingParticipants - 1); // The index of the opponent among the remaining opponents
+            for (int q = 0; q < boards.length; q++) {
+                if ((q != participant) && (!eliminated[q])) {
+                    if (opponentIndex == 0) {
+                        target = q;
+                        break;
+                    }
+                    opponentIndex--;
+                }
+            }
+        }
+
+        targets[participant] = target;
+        moves[participant] = computers[participant][target].chooseMove();
+    }
+
+    /**
+     * Applies the move chosen by the passed participant this round to its target's board and ships, then outputs the
+     * result. A position that was already hit by another participant still counts as a hit, because there is a ship
+     * there, but it does no further damage. If the move sinks a ship, every other participant also retires it (see
+     * .retireSunkShip()), because only the shooter learns of the sinking from the result. If the move hits a ship that
+     * is already sunk (it was chosen in the same round as the sinking move, before that move was applied), the shooter
+     * retires the wreck again, so the hit doesn't become an unresolved hit that nothing will ever explain.
+     *
+     * @param participant: the index of the participant whose move is applied
+     */
+    private void applyMove(int participant) {
+        int target = targets[participant]; // The participant's chosen opponent
+        int move = moves[participant]; // The participant's chosen move
+        ComputerBoard targetBoard = boards[target]; // The opponent's fleet
+        long startTime = Metrics.startTimer(); // Hit resolution is timed by the Metrics registry
+        int shotResult = targetBoard.receiveShot(move); // Updates the opponent's board and ships
+
+        computers[participant][target].recordMoveResult(move, shotResult);
+        if (ShotResult.isSunk(shotResult)) {
+            this.retireSunkShip(participant, target, move, ShotResult.getSunkLength(shotResult));
+        } else if (ShotResult.isHit(shotResult)) {
+            int ship = this.shipAt(target, move);
+            if (targetBoard.getShips()[ship].isSunk()) { // A hit on a wreck
+                computers[participant][target].retireWreck(shipCells[target][ship]);
+            }
+        }
+        if (spectatorHub != null) {
+            spectatorHub.publishShot(gameId, participant, target, move, shotResult);
+        }
+        Metrics.recordPhase(GamePhase.HIT_RESOLUTION, startTime);
+
+        System.out.println("Computer " + (participant + 1) + " -> Computer " + (target + 1) + " [" + Colours.getYellow() + Board.cellToPositionString(move) + Colours.getReset() + "] was a " + ShotResult.toColouredString(shotResult));
+    }
+
+    /**
+     * Records a ship sunk by the passed shooter in the Computer every other participant targets the ship's owner with,
+     * and retires the wreck's exact cells in the shooter's own Computer (which may have missed the cells others hit
+     * first), so nobody's hits on the wreck stay unresolved (and keep drawing their fire to the owner).
+     *
+     * @param shooter:    the index of the participant that sunk the ship
+     * @param target:     the index of the participant that owned the ship
+     * @param move:       the cell id of the move that sunk the ship
+     * @param shipLength: the length of the sunk ship
+     */
+    private void retireSunkShip(int shooter, int target, int move, int shipLength) {
+        int[] cells = shipCells[target][this.shipAt(target, move)];
+        computers[shooter][target].retireWreck(cells); // The shooter has already recorded the sunk ship, but may not know all of its cells
+        for (int p = 0; p < boards.length; p++) {
+            if ((p != shooter) && (p != target)) {
+                computers[p][target].recordSunkShip(cells, shipLength);
+            }
+        }
+    }
+
+    /**
+     * @param participant: the index of a participant
+     * @param cell:        the cell id of one of the participant's ship positions
+     * @return the index of the participant's ship holding the cell (ships never overlap, so there is exactly one)
+     */
+    private int shipAt(int participant, int cell) {
+        for (int ship = 0; ship < shipCells[participant].length; ship++) {
+            for (int shipCell : shipCells[participant][ship]) {
+                if (shipCell == cell) {
+                    return ship;
+                }
+            }
+        }
+        throw new IllegalStateException("Computer " + (participant + 1) + " has no ship at " + Board.cellToPositionString(cell));
+    }
+
+    // [Setter Methods]
+
+    /**
+     * Lets spectators watch the game: every shot is published to the passed hub under the passed game id, with the
+     * firing and targeted participants as the frame's sides.
+     *
+     * @param spectatorHub: the hub to publish the shots to
+     * @param gameId:       the id of the game on the hub
+     */
+    public void setSpectatorHub(SpectatorHub spectatorHub, long gameId) {
+        this.spectatorHub = spectatorHub;
+        this.gameId = gameId;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of participants that have not been eliminated
+     */
+    public int getRemainingParticipants() {
+        return remainingParticipants;
+    }
+
+    /**
+     * @return the number of rounds that have been played
+     */
+    public int getRoundCounter() {
+        return roundCounter;
+    }
+}
@@ -0,0 +1,83 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An enum that represents the columns of a columnar game history (see ColumnarGameWriter), in the order they are
+ * stored in every block. Every row is a shot: the id of its game, its turn (the number of shots fired before it in the
+ * game), the side that fired, the cell fired at, its outcome (the shot's result, packed by GameJournal.packShotResult())
+ * and the number of the opponent's ships still afloat after it. Each column holds its width in bytes and a bit, so
+ * that a set of columns to read can be held in a single int bitmask (like the Direction enum).
+ */
+public enum GameColumn {
+    GAME_ID(4),
+    TURN(1),
+    SHOOTER(1),
+    CELL(1),
+    OUTCOME(1),
+    REMAINING_SHIPS(1);
+
+    // Variables
+    private final int width; // The number of bytes each row takes in the column
+    private final int bit; // The bit representing this column in a column bitmask
+    private static final GameColumn[] values = GameColumn.values(); // Cached, because .values() returns a new array every call
+    public static final int ALL = (1 << values.length) - 1; // The bitmask of every column
+
+    // Constructors
+
+    /**
+     * --Constructor for GameColumn--
+     *
+     * @param width: the number of bytes each row takes in the column
+     */
+    GameColumn(int width) {
+        this.width = width;
+        this.bit = 1 << this.ordinal();
+    }
+
+    // Methods
+
+    /**
+     * @param mask: a column bitmask
+     * @return boolean: true if this column is in the passed bitmask, false otherwise
+     */
+    public boolean isIn(int mask) {
+        return (mask & bit) != 0;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of bytes each row takes in the column
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the bit representing this column in a column bitmask
+     */
+    public int getBit() {
+        return bit;
+    }
+
+    // Static Methods
+
+    /**
+     * @return the cached array of every column, in the order they are stored (Note: must not be modified)
+     */
+    public static GameColumn[] getValues() {
+        return values;
+    }
+
+    /**
+     * @param columns: the columns
+     * @return the bitmask of the passed columns
+     */
+    public static int maskOf(GameColumn... columns) {
+        int mask = 0;
+        for (GameColumn column : columns) {
+            mask |= column.bit;
+        }
+        return mask;
+    }
+}
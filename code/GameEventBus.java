@@ -0,0 +1,237 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.ArrayList; // Holds the subscribers
+import java.util.List; // The type of the subscriber list
+import java.util.concurrent.atomic.AtomicLong; // The published and consumed sequences
+import java.util.concurrent.locks.LockSupport; // To wait without burning a processor
+
+/**
+ * A bus that carries game events from the game loop to any number of subscribers. Events are written by a single
+ * producer (the thread running the game) into a preallocated ring buffer, held as one primitive array per event field,
+ * so publishing never allocates, formats or writes anything. Every subscriber (a GameEventHandler) runs on its own
+ * thread and reads every event in order at its own pace, so a slow consumer (like the console) never holds up the game
+ * unless it falls a whole ring behind. Before prompting the player, the game calls .flush() to wait until every event
+ * so far has been handled, so output never appears after the prompt it belongs before. A subscriber whose handler
+ * throws is marked as failed and stops; the others (and the game) carry on without waiting for it.
+ * (Note: subscribers must be added before .start(), and only one thread may publish).
+ */
+public class GameEventBus {
+    // Variables
+    public static final int PLAYER = 0; // The actor of the player's events
+    public static final int COMPUTER = 1; // The actor of the computer's events
+    private static final long WAIT_NANOS = 50000; // How long a subscriber or the producer waits before checking again
+    private final int mask; // Selects an event's slot from its sequence number (capacity - 1)
+    private final GameEventType[] types; // types[slot] is the type of the event in the slot
+    private final long[] gameIds; // gameIds[slot] is the game id of the event in the slot
+    private final int[] actors; // actors[slot] is the actor of the event in the slot
+    private final int[] cells; // cells[slot] is the cell of the event in the slot
+    private final int[] values; // values[slot] is the value of the event in the slot
+    private final long[] timestamps; // timestamps[slot] is the publishing time of the event in the slot
+    private final AtomicLong published; // The number of events published; the next event's sequence number
+    private final List<Subscriber> subscribers; // The subscribers, each with its own thread and consumed sequence
+    private volatile boolean running; // False once the bus is closed
+
+    // Constructors
+
+    /**
+     * --Constructor for GameEventBus--
+     * Preallocates the ring buffer.
+     *
+     * @param capacity: the number of events the ring holds (rounded up to a power of 2)
+     */
+    public GameEventBus(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1; // Rounded up to a power of 2
+        mask = slots - 1;
+        types = new GameEventType[slots];
+        gameIds = new long[slots];
+        actors = new int[slots];
+        cells = new int[slots];
+        values = new int[slots];
+        timestamps = new long[slots];
+        published = new AtomicLong();
+        subscribers = new ArrayList<>();
+    }
+
+    // Methods
+
+    /**
+     * Adds a subscriber, which will receive every event published after .start().
+     *
+     * @param name:    the name of the subscriber's thread
+     * @param handler: the handler called for every event
+     */
+    public void subscribe(String name, GameEventHandler handler) {
+        if (running) {
+            throw new IllegalStateException("Subscribers must be added before the bus is started");
+        }
+        subscribers.add(new Subscriber(name, handler));
+    }
+
+    /**
+     * Starts every subscriber's thread.
+     */
+    public void start() {
+        running = true;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.thread.start();
+        }
+    }
+
+    /**
+     * Publishes an event. Waits only if the slowest subscriber is a whole ring behind.
+     *
+     * @param type:   the type of the event
+     * @param gameId: the id of the game
+     * @param actor:  the side the event is about (PLAYER or COMPUTER)
+     * @param cell:   the cell id of the shot, or Board.INVALID_CELL if the event has none
+     * @param value:  the event's value (see GameEventType)
+     */
+    public void publish(GameEventType type, long gameId, int actor, int cell, int value) {
+        long sequence = published.get(); // Only this thread writes it
+        while (sequence - this.getSlowestSequence() > mask) { // The ring is full
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        int slot = (int) sequence & mask;
+        types[slot] = type;
+        gameIds[slot] = gameId;
+        actors[slot] = actor;
+        cells[slot] = cell;
+        values[slot] = value;
+        timestamps[slot] = System.nanoTime();
+        published.set(sequence + 1); // Makes the event visible to the subscribers
+    }
+
+    /**
+     * Publishes a shot as two events: SHOT_FIRED, then its result (HIT, MISS or SUNK).
+     *
+     * @param gameId:     the id of the game
+     * @param actor:      the side that fired (PLAYER or COMPUTER)
+     * @param target:     the side fired at
+     * @param cell:       the cell id of the shot
+     * @param shotResult: the shot's result, encoded by the ShotResult class
+     */
+    public void publishShot(long gameId, int actor, int target, int cell, int shotResult) {
+        GameEventType resultType = ShotResult.isSunk(shotResult) ? GameEventType.SUNK : (ShotResult.isHit(shotResult) ? GameEventType.HIT : GameEventType.MISS);
+
+        this.publish(GameEventType.SHOT_FIRED, gameId, actor, cell, target);
+        this.publish(resultType, gameId, actor, cell, shotResult);
+    }
+
+    /**
+     * Waits until every subscriber has handled every event published so far.
+     */
+    public void flush() {
+        long target = published.get();
+        while (running && (this.getSlowestSequence() < target)) {
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Waits for every published event to be handled, then stops the subscribers' threads.
+     */
+    public void close() {
+        this.flush();
+        running = false;
+        for (Subscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of events published
+     */
+    public long getPublishedEvents() {
+        return published.get();
+    }
+
+    /**
+     * @return the number of subscribers that stopped because their handler threw
+     */
+    public int getFailedSubscribers() {
+        int failed = 0;
+        for (Subscriber subscriber : subscribers) {
+            failed += subscriber.failed ? 1 : 0;
+        }
+        return failed;
+    }
+
+    /**
+     * @return the number of events handled by the slowest subscriber that hasn't failed (or the number published, if
+     * there are none)
+     */
+    private long getSlowestSequence() {
+        long slowest = published.get();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.failed) { // A failed subscriber never moves again, so it mustn't hold up the producer
+                slowest = Math.min(slowest, subscriber.consumed.get());
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * A subscriber's thread, which hands every published event to its handler, and the number of events it handled.
+     */
+    private final class Subscriber implements Runnable {
+        private final GameEventHandler handler; // Handles every event
+        private final AtomicLong consumed; // The number of events handled
+        private final Thread thread; // Runs the subscriber
+        private volatile boolean failed; // True once the handler has thrown; the subscriber then handles no more events
+
+        /**
+         * --Constructor for Subscriber--
+         *
+         * @param name:    the name of the subscriber's thread
+         * @param handler: the handler called for every event
+         */
+        private Subscriber(String name, GameEventHandler handler) {
+            this.handler = handler;
+            consumed = new AtomicLong();
+            thread = new Thread(this, "game-event-" + name);
+            thread.setDaemon(true); // Never keeps the program alive on its own
+        }
+
+        /**
+         * Handles events until the bus is closed, or until the handler throws, which marks the subscriber as failed.
+         */
+        @Override
+        public void run() {
+            try {
+                this.handleEvents();
+            } catch (RuntimeException e) {
+                failed = true;
+                System.out.println("Event subscriber [" + thread.getName() + "] failed and was dropped: " + e);
+            } catch (Error e) {
+                failed = true; // Still releases the producer before the error ends the thread
+                throw e;
+            }
+        }
+
+        /**
+         * Hands every published event to the handler, in order, until the bus is closed.
+         */
+        private void handleEvents() {
+            long next = 0; // The sequence number of the next event to handle
+            while (true) {
+                long available = published.get();
+                if (next == available) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(WAIT_NANOS);
+                    continue;
+                }
+                for (; next < available; next++) {
+                    int slot = (int) next & mask;
+                    handler.onEvent(types[slot], gameIds[slot], actors[slot], cells[slot], values[slot], timestamps[slot]);
+                }
+                consumed.set(available); // Frees the handled slots for the producer
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An interface that requires the implementation of an onEvent() method. This interface was created so that any number
+ * of independent consumers (console rendering, journaling, metrics, spectators...) can subscribe to a GameEventBus
+ * and each receive every game event, on their own thread, without the game loop knowing about them. Events are passed
+ * as their fields, so that no event objects are allocated.
+ * @see GameEventBus
+ * @see GameEventType
+ */
+public interface GameEventHandler {
+    /**
+     * Handles a single event. Called on the subscriber's own thread, in the order the events were published.
+     *
+     * @param type:      the type of the event
+     * @param gameId:    the id of the game
+     * @param actor:     the side the event is about (GameEventBus.PLAYER or GameEventBus.COMPUTER)
+     * @param cell:      the cell id of the shot, or Board.INVALID_CELL if the event has none
+     * @param value:     the event's value (see GameEventType)
+     * @param timestamp: the System.nanoTime() at which the event was published
+     */
+    public void onEvent(GameEventType type, long gameId, int actor, int cell, int value, long timestamp);
+}
@@ -0,0 +1,19 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An enum that represents the types of events published to a GameEventBus.
+ * SHOT_FIRED is published when a side fires (its cell is the shot, its value is the side fired at). It is followed by
+ * exactly one of HIT, MISS or SUNK, the shot's result (its value is the full result, encoded by the ShotResult class).
+ * GAME_OVER is published once the game is won (its actor is the winner, its value is the number of moves the player
+ * made). SHIP_PLACED is published for every ship of both fleets when the game starts (its actor is the fleet's side,
+ * its cell is the ship's first position and its value is the ship's last position).
+ */
+public enum GameEventType {
+    SHOT_FIRED,
+    HIT,
+    MISS,
+    SUNK,
+    GAME_OVER,
+    SHIP_PLACED
+}
@@ -0,0 +1,117 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the frame can't be written
+import java.io.OutputStream; // Where a frame is written for a remote spectator
+import java.nio.ByteBuffer; // To encode and decode the frame's fields
+
+/**
+ * An immutable, pre-encoded frame describing a single state change of a live game (a shot and its result), as sent to
+ * spectators. A frame is encoded once, when the shot is fired, and the same frame (and the same bytes) is then handed
+ * to every spectator of the game, so nothing is re-rendered or re-serialized per spectator.
+ * Frame layout (FRAME_SIZE bytes, big-endian): 0-7: game id, 8-11: sequence number (0, 1, 2, ... per game), 12-13:
+ * the side that fired, 14-15: the side that was fired at, 16: the cell id of the shot, 17-19: unused, 20-23: the
+ * shot's result (see ShotResult).
+ */
+public final class GameFrame {
+    // Variables
+    public static final int FRAME_SIZE = 24; // The number of bytes per frame
+    private final byte[] bytes; // The encoded frame; never modified after encoding
+
+    // Constructors
+
+    /**
+     * --Constructor for GameFrame--
+     * (Note: only used by .encode(), so that every frame is fully encoded before anyone can see it)
+     *
+     * @param bytes: the encoded frame
+     */
+    private GameFrame(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    // Methods
+
+    /**
+     * Writes the frame's bytes to the passed stream.
+     *
+     * @param out: the stream to write to
+     * @throws IOException if the frame can't be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    /**
+     * @return the frame as a line of text, e.g. "Game 7 #12: 1 -> 0 [C4] was a HIT"
+     */
+    @Override
+    public String toString() {
+        return "Game " + this.getGameId() + " #" + this.getSequence() + ": " + this.getActor() + " -> " + this.getTarget() + " [" + Board.cellToPositionString(this.getCell()) + "] was a " + ShotResult.toColouredString(this.getShotResult());
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the id of the game
+     */
+    public long getGameId() {
+        return ByteBuffer.wrap(bytes).getLong(0);
+    }
+
+    /**
+     * @return the frame's position in its game's sequence of frames
+     */
+    public int getSequence() {
+        return ByteBuffer.wrap(bytes).getInt(8);
+    }
+
+    /**
+     * @return the side that fired
+     */
+    public int getActor() {
+        return ByteBuffer.wrap(bytes).getShort(12);
+    }
+
+    /**
+     * @return the side that was fired at
+     */
+    public int getTarget() {
+        return ByteBuffer.wrap(bytes).getShort(14);
+    }
+
+    /**
+     * @return the cell id of the shot
+     */
+    public int getCell() {
+        return bytes[16];
+    }
+
+    /**
+     * @return the shot's result, encoded by the ShotResult class
+     */
+    public int getShotResult() {
+        return ByteBuffer.wrap(bytes).getInt(20);
+    }
+
+    // Static Methods
+
+    /**
+     * Encodes a shot into a new frame.
+     *
+     * @param gameId:     the id of the game
+     * @param sequence:   the frame's position in its game's sequence of frames
+     * @param actor:      the side that fired
+     * @param target:     the side that was fired at
+     * @param cell:       the cell id of the shot
+     * @param shotResult: the shot's result, encoded by the ShotResult class
+     * @return the encoded frame
+     */
+    public static GameFrame encode(long gameId, int sequence, int actor, int target, int cell, int shotResult) {
+        byte[] bytes = new byte[FRAME_SIZE];
+
+        ByteBuffer.wrap(bytes).putLong(0, gameId).putInt(8, sequence).putShort(12, (short) actor).putShort(14, (short) target).put(16, (byte) cell).putInt(20, shotResult);
+        return new GameFrame(bytes);
+    }
+}
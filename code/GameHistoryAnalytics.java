@@ -0,0 +1,186 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if a file can't be read or written
+import java.nio.file.Files; // To check for the journal and get the files' sizes
+import java.nio.file.Path; // The location of the journal and export files
+
+/**
+ * Offline analytics over a columnar game history (see ColumnarGameWriter): a per-cell heatmap of how often shots at
+ * each cell hit, and the distribution of the number of shots the winner needed to win. Only the columns the analysis
+ * needs are decompressed (the game ids aren't, because every game's rows are consecutive and start at turn 0), and the
+ * file is streamed a block at a time, so any number of games can be analyzed in constant memory.
+ */
+public class GameHistoryAnalytics {
+    // Variables
+    private static final int COLUMNS = GameColumn.maskOf(GameColumn.TURN, GameColumn.SHOOTER, GameColumn.CELL, GameColumn.OUTCOME, GameColumn.REMAINING_SHIPS); // The columns the analysis reads
+    private final long[] shotsPerCell; // shotsPerCell[cell] is the number of shots at the cell
+    private final long[] hitsPerCell; // hitsPerCell[cell] is the number of shots at the cell that hit
+    private final long[] shotsToWin; // shotsToWin[shots] is the number of games the winner won with that many shots
+    private long games; // The number of games won
+    private long rows; // The number of rows (shots) read
+
+    // Constructors
+
+    /**
+     * --Constructor for GameHistoryAnalytics--
+     */
+    public GameHistoryAnalytics() {
+        shotsPerCell = new long[100];
+        hitsPerCell = new long[100];
+        shotsToWin = new long[101]; // A side wins with at most 100 shots
+    }
+
+    // Methods
+
+    /**
+     * Adds every game of a columnar file to the analysis.
+     *
+     * @param file: the columnar file
+     * @throws IOException if the file can't be read or isn't a columnar file
+     */
+    public void analyze(Path file) throws IOException {
+        int[] sideShots = new int[2]; // sideShots[side] is the number of shots the side has fired in the current game
+        try (ColumnarGameReader reader = new ColumnarGameReader(file, COLUMNS)) {
+            while (reader.nextBlock()) {
+                int blockRows = reader.getRows();
+                byte[] turns = reader.getTurns();
+                byte[] shooters = reader.getShooters();
+                byte[] cells = reader.getCells();
+                byte[] outcomes = reader.getOutcomes();
+                byte[] remainingShips = reader.getRemainingShips();
+                for (int row = 0; row < blockRows; row++) {
+                    if (turns[row] == 0) { // The first shot of a game
+                        sideShots[0] = 0;
+                        sideShots[1] = 0;
+                    }
+                    int shooter = shooters[row] & 1;
+                    int cell = cells[row];
+                    sideShots[shooter]++;
+                    shotsPerCell[cell]++;
+                    hitsPerCell[cell] += outcomes[row] & 1; // Bit 0 of a packed result is set for a hit
+                    if (remainingShips[row] == 0) { // The winning shot
+                        shotsToWin[sideShots[shooter]]++;
+                        games++;
+                    }
+                }
+                rows += blockRows;
+            }
+        }
+    }
+
+    /**
+     * Prints the heatmap: the percentage of shots at every cell that hit, laid out like the board.
+     */
+    public void printHeatmap() {
+        StringBuilder text = new StringBuilder("    ");
+        for (int j = 0; j < 10; j++) {
+            text.append(String.format("%6c", (char) ('A' + j)));
+        }
+        text.append(System.lineSeparator());
+        for (int i = 0; i < 10; i++) {
+            text.append(String.format("%3d ", i + 1));
+            for (int j = 0; j < 10; j++) {
+                text.append(String.format("%5.1f%%", 100 * this.getHitRate(Board.cellOf(i, j))));
+            }
+            text.append(System.lineSeparator());
+        }
+        System.out.print(text);
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @param cell: a cell id
+     * @return the fraction of the shots at the cell that hit (0 if there were none)
+     */
+    public double getHitRate(int cell) {
+        return (shotsPerCell[cell] == 0) ? 0 : (double) hitsPerCell[cell] / shotsPerCell[cell];
+    }
+
+    /**
+     * @return the number of games won
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return the number of rows (shots) read
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the mean number of shots the winner needed (0 if no games were won)
+     */
+    public double getMeanShotsToWin() {
+        long total = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            total += shots * shotsToWin[shots];
+        }
+        return (games == 0) ? 0 : (double) total / games;
+    }
+
+    /**
+     * @param percentile: the percentile (0-100)
+     * @return the number of shots the winner needed at the percentile of the games (0 if no games were won)
+     */
+    public int getShotsToWinPercentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * games)); // The rank of the game, from 1
+        long seen = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            seen += shotsToWin[shots];
+            if (seen >= rank) {
+                return shots;
+            }
+        }
+        return 0;
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: GameHistoryAnalytics [journal] [export] [games] - exports the journal file (history.bsj by default) to a
+     * columnar file (history.bsc by default) and analyzes it. If the journal doesn't exist, [games] headless computer vs
+     * computer games (1000000 by default) are journaled to it first. Outputs the sizes of both files, how long the export
+     * and the analysis took, the hit rate heatmap and the distribution of the winners' shots.
+     *
+     * @param args: the command line arguments
+     * @throws IOException if a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path journalFile = Path.of((args.length > 0) ? args[0] : "history.bsj");
+        Path exportFile = Path.of((args.length > 1) ? args[1] : "history.bsc");
+        int games = (args.length > 2) ? Integer.parseInt(args[2]) : 1000000;
+
+        if (!Files.exists(journalFile)) {
+            System.out.println("Journaling " + games + " headless games to " + journalFile + "...");
+            GameJournal journal = new GameJournal(journalFile);
+            HeadlessGame game = new HeadlessGame(HuntMode.PARITY);
+            game.setJournal(journal);
+            for (int g = 0; g < games; g++) {
+                game.play();
+            }
+            journal.close();
+        }
+
+        long startTime = System.nanoTime();
+        ColumnarGameWriter writer = new ColumnarGameWriter(exportFile);
+        writer.exportJournal(journalFile);
+        writer.close();
+        long exportNanos = System.nanoTime() - startTime;
+        System.out.printf("Exported %d games (%d shots) in %.2f s: %s is %.1f MB, %s is %.1f MB (%d blocks)%n", writer.getExportedGames(), writer.getExportedRows(), exportNanos / 1e9, journalFile, Files.size(journalFile) / 1e6, exportFile, Files.size(exportFile) / 1e6, writer.getBlocksWritten());
+
+        GameHistoryAnalytics analytics = new GameHistoryAnalytics();
+        startTime = System.nanoTime();
+        analytics.analyze(exportFile);
+        long analysisNanos = System.nanoTime() - startTime;
+        System.out.printf("Analyzed %d games (%d shots) in %.2f s%n", analytics.getGames(), analytics.getRows(), analysisNanos / 1e9);
+        System.out.println("Hit rate per cell:");
+        analytics.printHeatmap();
+        System.out.printf("Shots to win: mean %.1f, p10 %d, p50 %d, p90 %d, p99 %d%n", analytics.getMeanShotsToWin(), analytics.getShotsToWinPercentile(10), analytics.getShotsToWinPercentile(50), analytics.getShotsToWinPercentile(90), analytics.getShotsToWinPercentile(99));
+    }
+}
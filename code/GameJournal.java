@@ -0,0 +1,428 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the journal file can't be opened or written
+import java.nio.ByteBuffer; // The batch of records written at once
+import java.nio.channels.FileChannel; // The single channel every batch is written through
+import java.nio.file.Files; // To get the size of the journal file
+import java.nio.file.Path; // The location of the journal file
+import java.nio.file.StandardOpenOption; // To create (or truncate) the journal file
+import java.util.concurrent.TimeUnit; // To convert the flush interval
+import java.util.concurrent.atomic.AtomicLong; // The claimed and consumed sequences
+import java.util.concurrent.atomic.AtomicLongArray; // Marks each slot as published
+import java.util.concurrent.atomic.LongAdder; // Counts the times producers found the ring full
+import java.util.concurrent.locks.LockSupport; // To wait without burning a processor
+
+/**
+ * A structured, machine-readable journal of games, written to a compact binary file: every fleet placement, every
+ * shot with its timestamp and result, and every winner, as fixed-size 16-byte records. Records can be appended from
+ * any number of threads into a preallocated ring (appending only claims a slot and stores two longs, so it never
+ * allocates, formats or touches the file); a single writer thread drains the ring into a batch and writes the batch
+ * through one FileChannel once it is full or has waited for the flush interval. The journal is also a GameEventHandler,
+ * so subscribing it to a game's GameEventBus journals the game from the bus's own thread, and the game loop never waits
+ * for it.
+ * File format (big-endian): a 16-byte header (MAGIC, VERSION, and the System.currentTimeMillis() at which the journal
+ * was opened), then one record per event:
+ * // 0-7:   timestamp (nanoseconds since the epoch)
+ * // 8-11:  game id (its low 32 bits)
+ * // 12:    type (the ordinal of a GameEventType: SHIP_PLACED, HIT, MISS, SUNK or GAME_OVER)
+ * // 13:    actor (the side the record is about: GameEventBus.PLAYER or GameEventBus.COMPUTER)
+ * // 14:    cell (the cell id of the shot, or the first position of the placed ship)
+ * // 15:    value (the shot's result, see .packShotResult(); the last position of the placed ship; or 0)
+ * (Note: records of the same game are always in order, but records of games journaled from different threads may be
+ * interleaved).
+ * @see GameReplayVerifier
+ */
+public class GameJournal implements GameEventHandler {
+    // Variables
+    public static final int MAGIC = 0x42534A31; // "BSJ1"; the first 4 bytes of every journal file
+    public static final int VERSION = 1; // The version of the file format
+    public static final int HEADER_BYTES = 16; // The size of the file header
+    public static final int RECORD_BYTES = 16; // The size of a record
+    public static final int DEFAULT_CAPACITY = 1 << 16; // The default number of records the ring holds
+    public static final int DEFAULT_BATCH_BYTES = 1 << 16; // The default size of a batch (64 KiB)
+    public static final long DEFAULT_FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // The default longest time a record waits in a batch
+    private static final long WAIT_NANOS = 50000; // How long the writer or a producer waits before checking again
+    private final FileChannel channel; // The journal file
+    private final int mask; // Selects a record's slot from its sequence number (capacity - 1)
+    private final long[] timestamps; // timestamps[slot] is the timestamp of the record in the slot
+    private final long[] fields; // fields[slot] is the rest of the record in the slot: game id, type, actor, cell, value
+    private final AtomicLongArray published; // published[slot] is the sequence number + 1 of the last record published to the slot
+    private final AtomicLong claimed; // The number of slots claimed by producers; the next record's sequence number
+    private final AtomicLong consumed; // The number of records moved into a batch by the writer
+    private final AtomicLong nextGameId; // The id handed to the next game
+    private final ByteBuffer batch; // The records waiting to be written
+    private final long flushNanos; // The longest time a record waits in a batch before the batch is written
+    private final long epochOffsetNanos; // Added to a System.nanoTime() to get nanoseconds since the epoch
+    private final Thread writer; // Drains the ring and writes the batches
+    private volatile boolean running; // False once the journal is closed
+    private volatile IOException writeFailure; // The exception that stopped the writer, or null
+    private long batchesWritten; // The number of batches written (only written by the writer thread)
+    private final LongAdder stalls; // The number of times a producer found the ring full
+
+    // Constructors
+
+    /**
+     * --Constructor for GameJournal--
+     * Creates (or truncates) the journal file with the default ring capacity, batch size and flush interval.
+     *
+     * @param file: the journal file
+     * @throws IOException if the file can't be opened or its header can't be written
+     */
+    public GameJournal(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY, DEFAULT_BATCH_BYTES, DEFAULT_FLUSH_NANOS);
+    }
+
+    /**
+     * --Constructor for GameJournal--
+     * Creates (or truncates) the journal file, writes its header, preallocates the ring and the batch, and starts the
+     * writer thread.
+     *
+     * @param file:       the journal file
+     * @param capacity:   the number of records the ring holds (rounded up to a power of 2)
+     * @param batchBytes: the size of a batch (rounded down to whole records)
+     * @param flushNanos: the longest time a record waits in a batch before the batch is written
+     * @throws IOException if the file can't be opened or its header can't be written
+     */
+    public GameJournal(Path file, int capacity, int batchBytes, long flushNanos) throws IOException {
+        int slots = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1; // Rounded up to a power of 2
+        mask = slots - 1;
+        timestamps = new long[slots];
+        fields = new long[slots];
+        published = new AtomicLongArray(slots);
+        claimed = new AtomicLong();
+        consumed = new AtomicLong();
+        nextGameId = new AtomicLong(1);
+        stalls = new LongAdder();
+        batch = ByteBuffer.allocateDirect(Math.max(RECORD_BYTES, batchBytes / RECORD_BYTES * RECORD_BYTES));
+        this.flushNanos = flushNanos;
+        epochOffsetNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        running = true;
+        writer = new Thread(this::runWriter, "game-journal-writer");
+        writer.start();
+    }
+
+    // Methods
+
+    /**
+     * @return a new game id, unique within this journal
+     */
+    public long newGameId() {
+        return nextGameId.getAndIncrement();
+    }
+
+    /**
+     * Appends a record. Safe to call from any thread; waits only if the writer is a whole ring behind.
+     *
+     * @param timestamp: the System.nanoTime() of the event
+     * @param gameId:    the id of the game
+     * @param type:      the type of the record (anything but SHOT_FIRED)
+     * @param actor:     the side the record is about
+     * @param cell:      the record's cell (0-99)
+     * @param value:     the record's value (0-255)
+     */
+    public void append(long timestamp, long gameId, GameEventType type, int actor, int cell, int value) {
+        long sequence = claimed.getAndIncrement();
+        if (sequence - consumed.get() > mask) { // The ring is full
+            stalls.increment();
+            while (sequence - consumed.get() > mask) {
+                LockSupport.parkNanos(WAIT_NANOS);
+            }
+        }
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp + epochOffsetNanos;
+        fields[slot] = (gameId << 32) | ((long) type.ordinal() << 24) | ((actor & 0xFF) << 16) | ((cell & 0xFF) << 8) | (value & 0xFF);
+        published.lazySet(slot, sequence + 1); // Makes the record visible to the writer
+    }
+
+    /**
+     * Appends the placement of every ship of a fleet (one SHIP_PLACED record per ship).
+     *
+     * @param gameId: the id of the game
+     * @param actor:  the side whose fleet it is
+     * @param ships:  the placed ships
+     */
+    public void appendFleet(long gameId, int actor, Ship[] ships) {
+        long timestamp = System.nanoTime();
+        for (Ship ship : ships) {
+            this.append(timestamp, gameId, GameEventType.SHIP_PLACED, actor, ship.getFirstPosition(), ship.getLastPosition());
+        }
+    }
+
+    /**
+     * Appends the result of a shot.
+     *
+     * @param gameId:     the id of the game
+     * @param actor:      the side that fired
+     * @param cell:       the cell id of the shot
+     * @param shotResult: the shot's result, encoded by the ShotResult class
+     */
+    public void appendShot(long gameId, int actor, int cell, int shotResult) {
+        this.append(System.nanoTime(), gameId, GameJournal.getShotType(shotResult), actor, cell, GameJournal.packShotResult(shotResult));
+    }
+
+    /**
+     * Appends the end of a game.
+     *
+     * @param gameId: the id of the game
+     * @param winner: the winning side
+     */
+    public void appendGameOver(long gameId, int winner) {
+        this.append(System.nanoTime(), gameId, GameEventType.GAME_OVER, winner, 0, 0);
+    }
+
+    /**
+     * Journals an event of a GameEventBus: placements, shot results and game overs are appended; SHOT_FIRED events
+     * aren't, because the shot's result follows right after.
+     */
+    @Override
+    public void onEvent(GameEventType type, long gameId, int actor, int cell, int value, long timestamp) {
+        switch (type) {
+            case SHIP_PLACED -> this.append(timestamp, gameId, type, actor, cell, value);
+            case HIT, MISS, SUNK -> this.append(timestamp, gameId, type, actor, cell, GameJournal.packShotResult(value));
+            case GAME_OVER -> this.append(timestamp, gameId, type, actor, 0, 0);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Waits until every record appended so far has been moved into a batch, writes the last batch, forces the file to
+     * the disk and closes it.
+     *
+     * @throws IOException if a batch couldn't be written or the file couldn't be closed
+     */
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the journal", e);
+        }
+        if (writeFailure != null) {
+            channel.close();
+            throw writeFailure;
+        }
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * The writer thread: moves published records into the batch in sequence order, and writes the batch once it is
+     * full, or once its oldest record has waited for the flush interval. Stops once the journal is closed and every
+     * claimed record has been written.
+     */
+    private void runWriter() {
+        long next = 0; // The sequence number of the next record to move into the batch
+        long batchStartTime = 0; // The System.nanoTime() at which the first record of the batch was added
+
+        try {
+            while (true) {
+                int moved = 0;
+                while ((batch.remaining() >= RECORD_BYTES) && (published.get((int) next & mask) == next + 1)) {
+                    int slot = (int) next & mask;
+                    if (batch.position() == 0) {
+                        batchStartTime = System.nanoTime();
+                    }
+                    batch.putLong(timestamps[slot]).putLong(fields[slot]);
+                    next++;
+                    moved++;
+                }
+                if (moved > 0) {
+                    consumed.set(next); // Frees the moved slots for the producers
+                }
+
+                boolean drained = next == claimed.get(); // Every claimed record is in a batch (or still being stored by its producer)
+                if ((batch.remaining() < RECORD_BYTES) || ((batch.position() > 0) && ((System.nanoTime() - batchStartTime >= flushNanos) || (!running && drained)))) {
+                    this.writeBatch();
+                } else if (!running && drained) {
+                    return;
+                } else if (moved == 0) {
+                    LockSupport.parkNanos(WAIT_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            writeFailure = e;
+            consumed.set(Long.MAX_VALUE / 2); // Never leaves a producer waiting on a writer that has stopped
+        }
+    }
+
+    /**
+     * Writes the batch through the channel and empties it.
+     *
+     * @throws IOException if the batch can't be written
+     */
+    private void writeBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        batchesWritten++;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of records appended
+     */
+    public long getAppendedRecords() {
+        return claimed.get();
+    }
+
+    /**
+     * @return the number of batches written
+     */
+    public long getBatchesWritten() {
+        return batchesWritten;
+    }
+
+    /**
+     * @return the number of times a producer found the ring full and had to wait for the writer
+     */
+    public long getStalls() {
+        return stalls.sum();
+    }
+
+    // Static Methods
+
+    /**
+     * @param shotResult: a shot result, encoded by the ShotResult class
+     * @return the record type of the result: SUNK, HIT or MISS
+     */
+    public static GameEventType getShotType(int shotResult) {
+        if (ShotResult.isSunk(shotResult)) {
+            return GameEventType.SUNK;
+        }
+        return ShotResult.isHit(shotResult) ? GameEventType.HIT : GameEventType.MISS;
+    }
+
+    /**
+     * Packs a shot result into a record's value byte: bit 0 is set for a hit, bit 1 for a sunk ship, and bits 2-5 hold
+     * the sunk ship's length.
+     *
+     * @param shotResult: a shot result, encoded by the ShotResult class
+     * @return the packed result (0-63)
+     */
+    public static int packShotResult(int shotResult) {
+        return (ShotResult.isHit(shotResult) ? 1 : 0) | (ShotResult.isSunk(shotResult) ? 2 | (ShotResult.getSunkLength(shotResult) << 2) : 0);
+    }
+
+    /**
+     * @param packedResult: a record's value byte, packed by .packShotResult()
+     * @return the shot result, encoded by the ShotResult class
+     */
+    public static int unpackShotResult(int packedResult) {
+        if ((packedResult & 2) != 0) {
+            return ShotResult.sunk(packedResult >>> 2);
+        }
+        return ((packedResult & 1) != 0) ? ShotResult.HIT : ShotResult.MISS;
+    }
+
+    /**
+     * Checks that an open file is a journal of this version, and finds where its last whole record ends (a trailing
+     * partial record, like one still being written, is left out).
+     *
+     * @param channel: the open journal file
+     * @param file:    the location of the journal file (for the exception's message)
+     * @return the offset just past the file's last whole record
+     * @throws IOException if the file can't be read or isn't a journal
+     */
+    public static long getRecordsEnd(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while ((header.hasRemaining()) && (channel.read(header, header.position()) > 0)) {
+            // Reads until the header is full or the file ends
+        }
+        if ((header.hasRemaining()) || (header.getInt(0) != MAGIC) || (header.getInt(4) != VERSION)) {
+            throw new IOException(file + " isn't a version " + VERSION + " game journal");
+        }
+        return HEADER_BYTES + (channel.size() - HEADER_BYTES) / RECORD_BYTES * RECORD_BYTES;
+    }
+
+    /**
+     * Opens a journal at the file named by the system property battleship.journal, if it is set.
+     *
+     * @return the journal, or null if the property isn't set or the file can't be opened
+     */
+    public static GameJournal openFromProperty() {
+        String file = System.getProperty("battleship.journal");
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new GameJournal(Path.of(file));
+        } catch (IOException e) {
+            System.out.println("Couldn't open the game journal [" + file + "]: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Usage: GameJournal [file] [games] [threads] - journals [games] headless computer vs computer games (100000 by
+     * default) to [file] (games.bsj by default), played on [threads] threads (2 by default). Outputs how long the games
+     * took without and with the journal, and how many records, bytes and batches were written.
+     *
+     * @param args: the command line arguments
+     * @throws Exception if the journal can't be written or a game thread is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Path.of((args.length > 0) ? args[0] : "games.bsj");
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+        int threadCount = (args.length > 2) ? Integer.parseInt(args[2]) : 2;
+
+        GameJournal.playGames(null, games / 10, threadCount); // Warms up the JIT, so neither run below pays for compiling
+        long plainNanos = GameJournal.playGames(null, games, threadCount); // Without a journal, for comparison
+        GameJournal journal = new GameJournal(file);
+        long journaledNanos = GameJournal.playGames(journal, games, threadCount);
+        long closeStartTime = System.nanoTime();
+        journal.close();
+        long closeNanos = System.nanoTime() - closeStartTime;
+
+        long bytes = Files.size(file);
+        System.out.printf("Without a journal: %d games in %.0f ms%n", games, plainNanos / 1e6);
+        System.out.printf("With a journal:    %d games in %.0f ms (%.0f ns per record added to the game threads), closing took %.1f ms%n", games, journaledNanos / 1e6, (journaledNanos - plainNanos) / (double) journal.getAppendedRecords(), closeNanos / 1e6);
+        System.out.printf("Wrote %d records (%d bytes, %.1f per game) to %s in %d batches; the ring was full %d times%n", journal.getAppendedRecords(), bytes, journal.getAppendedRecords() / (double) games, file, journal.getBatchesWritten(), journal.getStalls());
+    }
+
+    /**
+     * Plays headless games on several threads, optionally journaling them.
+     *
+     * @param journal:     the journal, or null to play without one
+     * @param games:       the number of games to play in total
+     * @param threadCount: the number of threads to play them on
+     * @return how long playing the games took, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private static long playGames(GameJournal journal, int games, int threadCount) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        long startTime = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            int threadGames = games / threadCount + ((t < games % threadCount) ? 1 : 0);
+            threads[t] = new Thread(() -> {
+                HeadlessGame game = new HeadlessGame(HuntMode.PARITY);
+                if (journal != null) {
+                    game.setJournal(journal);
+                }
+                for (int g = 0; g < threadGames; g++) {
+                    game.play();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - startTime;
+    }
+}
@@ -12,24 +12,66 @@ import java.util.Scanner; // For reading player input
 public class GameManager {
     // Variables
     private Player player; // The Player object representing the player
-    private Board playerBoardCopy; // Holds a copy of the player's board; to be used when the computer is making a move
-    int[] playerMove; // An int[] array of length 2 that holds the indices of the player's move {i,j}
+    int playerShotResult; // The result of the player's move, encoded by the ShotResult class
     private Computer computer; // The Computer object representing the computer
-    private Board computerBoardCopy; // Holds a copy of the computer's board; to be used when the player is making a move
-    int[] computerMove; // An int[] array of length 2 that holds the indices of the computer's move {i,j}
+    int computerShotResult; // The result of the computer's move, encoded by the ShotResult class
+    private SpectatorHub spectatorHub; // The hub the game's shots are published to, or null if nobody can watch the game
+    private long gameId; // The id of the game on the event bus (and in the journal, which hands it out)
+    private long spectatorGameId; // The id of the game on the spectator hub, chosen by the hub's owner
+    private OpponentModel opponentModel; // The model of the player's placement habits, or null if the computer doesn't learn them
+    private int[] playerFirstCells; // playerFirstCells[ship] is the first position of the player's ship, taken before it can be hit
+    private int[] playerLastCells; // playerLastCells[ship] is the last position of the player's ship, taken before it can be hit
+    private final GameEventBus eventBus; // Carries the game's events to the console (and any other subscribers)
+    private static final int EVENT_BUS_CAPACITY = 1024; // The number of events the event bus holds
 
     // Constructors
 
     /**
      * --Default Constructor for GameManager--
-     * Creates a new Player object, a new Computer object, an int[] array of length 2 to hold the player's move and an
-     * int[] array of length 2 to hold the computer's move.
+     * Creates a game that isn't journaled (see the other constructor).
      */
     public GameManager() {
+        this(null, null);
+    }
+
+    /**
+     * --Constructor for GameManager--
+     * Creates a game that is journaled (see the last constructor), but doesn't learn from the player's shots.
+     *
+     * @param journal: the journal to write the game to, or null if the game isn't journaled
+     */
+    public GameManager(GameJournal journal) {
+        this(journal, null);
+    }
+
+    /**
+     * --Constructor for GameManager--
+     * Creates a new Player object and a new Computer object, and an event bus that renders the game's events to the
+     * console (see ConsoleRenderer) and, if a journal is passed, also writes them to the journal under a new game id.
+     * If a shot frequency table is passed, the computer places its ships away from where players tend to fire early,
+     * and the player's first shots of this game are added to the table once it is over.
+     * (Note: shots are fired directly at the other side's board and their results are held as primitive ints, so there
+     * is nothing else to allocate; the journal is written from the bus's own thread, so it never slows the game down).
+     *
+     * @param journal:            the journal to write the game to, or null if the game isn't journaled
+     * @param shotFrequencyTable: the table of where players fire early, or null if the computer places its ships at
+     *                            random
+     */
+    public GameManager(GameJournal journal, ShotFrequencyTable shotFrequencyTable) {
         player = new Player();
         computer = new Computer();
-        playerMove = new int[2];
-        computerMove = new int[2];
+        eventBus = new GameEventBus(EVENT_BUS_CAPACITY);
+        eventBus.subscribe("console", new ConsoleRenderer(System.out));
+        if (journal != null) {
+            gameId = journal.newGameId();
+            eventBus.subscribe("journal", journal);
+        }
+        if (shotFrequencyTable != null) {
+            computer.setShotFrequencyTable(shotFrequencyTable);
+            eventBus.subscribe("shot-frequency", shotFrequencyTable.recordShotsOf(GameEventBus.PLAYER));
+        }
+        player.setEventBus(eventBus, gameId);
+        computer.setEventBus(eventBus, gameId);
     }
 
     // Methods
@@ -66,46 +108,46 @@ public class GameManager {
     public boolean runGame() {
         System.out.println();
         System.out.println("STARTING GAME");
+        Metrics.gameStarted();
+        eventBus.start(); // Started only now, so that .setSpectatorHub() can still subscribe
+        this.publishFleet(GameEventBus.PLAYER, player.getPlayerShips()); // Both fleets are placed by now
+        this.publishFleet(GameEventBus.COMPUTER, computer.getShips());
+        if (opponentModel != null) { // Hit positions are removed from the ships, so the player's fleet is taken now and learned from at the end
+            Ship[] playerShips = player.getPlayerShips();
+            for (int ship = 0; ship < playerShips.length; ship++) {
+                playerFirstCells[ship] = playerShips[ship].getFirstPosition();
+                playerLastCells[ship] = playerShips[ship].getLastPosition();
+            }
+        }
 
         while (true) { // Loops until either the player or computer wins
             System.out.println(); // Player's Turn
             System.out.println("Player's Turn");
-            computerBoardCopy = computer.getBoardCopy(); // Get a copy of the computer's board, to be used to check if the player's move was a hit or a miss
-            playerMove = player.makeMove(computerBoardCopy); // Allow the player to make a move
-            if (computerBoardCopy.isShip(playerMove[0], playerMove[1])) { // If the player move was a hit
-                computer.addHit(playerMove); // Update the computer's board (not the copy)
-                computer.updateHitShipPositions(playerMove); // Update the computer's ships
+            playerShotResult = player.makeMove(computer.getBoard()); // Allow the player to make a move; updates the computer's board and ships
+            if (ShotResult.isHit(playerShotResult)) { // If the player move was a hit
                 this.enterToContinue(); // Pause for the player
                 if (computer.checkWin()) { // Check to see if the player has won (the player can only win after making a hit, not a miss)
-                    System.out.println();
-                    System.out.println(Colours.getGreen() + "PLAYER WINS" + Colours.getReset()); // Player wins
-                    System.out.println("You made " + Colours.getCyan() + player.getPlayerMoveCounter() + Colours.getReset() + " moves in total"); // Output the number of moves that the player made
+                    this.endGame(GameEventBus.PLAYER); // Player wins
                     return this.playAgain(); // Ask the player if they would like to play again
                 }
             } else { // If the player move was a miss
-                computer.addMiss(playerMove); // Update the computer's board (not the copy)
                 this.enterToContinue(); // Pause for the player
             }
 
             System.out.println(); // Computer's Turn
             System.out.println("Computer's Turn");
-            playerBoardCopy = player.getBoardCopy(); // Get a copy of the player's board, to be used to check if the computer's move was a hit or a miss
-            computerMove = computer.makeMove(playerBoardCopy); // Generate a computer move
-            if (playerBoardCopy.isShip(computerMove[0], computerMove[1])) { // If the computer move was a hit
-                player.addHit(computerMove); // Update the player's board (not the copy)
-                player.updateHitShipPositions(computerMove); // Update the player's ships
+            computerShotResult = computer.makeMove(player.getBoard()); // Generate a computer move; updates the player's board and ships
+            eventBus.flush(); // The result must be rendered before the board below it
+            if (ShotResult.isHit(computerShotResult)) { // If the computer move was a hit
                 System.out.println();
                 System.out.println("Player's Board:"); // Out the player's board so that the player can see where the computer hit
                 player.printBoard();
                 this.enterToContinue(); // Pause for the player
                 if (player.checkWin()) { // Check to see if the computer has won (the computer can only win after making a hit, not a miss)
-                    System.out.println();
-                    System.out.println(Colours.getRed() + "COMPUTER WINS" + Colours.getReset()); // Computer wins
-                    System.out.println("You made " + Colours.getCyan() + player.getPlayerMoveCounter() + Colours.getReset() + " moves in total"); // Output the number of moves that the player made
+                    this.endGame(GameEventBus.COMPUTER); // Computer wins
                     return this.playAgain(); // Ask the player if they would like to play again
                 }
             } else { // If the computer move was a miss
-                player.addMiss(computerMove); // Update the player's board (not the copy)
                 System.out.println();
                 System.out.println("Player's Board:"); // Out the player's board so that the player can see where the computer hit
                 player.printBoard();
@@ -114,6 +156,65 @@ public class GameManager {
         }
     }
 
+    /**
+     * Lets spectators watch the game: every shot fired by the player (side 0) or the computer (side 1) is published to
+     * the passed hub under the passed game id, by a subscriber of the game's event bus. Must be called before
+     * .runGame().
+     *
+     * @param spectatorHub: the hub to publish the shots to
+     * @param gameId:       the id of the game on the hub
+     */
+    public void setSpectatorHub(SpectatorHub spectatorHub, long gameId) {
+        this.spectatorHub = spectatorHub;
+        spectatorGameId = gameId; // Kept apart from the journal's id, so the two id spaces never mix
+        eventBus.subscribe("spectators", spectatorHub.relayShots(gameId)); // Frames are encoded on the subscriber's thread, not the game's
+    }
+
+    /**
+     * Lets the computer learn the player's placement habits: it hunts in MODELLED mode using the passed model, and the
+     * player's fleet is added to the model once the game is over. Must be called before .runGame().
+     *
+     * @param opponentModel: the model of the player's placement habits
+     */
+    public void setOpponentModel(OpponentModel opponentModel) {
+        this.opponentModel = opponentModel;
+        computer.setHuntMode(HuntMode.MODELLED);
+        computer.setOpponentModel(opponentModel);
+        playerFirstCells = new int[player.getPlayerShips().length];
+        playerLastCells = new int[player.getPlayerShips().length];
+    }
+
+    /**
+     * Publishes the placement of every ship of a fleet, so that subscribers like GameJournal can record it.
+     *
+     * @param actor: the side whose fleet it is (GameEventBus.PLAYER or GameEventBus.COMPUTER)
+     * @param ships: the placed ships
+     */
+    private void publishFleet(int actor, Ship[] ships) {
+        for (Ship ship : ships) {
+            eventBus.publish(GameEventType.SHIP_PLACED, gameId, actor, ship.getFirstPosition(), ship.getLastPosition());
+        }
+    }
+
+    /**
+     * Publishes the end of the game (which outputs the winner and the number of moves the player made), waits for
+     * every event to be rendered and stops the event bus, then tells the spectator hub (if there is one) that the game
+     * is over, and adds the player's fleet to the opponent model (if there is one).
+     *
+     * @param winner: the winning side (GameEventBus.PLAYER or GameEventBus.COMPUTER)
+     */
+    private void endGame(int winner) {
+        eventBus.publish(GameEventType.GAME_OVER, gameId, winner, Board.INVALID_CELL, player.getPlayerMoveCounter());
+        eventBus.close();
+        Metrics.gameEnded(winner);
+        if (spectatorHub != null) {
+            spectatorHub.endGame(spectatorGameId);
+        }
+        if (opponentModel != null) {
+            opponentModel.recordFleet(playerFirstCells, playerLastCells, playerFirstCells.length);
+        }
+    }
+
     /**
      * Asks the player to press enter (or simply just input an empty string) to continue the process in the calling
      * method. Once the player presses enter, it returns (nothing) to the calling method. If they do not press enter, it
@@ -121,8 +222,9 @@ public class GameManager {
      * output/decisions of the game before continuing to the next stage).
      */
     public void enterToContinue() {
-        Scanner inputScanner = new Scanner(System.in); // Scanner to read the player's input
+        Scanner inputScanner = ConsoleInput.getScanner(); // Scanner to read the player's input (shared by every prompt)
 
+        eventBus.flush(); // Every event so far must be rendered before the prompt
         while (true) { // Loops until enter is pressed
             try {
                 System.out.println();
@@ -146,7 +248,7 @@ public class GameManager {
      * @return boolean: true if play again, false if end game
      */
     public boolean playAgain() {
-        Scanner inputScanner = new Scanner(System.in); // Scanner to read the player's input
+        Scanner inputScanner = ConsoleInput.getScanner(); // Scanner to read the player's input (shared by every prompt)
         int inputInteger; // The player's choice of whether to play again (1 = Yes / 2 = No)
 
         while (true) { // Loops until either 1 or 2 is inputted
@@ -156,6 +258,7 @@ public class GameManager {
                 System.out.print("(1) for Yes / (2) for No: ");
                 if (inputScanner.hasNextInt()) { // If the player inputted something, specifically an int
                     inputInteger = inputScanner.nextInt(); // Receive the inputted int
+                    inputScanner.nextLine(); // Discard the rest of the line, so the next prompt doesn't read it
                     if (inputInteger == 1) { // If the player inputted 1 (Yes)
                         return true; // Play again
                     } else if (inputInteger == 2) { // If the player inputted 2 (No)
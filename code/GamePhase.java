@@ -0,0 +1,15 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An enum that represents the phases of a game whose latency is measured by the Metrics registry.
+ * FLEET_GENERATION is the random placement of a computer's fleet, MOVE_SELECTION is a computer choosing its move,
+ * HIT_RESOLUTION is a shot being applied to the target board and its result being recorded, and RENDERING is a board
+ * or an event being output to the console.
+ */
+public enum GamePhase {
+    FLEET_GENERATION,
+    MOVE_SELECTION,
+    HIT_RESOLUTION,
+    RENDERING
+}
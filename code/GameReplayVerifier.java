@@ -0,0 +1,439 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if a journal file can't be read or isn't a journal
+import java.nio.ByteBuffer; // The mapped region of a journal file being read
+import java.nio.channels.FileChannel; // To map the journal files into memory
+import java.nio.file.Files; // To copy and corrupt a journal in the demonstration
+import java.nio.file.Path; // The location of a journal file
+import java.nio.file.StandardOpenOption; // To open the journal files for reading
+import java.util.ArrayDeque; // The pool of reusable game replays
+import java.util.ArrayList; // Holds the tasks and the reported failures
+import java.util.HashMap; // Maps the id of every game in progress to its replay
+import java.util.List; // The type of the file and failure lists
+import java.util.concurrent.Callable; // A task verifying one shard of one file
+import java.util.concurrent.ExecutionException; // Thrown by a task that failed to read its file
+import java.util.concurrent.ExecutorService; // Runs the tasks in parallel
+import java.util.concurrent.Executors; // Creates the fixed thread pool
+import java.util.concurrent.Future; // The outcome of a task
+import java.util.concurrent.atomic.LongAdder; // Counts records and games across the tasks
+
+/**
+ * A tool that audits GameJournal files by replaying every recorded game under the project's own rules: each side's
+ * fleet is placed on a ComputerBoard from its SHIP_PLACED records (checking that every ship is straight, on the board,
+ * of the right length and doesn't overlap another), every shot is fired at the opponent's board with .receiveShot(),
+ * and the result the rules give must match the recorded HIT, MISS or SUNK (including the sunk ship's length). A game is
+ * verified once its GAME_OVER record names the side whose opponent's fleet the replay has sunk. Files are memory-mapped
+ * and verified in parallel on a fixed thread pool; when there are fewer files than threads, every file is also split
+ * into shards by game id, each task reading the whole mapping but only replaying its own games. The boards of finished
+ * games are pooled and reused, so replaying doesn't allocate per game.
+ */
+public class GameReplayVerifier {
+    // Variables
+    private static final long MAP_BYTES = 1L << 30; // The largest region of a file mapped at once (1 GiB, a whole number of records)
+    private static final int MAX_REPORTED_FAILURES = 20; // The number of failures whose description is kept
+    private final int threadCount; // The number of threads verifying in parallel
+    private final LongAdder records; // The number of records read
+    private final LongAdder verifiedGames; // The number of games whose every record matched the rules
+    private final LongAdder failedGames; // The number of games with a record that didn't match the rules
+    private final LongAdder incompleteGames; // The number of games that never reached GAME_OVER (e.g. still being journaled)
+    private final List<String> failures; // The descriptions of the first MAX_REPORTED_FAILURES failures
+
+    // Constructors
+
+    /**
+     * --Constructor for GameReplayVerifier--
+     *
+     * @param threadCount: the number of threads verifying in parallel
+     */
+    public GameReplayVerifier(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+        records = new LongAdder();
+        verifiedGames = new LongAdder();
+        failedGames = new LongAdder();
+        incompleteGames = new LongAdder();
+        failures = new ArrayList<>();
+    }
+
+    // Methods
+
+    /**
+     * Verifies every game of every passed journal file, in parallel. The results are added to the verifier's counts.
+     *
+     * @param files: the journal files
+     * @throws IOException          if a file can't be read or isn't a journal
+     * @throws InterruptedException if interrupted while waiting for the tasks
+     */
+    public void verify(List<Path> files) throws IOException, InterruptedException {
+        int shards = Math.max(1, threadCount / Math.max(1, files.size())); // Splits the files so that every thread has work
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Path file : files) {
+            for (int shard = 0; shard < shards; shard++) {
+                int taskShard = shard;
+                tasks.add(() -> {
+                    this.verifyFile(file, taskShard, shards);
+                    return null;
+                });
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threadCount, tasks.size()));
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies the games of one shard of a journal file: the games whose id (modulo the number of shards) is the
+     * shard's number. The file is mapped into memory a region at a time.
+     *
+     * @param file:   the journal file
+     * @param shard:  the number of the shard (0 to shards - 1)
+     * @param shards: the number of shards the file is split into
+     * @throws IOException if the file can't be read or isn't a journal
+     */
+    private void verifyFile(Path file, int shard, int shards) throws IOException {
+        HashMap<Integer, GameReplay> games = new HashMap<>(); // The replays of the games in progress, by game id
+        ArrayDeque<GameReplay> pool = new ArrayDeque<>(); // The replays of finished games, ready to be reused
+        GameReplay current = null; // The replay of the last record's game; consecutive records usually share it
+        int currentId = 0; // The id of current's game
+        long recordIndex = 0; // The index of the record being read, in the whole file
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = GameJournal.getRecordsEnd(channel, file);
+            for (long regionStart = GameJournal.HEADER_BYTES; regionStart < end; regionStart += MAP_BYTES) {
+                int regionBytes = (int) Math.min(MAP_BYTES, end - regionStart);
+                ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionBytes);
+                for (int offset = 0; offset < regionBytes; offset += GameJournal.RECORD_BYTES, recordIndex++) {
+                    int gameId = region.getInt(offset + 8);
+                    if (Integer.remainderUnsigned(gameId, shards) != shard) { // Another task's game
+                        continue;
+                    }
+                    records.increment();
+                    if ((current == null) || (gameId != currentId)) {
+                        current = games.get(gameId);
+                        if (current == null) { // The game's first record
+                            current = pool.isEmpty() ? new GameReplay() : pool.pop();
+                            current.reset();
+                            games.put(gameId, current);
+                        }
+                        currentId = gameId;
+                    }
+
+                    int type = region.get(offset + 12) & 0xFF;
+                    String failure = current.apply(type, region.get(offset + 13) & 0xFF, region.get(offset + 14) & 0xFF, region.get(offset + 15) & 0xFF);
+                    if ((failure != null) && (!current.failed)) { // Only a game's first failure is reported
+                        current.failed = true;
+                        this.reportFailure(file + ": game " + Integer.toUnsignedString(gameId) + ", record " + recordIndex + ": " + failure);
+                    }
+                    if (type == GameEventType.GAME_OVER.ordinal()) { // The game is over; its replay can be reused
+                        if (current.failed) {
+                            failedGames.increment();
+                        } else {
+                            verifiedGames.increment();
+                        }
+                        games.remove(gameId);
+                        pool.push(current);
+                        current = null;
+                    }
+                }
+            }
+        }
+
+        for (GameReplay game : games.values()) { // The games that never reached GAME_OVER
+            if (game.failed) {
+                failedGames.increment();
+            } else {
+                incompleteGames.increment();
+            }
+        }
+    }
+
+    /**
+     * Keeps the description of a failure, unless MAX_REPORTED_FAILURES have already been kept.
+     *
+     * @param failure: the description of the failure
+     */
+    private void reportFailure(String failure) {
+        synchronized (failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(failure);
+            }
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of records read
+     */
+    public long getRecords() {
+        return records.sum();
+    }
+
+    /**
+     * @return the number of games whose every record matched the rules
+     */
+    public long getVerifiedGames() {
+        return verifiedGames.sum();
+    }
+
+    /**
+     * @return the number of games with a record that didn't match the rules
+     */
+    public long getFailedGames() {
+        return failedGames.sum();
+    }
+
+    /**
+     * @return the number of games that never reached GAME_OVER
+     */
+    public long getIncompleteGames() {
+        return incompleteGames.sum();
+    }
+
+    /**
+     * @return a copy of the descriptions of the first failures (at most MAX_REPORTED_FAILURES)
+     */
+    public List<String> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: GameReplayVerifier [files...] - verifies every game of the passed journal files, on as many threads as
+     * there are processors. Without any files, journals 200000 headless games into two files (replay-1.bsj and
+     * replay-2.bsj), plus a copy of the first with one shot's result changed (replay-tampered.bsj), and verifies all
+     * three. Outputs the number of games verified, failed and incomplete, how many games were verified per minute, and
+     * the first failures.
+     *
+     * @param args: the command line arguments
+     * @throws Exception if a file can't be read or written, or a thread is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            files.add(Path.of(arg));
+        }
+        if (files.isEmpty()) {
+            files.add(GameReplayVerifier.journalGames(Path.of("replay-1.bsj"), 100000));
+            files.add(GameReplayVerifier.journalGames(Path.of("replay-2.bsj"), 100000));
+            files.add(GameReplayVerifier.tamper(files.get(0), Path.of("replay-tampered.bsj")));
+            new GameReplayVerifier(1).verify(files.subList(0, 1)); // Warms up the JIT, so the timed run doesn't pay for compiling
+        }
+
+        GameReplayVerifier verifier = new GameReplayVerifier(Runtime.getRuntime().availableProcessors());
+        long startTime = System.nanoTime();
+        verifier.verify(files);
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        long games = verifier.getVerifiedGames() + verifier.getFailedGames() + verifier.getIncompleteGames();
+        System.out.printf("Replayed %d records of %d games from %d files in %.0f ms (%.2f million games per minute)%n", verifier.getRecords(), games, files.size(), elapsedNanos / 1e6, games / (elapsedNanos / 6e10) / 1e6);
+        System.out.println("Verified: " + verifier.getVerifiedGames() + ", failed: " + verifier.getFailedGames() + ", incomplete: " + verifier.getIncompleteGames());
+        for (String failure : verifier.getFailures()) {
+            System.out.println("  " + failure);
+        }
+    }
+
+    /**
+     * Journals headless computer vs computer games to a file.
+     *
+     * @param file:  the journal file
+     * @param games: the number of games
+     * @return the journal file
+     * @throws IOException if the journal can't be written
+     */
+    private static Path journalGames(Path file, int games) throws IOException {
+        GameJournal journal = new GameJournal(file);
+        HeadlessGame game = new HeadlessGame(HuntMode.PARITY);
+        game.setJournal(journal);
+        for (int g = 0; g < games; g++) {
+            game.play();
+        }
+        journal.close();
+        return file;
+    }
+
+    /**
+     * Copies a journal file, turning the result of its first recorded miss into a hit, so the copy holds exactly one
+     * game that breaks the rules.
+     *
+     * @param source: the journal file to copy
+     * @param copy:   the file to write the copy to
+     * @return the copy
+     * @throws IOException if a file can't be read or written
+     */
+    private static Path tamper(Path source, Path copy) throws IOException {
+        byte[] bytes = Files.readAllBytes(source);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int offset = GameJournal.HEADER_BYTES; offset + GameJournal.RECORD_BYTES <= bytes.length; offset += GameJournal.RECORD_BYTES) {
+            if (buffer.get(offset + 12) == GameEventType.MISS.ordinal()) {
+                buffer.put(offset + 12, (byte) GameEventType.HIT.ordinal());
+                buffer.put(offset + 15, (byte) GameJournal.packShotResult(ShotResult.HIT));
+                break;
+            }
+        }
+        Files.write(copy, bytes);
+        return copy;
+    }
+
+    /**
+     * The replay of a single game: both sides' boards and fleets, rebuilt and fired at record by record.
+     */
+    private static final class GameReplay {
+        private final ComputerBoard[] boards = {new ComputerBoard(), new ComputerBoard()}; // boards[side] holds the side's fleet
+        private final int[] shipsPlaced = new int[2]; // shipsPlaced[side] is the number of the side's ships placed so far
+        private final int[][] shipPositions = new int[11][]; // shipPositions[length] is reused to hold the cell ids of a ship of that length while it is placed
+        private boolean shotsFired; // True once the first shot has been replayed
+        private boolean failed; // True once a record didn't match the rules
+
+        /**
+         * --Constructor for GameReplay--
+         */
+        private GameReplay() {
+            for (Ship ship : boards[0].getShips()) {
+                shipPositions[ship.getLength()] = new int[ship.getLength()];
+            }
+        }
+
+        /**
+         * Readies the replay for a new game, reusing its boards.
+         */
+        private void reset() {
+            boards[0].clear();
+            boards[1].clear();
+            shipsPlaced[0] = 0;
+            shipsPlaced[1] = 0;
+            shotsFired = false;
+            failed = false;
+        }
+
+        /**
+         * Replays a record of the game. Once a record has failed, the rest of the game's records are skipped.
+         *
+         * @param type:  the record's type (the ordinal of a GameEventType)
+         * @param actor: the side the record is about
+         * @param cell:  the record's cell
+         * @param value: the record's value
+         * @return a description of how the record breaks the rules, or null if it matches them
+         */
+        private String apply(int type, int actor, int cell, int value) {
+            if (failed) {
+                return null;
+            }
+            if (actor > 1) {
+                return "unknown side " + actor;
+            }
+            if (type == GameEventType.SHIP_PLACED.ordinal()) {
+                return this.placeShip(actor, cell, value);
+            }
+            if ((type == GameEventType.HIT.ordinal()) || (type == GameEventType.MISS.ordinal()) || (type == GameEventType.SUNK.ordinal())) {
+                return this.fireShot(type, actor, cell, value);
+            }
+            if (type == GameEventType.GAME_OVER.ordinal()) {
+                if ((shipsPlaced[0] < 5) || (shipsPlaced[1] < 5)) {
+                    return "the game ended before both fleets were placed";
+                }
+                if (!boards[1 - actor].checkWin()) {
+                    return "side " + actor + " was recorded as the winner, but side " + (1 - actor) + " still has ships afloat";
+                }
+                return null;
+            }
+            return "unexpected record type " + type;
+        }
+
+        /**
+         * Places a ship of a side's fleet from its first and last positions, checking that it fits the rules.
+         *
+         * @param side:  the side placing the ship
+         * @param first: the cell id of the ship's top (or leftmost) position
+         * @param last:  the cell id of the ship's bottom (or rightmost) position
+         * @return a description of how the placement breaks the rules, or null if it matches them
+         */
+        private String placeShip(int side, int first, int last) {
+            Ship[] ships = boards[side].getShips();
+            if (shotsFired || (shipsPlaced[side] == ships.length)) {
+                return "side " + side + " placed a ship after its fleet was complete";
+            }
+            if ((last >= 100) || (first > last)) {
+                return "side " + side + " placed a ship off the board (" + first + " to " + last + ")";
+            }
+            Ship ship = ships[shipsPlaced[side]];
+            Direction direction;
+            int length;
+            if (Board.cellIndexI(first) == Board.cellIndexI(last)) { // Horizontal
+                direction = Direction.RIGHT;
+                length = last - first + 1;
+            } else if (Board.cellIndexJ(first) == Board.cellIndexJ(last)) { // Vertical
+                direction = Direction.DOWN;
+                length = (last - first) / 10 + 1;
+            } else {
+                return "side " + side + "'s " + ship.getName() + " isn't in a straight line (" + Board.cellToPositionString(first) + " to " + Board.cellToPositionString(last) + ")";
+            }
+            if (length != ship.getLength()) {
+                return "side " + side + "'s " + ship.getName() + " is " + length + " positions long instead of " + ship.getLength();
+            }
+            ComputerBoard board = boards[side];
+            for (int k = 0; k < length; k++) {
+                if (!board.isEmpty(first + k * (direction.getStepI() * 10 + direction.getStepJ()))) {
+                    return "side " + side + "'s " + ship.getName() + " overlaps another ship";
+                }
+            }
+            ship.addPositions(board.placeShipOnBoard(Board.cellIndexI(first), Board.cellIndexJ(first), direction, length, shipPositions[length]));
+            shipsPlaced[side]++;
+            return null;
+        }
+
+        /**
+         * Fires a recorded shot at the opponent's board and compares the result the rules give with the recorded one.
+         *
+         * @param type:  the record's type (HIT, MISS or SUNK)
+         * @param side:  the side that fired
+         * @param cell:  the cell id of the shot
+         * @param value: the recorded result, packed by GameJournal.packShotResult()
+         * @return a description of how the shot breaks the rules, or null if it matches them
+         */
+        private String fireShot(int type, int side, int cell, int value) {
+            if ((shipsPlaced[0] < 5) || (shipsPlaced[1] < 5)) {
+                return "side " + side + " fired before both fleets were placed";
+            }
+            if (cell >= 100) {
+                return "side " + side + " fired off the board (" + cell + ")";
+            }
+            if (boards[0].checkWin() || boards[1].checkWin()) {
+                return "side " + side + " fired at " + Board.cellToPositionString(cell) + " after the game was won";
+            }
+            shotsFired = true;
+            int recordedResult = GameJournal.unpackShotResult(value);
+            if (GameJournal.getShotType(recordedResult).ordinal() != type) {
+                return "the shot at " + Board.cellToPositionString(cell) + " has the type " + GameEventType.values()[type] + " but the result " + ShotResult.getOutcome(recordedResult);
+            }
+            int result = boards[1 - side].receiveShot(cell);
+            if (result != recordedResult) {
+                return "side " + side + "'s shot at " + Board.cellToPositionString(cell) + " was recorded as " + GameReplay.describe(recordedResult) + ", but the rules give " + GameReplay.describe(result);
+            }
+            return null;
+        }
+
+        /**
+         * @param shotResult: a shot result, encoded by the ShotResult class
+         * @return the result's outcome, with the sunk ship's length (e.g. "SUNK (3)")
+         */
+        private static String describe(int shotResult) {
+            return ShotResult.isSunk(shotResult) ? "SUNK (" + ShotResult.getSunkLength(shotResult) + ")" : ShotResult.getOutcome(shotResult);
+        }
+    }
+}
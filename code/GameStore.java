@@ -0,0 +1,477 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.lang.invoke.MethodHandles; // To create the VarHandles that read and write the slots
+import java.lang.invoke.VarHandle; // Reads and writes longs, ints and shorts in the off-heap buffer
+import java.nio.ByteBuffer; // The off-heap buffer holding every slot
+import java.nio.ByteOrder; // The byte order of the VarHandle views
+import java.util.SplittableRandom; // To place random fleets
+import java.util.concurrent.atomic.AtomicInteger; // Counts the claimed slots
+import java.util.concurrent.atomic.AtomicLong; // The tagged head of the free list
+
+/**
+ * A store that keeps the full state of many parked games off the heap, each in a fixed-size 64-byte slot of one direct
+ * ByteBuffer, instead of the dozens of objects of a Player/Computer/Board graph per game. A slot holds both fleets (one
+ * byte per ship: its top-left cell, plus 0x80 if it points Down), the cells fired at on each side's board (as
+ * bitboards; a fired cell is a Hit if a ship covers it and a Miss otherwise), the computer's target state (its
+ * unresolved hits, hunt mode and lattice offset), the move counter and the game's status. Side 0 is the player and
+ * side 1 the computer, which fires at side 0.
+ * Free slots are kept on a lock-free (Treiber) stack: the head is an AtomicLong holding the top slot and a tag that
+ * changes on every update (so a slot that is claimed and released between a thread's read and its compare-and-set
+ * can't corrupt the stack), and each free slot holds the next free slot in its first 4 bytes. Claiming and releasing
+ * slots is safe from any thread; a claimed slot belongs to the thread that claimed it until it is released.
+ * Slot layout (byte offsets):
+ * 0-15: cells fired at on side 0's board, 16-31: cells fired at on side 1's board, 32-36: side 0's fleet,
+ * 37-41: side 1's fleet, 42-43: move counter, 44: status, 45: hunt mode (high 4 bits) and lattice offset (low 4 bits),
+ * 46-47: unused, 48-63: the computer's unresolved hits.
+ */
+public class GameStore {
+    // Variables
+    public static final int SLOT_SIZE = 64; // The number of bytes per game
+    public static final int RUNNING = 0; // The status of a game that hasn't finished
+    public static final int SIDE_0_WON = 1; // The status of a game won by side 0 (the player)
+    public static final int SIDE_1_WON = 2; // The status of a game won by side 1 (the computer)
+    private static final int SHOTS = 0; // The offset of side 0's shot bitboard (side 1's follows it)
+    private static final int FLEET = 32; // The offset of side 0's fleet (side 1's follows it)
+    private static final int MOVES = 42; // The offset of the move counter
+    private static final int STATUS = 44; // The offset of the status
+    private static final int HUNT = 45; // The offset of the hunt mode and lattice offset
+    private static final int UNRESOLVED = 48; // The offset of the computer's unresolved hits
+    private static final int DOWN = 0x80; // The bit of a ship's byte that marks it as pointing Down
+    private static final int[] shipLengths = Ship.getStandardFleetLengths(); // The lengths of the standard fleet
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder()); // Views the buffer as longs
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder()); // Views the buffer as ints
+    private static final VarHandle SHORTS = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.nativeOrder()); // Views the buffer as shorts
+    private static final HuntMode[] huntModes = HuntMode.values(); // Maps a stored hunt mode back to its constant
+
+    private final ByteBuffer slots; // The off-heap buffer holding every slot
+    private final int capacity; // The number of slots
+    private final AtomicLong freeHead; // The top free slot + 1 (0 if there is none) in the low 32 bits, a tag in the high 32 bits
+    private final AtomicInteger claimedSlots; // The number of slots currently claimed
+
+    // Constructors
+
+    /**
+     * --Constructor for GameStore--
+     * Allocates the off-heap buffer and puts every slot on the free list.
+     *
+     * @param capacity: the maximum number of games held at once
+     */
+    public GameStore(int capacity) {
+        if ((capacity < 1) || (capacity > Integer.MAX_VALUE / SLOT_SIZE)) {
+            throw new IllegalArgumentException("The capacity must be between 1 and " + (Integer.MAX_VALUE / SLOT_SIZE));
+        }
+        this.capacity = capacity;
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+        for (int slot = 0; slot < capacity; slot++) { // Slot 0 on top, each pointing at the next
+            INTS.set(slots, slot * SLOT_SIZE, (slot + 1 < capacity) ? slot + 2 : 0);
+        }
+        freeHead = new AtomicLong(1);
+        claimedSlots = new AtomicInteger();
+    }
+
+    // Methods
+
+    /**
+     * Claims a free slot and clears it (a new game with no fleets, no shots and no moves).
+     *
+     * @return the claimed slot, or -1 if every slot is claimed
+     */
+    public int claim() {
+        while (true) {
+            long head = freeHead.get();
+            int top = (int) head; // The top free slot + 1
+            if (top == 0) {
+                return -1;
+            }
+            int next = (int) INTS.getVolatile(slots, (top - 1) * SLOT_SIZE); // May be stale if another thread claimed the slot first; the tag then fails the compare-and-set
+            if (freeHead.compareAndSet(head, (((head >>> 32) + 1) << 32) | (next & 0xFFFFFFFFL))) {
+                int slot = top - 1;
+                for (int offset = 0; offset < SLOT_SIZE; offset += Long.BYTES) {
+                    LONGS.set(slots, slot * SLOT_SIZE + offset, 0L);
+                }
+                claimedSlots.incrementAndGet();
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Releases a claimed slot back to the free list. The slot must not be used again until it is claimed again.
+     *
+     * @param slot: the slot to release
+     */
+    public void release(int slot) {
+        claimedSlots.decrementAndGet();
+        while (true) {
+            long head = freeHead.get();
+            INTS.setVolatile(slots, slot * SLOT_SIZE, (int) head); // Links the slot to the current top
+            if (freeHead.compareAndSet(head, (((head >>> 32) + 1) << 32) | (slot + 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Places a ship of the passed side's fleet.
+     *
+     * @param slot:      the game's slot
+     * @param side:      the side (0 or 1)
+     * @param ship:      the ship's index in the standard fleet (0-4)
+     * @param startCell: the ship's top-left cell id
+     * @param down:      true if the ship points Down from its start cell, false if it points Right
+     */
+    public void setShip(int slot, int side, int ship, int startCell, boolean down) {
+        slots.put(slot * SLOT_SIZE + FLEET + side * shipLengths.length + ship, (byte) (startCell | (down ? DOWN : 0)));
+    }
+
+    /**
+     * Places the passed side's fleet from Ship objects that haven't been hit yet (e.g. right after the player or the
+     * computer generated their board).
+     *
+     * @param slot:  the game's slot
+     * @param side:  the side (0 or 1)
+     * @param ships: the side's ships, in standard fleet order
+     */
+    public void setFleet(int slot, int side, Ship[] ships) {
+        for (int ship = 0; ship < ships.length; ship++) {
+            int[] positions = ships[ship].getPositions();
+            int startCell = positions[0];
+            for (int position : positions) { // The placement may have gone Up or Left from its first position
+                startCell = Math.min(startCell, position);
+            }
+            this.setShip(slot, side, ship, startCell, (positions.length > 1) && (Math.abs(positions[1] - positions[0]) == 10));
+        }
+    }
+
+    /**
+     * Places a random fleet for the passed side: each ship, in order, goes in a random position and orientation that
+     * fits on the board without overlapping the ships already placed.
+     *
+     * @param slot:                  the game's slot
+     * @param side:                  the side (0 or 1)
+     * @param randomNumberGenerator: the random number generator choosing the placements
+     */
+    public void placeRandomFleet(int slot, int side, SplittableRandom randomNumberGenerator) {
+        long[] fleet = new long[BitBoard.WORDS]; // The cells covered so far
+
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            int shipLength = shipLengths[ship];
+            while (true) {
+                int startCell = randomNumberGenerator.nextInt(100);
+                boolean down = randomNumberGenerator.nextBoolean();
+                int step = down ? 10 : 1;
+                if ((down ? Board.cellIndexI(startCell) : Board.cellIndexJ(startCell)) + shipLength > 10) { // Off the board
+                    continue;
+                }
+                boolean overlaps = false;
+                for (int k = 0; k < shipLength; k++) {
+                    overlaps |= BitBoard.get(fleet, startCell + k * step);
+                }
+                if (!overlaps) {
+                    for (int k = 0; k < shipLength; k++) {
+                        BitBoard.set(fleet, startCell + k * step);
+                    }
+                    this.setShip(slot, side, ship, startCell, down);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fires a shot from the passed side at the other side's board, and updates the slot: the shot, the move counter,
+     * the status if the last ship sinks and, for the computer (side 1), its unresolved hits (the cells of a sunk ship
+     * are retired).
+     *
+     * @param slot: the game's slot
+     * @param side: the side firing (0 or 1)
+     * @param cell: the cell id of the shot
+     * @return the result of the shot (see ShotResult)
+     */
+    public int fire(int slot, int side, int cell) {
+        int base = slot * SLOT_SIZE;
+        int target = 1 - side; // The side whose board is fired at
+        int shotOffset = base + SHOTS + target * 16 + (cell >>> 6) * Long.BYTES;
+        LONGS.set(slots, shotOffset, (long) LONGS.get(slots, shotOffset) | (1L << cell));
+        SHORTS.set(slots, base + MOVES, (short) (this.getMoves(slot) + 1));
+
+        int ship = this.shipAt(slot, target, cell);
+        if (ship == -1) {
+            return ShotResult.MISS;
+        }
+        if (side == 1) {
+            this.setUnresolvedHit(slot, cell, true);
+        }
+        if (!this.isShipSunk(slot, target, ship)) {
+            return ShotResult.HIT;
+        }
+        if (side == 1) {
+            int[] cells = this.getShipCells(slot, target, ship);
+            for (int shipCell : cells) {
+                this.setUnresolvedHit(slot, shipCell, false);
+            }
+        }
+        if (this.isFleetSunk(slot, target)) {
+            slots.put(base + STATUS, (byte) ((side == 0) ? SIDE_0_WON : SIDE_1_WON));
+        }
+        return ShotResult.sunk(shipLengths[ship]);
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @param side: the side whose board is checked (0 or 1)
+     * @param cell: a cell id from 0-99
+     * @return the index of the side's ship covering the cell, or -1 if no ship covers it
+     */
+    public int shipAt(int slot, int side, int cell) {
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            int placement = slots.get(slot * SLOT_SIZE + FLEET + side * shipLengths.length + ship) & 0xFF;
+            int offset = cell - (placement & ~DOWN); // The distance from the ship's start cell
+            if ((placement & DOWN) != 0) {
+                if ((offset >= 0) && (offset % 10 == 0) && (offset / 10 < shipLengths[ship])) {
+                    return ship;
+                }
+            } else if ((offset >= 0) && (offset < shipLengths[ship]) && (Board.cellIndexI(cell) == Board.cellIndexI(cell - offset))) {
+                return ship;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @param side: the side (0 or 1)
+     * @param ship: the ship's index in the standard fleet (0-4)
+     * @return the cell ids covered by the ship, from its start cell
+     */
+    public int[] getShipCells(int slot, int side, int ship) {
+        int placement = slots.get(slot * SLOT_SIZE + FLEET + side * shipLengths.length + ship) & 0xFF;
+        int step = ((placement & DOWN) != 0) ? 10 : 1;
+        int[] cells = new int[shipLengths[ship]];
+
+        for (int k = 0; k < cells.length; k++) {
+            cells[k] = (placement & ~DOWN) + k * step;
+        }
+        return cells;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @param side: the side (0 or 1)
+     * @param ship: the ship's index in the standard fleet (0-4)
+     * @return boolean: true if every cell of the ship has been fired at, false otherwise
+     */
+    public boolean isShipSunk(int slot, int side, int ship) {
+        int placement = slots.get(slot * SLOT_SIZE + FLEET + side * shipLengths.length + ship) & 0xFF;
+        int step = ((placement & DOWN) != 0) ? 10 : 1;
+
+        for (int k = 0; k < shipLengths[ship]; k++) {
+            if (!this.isFiredAt(slot, side, (placement & ~DOWN) + k * step)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @param side: the side (0 or 1)
+     * @return boolean: true if every ship of the side has been sunk, false otherwise
+     */
+    public boolean isFleetSunk(int slot, int side) {
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            if (!this.isShipSunk(slot, side, ship)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies what the passed side's opponent has seen of the side's board (its Hits and Misses) into a Board, e.g. to
+     * rebuild the enemy board of a computer resuming a parked game.
+     *
+     * @param slot:  the game's slot
+     * @param side:  the side whose board is copied (0 or 1)
+     * @param board: a Board with no Hits or Misses to copy into
+     */
+    public void copyShotsTo(int slot, int side, Board board) {
+        for (int cell = 0; cell < 100; cell++) {
+            if (this.isFiredAt(slot, side, cell)) {
+                if (this.shipAt(slot, side, cell) == -1) {
+                    board.addMiss(cell);
+                } else {
+                    board.addHit(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the passed cell to the computer's unresolved hits if value is true, otherwise removes it.
+     */
+    private void setUnresolvedHit(int slot, int cell, boolean value) {
+        int offset = slot * SLOT_SIZE + UNRESOLVED + (cell >>> 6) * Long.BYTES;
+        long word = (long) LONGS.get(slots, offset);
+        LONGS.set(slots, offset, value ? (word | (1L << cell)) : (word & ~(1L << cell)));
+    }
+
+    // [Setter Methods]
+
+    /**
+     * @param slot:       the game's slot
+     * @param huntMode:   the computer's hunt mode
+     * @param huntOffset: the computer's parity lattice offset (0-9)
+     */
+    public void setHunt(int slot, HuntMode huntMode, int huntOffset) {
+        slots.put(slot * SLOT_SIZE + HUNT, (byte) ((huntMode.ordinal() << 4) | huntOffset));
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @param slot: the game's slot
+     * @param side: the side whose board is checked (0 or 1)
+     * @param cell: a cell id from 0-99
+     * @return boolean: true if the cell of the side's board has been fired at, false otherwise
+     */
+    public boolean isFiredAt(int slot, int side, int cell) {
+        return ((long) LONGS.get(slots, slot * SLOT_SIZE + SHOTS + side * 16 + (cell >>> 6) * Long.BYTES) & (1L << cell)) != 0;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @param cell: a cell id from 0-99
+     * @return boolean: true if the cell is one of the computer's unresolved hits, false otherwise
+     */
+    public boolean isUnresolvedHit(int slot, int cell) {
+        return ((long) LONGS.get(slots, slot * SLOT_SIZE + UNRESOLVED + (cell >>> 6) * Long.BYTES) & (1L << cell)) != 0;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @return the number of shots fired in the game, by both sides
+     */
+    public int getMoves(int slot) {
+        return (short) SHORTS.get(slots, slot * SLOT_SIZE + MOVES) & 0xFFFF;
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @return the game's status (RUNNING, SIDE_0_WON or SIDE_1_WON)
+     */
+    public int getStatus(int slot) {
+        return slots.get(slot * SLOT_SIZE + STATUS);
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @return the computer's hunt mode
+     */
+    public HuntMode getHuntMode(int slot) {
+        return huntModes[(slots.get(slot * SLOT_SIZE + HUNT) & 0xFF) >>> 4];
+    }
+
+    /**
+     * @param slot: the game's slot
+     * @return the computer's parity lattice offset (0-9)
+     */
+    public int getHuntOffset(int slot) {
+        return slots.get(slot * SLOT_SIZE + HUNT) & 0x0F;
+    }
+
+    /**
+     * @return the maximum number of games held at once
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of slots currently claimed
+     */
+    public int getClaimedSlots() {
+        return claimedSlots.get();
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: GameStore [games] [threads] - parks [games] games (1000000 by default) in a store, fires a few random
+     * shots in each, compares the memory used against the same number of Computer/ComputerBoard pairs, then has
+     * [threads] threads (4 by default) claim and release slots concurrently and checks that no slot was handed out
+     * twice.
+     *
+     * @param args: the command line arguments
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+        int threadCount = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        GameStore store = new GameStore(games);
+        SplittableRandom randomNumberGenerator = new SplittableRandom(42);
+
+        long startTime = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            int slot = store.claim();
+            store.placeRandomFleet(slot, 0, randomNumberGenerator);
+            store.placeRandomFleet(slot, 1, randomNumberGenerator);
+            store.setHunt(slot, HuntMode.PARITY, randomNumberGenerator.nextInt(10));
+            for (int shot = 0; shot < 10; shot++) {
+                store.fire(slot, shot & 1, randomNumberGenerator.nextInt(100));
+            }
+        }
+        System.out.printf("Parked %,d games in %.2f s: %,d bytes off-heap (%d per game)%n", games, (System.nanoTime() - startTime) / 1e9, (long) games * SLOT_SIZE, SLOT_SIZE);
+
+        int sampleGames = Math.min(games, 10000); // The object graph is measured on a sample, then scaled up
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        Object[] graphs = new Object[sampleGames];
+        for (int game = 0; game < sampleGames; game++) {
+            Computer computer = new Computer();
+            computer.generateBoard();
+            ComputerBoard opponent = new ComputerBoard();
+            opponent.generateComputerBoard();
+            graphs[game] = new Object[]{computer, opponent};
+        }
+        System.gc();
+        long graphBytes = (runtime.totalMemory() - runtime.freeMemory() - usedBefore) / sampleGames;
+        System.out.printf("Object graph: about %,d bytes per game (%d graphs kept alive)%n", graphBytes, graphs.length);
+
+        GameStore sharedStore = new GameStore(threadCount * 32); // Small enough for the threads to run it out of slots
+        int[] owners = new int[sharedStore.getCapacity()]; // owners[slot] counts the threads holding the slot; never more than 1
+        boolean[] doubleClaimed = new boolean[1];
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                int[] held = new int[64];
+                for (int round = 0; round < 20000; round++) {
+                    int count = 0;
+                    for (int k = 0; k < held.length; k++) {
+                        int slot = sharedStore.claim();
+                        if (slot != -1) {
+                            synchronized (owners) {
+                                doubleClaimed[0] |= (++owners[slot] != 1);
+                            }
+                            held[count++] = slot;
+                        }
+                    }
+                    for (int k = 0; k < count; k++) {
+                        synchronized (owners) {
+                            owners[held[k]]--;
+                        }
+                        sharedStore.release(held[k]);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("Concurrent claims: " + (doubleClaimed[0] ? "a slot was claimed twice" : "no slot claimed twice") + ", " + sharedStore.getClaimedSlots() + " slots left claimed");
+    }
+}
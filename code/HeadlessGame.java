@@ -0,0 +1,102 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * A game between two computers that runs without any input or output, for simulations and load tests. The same two
+ * Computer objects (and their boards, ships and scratch arrays) are reset and reused for every game, and nothing in the
+ * move loop creates objects, so once the JIT has warmed up, playing any number of games doesn't allocate at all (see
+ * AllocationCheck, which enforces this).
+ */
+public class HeadlessGame {
+    // Variables
+    private final Computer[] computers; // computers[side] is the computer playing side 0 or 1
+    private final ShotTarget[] targets; // targets[side] is the board side fires at, or a wrapper that also journals the shots
+    private GameJournal journal; // The journal every game is written to, or null if the games aren't journaled
+    private long gameId; // The id of the current game in the journal
+    private long moves; // The number of moves made in every game so far
+    private long games; // The number of games played so far
+
+    // Constructors
+
+    /**
+     * --Constructor for HeadlessGame--
+     *
+     * @param huntMode: how both computers hunt for ships
+     */
+    public HeadlessGame(HuntMode huntMode) {
+        computers = new Computer[]{new Computer(), new Computer()};
+        for (Computer computer : computers) {
+            computer.setHuntMode(huntMode);
+        }
+        targets = new ShotTarget[]{computers[1].getBoard(), computers[0].getBoard()};
+        moves = 0;
+        games = 0;
+    }
+
+    // Methods
+
+    /**
+     * Plays a whole game: resets both computers, generates their fleets, then lets them take turns (side 0 first)
+     * until one of the fleets has been sunk.
+     *
+     * @return the side (0 or 1) that won
+     */
+    public int play() {
+        for (Computer computer : computers) {
+            computer.reset();
+            computer.generateBoard();
+        }
+        games++;
+        if (journal != null) {
+            gameId = journal.newGameId();
+            journal.appendFleet(gameId, 0, computers[0].getShips());
+            journal.appendFleet(gameId, 1, computers[1].getShips());
+        }
+
+        for (int side = 0; ; side = 1 - side) { // Loops until a fleet has been sunk
+            computers[side].makeMove(targets[side]); // Fires straight at the opponent's board (through the journal, if there is one)
+            moves++;
+            if (computers[1 - side].checkWin()) { // If every one of the opponent's ships has been sunk
+                if (journal != null) {
+                    journal.appendGameOver(gameId, side);
+                }
+                return side;
+            }
+        }
+    }
+
+    /**
+     * Journals every game played from now on: both fleets, every shot and the winner. (Note: the wrappers that journal
+     * the shots are created once, here, so playing games still doesn't allocate).
+     *
+     * @param journal: the journal to write the games to
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+        for (int side = 0; side < computers.length; side++) {
+            int actor = side; // Effectively final copy for the lambda
+            ComputerBoard board = computers[1 - side].getBoard();
+            targets[side] = cell -> {
+                int shotResult = board.receiveShot(cell);
+                journal.appendShot(gameId, actor, cell, shotResult);
+                return shotResult;
+            };
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of moves made in every game so far
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return the number of games played so far
+     */
+    public long getGames() {
+        return games;
+    }
+}
@@ -0,0 +1,20 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An enum that represents how the computer hunts for ships when it has no unresolved hits to finish off.
+ * RANDOM fires at any position that hasn't been fired at yet, with equal probability. PARITY only fires at positions on
+ * a diagonal lattice whose spacing is the length of the smallest enemy ship still afloat (e.g. every 2nd position, in a
+ * checkerboard pattern, while the Patrol Boat is afloat); every ship of at least that length covers one of the
+ * lattice's positions, so no ship can be missed, but far fewer positions need to be fired at. DENSITY replaces both
+ * hunting and finishing off hit ships: it always fires at the position where the surviving ships can be placed in the
+ * most ways (see FlatDensityScorer), which is the strongest but also the most expensive mode. MODELLED is DENSITY
+ * weighted by what the computer has learned about its opponent's placement habits (see OpponentModel); without a model,
+ * it fires like DENSITY.
+ */
+public enum HuntMode {
+    RANDOM,
+    PARITY,
+    DENSITY,
+    MODELLED
+}
@@ -0,0 +1,143 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.concurrent.atomic.AtomicLong; // The largest recorded value
+import java.util.concurrent.atomic.AtomicLongArray; // The count of every bucket
+import java.util.concurrent.atomic.LongAdder; // The sum of the recorded values
+
+/**
+ * A thread-safe, fixed-size histogram of latencies (in nanoseconds) with log-linear buckets: values below 16 each get
+ * their own bucket, and every power of 2 above that is split into 16 equal buckets, so every value is held with an
+ * error of at most 1/16 (6.25%) at any scale, in under 1000 buckets. Recording a value is a few bit operations and
+ * atomic increments, and never allocates.
+ */
+public class LatencyHistogram {
+    // Variables
+    private static final int SUB_BUCKET_BITS = 4; // log2 of the number of buckets per power of 2
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // The number of buckets per power of 2
+    public static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS; // The number of buckets, enough for any positive long (whose highest bit is at most 62)
+    private final AtomicLongArray counts; // counts[bucket] is the number of recorded values in the bucket
+    private final LongAdder sum; // The sum of the recorded values
+    private final AtomicLong max; // The largest recorded value
+
+    // Constructors
+
+    /**
+     * --Constructor for LatencyHistogram--
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        sum = new LongAdder();
+        max = new AtomicLong();
+    }
+
+    // Methods
+
+    /**
+     * Records a single value.
+     *
+     * @param nanos: the value, in nanoseconds (negative values are recorded as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(LatencyHistogram.bucketOf(value));
+        sum.add(value);
+        long currentMax = max.get();
+        while ((value > currentMax) && (!max.compareAndSet(currentMax, value))) { // A plain loop instead of a method reference, which is linked (and allocates) the first time a new maximum is recorded
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Copies the bucket counts into the passed array.
+     *
+     * @param bucketCounts: an array of length BUCKETS to fill
+     * @return the total number of values copied
+     */
+    public long copyCounts(long[] bucketCounts) {
+        long total = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bucketCounts[bucket] = counts.get(bucket);
+            total += bucketCounts[bucket];
+        }
+        return total;
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the sum of the recorded values, in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the largest recorded value, in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    // Static Methods
+
+    /**
+     * @param value: a value (0 or more)
+     * @return the index of the bucket holding the value
+     */
+    public static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // The value's highest bit; at least SUB_BUCKET_BITS
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1); // The next SUB_BUCKET_BITS bits
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param bucket: the index of a bucket
+     * @return the largest value held by the bucket
+     */
+    public static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1; // exponent - SUB_BUCKET_BITS
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Finds the value at a percentile of a copy of the bucket counts (see .copyCounts()).
+     *
+     * @param bucketCounts: the bucket counts
+     * @param total:        the total of the bucket counts
+     * @param percentile:   the percentile (0-100)
+     * @return the upper bound of the bucket holding the percentile, or 0 if there are no values
+     */
+    public static long valueAtPercentile(long[] bucketCounts, long total, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total)); // The rank of the value, from 1
+        long seen = 0;
+
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            seen += bucketCounts[bucket];
+            if (seen >= rank) {
+                return LatencyHistogram.bucketUpperBound(bucket);
+            }
+        }
+        return 0;
+    }
+}
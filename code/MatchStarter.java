@@ -0,0 +1,19 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An interface that requires the implementation of a startMatch() method. This interface was created so that the
+ * Matchmaker can hand each pair of players it forms to whatever hosts the game (e.g. a GameManager per pair, or a
+ * headless game between two Computers), without knowing how the game is played.
+ * @see Matchmaker
+ */
+public interface MatchStarter {
+    /**
+     * Starts a game between the two paired players. Called on one of the Matchmaker's game threads, so the game may
+     * run to completion inside this method.
+     *
+     * @param first:  the ticket of the player who waited longer
+     * @param second: the ticket of the other player
+     */
+    public void startMatch(MatchTicket first, MatchTicket second);
+}
@@ -0,0 +1,52 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * A class that represents a player waiting in the Matchmaker's queue: who they are, their skill rating (which decides
+ * the skill bucket they wait in) and when they joined the queue (used to widen their search once they have waited too
+ * long, and to measure how long pairing took).
+ */
+public class MatchTicket {
+    // Variables
+    private final long playerId; // The id of the waiting player
+    private final int skill; // The player's skill rating
+    private final long enqueueTime; // The System.nanoTime() at which the player joined the queue
+
+    // Constructors
+
+    /**
+     * --Constructor for MatchTicket--
+     * Creates a ticket that joins the queue now.
+     *
+     * @param playerId: the id of the waiting player
+     * @param skill:    the player's skill rating (0 or more)
+     */
+    public MatchTicket(long playerId, int skill) {
+        this.playerId = playerId;
+        this.skill = skill;
+        enqueueTime = System.nanoTime();
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the id of the waiting player
+     */
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return the player's skill rating
+     */
+    public int getSkill() {
+        return skill;
+    }
+
+    /**
+     * @return the System.nanoTime() at which the player joined the queue
+     */
+    public long getEnqueueTime() {
+        return enqueueTime;
+    }
+}
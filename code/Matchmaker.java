@@ -0,0 +1,157 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.concurrent.ConcurrentLinkedQueue; // The lock-free queue of each skill bucket
+import java.util.concurrent.ExecutorService; // Runs the paired games
+import java.util.concurrent.Executors; // To create the pairing and game threads
+import java.util.concurrent.ScheduledExecutorService; // Runs the pairing step on a fixed schedule
+import java.util.concurrent.TimeUnit; // The units of the pairing interval and the shutdown timeout
+import java.util.concurrent.atomic.LongAdder; // Counts enqueued and paired players from many threads without contention
+
+/**
+ * A matchmaking subsystem for a multiplayer game host. Players join by enqueuing a MatchTicket, from any number of
+ * threads, into the lock-free (multi-producer, multi-consumer) queue of their skill bucket. A single pairing thread
+ * wakes up every pairing interval and drains every bucket in one batch, pairing players in the order they joined; a
+ * player left over in a bucket waits there for the next batch. Once a leftover player has waited longer than the
+ * maximum wait, they are paired with the nearest leftover player of another bucket instead, which bounds how long
+ * anyone waits while there is someone to play. Each pair is handed to the MatchStarter on a fixed pool of game threads,
+ * so a slow game never holds up pairing.
+ */
+public class Matchmaker {
+    // Variables
+    private final ConcurrentLinkedQueue<MatchTicket>[] buckets; // buckets[b] holds the players waiting in skill bucket b
+    private final MatchTicket[] leftovers; // leftovers[b] is the player of bucket b left unpaired by the last batch (only used by the pairing thread)
+    private final int bucketWidth; // The range of skill ratings per bucket
+    private final long maxWaitNanos; // How long a leftover player waits before being paired across buckets
+    private final long pairingIntervalMicros; // The time between two pairing batches
+    private final MatchStarter starter; // Starts the game of each pair
+    private final ScheduledExecutorService pairingThread; // Runs the pairing batches
+    private final ExecutorService gameThreads; // Runs the games
+    private final LongAdder enqueuedPlayers; // The number of players that joined the queue
+    private final LongAdder pairedPlayers; // The number of players that were paired
+
+    // Constructors
+
+    /**
+     * --Constructor for Matchmaker--
+     *
+     * @param bucketCount:           the number of skill buckets (higher ratings share the last bucket)
+     * @param bucketWidth:           the range of skill ratings per bucket
+     * @param maxWaitNanos:          how long a player waits for someone in their own bucket before being paired across buckets
+     * @param pairingIntervalMicros: the time between two pairing batches
+     * @param gameThreadCount:       the number of threads running games
+     * @param starter:               starts the game of each pair
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // Generic arrays can't be created directly
+    public Matchmaker(int bucketCount, int bucketWidth, long maxWaitNanos, long pairingIntervalMicros, int gameThreadCount, MatchStarter starter) {
+        buckets = new ConcurrentLinkedQueue[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            buckets[b] = new ConcurrentLinkedQueue<>();
+        }
+        leftovers = new MatchTicket[bucketCount];
+        this.bucketWidth = bucketWidth;
+        this.maxWaitNanos = maxWaitNanos;
+        this.pairingIntervalMicros = pairingIntervalMicros;
+        this.starter = starter;
+        pairingThread = Executors.newSingleThreadScheduledExecutor();
+        gameThreads = Executors.newFixedThreadPool(gameThreadCount);
+        enqueuedPlayers = new LongAdder();
+        pairedPlayers = new LongAdder();
+    }
+
+    // Methods
+
+    /**
+     * Starts running pairing batches every pairing interval.
+     */
+    public void start() {
+        pairingThread.scheduleAtFixedRate(this::pairBatch, pairingIntervalMicros, pairingIntervalMicros, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Stops pairing, then waits for the games that were already started to finish. Players still waiting are not
+     * paired.
+     *
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public void stop() throws InterruptedException {
+        pairingThread.shutdown();
+        pairingThread.awaitTermination(1, TimeUnit.MINUTES);
+        gameThreads.shutdown();
+        gameThreads.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Adds a player to the queue of their skill bucket. Safe to call from any thread.
+     *
+     * @param ticket: the player's ticket
+     */
+    public void enqueue(MatchTicket ticket) {
+        buckets[Math.min(ticket.getSkill() / bucketWidth, buckets.length - 1)].offer(ticket);
+        enqueuedPlayers.increment();
+    }
+
+    /**
+     * Runs one pairing batch: drains every bucket, pairing its players in the order they joined, then pairs each
+     * leftover player that has waited too long with the nearest leftover player of another bucket. (Note: only called
+     * by the pairing thread, which is why the leftovers need no synchronization).
+     */
+    private void pairBatch() {
+        for (int b = 0; b < buckets.length; b++) {
+            MatchTicket waiting = leftovers[b];
+            MatchTicket ticket;
+            while ((ticket = buckets[b].poll()) != null) {
+                if (waiting == null) {
+                    waiting = ticket;
+                } else {
+                    this.startMatch(waiting, ticket);
+                    waiting = null;
+                }
+            }
+            leftovers[b] = waiting;
+        }
+
+        long now = System.nanoTime();
+        for (int b = 0; b < leftovers.length; b++) {
+            if ((leftovers[b] != null) && (now - leftovers[b].getEnqueueTime() > maxWaitNanos)) {
+                for (int distance = 1; distance < leftovers.length; distance++) { // The nearest bucket with a leftover player
+                    int other = (b - distance >= 0) && (leftovers[b - distance] != null) ? b - distance : b + distance;
+                    if ((other < leftovers.length) && (leftovers[other] != null)) {
+                        this.startMatch(leftovers[b], leftovers[other]);
+                        leftovers[b] = null;
+                        leftovers[other] = null;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands a pair of players to the MatchStarter on one of the game threads.
+     *
+     * @param first:  the ticket of the player who waited longer
+     * @param second: the ticket of the other player
+     */
+    private void startMatch(MatchTicket first, MatchTicket second) {
+        pairedPlayers.add(2);
+        gameThreads.execute(() -> starter.startMatch(first, second));
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of players that joined the queue
+     */
+    public long getEnqueuedPlayers() {
+        return enqueuedPlayers.sum();
+    }
+
+    /**
+     * @return the number of players that were paired
+     */
+    public long getPairedPlayers() {
+        return pairedPlayers.sum();
+    }
+}
@@ -0,0 +1,92 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Arrays; // To sort the pairing times
+import java.util.SplittableRandom; // To choose each player's skill rating
+import java.util.concurrent.TimeUnit; // To convert the pairing interval and pacing times
+import java.util.concurrent.atomic.AtomicInteger; // Hands out the slots of the pairing times array
+import java.util.concurrent.locks.LockSupport; // To pace the clients
+
+/**
+ * A local load test for the Matchmaker. A number of client threads enqueue players with random skill ratings at a
+ * target total rate, and every paired game records how long each of its players waited between joining the queue and
+ * their game starting. Once every player has been paired, the test outputs the achieved rate and the pairing time
+ * percentiles. (Note: the games themselves are left empty, so that only matchmaking is measured).
+ */
+public final class MatchmakingLoadTest {
+    // Variables
+    private static final int BUCKET_COUNT = 20; // The number of skill buckets
+    private static final int BUCKET_WIDTH = 100; // The range of skill ratings per bucket
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(20); // How long a player waits before being paired across buckets
+    private static final long PAIRING_INTERVAL_MICROS = 1000; // The time between two pairing batches
+
+    // Constructors
+
+    /**
+     * --Constructor for MatchmakingLoadTest--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private MatchmakingLoadTest() {
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: MatchmakingLoadTest [players] [rate] [clients] - enqueues [players] players (200000 by default) at [rate]
+     * players per second (50000 by default) from [clients] client threads (4 by default).
+     *
+     * @param args: the command line arguments
+     * @throws InterruptedException if interrupted while waiting for the clients or the games
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int players = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+        int rate = (args.length > 1) ? Integer.parseInt(args[1]) : 50000;
+        int clientCount = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        long[] pairingTimes = new long[players]; // The nanoseconds each paired player waited
+        AtomicInteger pairingTimeCount = new AtomicInteger();
+
+        Matchmaker matchmaker = new Matchmaker(BUCKET_COUNT, BUCKET_WIDTH, MAX_WAIT_NANOS, PAIRING_INTERVAL_MICROS, 2, (first, second) -> {
+            long now = System.nanoTime();
+            pairingTimes[pairingTimeCount.getAndIncrement()] = now - first.getEnqueueTime();
+            pairingTimes[pairingTimeCount.getAndIncrement()] = now - second.getEnqueueTime();
+        });
+        matchmaker.start();
+
+        Thread[] clients = new Thread[clientCount];
+        long startTime = System.nanoTime();
+        for (int c = 0; c < clientCount; c++) {
+            int client = c;
+            clients[c] = new Thread(() -> {
+                SplittableRandom randomNumberGenerator = new SplittableRandom(client);
+                long nanosPerPlayer = TimeUnit.SECONDS.toNanos(1) * clientCount / rate; // Each client's share of the rate
+                for (int player = client; player < players; player += clientCount) {
+                    long due = startTime + (player / clientCount) * nanosPerPlayer;
+                    long early = due - System.nanoTime();
+                    if (early > 0) {
+                        LockSupport.parkNanos(early);
+                    }
+                    matchmaker.enqueue(new MatchTicket(player, randomNumberGenerator.nextInt(BUCKET_COUNT * BUCKET_WIDTH)));
+                }
+            });
+            clients[c].start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long enqueueTime = System.nanoTime() - startTime;
+        while (matchmaker.getPairedPlayers() < players - (players % 2)) { // An odd player out is never paired
+            Thread.sleep(1);
+        }
+        matchmaker.stop();
+
+        int count = pairingTimeCount.get();
+        long[] sortedTimes = Arrays.copyOf(pairingTimes, count);
+        Arrays.sort(sortedTimes);
+        System.out.printf("Enqueued %,d players in %.2f s (%,.0f per second), paired %,d%n", players, enqueueTime / 1e9, players / (enqueueTime / 1e9), count);
+        for (double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+            long time = sortedTimes[Math.min(count - 1, (int) Math.ceil(percentile / 100 * count) - 1)];
+            System.out.printf("p%-5s pairing time: %8.3f ms%n", (percentile == 100) ? "max" : percentile, time / 1e6);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.concurrent.atomic.LongAdder; // Counts events from many threads without contention
+
+/**
+ * A static class that functions as the registry of the game's built-in instrumentation: a LatencyHistogram per
+ * GamePhase, and counters for the retries of the rejection-sampling loops (ship placement in ComputerBoard's
+ * .generateComputerBoard() and the random hunt in Computer's .chooseMove()), for board copies, and for the games
+ * being played and won by each side (GameEventBus.PLAYER or GameEventBus.COMPUTER). Recording never
+ * allocates, so it can stay on in every game; it can be turned off with the system property battleship.metrics=false.
+ * Call .snapshot() to export the current values.
+ */
+public final class Metrics {
+    // Variables
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("battleship.metrics", "true")); // False to skip all recording
+    private static final GamePhase[] phases = GamePhase.values(); // Every phase, in ordinal order
+    private static final LatencyHistogram[] phaseHistograms = new LatencyHistogram[phases.length]; // phaseHistograms[phase.ordinal()] holds the phase's latencies
+    private static final LongAdder placementRetries = new LongAdder(); // Random ship positions rejected while generating computer fleets
+    private static final LongAdder moveRetries = new LongAdder(); // Random moves rejected by the computer's random hunt
+    private static final LongAdder boardCopies = new LongAdder(); // Boards copied (new copies and in-place resets)
+    private static final LongAdder activeGames = new LongAdder(); // Games started but not yet ended
+    private static final LongAdder[] gamesWon = {new LongAdder(), new LongAdder()}; // gamesWon[side] is the number of games won by the side
+
+    static {
+        for (GamePhase phase : phases) {
+            phaseHistograms[phase.ordinal()] = new LatencyHistogram();
+        }
+    }
+
+    // Constructors
+
+    /**
+     * --Constructor for Metrics--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private Metrics() {
+    }
+
+    // Static Methods
+
+    /**
+     * @return the start time of a phase, to be passed to .recordPhase() once it ends (0 if metrics are disabled)
+     */
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of a phase that started at the passed time.
+     *
+     * @param phase:     the phase
+     * @param startTime: the phase's start time, from .startTimer()
+     */
+    public static void recordPhase(GamePhase phase, long startTime) {
+        if (ENABLED) {
+            phaseHistograms[phase.ordinal()].record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * @param retries: the number of random ship positions rejected while placing a ship
+     */
+    public static void countPlacementRetries(long retries) {
+        if (ENABLED && (retries > 0)) {
+            placementRetries.add(retries);
+        }
+    }
+
+    /**
+     * @param retries: the number of random moves rejected by the computer's random hunt
+     */
+    public static void countMoveRetries(long retries) {
+        if (ENABLED && (retries > 0)) {
+            moveRetries.add(retries);
+        }
+    }
+
+    /**
+     * Counts a single board copy.
+     */
+    public static void countBoardCopy() {
+        if (ENABLED) {
+            boardCopies.increment();
+        }
+    }
+
+    /**
+     * Counts a game as being played, until .gameEnded() is called for it.
+     */
+    public static void gameStarted() {
+        if (ENABLED) {
+            activeGames.increment();
+        }
+    }
+
+    /**
+     * Counts a game as no longer being played, and won by the passed side.
+     *
+     * @param winner: the winning side (GameEventBus.PLAYER or GameEventBus.COMPUTER), or -1 if the game has no sides
+     *                (e.g. a free-for-all) or no winner
+     */
+    public static void gameEnded(int winner) {
+        if (ENABLED) {
+            activeGames.decrement();
+            if ((winner >= 0) && (winner < gamesWon.length)) {
+                gamesWon[winner].increment();
+            }
+        }
+    }
+
+    /**
+     * @param phase: the phase
+     * @return the phase's live histogram (e.g. for the MetricsServer, which copies it into its own reused arrays)
+     */
+    static LatencyHistogram getHistogram(GamePhase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * @return a snapshot of every histogram and counter (values recorded while it is being taken may or may not be in it)
+     */
+    public static MetricsSnapshot snapshot() {
+        long[][] bucketCounts = new long[phases.length][LatencyHistogram.BUCKETS];
+        long[] counts = new long[phases.length];
+        long[] sums = new long[phases.length];
+        long[] maxes = new long[phases.length];
+
+        for (GamePhase phase : phases) {
+            LatencyHistogram histogram = phaseHistograms[phase.ordinal()];
+            counts[phase.ordinal()] = histogram.copyCounts(bucketCounts[phase.ordinal()]);
+            sums[phase.ordinal()] = histogram.getSum();
+            maxes[phase.ordinal()] = histogram.getMax();
+        }
+        return new MetricsSnapshot(bucketCounts, counts, sums, maxes, placementRetries.sum(), moveRetries.sum(), boardCopies.sum(), activeGames.sum(), new long[]{gamesWon[0].sum(), gamesWon[1].sum()});
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : phaseHistograms) {
+            histogram.reset();
+        }
+        placementRetries.reset();
+        moveRetries.reset();
+        boardCopies.reset();
+        gamesWon[0].reset();
+        gamesWon[1].reset();
+    }
+
+    /**
+     * @return the number of random ship positions rejected while generating computer fleets
+     */
+    public static long getPlacementRetries() {
+        return placementRetries.sum();
+    }
+
+    /**
+     * @return the number of random moves rejected by the computer's random hunt
+     */
+    public static long getMoveRetries() {
+        return moveRetries.sum();
+    }
+
+    /**
+     * @return the number of boards copied
+     */
+    public static long getBoardCopies() {
+        return boardCopies.sum();
+    }
+
+    /**
+     * @return the number of games started but not yet ended
+     */
+    public static long getActiveGames() {
+        return activeGames.sum();
+    }
+
+    /**
+     * @param side: the side (GameEventBus.PLAYER or GameEventBus.COMPUTER)
+     * @return the number of games won by the side
+     */
+    public static long getGamesWon(int side) {
+        return gamesWon[side].sum();
+    }
+}
@@ -0,0 +1,319 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import com.sun.net.httpserver.HttpExchange; // A single scrape request
+import com.sun.net.httpserver.HttpServer; // The JDK's built-in HTTP server
+import java.io.IOException; // Thrown if the server can't be started or a response can't be sent
+import java.io.InputStream; // To read the scrapes of the local scraper
+import java.io.OutputStream; // To send the exposition text
+import java.lang.management.ManagementFactory; // To get the JVM's thread bean
+import java.net.HttpURLConnection; // The local scraper's connection
+import java.net.InetAddress; // The server only listens on the loopback address
+import java.net.InetSocketAddress; // The server's address
+import java.net.URL; // The local scraper's target
+import java.nio.charset.StandardCharsets; // To decode the scraped text
+import java.util.Arrays; // To grow the response buffer
+
+/**
+ * A metrics endpoint that serves the Metrics registry in the Prometheus text exposition format at /metrics, using the
+ * JDK's built-in HTTP server (on the loopback address only). It exposes the active games, the moves made (and the moves
+ * per second since the last scrape), move selection and fleet generation latency quantiles, the games won by each side
+ * and their win rates, the retry and board copy counters, and the JVM's allocation rate (the bytes allocated per second
+ * since the last scrape, including by threads that have ended since). Every scrape renders the text into the same StringBuilder and byte
+ * buffer, and copies the histograms into the same arrays, so frequent scrapes barely allocate.
+ * (Note: BattleshipMain and FreeForAllMain start a server if the system property battleship.metrics.port is set).
+ */
+public class MetricsServer {
+    // Variables
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999}; // The quantiles exposed for each latency summary
+    private static final String[] SIDE_NAMES = {"player", "computer"}; // The label of each side (GameEventBus.PLAYER and GameEventBus.COMPUTER)
+    private final HttpServer server; // Serves the endpoint
+    private final StringBuilder text; // The exposition text, rendered again on every scrape
+    private byte[] body; // The exposition text as bytes; grown when needed, never shrunk
+    private final long[] bucketCounts; // A copy of a histogram's bucket counts
+    private final com.sun.management.ThreadMXBean threadBean; // Reports the bytes allocated by each thread
+    private long lastScrapeTime; // The System.nanoTime() of the last scrape
+    private long lastMoves; // The number of moves at the last scrape
+    private long[] threadIds; // The ids of the threads alive at the last scrape
+    private long[] threadAllocatedBytes; // threadAllocatedBytes[t] is the bytes allocated by thread threadIds[t] at the last scrape
+    private long allocatedBytes; // The bytes allocated by every thread seen so far; a running total, so it survives threads ending
+    private long lastAllocatedBytes; // The running total at the last scrape
+
+    // Constructors
+
+    /**
+     * --Constructor for MetricsServer--
+     * Creates the server, but doesn't start it yet.
+     *
+     * @param port: the port to listen on (0 for any free port)
+     * @throws IOException if the server can't be created (e.g. the port is in use)
+     */
+    public MetricsServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        text = new StringBuilder(4096);
+        body = new byte[4096];
+        bucketCounts = new long[LatencyHistogram.BUCKETS];
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        lastScrapeTime = System.nanoTime();
+        threadIds = new long[0];
+        threadAllocatedBytes = new long[0];
+        this.updateAllocatedBytes(); // Starts the running total from the bytes the threads had already allocated
+        lastAllocatedBytes = allocatedBytes;
+    }
+
+    // Methods
+
+    /**
+     * Starts serving scrapes.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Answers a single scrape with the current exposition text.
+     *
+     * @param exchange: the scrape request
+     * @throws IOException if the response can't be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        synchronized (this) { // The buffers are shared by every scrape
+            int length = this.render();
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Renders the exposition text into the reused buffer.
+     *
+     * @return the number of bytes of the buffer in use
+     */
+    synchronized int render() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(1e-9, (now - lastScrapeTime) / 1e9);
+        long moves = Metrics.getHistogram(GamePhase.HIT_RESOLUTION).copyCounts(bucketCounts); // Every move is resolved exactly once
+        this.updateAllocatedBytes();
+        long won = Metrics.getGamesWon(GameEventBus.PLAYER) + Metrics.getGamesWon(GameEventBus.COMPUTER);
+
+        text.setLength(0);
+        this.appendMetric("battleship_active_games", "gauge", "Games currently being played.", null, Metrics.getActiveGames());
+        this.appendMetric("battleship_moves_total", "counter", "Moves made.", null, moves);
+        this.appendMetric("battleship_moves_per_second", "gauge", "Moves made per second since the last scrape.", null, (moves - lastMoves) / elapsedSeconds);
+        this.appendSummary("battleship_move_latency_seconds", "Time taken by a computer to choose its move.", GamePhase.MOVE_SELECTION);
+        this.appendSummary("battleship_fleet_generation_seconds", "Time taken to generate a computer's fleet.", GamePhase.FLEET_GENERATION);
+        this.appendHeader("battleship_games_won_total", "counter", "Games won by each side.");
+        for (int side = 0; side < SIDE_NAMES.length; side++) {
+            this.appendSample("battleship_games_won_total", "side", SIDE_NAMES[side], Metrics.getGamesWon(side));
+        }
+        this.appendHeader("battleship_win_rate", "gauge", "Share of the games won by each side.");
+        for (int side = 0; side < SIDE_NAMES.length; side++) {
+            this.appendSample("battleship_win_rate", "side", SIDE_NAMES[side], (won == 0) ? 0 : (double) Metrics.getGamesWon(side) / won);
+        }
+        this.appendMetric("battleship_placement_retries_total", "counter", "Random ship positions rejected while generating computer fleets.", null, Metrics.getPlacementRetries());
+        this.appendMetric("battleship_move_retries_total", "counter", "Random moves rejected by the computer's random hunt.", null, Metrics.getMoveRetries());
+        this.appendMetric("battleship_board_copies_total", "counter", "Boards copied.", null, Metrics.getBoardCopies());
+        this.appendMetric("battleship_jvm_allocation_rate_bytes_per_second", "gauge", "Bytes allocated per second since the last scrape.", null, (allocatedBytes - lastAllocatedBytes) / elapsedSeconds);
+
+        lastScrapeTime = now;
+        lastMoves = moves;
+        lastAllocatedBytes = allocatedBytes;
+
+        int length = text.length();
+        if (body.length < length) {
+            body = Arrays.copyOf(body, Math.max(length, body.length * 2));
+        }
+        for (int c = 0; c < length; c++) { // The text is plain ASCII
+            body[c] = (byte) text.charAt(c);
+        }
+        return length;
+    }
+
+    /**
+     * Adds the bytes every live thread allocated since the last scrape to the running total, and remembers every live
+     * thread's bytes for the next scrape. A thread seen for the first time adds all of its bytes; a thread that has
+     * ended is simply forgotten, so the running total keeps what it allocated up to the last scrape (only what it
+     * allocated after that, before ending, is missed).
+     */
+    private void updateAllocatedBytes() {
+        long[] ids = threadBean.getAllThreadIds();
+        long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+
+        for (int t = 0; t < ids.length; t++) {
+            if (bytes[t] < 0) { // -1 for threads that ended meanwhile
+                continue;
+            }
+            long previousBytes = 0;
+            for (int previous = 0; previous < threadIds.length; previous++) { // There are only a few dozen threads
+                if (threadIds[previous] == ids[t]) {
+                    previousBytes = threadAllocatedBytes[previous];
+                    break;
+                }
+            }
+            allocatedBytes += Math.max(0, bytes[t] - previousBytes);
+        }
+        threadIds = ids;
+        threadAllocatedBytes = bytes;
+    }
+
+    /**
+     * Appends the HELP and TYPE lines of a metric.
+     */
+    private void appendHeader(String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends a single sample of a metric, with an optional label.
+     */
+    private void appendSample(String name, String labelName, String labelValue, double value) {
+        text.append(name);
+        if (labelName != null) {
+            text.append('{').append(labelName).append("=\"").append(labelValue).append("\"}");
+        }
+        text.append(' ');
+        if (value == (long) value) { // Whole numbers are written without a fraction
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    /**
+     * Appends a metric with a single unlabelled sample.
+     */
+    private void appendMetric(String name, String type, String help, String labelName, double value) {
+        this.appendHeader(name, type, help);
+        this.appendSample(name, labelName, null, value);
+    }
+
+    /**
+     * Appends a phase's latencies as a summary (in seconds): its quantiles, sum and count.
+     */
+    private void appendSummary(String name, String help, GamePhase phase) {
+        LatencyHistogram histogram = Metrics.getHistogram(phase);
+        long count = histogram.copyCounts(bucketCounts);
+        long max = histogram.getMax();
+
+        this.appendHeader(name, "summary", help);
+        for (double quantile : QUANTILES) {
+            long nanos = Math.min(max, LatencyHistogram.valueAtPercentile(bucketCounts, count, quantile * 100));
+            text.append(name).append("{quantile=\"").append(quantile).append("\"} ").append(nanos / 1e9).append('\n');
+        }
+        text.append(name).append("_sum ").append(histogram.getSum() / 1e9).append('\n');
+        text.append(name).append("_count ").append(count).append('\n');
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Static Methods
+
+    /**
+     * Starts a server on the port named by the system property battleship.metrics.port, if it is set.
+     *
+     * @return the started server, or null if the property isn't set or the server couldn't be started
+     */
+    public static MetricsServer startFromProperty() {
+        String port = System.getProperty("battleship.metrics.port");
+        if (port == null) {
+            return null;
+        }
+        try {
+            MetricsServer metricsServer = new MetricsServer(Integer.parseInt(port));
+            metricsServer.start();
+            System.out.println("Serving metrics at http://localhost:" + metricsServer.getPort() + "/metrics");
+            return metricsServer;
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Couldn't serve metrics on port [" + port + "]: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Usage: MetricsServer [seconds] [port] - serves the metrics on [port] (any free port by default) while two
+     * threads play headless computer vs computer games for [seconds] seconds (5 by default), scraping the endpoint
+     * once per second like Prometheus would. Outputs the active games, moves per second and allocation rate of every
+     * scrape, the last scrape in full, and how long rendering the exposition text takes.
+     *
+     * @param args: the command line arguments
+     * @throws Exception if the server can't be started or a scrape fails
+     */
+    public static void main(String[] args) throws Exception {
+        int seconds = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        int port = (args.length > 1) ? Integer.parseInt(args[1]) : 0;
+        MetricsServer metricsServer = new MetricsServer(port);
+        metricsServer.start();
+        long endTime = System.nanoTime() + seconds * 1_000_000_000L;
+
+        Thread[] hosts = new Thread[2];
+        for (int h = 0; h < hosts.length; h++) {
+            hosts[h] = new Thread(() -> {
+                while (System.nanoTime() < endTime) { // Plays headless games, like a multi-game host
+                    Computer[] computers = {new Computer(), new Computer()};
+                    computers[0].generateBoard();
+                    computers[1].generateBoard();
+                    Metrics.gameStarted();
+                    int side = 0;
+                    while (true) {
+                        computers[side].makeMove(computers[1 - side].getBoard());
+                        if (computers[1 - side].checkWin()) {
+                            break;
+                        }
+                        side = 1 - side;
+                    }
+                    Metrics.gameEnded(side); // Side 0 stands in for the player
+                }
+            });
+            hosts[h].start();
+        }
+
+        URL url = new URL("http://localhost:" + metricsServer.getPort() + "/metrics");
+        String scrape = "";
+        for (int s = 0; s < seconds; s++) { // The local scraper
+            Thread.sleep(1000);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                scrape = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            for (String line : scrape.split("\n")) {
+                if (line.startsWith("battleship_moves_per_second") || line.startsWith("battleship_active_games") || line.startsWith("battleship_jvm_allocation_rate")) {
+                    System.out.print(line + "   ");
+                }
+            }
+            System.out.println();
+        }
+        for (Thread host : hosts) {
+            host.join();
+        }
+        System.out.println();
+        System.out.print(scrape);
+
+        long startTime = System.nanoTime();
+        for (int r = 0; r < 10000; r++) {
+            metricsServer.render();
+        }
+        System.out.printf("%nRendering the exposition text: %.1f us per scrape%n", (System.nanoTime() - startTime) / 1e3 / 10000);
+        metricsServer.stop();
+    }
+}
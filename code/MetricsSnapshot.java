@@ -0,0 +1,156 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An immutable snapshot of the Metrics registry: the latency histogram of every GamePhase and the values of every
+ * counter at the time it was taken. Its .toString() method formats it as a table for the console.
+ */
+public class MetricsSnapshot {
+    // Variables
+    private final long[][] bucketCounts; // bucketCounts[phase.ordinal()][bucket] is the phase's count in the bucket
+    private final long[] counts; // counts[phase.ordinal()] is the number of times the phase was recorded
+    private final long[] sums; // sums[phase.ordinal()] is the total time spent in the phase, in nanoseconds
+    private final long[] maxes; // maxes[phase.ordinal()] is the phase's longest latency, in nanoseconds
+    private final long placementRetries; // Random ship positions rejected while generating computer fleets
+    private final long moveRetries; // Random moves rejected by the computer's random hunt
+    private final long boardCopies; // Boards copied
+    private final long activeGames; // Games started but not yet ended
+    private final long[] gamesWon; // gamesWon[side] is the number of games won by the side
+
+    // Constructors
+
+    /**
+     * --Constructor for MetricsSnapshot--
+     * (Note: the arrays are kept, not copied; only Metrics creates snapshots, from arrays nobody else holds)
+     *
+     * @param bucketCounts:     the bucket counts of every phase
+     * @param counts:           the number of times each phase was recorded
+     * @param sums:             the total time spent in each phase
+     * @param maxes:            the longest latency of each phase
+     * @param placementRetries: the number of random ship positions rejected
+     * @param moveRetries:      the number of random moves rejected
+     * @param boardCopies:      the number of boards copied
+     * @param activeGames:      the number of games started but not yet ended
+     * @param gamesWon:         the number of games won by each side
+     */
+    MetricsSnapshot(long[][] bucketCounts, long[] counts, long[] sums, long[] maxes, long placementRetries, long moveRetries, long boardCopies, long activeGames, long[] gamesWon) {
+        this.bucketCounts = bucketCounts;
+        this.counts = counts;
+        this.sums = sums;
+        this.maxes = maxes;
+        this.placementRetries = placementRetries;
+        this.moveRetries = moveRetries;
+        this.boardCopies = boardCopies;
+        this.activeGames = activeGames;
+        this.gamesWon = gamesWon;
+    }
+
+    // Methods
+
+    /**
+     * @return the snapshot as a table: one line per phase (count, mean, p50, p99, max in microseconds), then the counters
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%-17s %10s %10s %10s %10s %10s%n", "Phase", "Count", "Mean us", "p50 us", "p99 us", "Max us"));
+
+        for (GamePhase phase : GamePhase.values()) {
+            text.append(String.format("%-17s %10d %10.1f %10.1f %10.1f %10.1f%n", phase, this.getCount(phase), this.getMean(phase) / 1e3, this.getPercentile(phase, 50) / 1e3, this.getPercentile(phase, 99) / 1e3, this.getMax(phase) / 1e3));
+        }
+        text.append("Placement retries: ").append(placementRetries).append(System.lineSeparator());
+        text.append("Move retries:      ").append(moveRetries).append(System.lineSeparator());
+        text.append("Board copies:      ").append(boardCopies).append(System.lineSeparator());
+        text.append("Active games:      ").append(activeGames).append(System.lineSeparator());
+        text.append("Games won:         ").append(gamesWon[GameEventBus.PLAYER]).append(" by the player, ").append(gamesWon[GameEventBus.COMPUTER]).append(" by the computer").append(System.lineSeparator());
+        return text.toString();
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @param phase: the phase
+     * @return the number of times the phase was recorded
+     */
+    public long getCount(GamePhase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * @param phase: the phase
+     * @return the total time spent in the phase, in nanoseconds
+     */
+    public long getSum(GamePhase phase) {
+        return sums[phase.ordinal()];
+    }
+
+    /**
+     * @param phase: the phase
+     * @return the phase's mean latency, in nanoseconds (0 if it was never recorded)
+     */
+    public double getMean(GamePhase phase) {
+        return (counts[phase.ordinal()] == 0) ? 0 : (double) sums[phase.ordinal()] / counts[phase.ordinal()];
+    }
+
+    /**
+     * @param phase:      the phase
+     * @param percentile: the percentile (0-100)
+     * @return the phase's latency at the percentile, in nanoseconds (within 6.25%; see LatencyHistogram), never more than
+     * its longest latency
+     */
+    public long getPercentile(GamePhase phase, double percentile) {
+        return Math.min(maxes[phase.ordinal()], LatencyHistogram.valueAtPercentile(bucketCounts[phase.ordinal()], counts[phase.ordinal()], percentile));
+    }
+
+    /**
+     * @param phase: the phase
+     * @return the phase's longest latency, in nanoseconds
+     */
+    public long getMax(GamePhase phase) {
+        return maxes[phase.ordinal()];
+    }
+
+    /**
+     * @param phase:  the phase
+     * @param bucket: the index of a LatencyHistogram bucket
+     * @return the number of the phase's latencies in the bucket
+     */
+    public long getBucketCount(GamePhase phase, int bucket) {
+        return bucketCounts[phase.ordinal()][bucket];
+    }
+
+    /**
+     * @return the number of random ship positions rejected while generating computer fleets
+     */
+    public long getPlacementRetries() {
+        return placementRetries;
+    }
+
+    /**
+     * @return the number of random moves rejected by the computer's random hunt
+     */
+    public long getMoveRetries() {
+        return moveRetries;
+    }
+
+    /**
+     * @return the number of boards copied
+     */
+    public long getBoardCopies() {
+        return boardCopies;
+    }
+
+    /**
+     * @return the number of games started but not yet ended
+     */
+    public long getActiveGames() {
+        return activeGames;
+    }
+
+    /**
+     * @param side: the side (GameEventBus.PLAYER or GameEventBus.COMPUTER)
+     * @return the number of games won by the side
+     */
+    public long getGamesWon(int side) {
+        return gamesWon[side];
+    }
+}
@@ -0,0 +1,154 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.Arrays; // To empty the slots
+import java.util.concurrent.atomic.LongAdder; // To count cache hits and misses from many threads without contention
+
+/**
+ * A bounded, thread-safe transposition cache that maps a board's observation hash (see Board's .getObservationHash())
+ * to the move an expensive targeting strategy chose for that observation. In long runs, like free-for-all games, the
+ * same early-game observations recur over and over, so a strategy can look its move up here instead of recomputing it.
+ * The cache is split into independently locked stripes (chosen by the hash), so threads working on different
+ * observations rarely wait for each other. Each stripe is a fixed-size table of 4-entry buckets; when a bucket is full,
+ * a new entry replaces one of the existing entries, so the cache never grows past its capacity. (Note: a cached move is
+ * only a suggestion for that observation; callers should still check that it is a legal move).
+ */
+public class MoveCache {
+    // Variables
+    private static final int STRIPES = 16; // The number of independently locked stripes (a power of 2)
+    private static final int BUCKET_SIZE = 4; // The number of entries per bucket
+    private final Object[] locks; // locks[stripe] guards that stripe's keys and moves
+    private final long[][] keys; // keys[stripe][slot] is the observation hash stored in the slot
+    private final int[][] moves; // moves[stripe][slot] is the move (a cell id) stored in the slot, or Board.INVALID_CELL if the slot is empty
+    private final int bucketMask; // Selects a bucket within a stripe from the hash
+    private final LongAdder hits; // The number of lookups that found a move
+    private final LongAdder misses; // The number of lookups that didn't find a move
+
+    // Constructors
+
+    /**
+     * --Constructor for MoveCache--
+     * Creates an empty cache that holds at least the passed number of entries (rounded up to a power of 2).
+     *
+     * @param capacity: the minimum number of entries the cache can hold
+     */
+    public MoveCache(int capacity) {
+        int slotsPerStripe = Integer.highestOneBit(Math.max(BUCKET_SIZE, (capacity + STRIPES - 1) / STRIPES) - 1) << 1; // Rounded up to a power of 2
+        locks = new Object[STRIPES];
+        keys = new long[STRIPES][slotsPerStripe];
+        moves = new int[STRIPES][slotsPerStripe];
+        bucketMask = (slotsPerStripe / BUCKET_SIZE) - 1;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe] = new Object();
+            Arrays.fill(moves[stripe], Board.INVALID_CELL);
+        }
+    }
+
+    // Methods
+
+    /**
+     * Looks up the move stored for the passed observation hash.
+     *
+     * @param hash: the observation hash
+     * @return the stored move (a cell id), or Board.INVALID_CELL if there is none
+     */
+    public int get(long hash) {
+        int stripe = MoveCache.stripeOf(hash);
+        int bucketStart = this.bucketStartOf(hash);
+
+        synchronized (locks[stripe]) {
+            for (int slot = bucketStart; slot < bucketStart + BUCKET_SIZE; slot++) {
+                if ((keys[stripe][slot] == hash) && (moves[stripe][slot] != Board.INVALID_CELL)) {
+                    hits.increment();
+                    return moves[stripe][slot];
+                }
+            }
+        }
+        misses.increment();
+        return Board.INVALID_CELL;
+    }
+
+    /**
+     * Stores the passed move for the passed observation hash. Overwrites the hash's existing entry if there is one,
+     * otherwise uses an empty slot of its bucket, otherwise replaces one of the bucket's entries (chosen by the hash).
+     *
+     * @param hash: the observation hash
+     * @param move: the chosen move (a cell id)
+     */
+    public void put(long hash, int move) {
+        int stripe = MoveCache.stripeOf(hash);
+        int bucketStart = this.bucketStartOf(hash);
+
+        synchronized (locks[stripe]) {
+            int target = bucketStart + (int) (hash >>> 62); // The slot to replace if the bucket is full
+            for (int slot = bucketStart; slot < bucketStart + BUCKET_SIZE; slot++) {
+                if (keys[stripe][slot] == hash) { // Existing entry
+                    target = slot;
+                    break;
+                }
+                if (moves[stripe][slot] == Board.INVALID_CELL) { // Empty slot; keep looking for an existing entry
+                    target = slot;
+                }
+            }
+            keys[stripe][target] = hash;
+            moves[stripe][target] = move;
+        }
+    }
+
+    /**
+     * Removes every entry from the cache and resets the hit and miss counts.
+     */
+    public void clear() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                Arrays.fill(moves[stripe], Board.INVALID_CELL);
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @param hash: the observation hash
+     * @return the index of the first slot of the hash's bucket within its stripe
+     */
+    private int bucketStartOf(long hash) {
+        return ((int) (hash >>> 4) & bucketMask) * BUCKET_SIZE;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of entries the cache can hold
+     */
+    public int getCapacity() {
+        return STRIPES * keys[0].length;
+    }
+
+    /**
+     * @return the number of lookups that found a move
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that didn't find a move
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Static Methods
+
+    /**
+     * @param hash: the observation hash
+     * @return the stripe that holds the hash
+     */
+    private static int stripeOf(long hash) {
+        return (int) hash & (STRIPES - 1);
+    }
+}
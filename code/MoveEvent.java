@@ -0,0 +1,49 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import jdk.jfr.Category; // Groups the game's events in JDK Mission Control
+import jdk.jfr.Description; // Describes the event and its fields
+import jdk.jfr.Event; // The base class of every Java Flight Recorder event
+import jdk.jfr.Label; // The human-readable names of the event and its fields
+import jdk.jfr.Name; // The event's name in recordings
+import jdk.jfr.StackTrace; // Turns off stack traces, which the event doesn't need
+
+/**
+ * A Java Flight Recorder event for a single move (a turn of the player or the computer): where it was fired, what it
+ * hit, which strategy chose it, and how long the turn took. The duration covers the whole .makeMove() call, so for the
+ * player it includes waiting for input and rendering the enemy board (which are recorded as their own RenderEvents).
+ * (Note: the event is only filled in and committed if it is enabled in the recording and passes its threshold, so it
+ * costs next to nothing when no recording is running).
+ */
+@Name("battleship.Move")
+@Label("Move")
+@Category("Battleship")
+@Description("A move of the player or the computer")
+@StackTrace(false)
+public class MoveEvent extends Event {
+    // Variables
+    @Label("Side")
+    @Description("The side that made the move: Player or Computer")
+    String side; // The side that made the move
+
+    @Label("Cell")
+    @Description("The cell id (i * 10 + j) of the move")
+    int cell; // The cell id of the move
+
+    @Label("Position")
+    @Description("The position of the move as it is entered, e.g. B7")
+    String position; // The position of the move, as the player would enter it
+
+    @Label("Outcome")
+    @Description("The result of the move: MISS, HIT or SUNK")
+    String outcome; // The result of the move
+
+    @Label("Sunk Length")
+    @Description("The length of the ship sunk by the move, or 0 if none was")
+    int sunkLength; // The length of the ship sunk by the move
+
+    @Label("Strategy")
+    @Description("What chose the move: OPENING_BOOK, DENSITY, MODELLED, TARGET, PARITY or RANDOM for the computer, INPUT for the player")
+    String strategy; // What chose the move
+}
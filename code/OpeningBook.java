@@ -0,0 +1,149 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.BufferedOutputStream; // To write the opening book file
+import java.io.DataOutputStream; // To write the opening book file's primitive values
+import java.io.IOException; // Thrown if the opening book file can't be read or written
+import java.nio.MappedByteBuffer; // The memory-mapped contents of the opening book file
+import java.nio.channels.FileChannel; // To memory-map the opening book file
+import java.nio.file.Files; // To create the opening book file
+import java.nio.file.Path; // The location of the opening book file
+import java.nio.file.StandardOpenOption; // To open the opening book file for reading
+
+/**
+ * A read-only, memory-mapped opening book: a table of the best move for every early-game enemy board observation seen
+ * by the OpeningBookGenerator. Observations are keyed by their canonical hash (see Board's .getCanonicalHash()), so a
+ * single entry covers all 8 rotations and reflections of an observation, and the moves are stored for the canonical
+ * image. Opening a book is a single FileChannel.map() call, and a lookup is a binary search over the mapped keys, so
+ * nothing is read into the heap.
+ * File format (big-endian): the magic number "BSOB", the format version, the book's depth (the number of shots it
+ * covers) and the number of entries, followed by every key (sorted, 8 bytes each) and then every move (1 byte each).
+ */
+public final class OpeningBook {
+    // Variables
+    private static final int FILE_MAGIC = 0x42534F42; // "BSOB", identifies an opening book file
+    private static final int FILE_VERSION = 1; // The version of the opening book file format
+    private static final int HEADER_BYTES = 16; // The size of the header (magic, version, depth, entries)
+    private final MappedByteBuffer buffer; // The mapped file; only absolute reads are used, so it can be shared between threads
+    private final int depth; // The number of shots the book covers
+    private final int entries; // The number of entries in the book
+    private final int movesOffset; // The position of the first move in the file
+
+    // Constructors
+
+    /**
+     * --Constructor for OpeningBook--
+     * (private, because books are opened with .open())
+     *
+     * @param buffer: the mapped file, with its header already checked
+     */
+    private OpeningBook(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        depth = buffer.getInt(8);
+        entries = buffer.getInt(12);
+        movesOffset = HEADER_BYTES + entries * Long.BYTES;
+    }
+
+    // Methods
+
+    /**
+     * Looks up the book move for the passed enemy board, moved back from the canonical image to the passed board.
+     *
+     * @param enemyBoard: the board holding the Hits and Misses seen so far
+     * @return the cell id of the book move, or Board.INVALID_CELL if the observation isn't in the book
+     */
+    public int lookup(Board enemyBoard) {
+        int canonicalSymmetry = enemyBoard.getCanonicalSymmetry(); // The symmetry that moves the board to its canonical image
+        int canonicalMove = this.lookup(enemyBoard.getCanonicalHash());
+
+        if (canonicalMove == Board.INVALID_CELL) {
+            return Board.INVALID_CELL;
+        }
+        return Board.symmetricCell(Board.inverseSymmetry(canonicalSymmetry), canonicalMove);
+    }
+
+    /**
+     * Binary searches the mapped keys for the passed canonical hash.
+     *
+     * @param canonicalHash: the canonical hash of an observation
+     * @return the cell id of the book move for the canonical image, or Board.INVALID_CELL if the hash isn't in the book
+     */
+    public int lookup(long canonicalHash) {
+        int low = 0;
+        int high = entries - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long key = buffer.getLong(HEADER_BYTES + middle * Long.BYTES);
+            if (key < canonicalHash) {
+                low = middle + 1;
+            } else if (key > canonicalHash) {
+                high = middle - 1;
+            } else {
+                return buffer.get(movesOffset + middle);
+            }
+        }
+        return Board.INVALID_CELL;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of shots the book covers
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of entries in the book
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    // Static Methods
+
+    /**
+     * Memory-maps the passed opening book file.
+     *
+     * @param file: the opening book file
+     * @return the opened book
+     * @throws IOException if the file can't be read or is not an opening book file
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after the channel is closed
+            if ((buffer.capacity() < HEADER_BYTES) || (buffer.getInt(0) != FILE_MAGIC) || (buffer.getInt(4) != FILE_VERSION)) {
+                throw new IOException("Not an opening book file: " + file);
+            }
+            if (buffer.capacity() != HEADER_BYTES + (long) buffer.getInt(12) * (Long.BYTES + 1)) {
+                throw new IOException("Truncated opening book file: " + file);
+            }
+            return new OpeningBook(buffer);
+        }
+    }
+
+    /**
+     * Writes an opening book file.
+     *
+     * @param file:  the file to write
+     * @param depth: the number of shots the book covers
+     * @param keys:  the canonical hashes of the observations, sorted in ascending order
+     * @param moves: moves[k] is the cell id of the book move for the canonical image of keys[k]
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path file, int depth, long[] keys, byte[] moves) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeInt(depth);
+            output.writeInt(keys.length);
+            for (long key : keys) {
+                output.writeLong(key);
+            }
+            output.write(moves);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the opening book file can't be written
+import java.nio.file.Path; // The location of the opening book file
+import java.util.Arrays; // To sort the book's keys
+import java.util.HashMap; // Maps each canonical observation hash to its move while the book is being built
+import java.util.Map; // The type of the book being built
+
+/**
+ * An offline tool that builds an OpeningBook. Plays the passed number of games against randomly generated fleets
+ * (using ComputerBoard's .generateComputerBoard()), choosing every one of the first [depth] shots with the
+ * DensityScorer, and records the chosen move for every observation reached. Observations are stored by their canonical
+ * hash, so rotations and reflections of an observation already in the book reuse its move instead of being scored
+ * again. The finished book is written to a file that Computer memory-maps at startup (see Computer.loadOpeningBook()).
+ */
+public class OpeningBookGenerator {
+    // Variables
+    private final int depth; // The number of shots the book covers
+    private final int[] shipLengths; // The lengths of the ships being targeted
+    private final int[] scores; // Scratch array for the DensityScorer
+    private final Map<Long, Integer> book; // Maps each canonical observation hash to the move for its canonical image
+
+    // Constructors
+
+    /**
+     * --Constructor for OpeningBookGenerator--
+     *
+     * @param depth: the number of shots the book covers
+     */
+    public OpeningBookGenerator(int depth) {
+        this.depth = depth;
+        shipLengths = Ship.getStandardFleetLengths();
+        scores = new int[100];
+        book = new HashMap<>();
+    }
+
+    // Methods
+
+    /**
+     * Plays the first [depth] shots of a single game against a randomly generated fleet, adding every new observation
+     * to the book.
+     */
+    public void playGame() {
+        ComputerBoard fleet = new ComputerBoard(); // The fleet being targeted
+        Board enemyBoard = new Board(); // The Hits and Misses seen so far
+
+        fleet.generateComputerBoard();
+        for (int shot = 0; (shot < depth) && (!fleet.checkWin()); shot++) {
+            int canonicalSymmetry = enemyBoard.getCanonicalSymmetry();
+            long canonicalHash = enemyBoard.getCanonicalHash();
+            Integer canonicalMove = book.get(canonicalHash);
+            int move;
+            if (canonicalMove == null) { // A new observation; score it and store the move for its canonical image
+                move = DensityScorer.bestMove(enemyBoard, shipLengths, scores);
+                book.put(canonicalHash, Board.symmetricCell(canonicalSymmetry, move));
+            } else { // A known observation (or one of its images); move the stored move back to this board
+                move = Board.symmetricCell(Board.inverseSymmetry(canonicalSymmetry), canonicalMove);
+            }
+
+            int shotResult = fleet.receiveShot(move);
+            if (ShotResult.isHit(shotResult)) {
+                enemyBoard.addHit(move);
+                if (ShotResult.isSunk(shotResult)) { // Sunk ships are part of the observation, just like in Computer
+                    enemyBoard.recordSunkShip(ShotResult.getSunkLength(shotResult));
+                }
+            } else {
+                enemyBoard.addMiss(move);
+            }
+        }
+    }
+
+    /**
+     * Writes the book to the passed file, with its keys sorted for binary searching.
+     *
+     * @param file: the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void writeBook(Path file) throws IOException {
+        long[] keys = new long[book.size()];
+        byte[] moves = new byte[book.size()];
+        int entry = 0;
+
+        for (long key : book.keySet()) {
+            keys[entry++] = key;
+        }
+        Arrays.sort(keys);
+        for (entry = 0; entry < keys.length; entry++) {
+            moves[entry] = (byte) (int) book.get(keys[entry]);
+        }
+        OpeningBook.write(file, depth, keys, moves);
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of observations in the book
+     */
+    public int getEntries() {
+        return book.size();
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: OpeningBookGenerator [file] [games] [depth] - plays [games] games (100000 by default) and writes a book
+     * covering the first [depth] shots (15 by default) to [file] (openingBook.bin by default).
+     *
+     * @param args: the command line arguments
+     * @throws IOException if the opening book file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of((args.length > 0) ? args[0] : "openingBook.bin");
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+        int depth = (args.length > 2) ? Integer.parseInt(args[2]) : 15;
+        OpeningBookGenerator generator = new OpeningBookGenerator(depth);
+
+        long startTime = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            generator.playGame();
+        }
+        generator.writeBook(file);
+        System.out.println("Entries: " + generator.getEntries() + " (" + games + " games, " + depth + " shots deep)");
+        System.out.printf("Generated in %.1f s%n", (System.nanoTime() - startTime) / 1e9);
+        System.out.println("Written to " + file);
+    }
+}
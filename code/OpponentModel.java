@@ -0,0 +1,419 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the model file can't be opened or isn't a model
+import java.nio.MappedByteBuffer; // The model, mapped into memory
+import java.nio.channels.FileChannel; // To map the model file
+import java.nio.file.Path; // The location of the model file
+import java.nio.file.StandardOpenOption; // To open (or create) the model file for reading and writing
+import java.util.Arrays; // To clear the demonstration's counts
+import java.util.Random; // To place the baseline's fleets
+
+/**
+ * A model of one human opponent's placement habits, learned from the fleets they placed in earlier games: how often
+ * their ships lie on the edge of the board (edge bias), how often a ship touches another ship (clustering), and how
+ * often their ships are horizontal (orientation preference). Each habit is held as a pair of running counts in a small
+ * file mapped into memory, so recording a game is a handful of in-place additions over the fleet's cells, and the model
+ * survives between runs. The habits are turned into integer weights relative to a Computer's own random placement
+ * (WEIGHT_SCALE means "no habit"), smoothed by a few games' worth of that baseline so a new opponent isn't
+ * misjudged; a Computer in HuntMode.MODELLED multiplies its density scores by them (see Computer.setOpponentModel()).
+ * File format (big-endian): MAGIC, VERSION, then the counts (each a long): games, ships, horizontal ships, ship cells,
+ * ship cells on the edge, and ships touching another ship.
+ * @see OpponentModelStore
+ */
+public class OpponentModel {
+    // Variables
+    public static final int MAGIC = 0x42534F31; // "BSO1"; the first 4 bytes of every model file
+    public static final int VERSION = 1; // The version of the file format
+    public static final int WEIGHT_SCALE = 16; // The weight of a cell or orientation the opponent shows no habit for
+    private static final int GAMES = 0; // The index of the number of games recorded
+    private static final int SHIPS = 1; // The index of the number of ships recorded
+    private static final int HORIZONTAL_SHIPS = 2; // The index of the number of horizontal ships recorded
+    private static final int SHIP_CELLS = 3; // The index of the number of ship cells recorded
+    private static final int EDGE_CELLS = 4; // The index of the number of ship cells on the edge of the board recorded
+    private static final int TOUCHING_SHIPS = 5; // The index of the number of ships touching another ship recorded
+    private static final int COUNTS = 6; // The number of counts
+    private static final int COUNTS_OFFSET = 8; // The offset of the first count
+    private static final int FILE_BYTES = COUNTS_OFFSET + COUNTS * Long.BYTES; // The size of the file
+    private static final double PRIOR_GAMES = 3; // The number of baseline games every habit is smoothed with
+    private static final int MAX_WEIGHT = 4 * WEIGHT_SCALE; // The largest weight (and 1 is the smallest)
+    private static final Direction[] directions = Direction.values(); // The 4 neighbours of a position; Down, Up, Right, Left
+    private static final int BASELINE_FLEETS = 20000; // The number of fleets the baseline is measured over
+    private static final long BASELINE_SEED = 1; // The seed of the baseline's fleets, so every run measures the same baseline
+    private static final double[] baseline = OpponentModel.measureBaseline(); // The rates of every count (per ship or per ship cell) under the Computer's random placement; measured once
+    private final FileChannel channel; // The model file
+    private final MappedByteBuffer model; // The model file, mapped into memory
+
+    // Constructors
+
+    /**
+     * --Constructor for OpponentModel--
+     * Opens the model file and maps it into memory, creating an empty model if the file doesn't exist (or is empty).
+     *
+     * @param file: the model file
+     * @throws IOException if the file can't be opened or holds something other than a model of this version
+     */
+    public OpponentModel(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        boolean created = channel.size() == 0;
+        if ((!created) && (channel.size() != FILE_BYTES)) {
+            channel.close();
+            throw new IOException(file + " isn't an opponent model");
+        }
+        model = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES); // Grows a new file to its full size, filled with 0s
+        if (created) {
+            model.putInt(0, MAGIC);
+            model.putInt(4, VERSION);
+        } else if ((model.getInt(0) != MAGIC) || (model.getInt(4) != VERSION)) {
+            channel.close();
+            throw new IOException(file + " isn't a version " + VERSION + " opponent model");
+        }
+    }
+
+    // Methods
+
+    /**
+     * Adds a fleet the opponent placed to the model. Takes time proportional to the number of the fleet's cells.
+     *
+     * @param firstCells: firstCells[ship] is the cell id of the ship's top (or leftmost) position
+     * @param lastCells:  lastCells[ship] is the cell id of the ship's bottom (or rightmost) position
+     * @param ships:      the number of ships in the arrays
+     */
+    public synchronized void recordFleet(int[] firstCells, int[] lastCells, int ships) {
+        long[] fleetCounts = new long[COUNTS];
+        OpponentModel.countFleet(firstCells, lastCells, ships, fleetCounts);
+        fleetCounts[GAMES] = 1;
+        for (int count = 0; count < COUNTS; count++) {
+            model.putLong(COUNTS_OFFSET + count * Long.BYTES, this.getCount(count) + fleetCounts[count]);
+        }
+    }
+
+    /**
+     * Fills the passed array with the weight of every cell: cells on the edge of the board get the edge weight, every
+     * other cell the interior weight.
+     *
+     * @param cellWeights: an array of length 100 to fill
+     */
+    public synchronized void copyCellWeights(int[] cellWeights) {
+        double edgeRate = this.getRate(EDGE_CELLS, SHIP_CELLS); // The share of the opponent's ship cells on the edge
+        int edgeWeight = OpponentModel.toWeight(edgeRate / baseline[EDGE_CELLS]);
+        int interiorWeight = OpponentModel.toWeight((1 - edgeRate) / (1 - baseline[EDGE_CELLS]));
+        for (int cell = 0; cell < 100; cell++) {
+            cellWeights[cell] = OpponentModel.isEdge(cell) ? edgeWeight : interiorWeight;
+        }
+    }
+
+    /**
+     * Writes the model to the disk and closes the file.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    public synchronized void close() throws IOException {
+        model.force();
+        channel.close();
+    }
+
+    /**
+     * @param count: the index of a count (e.g. EDGE_CELLS)
+     * @param total: the index of the count it is a share of (SHIPS or SHIP_CELLS)
+     * @return the share, smoothed by PRIOR_GAMES games at the baseline rate
+     */
+    private double getRate(int count, int total) {
+        double priorTotal = PRIOR_GAMES * baseline[total]; // baseline[SHIPS] and baseline[SHIP_CELLS] hold the counts per game
+        return (this.getCount(count) + priorTotal * baseline[count]) / (this.getCount(total) + priorTotal);
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of games recorded
+     */
+    public synchronized long getGames() {
+        return this.getCount(GAMES);
+    }
+
+    /**
+     * @return the weight of every horizontal placement
+     */
+    public synchronized int getHorizontalWeight() {
+        return OpponentModel.toWeight(this.getRate(HORIZONTAL_SHIPS, SHIPS) / baseline[HORIZONTAL_SHIPS]);
+    }
+
+    /**
+     * @return the weight of every vertical placement
+     */
+    public synchronized int getVerticalWeight() {
+        return OpponentModel.toWeight((1 - this.getRate(HORIZONTAL_SHIPS, SHIPS)) / (1 - baseline[HORIZONTAL_SHIPS]));
+    }
+
+    /**
+     * @return the weight of the cells next to a sunk ship (above WEIGHT_SCALE if the opponent clusters their ships,
+     * below if they spread them out)
+     */
+    public synchronized int getClusterWeight() {
+        return OpponentModel.toWeight(this.getRate(TOUCHING_SHIPS, SHIPS) / baseline[TOUCHING_SHIPS]);
+    }
+
+    /**
+     * @param count: the index of a count
+     * @return the count
+     */
+    private long getCount(int count) {
+        return model.getLong(COUNTS_OFFSET + count * Long.BYTES);
+    }
+
+    // Static Methods
+
+    /**
+     * Adds a fleet's ships, horizontal ships, ship cells, ship cells on the edge and ships touching another ship to the
+     * passed counts.
+     *
+     * @param firstCells: firstCells[ship] is the cell id of the ship's top (or leftmost) position
+     * @param lastCells:  lastCells[ship] is the cell id of the ship's bottom (or rightmost) position
+     * @param ships:      the number of ships in the arrays
+     * @param counts:     the counts to add to (indexed like the file's counts)
+     */
+    private static void countFleet(int[] firstCells, int[] lastCells, int ships, long[] counts) {
+        long[] fleetMask = new long[BitBoard.WORDS]; // Every cell of the fleet
+        long[] shipMask = new long[BitBoard.WORDS]; // Every cell of the current ship
+        for (int ship = 0; ship < ships; ship++) {
+            int step = (lastCells[ship] - firstCells[ship] < 10) ? 1 : 10; // Horizontal ships stay within a row
+            for (int cell = firstCells[ship]; cell <= lastCells[ship]; cell += step) {
+                BitBoard.set(fleetMask, cell);
+            }
+        }
+
+        for (int ship = 0; ship < ships; ship++) {
+            int step = (lastCells[ship] - firstCells[ship] < 10) ? 1 : 10;
+            counts[SHIPS]++;
+            counts[HORIZONTAL_SHIPS] += (step == 1) ? 1 : 0;
+            BitBoard.clearAll(shipMask);
+            for (int cell = firstCells[ship]; cell <= lastCells[ship]; cell += step) {
+                BitBoard.set(shipMask, cell);
+                counts[SHIP_CELLS]++;
+                counts[EDGE_CELLS] += OpponentModel.isEdge(cell) ? 1 : 0;
+            }
+            boolean touching = false; // True once a neighbour of the ship holds another ship
+            for (int cell = firstCells[ship]; (cell <= lastCells[ship]) && (!touching); cell += step) {
+                for (Direction direction : directions) {
+                    int i = Board.cellIndexI(cell) + direction.getStepI();
+                    int j = Board.cellIndexJ(cell) + direction.getStepJ();
+                    if ((0 <= i) && (i < 10) && (0 <= j) && (j < 10) && (BitBoard.get(fleetMask, Board.cellOf(i, j))) && (!BitBoard.get(shipMask, Board.cellOf(i, j)))) {
+                        touching = true;
+                        break;
+                    }
+                }
+            }
+            counts[TOUCHING_SHIPS] += touching ? 1 : 0;
+        }
+    }
+
+    /**
+     * Usage: OpponentModel [directory] [games] - demonstrates the models with three simulated players who each have one
+     * strong habit: an edge-lover (every ship on the edge of the board), a horizontal player (every ship horizontal) and a
+     * clusterer (every ship touching another). Each player places [games] fleets (200 by default), in runs of 10, which
+     * are recorded in their models in an OpponentModelStore (in demoOpponentModels by default) that holds only 2 models
+     * at once. Then a DENSITY computer and a MODELLED computer each sink 1000 more fleets of every player. Outputs the
+     * time taken to record a fleet, the store's loads and hits, and, for every player, both computers' mean shots to
+     * win and time per move.
+     *
+     * @param args: the command line arguments
+     * @throws IOException if a model can't be opened or written
+     */
+    public static void main(String[] args) throws IOException {
+        OpponentModelStore store = new OpponentModelStore(Path.of((args.length > 0) ? args[0] : "demoOpponentModels"), 2);
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+        String[] players = {"edge-lover", "horizontal", "clusterer"};
+        int[] habits = {EDGE_CELLS, HORIZONTAL_SHIPS, TOUCHING_SHIPS}; // The count every ship (or ship cell) of the player adds to
+        ComputerBoard board = new ComputerBoard();
+        int[] firstCells = new int[board.getShips().length];
+        int[] lastCells = new int[board.getShips().length];
+
+        long recordNanos = 0;
+        for (int game = 0; game < games; game += 10) {
+            for (int player = 0; player < players.length; player++) {
+                for (int run = 0; run < Math.min(10, games - game); run++) {
+                    OpponentModel model = store.get(players[player]); // Loaded for the first game of a run (the store only holds 2), then found in the store
+                    OpponentModel.placeHabitualFleet(board, habits[player], firstCells, lastCells);
+                    long startTime = System.nanoTime();
+                    model.recordFleet(firstCells, lastCells, firstCells.length);
+                    recordNanos += System.nanoTime() - startTime;
+                }
+            }
+        }
+        System.out.printf("Recorded %d fleets: %.2f us per fleet; the store loaded %d models and found %d already loaded%n", games * players.length, recordNanos / 1e3 / (games * players.length), store.getLoads(), store.getHits());
+
+        Computer densityComputer = new Computer();
+        densityComputer.setHuntMode(HuntMode.DENSITY);
+        Computer modelledComputer = new Computer();
+        modelledComputer.setHuntMode(HuntMode.MODELLED);
+        for (int player = 0; player < players.length; player++) {
+            OpponentModel model = store.get(players[player]);
+            modelledComputer.setOpponentModel(model);
+            long[] shots = new long[2]; // shots[computer] is the number of moves computer 0 (DENSITY) or 1 (MODELLED) made
+            long[] nanos = new long[2]; // nanos[computer] is the time the computer's moves took
+            for (int game = 0; game < 1000; game++) {
+                OpponentModel.placeHabitualFleet(board, habits[player], firstCells, lastCells);
+                Computer[] computers = {densityComputer, modelledComputer};
+                for (int computer = 0; computer < computers.length; computer++) {
+                    board.clear(); // Both computers fire at the same fleet
+                    for (int ship = 0; ship < firstCells.length; ship++) {
+                        int step = (lastCells[ship] - firstCells[ship] < 10) ? 1 : 10;
+                        Direction direction = (step == 1) ? Direction.RIGHT : Direction.DOWN;
+                        board.getShips()[ship].addPositions(board.placeShipOnBoard(Board.cellIndexI(firstCells[ship]), Board.cellIndexJ(firstCells[ship]), direction, board.getShips()[ship].getLength()));
+                    }
+                    computers[computer].reset();
+                    long startTime = System.nanoTime();
+                    while (!board.checkWin()) {
+                        computers[computer].makeMove(board);
+                        shots[computer]++;
+                    }
+                    nanos[computer] += System.nanoTime() - startTime;
+                }
+            }
+            System.out.printf("%-10s (%d games learned): DENSITY %.1f shots to win (%.1f us per move), MODELLED %.1f shots to win (%.1f us per move)%n", players[player], model.getGames(), shots[0] / 1000.0, nanos[0] / 1e3 / shots[0], shots[1] / 1000.0, nanos[1] / 1e3 / shots[1]);
+        }
+        store.close();
+    }
+
+    /**
+     * Places a random fleet on the board that shows a single habit in every ship, by placing random fleets until one
+     * does (e.g. for EDGE_CELLS, until every ship cell is on the edge).
+     *
+     * @param board:      the board to place the fleet on
+     * @param habit:      the index of the count every ship (HORIZONTAL_SHIPS, TOUCHING_SHIPS) or ship cell (EDGE_CELLS) adds to
+     * @param firstCells: filled with the cell id of every ship's top (or leftmost) position
+     * @param lastCells:  filled with the cell id of every ship's bottom (or rightmost) position
+     */
+    private static void placeHabitualFleet(ComputerBoard board, int habit, int[] firstCells, int[] lastCells) {
+        long[] counts = new long[COUNTS];
+        Ship[] ships = board.getShips();
+        do {
+            board.clear();
+            board.generateComputerBoard();
+            for (int ship = 0; ship < ships.length; ship++) {
+                firstCells[ship] = ships[ship].getFirstPosition();
+                lastCells[ship] = ships[ship].getLastPosition();
+            }
+            Arrays.fill(counts, 0);
+            OpponentModel.countFleet(firstCells, lastCells, ships.length, counts);
+        }
+        while (counts[habit] != counts[(habit == EDGE_CELLS) ? SHIP_CELLS : SHIPS]);
+    }
+
+    /**
+     * Measures the rate of every count under the Computer's own random placement, over BASELINE_FLEETS fleets: the
+     * horizontal ships and touching ships per ship, the edge cells per ship cell, and the ships and ship cells per
+     * fleet. The fleets are placed by .placeRandomFleet() with a fixed seed, rather than by a ComputerBoard, so the
+     * baseline (and every weight) is the same in every run, and the Metrics registry and Java Flight Recorder only see
+     * real placements.
+     *
+     * @return the rates, indexed like the file's counts
+     */
+    private static double[] measureBaseline() {
+        long[] counts = new long[COUNTS];
+        Random randomNumberGenerator = new Random(BASELINE_SEED);
+        Ship[] ships = Ship.createStandardFleet(); // Only their lengths are used
+        long[] occupiedCells = new long[BitBoard.WORDS];
+        int[] firstCells = new int[ships.length];
+        int[] lastCells = new int[ships.length];
+        for (int fleet = 0; fleet < BASELINE_FLEETS; fleet++) {
+            OpponentModel.placeRandomFleet(randomNumberGenerator, ships, occupiedCells, firstCells, lastCells);
+            OpponentModel.countFleet(firstCells, lastCells, ships.length, counts);
+        }
+
+        double[] rates = new double[COUNTS];
+        rates[GAMES] = 1;
+        rates[SHIPS] = (double) counts[SHIPS] / BASELINE_FLEETS;
+        rates[HORIZONTAL_SHIPS] = (double) counts[HORIZONTAL_SHIPS] / counts[SHIPS];
+        rates[SHIP_CELLS] = (double) counts[SHIP_CELLS] / BASELINE_FLEETS;
+        rates[EDGE_CELLS] = (double) counts[EDGE_CELLS] / counts[SHIP_CELLS];
+        rates[TOUCHING_SHIPS] = (double) counts[TOUCHING_SHIPS] / counts[SHIPS];
+        return rates;
+    }
+
+    /**
+     * Places a fleet the way ComputerBoard.generateComputerBoard() does, without a board: every ship gets a random first
+     * position from which it fits in at least one direction, then one of the directions it fits in, at random.
+     *
+     * @param randomNumberGenerator: the random number generator
+     * @param ships:                 the ships to place (only their lengths are used)
+     * @param occupiedCells:         a bitboard to hold the cells of the ships placed so far; cleared first
+     * @param firstCells:            filled with the cell id of every ship's top (or leftmost) position
+     * @param lastCells:             filled with the cell id of every ship's bottom (or rightmost) position
+     */
+    private static void placeRandomFleet(Random randomNumberGenerator, Ship[] ships, long[] occupiedCells, int[] firstCells, int[] lastCells) {
+        BitBoard.clearAll(occupiedCells);
+        for (int ship = 0; ship < ships.length; ship++) {
+            int shipLength = ships[ship].getLength();
+            int i; // The indexI of the ship's first position
+            int j; // The indexJ of the ship's first position
+            int validDirections; // A bitmask of the directions the ship fits in from (i,j)
+            do {
+                i = randomNumberGenerator.nextInt(0, 10);
+                j = randomNumberGenerator.nextInt(0, 10);
+                validDirections = 0;
+                for (Direction direction : directions) {
+                    if (OpponentModel.isClearRun(occupiedCells, i, j, direction, shipLength)) {
+                        validDirections |= direction.getBit();
+                    }
+                }
+            }
+            while (validDirections == 0);
+
+            int directionIndex = randomNumberGenerator.nextInt(0, Integer.bitCount(validDirections)); // Like DirectionBoard, counts the valid directions in Down, Up, Right, Left order
+            Direction shipDirection = null;
+            for (Direction direction : directions) {
+                if (((validDirections & direction.getBit()) != 0) && (directionIndex-- == 0)) {
+                    shipDirection = direction;
+                    break;
+                }
+            }
+            int endI = i + (shipLength - 1) * shipDirection.getStepI();
+            int endJ = j + (shipLength - 1) * shipDirection.getStepJ();
+            firstCells[ship] = Board.cellOf(Math.min(i, endI), Math.min(j, endJ));
+            lastCells[ship] = Board.cellOf(Math.max(i, endI), Math.max(j, endJ));
+            for (int k = 0; k < shipLength; k++) {
+                BitBoard.set(occupiedCells, Board.cellOf(i + k * shipDirection.getStepI(), j + k * shipDirection.getStepJ()));
+            }
+        }
+    }
+
+    /**
+     * @param occupiedCells: a bitboard of the cells holding a ship
+     * @param i:             indexI of the first position
+     * @param j:             indexJ of the first position
+     * @param direction:     the direction of the ship
+     * @param shipLength:    length of the ship
+     * @return boolean: true if the ship stays within the board without overlapping an occupied cell, false otherwise
+     */
+    private static boolean isClearRun(long[] occupiedCells, int i, int j, Direction direction, int shipLength) {
+        for (int k = 0; k < shipLength; k++) {
+            int cellI = i + k * direction.getStepI();
+            int cellJ = j + k * direction.getStepJ();
+            if ((cellI < 0) || (cellI >= 10) || (cellJ < 0) || (cellJ >= 10) || (BitBoard.get(occupiedCells, Board.cellOf(cellI, cellJ)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param ratio: how much more likely than the baseline something is
+     * @return the ratio as a weight (WEIGHT_SCALE for 1), between 1 and MAX_WEIGHT
+     */
+    private static int toWeight(double ratio) {
+        return (int) Math.max(1, Math.min(MAX_WEIGHT, Math.round(ratio * WEIGHT_SCALE)));
+    }
+
+    /**
+     * @param cell: a cell id
+     * @return boolean: true if the cell is in the first or last row or column of the board, false otherwise
+     */
+    public static boolean isEdge(int cell) {
+        int i = Board.cellIndexI(cell);
+        int j = Board.cellIndexJ(cell);
+        return (i == 0) || (i == 9) || (j == 0) || (j == 9);
+    }
+}
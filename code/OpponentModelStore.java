@@ -0,0 +1,138 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if a model file can't be opened or closed
+import java.nio.file.Files; // To create the model directory
+import java.nio.file.Path; // The location of the model directory and files
+import java.util.LinkedHashMap; // Holds the loaded models in least recently used order
+import java.util.Map; // The type of the eldest entry
+
+/**
+ * The opponent models of every human player, one file per player (named after the player) in a single directory. A
+ * player's model is only loaded (mapped into memory) the first time it is asked for, and the most recently used models
+ * are kept in a bounded LRU cache, so any number of players can have a model while only a few are held at once; the
+ * least recently used model is written back and closed when a new one needs its place.
+ * @see OpponentModel
+ */
+public class OpponentModelStore {
+    // Variables
+    public static final int DEFAULT_CAPACITY = 64; // The default number of models held at once
+    private final Path directory; // The directory holding the model files
+    private final LinkedHashMap<String, OpponentModel> models; // The loaded models, by player, from the least to the most recently used
+    private long loads; // The number of models loaded from (or created in) their files
+    private long hits; // The number of models found already loaded
+
+    // Constructors
+
+    /**
+     * --Constructor for OpponentModelStore--
+     * Creates the directory if it doesn't exist yet.
+     *
+     * @param directory: the directory holding the model files
+     * @param capacity:  the largest number of models held at once
+     * @throws IOException if the directory can't be created
+     */
+    public OpponentModelStore(Path directory, int capacity) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        models = new LinkedHashMap<>(16, 0.75f, true) { // Ordered by access, so the eldest entry is the least recently used
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OpponentModel> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                OpponentModelStore.closeModel(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // Methods
+
+    /**
+     * Returns a player's model, loading it from its file (or creating an empty one) if it isn't held yet.
+     *
+     * @param player: the name of the player
+     * @return the player's model
+     * @throws IOException if the player's model file can't be opened or isn't a model
+     */
+    public synchronized OpponentModel get(String player) throws IOException {
+        OpponentModel model = models.get(player);
+        if (model != null) {
+            hits++;
+            return model;
+        }
+        model = new OpponentModel(directory.resolve(player.replaceAll("[^A-Za-z0-9_-]", "_") + ".bso")); // Only characters that are safe in any file name
+        loads++;
+        models.put(player, model);
+        return model;
+    }
+
+    /**
+     * Writes back and closes every held model.
+     */
+    public synchronized void close() {
+        for (Map.Entry<String, OpponentModel> entry : models.entrySet()) {
+            OpponentModelStore.closeModel(entry.getKey(), entry.getValue());
+        }
+        models.clear();
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of models loaded from (or created in) their files
+     */
+    public synchronized long getLoads() {
+        return loads;
+    }
+
+    /**
+     * @return the number of models found already loaded
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of models held
+     */
+    public synchronized int getSize() {
+        return models.size();
+    }
+
+    // Static Methods
+
+    /**
+     * Writes back and closes a model, reporting (rather than throwing) a failure, because the model has already been
+     * updated in memory and the game shouldn't stop for it.
+     *
+     * @param player: the name of the model's player
+     * @param model:  the model
+     */
+    private static void closeModel(String player, OpponentModel model) {
+        try {
+            model.close();
+        } catch (IOException e) {
+            System.out.println("Couldn't write the opponent model of [" + player + "]: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the store in the directory named by the system property battleship.opponentModels, if it is set.
+     *
+     * @return the store, or null if the property isn't set or the directory can't be created
+     */
+    public static OpponentModelStore openFromProperty() {
+        String directory = System.getProperty("battleship.opponentModels");
+        if (directory == null) {
+            return null;
+        }
+        try {
+            return new OpponentModelStore(Path.of(directory), DEFAULT_CAPACITY);
+        } catch (IOException e) {
+            System.out.println("Couldn't open the opponent models [" + directory + "]: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,511 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.BufferedInputStream; // To read the placement counts file
+import java.io.BufferedOutputStream; // To write the placement counts file
+import java.io.DataInputStream; // To read the placement counts file's primitive values
+import java.io.DataOutputStream; // To write the placement counts file's primitive values
+import java.io.IOException; // Thrown if the placement counts file can't be read or written
+import java.nio.file.Files; // To open the placement counts file
+import java.nio.file.Path; // The location of the placement counts file
+import java.util.ArrayList; // To hold the counting tasks
+import java.util.Arrays; // To clear the cell counts
+import java.util.List; // The type returned by ForkJoinTask's .invokeAll() method
+import java.util.concurrent.ForkJoinPool; // Runs the counting tasks on every core
+import java.util.concurrent.RecursiveTask; // The type of the counting tasks
+
+/**
+ * A tool that counts every legal layout of the standard fleet on the 10x10 Board, along with how many of those layouts
+ * cover each cell. A layout is legal under the same rules as Board's .checkPositionValidity() and .placeShipOnBoard():
+ * every ship lies within the board and no two ships overlap (ships may touch). Ships are distinguishable, so the
+ * Destroyer and the Submarine swapping places counts as a different layout.
+ * The work is split with fork-join: every placement of the first ship (the Carrier) is reduced to a representative
+ * under the board's 8 symmetries, and each representative is split into one task per placement of the second ship. The
+ * counts of a representative are then spread back over its symmetric images, so only about 1/8 of the layouts are
+ * enumerated. The last ship is never enumerated one placement at a time; instead, its valid placements are computed
+ * for all cells at once with bitboard shifts and tallied with bit-sliced counters.
+ * The results are written to a compact file (see .writeCounts()), which can be used as an exact prior for targeting, or
+ * to check how far the layouts sampled by ComputerBoard's .generateComputerBoard() are from uniform.
+ */
+public class PlacementCounter {
+    // Variables
+    private static final int FILE_MAGIC = 0x42535043; // "BSPC", identifies a placement counts file
+    private static final int FILE_VERSION = 1; // The version of the placement counts file format
+    private static final long HIGH_WORD_MASK = (1L << 36) - 1; // The bits of the second bitboard word that hold cells (64-99)
+    private static final int COUNTER_PLANES = 16; // The number of bit planes in the bit-sliced counters; each cell can be counted up to 2^16 - 1 times before a flush
+    private final int[] shipLengths; // The lengths of the ships being placed, in placement order
+    private final long[][] placementLows; // placementLows[ship][p] is the first bitboard word of the ship's p-th placement
+    private final long[][] placementHighs; // placementHighs[ship][p] is the second bitboard word of the ship's p-th placement
+    private final int[][][] placementCells; // placementCells[ship][p] holds the cell ids of the ship's p-th placement
+    private long layoutCount; // The total number of legal layouts, once counted
+    private final long[] cellCounts; // cellCounts[cell] is the number of legal layouts in which a ship covers the cell, once counted
+
+    // Constructors
+
+    /**
+     * --Constructor for PlacementCounter--
+     * Lists every distinct placement of each of the passed ships on an empty board. Each placement is produced with
+     * Board's .getValidDirections() and .placeShipOnBoard(), so the counter uses exactly the game's placement rules.
+     * (Note: only Down and Right placements are kept, because Up and Left placements cover the same cells as a Down or
+     * Right placement starting at the ship's other end).
+     *
+     * @param shipLengths: the lengths of the ships being placed, in placement order
+     */
+    public PlacementCounter(int[] shipLengths) {
+        Board emptyBoard = new Board(); // Used to check which directions a ship fits in
+        List<int[]> shipPlacements = new ArrayList<>(); // The placements of the current ship
+
+        this.shipLengths = shipLengths.clone();
+        placementLows = new long[shipLengths.length][];
+        placementHighs = new long[shipLengths.length][];
+        placementCells = new int[shipLengths.length][][];
+        cellCounts = new long[100];
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            shipPlacements.clear();
+            for (int cell = 0; cell < 100; cell++) {
+                int i = Board.cellIndexI(cell);
+                int j = Board.cellIndexJ(cell);
+                int validDirections = emptyBoard.getValidDirections(i, j, shipLengths[ship]);
+                if (Direction.DOWN.isIn(validDirections)) {
+                    shipPlacements.add(new Board().placeShipOnBoard(i, j, Direction.DOWN, shipLengths[ship]));
+                }
+                if ((Direction.RIGHT.isIn(validDirections)) && (shipLengths[ship] > 1)) { // A ship of length 1 covers the same cell in every direction
+                    shipPlacements.add(new Board().placeShipOnBoard(i, j, Direction.RIGHT, shipLengths[ship]));
+                }
+            }
+            placementLows[ship] = new long[shipPlacements.size()];
+            placementHighs[ship] = new long[shipPlacements.size()];
+            placementCells[ship] = shipPlacements.toArray(new int[0][]);
+            for (int p = 0; p < shipPlacements.size(); p++) {
+                for (int cell : shipPlacements.get(p)) {
+                    if (cell < 64) {
+                        placementLows[ship][p] |= 1L << cell;
+                    } else {
+                        placementHighs[ship][p] |= 1L << cell;
+                    }
+                }
+            }
+        }
+    }
+
+    // Methods
+
+    /**
+     * Counts every legal layout, and the number of layouts covering each cell, using every core of the common
+     * ForkJoinPool. Only the Carrier placements that are representatives of their symmetry class are enumerated.
+     */
+    public void count() {
+        List<RepresentativeTask> tasks = new ArrayList<>(); // One task per representative first-ship placement
+
+        for (int p = 0; p < placementLows[0].length; p++) {
+            int stabilizerSize = this.getStabilizerSize(p); // The number of symmetries that leave the placement unchanged, or 0 if it isn't a representative
+            if (stabilizerSize > 0) {
+                tasks.add(new RepresentativeTask(p, stabilizerSize));
+            }
+        }
+
+        layoutCount = 0;
+        Arrays.fill(cellCounts, 0);
+        for (RepresentativeTask task : tasks) {
+            task.fork(); // Called outside the pool, so the task is submitted to the common ForkJoinPool
+        }
+        for (RepresentativeTask task : tasks) {
+            long[] tally = task.join(); // Cell counts 0-99 and the layout count at index 100, spread over the whole symmetry class
+            for (int cell = 0; cell < 100; cell++) {
+                cellCounts[cell] += tally[cell];
+            }
+            layoutCount += tally[100];
+        }
+    }
+
+    /**
+     * Checks whether the passed first-ship placement is the representative of its symmetry class (the member with the
+     * smallest bitboard), and if so returns the number of symmetries that map it onto itself. Otherwise, returns 0.
+     *
+     * @param placement: the index of the first ship's placement
+     * @return the size of the placement's stabilizer if it is a representative, 0 otherwise
+     */
+    private int getStabilizerSize(int placement) {
+        int stabilizerSize = 0;
+
+        for (int symmetry = 0; symmetry < Board.SYMMETRIES; symmetry++) {
+            long low = 0; // The first bitboard word of the moved placement
+            long high = 0; // The second bitboard word of the moved placement
+            for (int cell : placementCells[0][placement]) {
+                int movedCell = Board.symmetricCell(symmetry, cell);
+                if (movedCell < 64) {
+                    low |= 1L << movedCell;
+                } else {
+                    high |= 1L << movedCell;
+                }
+            }
+            if ((low == placementLows[0][placement]) && (high == placementHighs[0][placement])) { // The symmetry leaves the placement unchanged
+                stabilizerSize++;
+            } else if ((Long.compareUnsigned(high, placementHighs[0][placement]) < 0) || ((high == placementHighs[0][placement]) && (Long.compareUnsigned(low, placementLows[0][placement]) < 0))) { // A symmetric image is smaller
+                return 0;
+            }
+        }
+        return stabilizerSize;
+    }
+
+    /**
+     * Writes the counts to the passed file in a compact binary format: the magic number "BSPC", the format version,
+     * the number of ships followed by their lengths (one byte each), the total number of layouts, and then the number
+     * of layouts covering each of the 100 cells, in cell id order.
+     *
+     * @param file: the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void writeCounts(Path file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeByte(shipLengths.length);
+            for (int shipLength : shipLengths) {
+                output.writeByte(shipLength);
+            }
+            output.writeLong(layoutCount);
+            for (long cellCount : cellCounts) {
+                output.writeLong(cellCount);
+            }
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the total number of legal layouts
+     */
+    public long getLayoutCount() {
+        return layoutCount;
+    }
+
+    /**
+     * @return the number of legal layouts in which a ship covers each cell, indexed by cell id
+     */
+    public long[] getCellCounts() {
+        return cellCounts;
+    }
+
+    // Static Methods
+
+    /**
+     * Reads a file written by .writeCounts() and returns its contents as a long[] array of length 101: the number of
+     * layouts covering each cell (indices 0-99) followed by the total number of layouts (index 100).
+     *
+     * @param file: the file to read
+     * @return the cell counts and the layout count
+     * @throws IOException if the file can't be read or is not a placement counts file
+     */
+    public static long[] readCounts(Path file) throws IOException {
+        long[] counts = new long[101];
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if ((input.readInt() != FILE_MAGIC) || (input.readInt() != FILE_VERSION)) {
+                throw new IOException("Not a placement counts file: " + file);
+            }
+            input.skipNBytes(input.readUnsignedByte()); // Skip the ship lengths
+            counts[100] = input.readLong();
+            for (int cell = 0; cell < 100; cell++) {
+                counts[cell] = input.readLong();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Generates the passed number of computer boards with ComputerBoard's .generateComputerBoard() and compares how often
+     * each cell holds a ship against the exact probability from the passed counts. Outputs the largest per-cell
+     * difference and the total variation distance between the two per-cell distributions.
+     *
+     * @param counts:  the counts returned by .readCounts() for the standard fleet
+     * @param samples: the number of boards to generate
+     */
+    public static void compareSampling(long[] counts, int samples) {
+        long[] sampledCounts = new long[100]; // The number of generated boards with a ship on each cell
+        double largestDifference = 0; // The largest difference between a sampled and an exact probability
+        double totalVariation = 0; // Half the sum of the absolute differences, over the per-cell distributions
+        int shipCells = 0; // The number of cells covered by the standard fleet
+
+        for (Ship ship : Ship.createStandardFleet()) {
+            shipCells += ship.getLength();
+        }
+        for (int sample = 0; sample < samples; sample++) {
+            ComputerBoard board = new ComputerBoard();
+            board.generateComputerBoard();
+            for (int cell = 0; cell < 100; cell++) {
+                if (board.isShip(cell)) {
+                    sampledCounts[cell]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < 100; cell++) {
+            double exact = (double) counts[cell] / counts[100]; // The exact probability that a ship covers the cell
+            double sampled = (double) sampledCounts[cell] / samples; // The sampled probability that a ship covers the cell
+            largestDifference = Math.max(largestDifference, Math.abs(exact - sampled));
+            totalVariation += Math.abs(exact - sampled) / (2.0 * shipCells);
+        }
+        System.out.println("Samples: " + samples);
+        System.out.printf("Largest per-cell difference: %.5f%n", largestDifference);
+        System.out.printf("Total variation distance: %.5f%n", totalVariation);
+    }
+
+    /**
+     * Usage: PlacementCounter count [file] [ships] - counts the layouts of the first [ships] ships of the standard fleet
+     * (all 5 by default) and writes them to [file] (placementCounts.bin by default).
+     * PlacementCounter sample [file] [samples] - compares [samples] generated computer boards against the counts in [file].
+     *
+     * @param args: the command line arguments
+     * @throws IOException if the counts file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        String mode = (args.length > 0) ? args[0] : "count";
+        Path file = Path.of((args.length > 1) ? args[1] : "placementCounts.bin");
+
+        if (mode.equals("sample")) {
+            PlacementCounter.compareSampling(PlacementCounter.readCounts(file), (args.length > 2) ? Integer.parseInt(args[2]) : 100000);
+            return;
+        }
+
+        Ship[] fleet = Ship.createStandardFleet();
+        int[] shipLengths = new int[(args.length > 2) ? Integer.parseInt(args[2]) : fleet.length];
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            shipLengths[ship] = fleet[ship].getLength();
+        }
+        PlacementCounter counter = new PlacementCounter(shipLengths);
+        long startTime = System.nanoTime();
+        counter.count();
+        System.out.println("Layouts: " + counter.getLayoutCount());
+        System.out.printf("Counted in %.1f s on %d threads%n", (System.nanoTime() - startTime) / 1e9, ForkJoinPool.commonPool().getParallelism());
+        counter.writeCounts(file);
+        System.out.println("Written to " + file);
+    }
+
+    // Tasks
+
+    /**
+     * Counts the layouts whose first ship is one representative placement, then spreads the counts over every
+     * symmetric image of that placement. Forks one SubtreeTask per compatible placement of the second ship.
+     */
+    private class RepresentativeTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L; // RecursiveTask is Serializable
+        private final int placement; // The index of the representative first-ship placement
+        private final int stabilizerSize; // The number of symmetries that leave the placement unchanged
+
+        RepresentativeTask(int placement, int stabilizerSize) {
+            this.placement = placement;
+            this.stabilizerSize = stabilizerSize;
+        }
+
+        @Override
+        protected long[] compute() {
+            long[] tally = new long[101]; // Cell counts 0-99 and the layout count at index 100, for the representative only
+            long[] spreadTally = new long[101]; // The tally spread over the whole symmetry class
+
+            if (shipLengths.length == 1) {
+                tally[100] = 1;
+                for (int cell : placementCells[0][placement]) {
+                    tally[cell] = 1;
+                }
+            } else {
+                List<SubtreeTask> subtrees = new ArrayList<>();
+                for (int p = 0; p < placementLows[1].length; p++) {
+                    if (((placementLows[1][p] & placementLows[0][placement]) == 0) && ((placementHighs[1][p] & placementHighs[0][placement]) == 0)) {
+                        subtrees.add(new SubtreeTask(placement, p));
+                    }
+                }
+                for (SubtreeTask subtree : invokeAll(subtrees)) {
+                    long[] subtreeTally = subtree.join();
+                    for (int k = 0; k < tally.length; k++) {
+                        tally[k] += subtreeTally[k];
+                    }
+                }
+            }
+
+            // Every symmetry maps the representative's layouts onto the layouts of one image of the placement; images
+            // reached by more than one symmetry (stabilizerSize of them each) are divided back out, which is exact
+            for (int symmetry = 0; symmetry < Board.SYMMETRIES; symmetry++) {
+                for (int cell = 0; cell < 100; cell++) {
+                    spreadTally[Board.symmetricCell(symmetry, cell)] += tally[cell];
+                }
+            }
+            for (int cell = 0; cell < 100; cell++) {
+                spreadTally[cell] /= stabilizerSize;
+            }
+            spreadTally[100] = tally[100] * (Board.SYMMETRIES / stabilizerSize);
+            return spreadTally;
+        }
+    }
+
+    /**
+     * Counts the layouts whose first two ships are fixed. Enumerates the remaining ships depth-first with bitboards,
+     * except for the last ship, whose placements are counted all at once.
+     */
+    private class SubtreeTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L; // RecursiveTask is Serializable
+        private final int firstPlacement; // The index of the first ship's placement
+        private final int secondPlacement; // The index of the second ship's placement
+        private final long[] tally = new long[101]; // Cell counts 0-99 and the layout count at index 100
+        private final long[] planeLows = new long[COUNTER_PLANES]; // Bit-sliced counters for the last ship's cells 0-63; bit plane k holds bit k of each cell's count
+        private final long[] planeHighs = new long[COUNTER_PLANES]; // Bit-sliced counters for the last ship's cells 64-99
+        private int pendingAdds; // The number of masks added to the bit-sliced counters since the last flush
+
+        SubtreeTask(int firstPlacement, int secondPlacement) {
+            this.firstPlacement = firstPlacement;
+            this.secondPlacement = secondPlacement;
+        }
+
+        @Override
+        protected long[] compute() {
+            long low = placementLows[0][firstPlacement] | placementLows[1][secondPlacement]; // Occupied cells 0-63
+            long high = placementHighs[0][firstPlacement] | placementHighs[1][secondPlacement]; // Occupied cells 64-99
+            long layouts = (shipLengths.length == 2) ? 1 : this.enumerate(2, low, high);
+
+            this.flushCounters();
+            for (int cell : placementCells[0][firstPlacement]) {
+                tally[cell] += layouts;
+            }
+            for (int cell : placementCells[1][secondPlacement]) {
+                tally[cell] += layouts;
+            }
+            tally[100] = layouts;
+            return tally;
+        }
+
+        /**
+         * Counts the ways to place ships ship..last on the free cells, and adds each placement's count to its cells.
+         *
+         * @param ship: the index of the ship being placed
+         * @param low:  the occupied cells 0-63
+         * @param high: the occupied cells 64-99
+         * @return the number of ways to place the remaining ships
+         */
+        private long enumerate(int ship, long low, long high) {
+            if (ship == shipLengths.length - 1) {
+                return this.countLastShip(shipLengths[ship], low, high);
+            }
+
+            long layouts = 0;
+            long[] lows = placementLows[ship];
+            long[] highs = placementHighs[ship];
+            for (int p = 0; p < lows.length; p++) {
+                if (((lows[p] & low) == 0) && ((highs[p] & high) == 0)) { // If the placement doesn't overlap any placed ship
+                    long placementLayouts = this.enumerate(ship + 1, low | lows[p], high | highs[p]);
+                    if (placementLayouts != 0) {
+                        layouts += placementLayouts;
+                        for (int cell : placementCells[ship][p]) {
+                            tally[cell] += placementLayouts;
+                        }
+                    }
+                }
+            }
+            return layouts;
+        }
+
+        /**
+         * Counts the placements of the last ship on the free cells, using bitboard shifts to find every valid first
+         * position at once, and adds the cells they cover to the bit-sliced counters.
+         *
+         * @param shipLength: the length of the last ship
+         * @param low:        the occupied cells 0-63
+         * @param high:       the occupied cells 64-99
+         * @return the number of placements of the last ship
+         */
+        private long countLastShip(int shipLength, long low, long high) {
+            long freeLow = ~low; // Free cells 0-63
+            long freeHigh = ~high & HIGH_WORD_MASK; // Free cells 64-99
+            long rightLow = freeLow & rightStartLows[shipLength]; // Cells from which the ship fits to the right
+            long rightHigh = freeHigh & rightStartHighs[shipLength];
+            long downLow = (shipLength > 1) ? freeLow : 0; // Cells from which the ship fits downwards (a ship of length 1 is only counted once)
+            long downHigh = (shipLength > 1) ? freeHigh : 0;
+
+            for (int k = 1; k < shipLength; k++) {
+                rightLow &= (freeLow >>> k) | (freeHigh << (64 - k));
+                rightHigh &= freeHigh >>> k;
+                downLow &= (freeLow >>> (10 * k)) | (freeHigh << (64 - 10 * k));
+                downHigh &= freeHigh >>> (10 * k);
+            }
+
+            long placements = Long.bitCount(rightLow) + Long.bitCount(rightHigh) + Long.bitCount(downLow) + Long.bitCount(downHigh);
+            if (placements != 0) {
+                for (int k = 0; k < shipLength; k++) { // Every cell covered by each placement
+                    this.addToCounters(shiftLeftLow(rightLow, k), shiftLeftHigh(rightLow, rightHigh, k));
+                    this.addToCounters(shiftLeftLow(downLow, 10 * k), shiftLeftHigh(downLow, downHigh, 10 * k));
+                }
+                pendingAdds += 2 * shipLength;
+                if (pendingAdds > (1 << COUNTER_PLANES) - 1 - 2 * shipLength) { // The next call could overflow a counter
+                    this.flushCounters();
+                }
+            }
+            return placements;
+        }
+
+        /**
+         * Adds 1 to the count of every cell in the passed bitboard, using ripple-carry addition over the bit planes.
+         *
+         * @param low:  cells 0-63 to count
+         * @param high: cells 64-99 to count
+         */
+        private void addToCounters(long low, long high) {
+            for (int plane = 0; (low | high) != 0; plane++) {
+                long carryLow = planeLows[plane] & low;
+                long carryHigh = planeHighs[plane] & high;
+                planeLows[plane] ^= low;
+                planeHighs[plane] ^= high;
+                low = carryLow;
+                high = carryHigh;
+            }
+        }
+
+        /**
+         * Moves the bit-sliced counters into the tally and clears them.
+         */
+        private void flushCounters() {
+            for (int plane = 0; plane < COUNTER_PLANES; plane++) {
+                for (long bits = planeLows[plane]; bits != 0; bits &= bits - 1) {
+                    tally[Long.numberOfTrailingZeros(bits)] += 1L << plane;
+                }
+                for (long bits = planeHighs[plane]; bits != 0; bits &= bits - 1) {
+                    tally[64 + Long.numberOfTrailingZeros(bits)] += 1L << plane;
+                }
+                planeLows[plane] = 0;
+                planeHighs[plane] = 0;
+            }
+            pendingAdds = 0;
+        }
+    }
+
+    // Bitboard Helpers
+
+    private static final long[] rightStartLows = new long[11]; // rightStartLows[length] holds the cells 0-63 whose column leaves room for a ship of that length to the right
+    private static final long[] rightStartHighs = new long[11]; // rightStartHighs[length] holds the same for cells 64-99
+
+    static {
+        for (int shipLength = 1; shipLength <= 10; shipLength++) {
+            for (int cell = 0; cell < 100; cell++) {
+                if (Board.cellIndexJ(cell) + shipLength <= 10) {
+                    if (cell < 64) {
+                        rightStartLows[shipLength] |= 1L << cell;
+                    } else {
+                        rightStartHighs[shipLength] |= 1L << cell;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the first word of the bitboard (low, high) shifted towards higher cell ids by the passed amount
+     */
+    private static long shiftLeftLow(long low, int shift) {
+        return low << shift;
+    }
+
+    /**
+     * @return the second word of the bitboard (low, high) shifted towards higher cell ids by the passed amount
+     */
+    private static long shiftLeftHigh(long low, long high, int shift) {
+        return (shift == 0) ? high : ((high << shift) | (low >>> (64 - shift))) & HIGH_WORD_MASK;
+    }
+}
@@ -0,0 +1,39 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import jdk.jfr.Category; // Groups the game's events in JDK Mission Control
+import jdk.jfr.Description; // Describes the event and its fields
+import jdk.jfr.Event; // The base class of every Java Flight Recorder event
+import jdk.jfr.Label; // The human-readable names of the event and its fields
+import jdk.jfr.Name; // The event's name in recordings
+import jdk.jfr.StackTrace; // Turns off stack traces, which the event doesn't need
+
+/**
+ * A Java Flight Recorder event for the placement of a whole fleet: whose fleet it was, how it was placed, how many
+ * positions were rejected along the way, and how long it took. (Note: the player's placement includes waiting for
+ * their input, which is what dominates it).
+ */
+@Name("battleship.Placement")
+@Label("Fleet Placement")
+@Category("Battleship")
+@Description("The placement of a fleet by the player or the computer")
+@StackTrace(false)
+public class PlacementEvent extends Event {
+    // Variables
+    @Label("Side")
+    @Description("The side whose fleet was placed: Player or Computer")
+    String side; // The side whose fleet was placed
+
+    @Label("Strategy")
+    @Description("How the fleet was placed: RANDOM for the computer, INPUT for the player")
+    String strategy; // How the fleet was placed
+
+    @Label("Ships")
+    @Description("The number of ships placed")
+    int ships; // The number of ships placed
+
+    @Label("Rejected Positions")
+    @Description("The number of random positions that were rejected before every ship was placed")
+    int rejectedPositions; // The number of rejected random positions
+}
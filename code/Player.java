@@ -17,6 +17,8 @@ public class Player implements PlayerPosition {
     private Board enemyBoard;// A Board object that represents what the computer sees of the player's board (where it
     // makes moves); holds hits and misses
     private int playerMoveCounter; // Holds the number of moves that the player has made, outputted to them at the end of the game (regardless of win or loss)
+    private GameEventBus eventBus; // The bus the player's moves are published to (and rendered from), or null if they aren't reported
+    private long gameId; // The id of the game on the event bus
 
     // Constructors
 
@@ -52,17 +54,6 @@ public class Player implements PlayerPosition {
         board.printBoard();
     }
 
-    /**
-     * Updates the ship position that has been hit by the computer move in the PlayerBoard's ships (Note: made to allow
-     * the GameManager class to access the PlayerBoard's .updateHitShipPositions() method).
-     *
-     * @param computerMove: an int[] array of length 2 containing the two indices of the computer's move {i,j}
-     * @see GameManager
-     */
-    public void updateHitShipPositions(int[] computerMove) {
-        board.updateHitShipPositions(computerMove);
-    }
-
     /**
      * Checks if all the player's ships in the PlayerBoard have been sunk. Returns true if they have, implying that
      * the game is over and the computer has won. Otherwise, returns false. (Note: made to allow the GameManager class
@@ -77,33 +68,52 @@ public class Player implements PlayerPosition {
 
     /**
      * Prints the player's enemy board and allows them to make a move. Receives player input for their choice of
-     * position, then outputs whether their move was a hit or a miss. Updates the player's enemy board and prints it.
-     * Returns the player's move so that the computer's board can be updated. (Note: this method requires the computer's
-     * board, which contains their ships, to determine if a move was a hit or a miss, however the passed board will
-     * always be a copy of the computer's board, created in the GameManager class using the Board class' .getBoardCopy()
-     * method, to ensure that the computer's board is not changed).
+     * position, fires it at the computer's board, then publishes the move and whether it was a hit, a miss, or sunk a
+     * ship to the event bus (and waits for it to be rendered). Updates the player's enemy board and prints it. (Note:
+     * the shot is applied directly to the computer's board through the ShotTarget interface, which also updates the
+     * computer's ships, so no copy of the board is needed).
      *
-     * @param computerBoard: a copy of the computer's board, used to determine if the move made was a hit or a miss
-     * @return playerMove: an int[] array of length 2 containing the two indices of the player's move {i,j}
+     * @param computerBoard: the computer's board, which applies the shot and reports its result
+     * @return shotResult: the result of the player's move, encoded by the ShotResult class
      */
-    public int[] makeMove(Board computerBoard) {
-        int[] playerMove; // Player's move, to be returned regardless of hit or miss
+    public int makeMove(ShotTarget computerBoard) {
+        int[] playerPosition; // Player's chosen position {i,j}, as read from the console
+        int playerMove; // Player's move
+        int shotResult; // The result of the player's move
+        MoveEvent moveEvent = new MoveEvent(); // Recorded by Java Flight Recorder, if enabled (Note: never escapes, so the JIT removes it when JFR is off)
 
+        moveEvent.begin();
         System.out.println();
         System.out.println("Enemy Board: "); // Print the player's enemy board
         enemyBoard.printBoard();
 
-        playerMove = getPlayerPosition(); // Get the player's choice of position
+        playerPosition = getPlayerPosition(); // Get the player's choice of position
+        playerMove = Board.cellOf(playerPosition[0], playerPosition[1]); // Pack the position into a cell id; the rest of the move pipeline only uses cell ids
         this.incrementPlayerMovesCounter(); // Increment the player's move counter (because they have made one move)
 
-        System.out.println();
-        this.checkPlayerMove(playerMove, computerBoard); // Checks and outputs whether the player move was a hit or a miss and updates the player's enemy board
+        long startTime = Metrics.startTimer(); // Hit resolution is timed by the Metrics registry
+        shotResult = computerBoard.receiveShot(playerMove); // Fires the move at the computer's board
+        this.checkPlayerMove(playerMove, shotResult); // Publishes whether the player move was a hit or a miss and updates the player's enemy board
+        Metrics.recordPhase(GamePhase.HIT_RESOLUTION, startTime);
+        if (eventBus != null) {
+            eventBus.flush(); // The result must be rendered before the board below it
+        }
 
         System.out.println();
         System.out.println("Enemy Board: "); // Print the updated player's enemy board
         enemyBoard.printBoard();
+        moveEvent.end();
+        if (moveEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            moveEvent.side = "Player";
+            moveEvent.cell = playerMove;
+            moveEvent.position = Board.cellToPositionString(playerMove);
+            moveEvent.outcome = ShotResult.getOutcome(shotResult);
+            moveEvent.sunkLength = ShotResult.getSunkLength(shotResult);
+            moveEvent.strategy = "INPUT";
+            moveEvent.commit();
+        }
 
-        return playerMove; // Return the player move to the calling function (Note: this method is primarily called in the class GameManager, and the returned move is used to update the computer's board)
+        return shotResult; // Return the result to the calling function (Note: this method is primarily called in the class GameManager, which uses the result to decide if the game might be over)
     }
 
     /**
@@ -117,7 +127,7 @@ public class Player implements PlayerPosition {
     public int[] getPlayerPosition() {
         String playerInput; // The player's string input
         int[] playerPosition; // The player's choice of position
-        Scanner playerScanner = new Scanner(System.in); // Scanner to read the player's input
+        Scanner playerScanner = ConsoleInput.getScanner(); // Scanner to read the player's input (shared by every prompt)
 
         while (true) { // Loops until a valid position is received
             try {
@@ -143,47 +153,32 @@ public class Player implements PlayerPosition {
     }
 
     /**
-     * Determines if the passed player move was a hit or a miss by checking the same position in the computer's board,
-     * then outputs the state of the move using the Colours class and the position string representation of the
-     * player's move indices. Also updates the player's enemy board.
+     * Publishes the passed player move and its result to the event bus (see ConsoleRenderer for how they are output).
+     * Also updates the player's enemy board.
      *
-     * @param playerMove:    an int[] array of length 2 containing the indices of the player's move {i,j}
-     * @param computerBoard: the computer's board, used to determine if the player's move was a hit (ship) or a miss (no ship)
+     * @param playerMove: the cell id (i * 10 + j) of the player's move
+     * @param shotResult: the result of the player's move, encoded by the ShotResult class
      */
-    private void checkPlayerMove(int[] playerMove, Board computerBoard) {
-        String playerMoveString = Board.indicesToPositionString(playerMove); // Parse the player move indices into their position string representation (format [Letter][Number])
-
-        if (computerBoard.isShip(playerMove[0], playerMove[1])) { // If the move was a hit
-            System.out.println("Player Move [" + Colours.getYellow() + playerMoveString + Colours.getReset() + "] was a " + Colours.getRedBoldBright() + "HIT" + Colours.getReset()); // Output the state of the move
-            enemyBoard.addHit(playerMove[0], playerMove[1]); // Update the player's enemyBoard with a hit
+    private void checkPlayerMove(int playerMove, int shotResult) {
+        if (eventBus != null) {
+            eventBus.publishShot(gameId, GameEventBus.PLAYER, GameEventBus.COMPUTER, playerMove, shotResult); // Report the state of the move
+        }
+        if (ShotResult.isHit(shotResult)) { // If the move was a hit
+            enemyBoard.addHit(playerMove); // Update the player's enemyBoard with a hit
         } else { // If the move was a miss
-            System.out.println("Player Move [" + Colours.getYellow() + playerMoveString + Colours.getReset() + "] was a " + Colours.getCyan() + "MISS" + Colours.getReset()); // Output the state of the move
-            enemyBoard.addMiss(playerMove[0], playerMove[1]); // Update the player's enemyBoard with a hit
+            enemyBoard.addMiss(playerMove); // Update the player's enemyBoard with a miss
         }
     }
 
     // [Setter Methods]
 
     /**
-     * Adds a hit on the player's board at the position of the passed computer's move. (Note: made to allow the
-     * GameManager class to access the PlayerBoard's .addHit() method).
-     *
-     * @param computerMove: an int[] array containing the 2 indices of the computer's move {i,j}
-     * @see GameManager
+     * @param eventBus: the bus the player's moves are published to
+     * @param gameId:   the id of the game on the event bus
      */
-    public void addHit(int[] computerMove) {
-        board.addHit(computerMove[0], computerMove[1]);
-    }
-
-    /**
-     * Adds a miss on the player's board at the position of the passed computer's move. (Note: made to allow the
-     * GameManager class to access the PlayerBoard's .addMiss() method).
-     *
-     * @param computerMove: an int[] array containing the 2 indices of the computer's move {i,j}
-     * @see GameManager
-     */
-    public void addMiss(int[] computerMove) {
-        board.addMiss(computerMove[0], computerMove[1]);
+    public void setEventBus(GameEventBus eventBus, long gameId) {
+        this.eventBus = eventBus;
+        this.gameId = gameId;
     }
 
     /**
@@ -209,13 +204,6 @@ public class Player implements PlayerPosition {
         return board;
     }
 
-    /**
-     * @return a copy of the player's board
-     */
-    public Board getBoardCopy() {
-        return board.getBoardCopy();
-    }
-
     /**
      * @return the player's board's ships
      */
@@ -8,17 +8,21 @@ import java.util.Scanner; // For reading player input
  * A class that extends the Board class to represent the player's board, a specialized board unique to the player that
  * holds and represents where their ships are placed. This class both generates the player's board and ships, and also
  * updates and returns them when needed. This class also extends the PlayerPosition interface, which ensures that it
- * implements the .getPlayerPosition() method.
+ * implements the .getPlayerPosition() method, and the ShotTarget interface, which lets the computer fire at it.
  */
-public class PlayerBoard extends Board implements PlayerPosition {
+public class PlayerBoard extends Board implements PlayerPosition, ShotTarget {
     // Variables
-    private Board positionBoard; // Used to generate the player's board by showing the player the valid and invalid
-    // positions, represented by ValidPositions and InvalidPositions respectively; it is a
-    // copy of the player's board
-    private DirectionBoard directionBoard; // Used to generate the player's board by showing the player the valid and
-    // invalid directions, represented by ValidPositions and InvalidPositions
-    // respectively; it is a copy of the player's board, but it replaces empty
-    // cells with InvalidPositions
+    private final Board positionBoard; // Used to generate the player's board by showing the player the valid and
+    // invalid positions, represented by ValidPositions and InvalidPositions
+    // respectively; it holds the same ships as the player's board
+    private final long[][] validPositions; // A bitboard per ship length (validPositions[shipLength]) of the positions
+    // from which a ship of that length can currently be placed; updated only
+    // around the positions of each newly placed ship
+    private int validDirections; // A bitmask of the valid directions from the player's chosen position
+    private final DirectionBoard directionBoard; // Used to generate the player's board by showing the player the
+    // valid and invalid directions, represented by ValidPositions and
+    // InvalidPositions respectively; it is reset to a copy of the player's
+    // board (with empty cells replaced by InvalidPositions) for every ship
     private Ship[] ships; // An array of Ship objects, holds all 5 of the player's ships
 
     // Constructors
@@ -27,8 +31,9 @@ public class PlayerBoard extends Board implements PlayerPosition {
      * --Default Constructor for PlayerBoard--
      * Creates a completely new and empty board using Board's constructor, a new position board that is a copy of the
      * player's board and is used to represent valid positions, a new DirectionBoard that is a copy of the player's
-     * board and is used to represent valid directions, and a new Ship[] array to hold the board's 5 ships and their
-     * lengths {Carrier [5], Battleship [4], Destroyer [3], Submarine [3], Patrol Board [2]}, (Note: unlike other Board
+     * board and is used to represent valid directions, a new Ship[] array to hold the board's 5 ships and their
+     * lengths {Carrier [5], Battleship [4], Destroyer [3], Submarine [3], Patrol Board [2]}, and the bitboards of valid
+     * positions for each ship length (every position is valid on an empty board). (Note: unlike other Board
      * object constructors, this constructor doesn't directly call .generatePlayerBoard(), because in this class, that
      * method is much more complicated).
      */
@@ -36,34 +41,39 @@ public class PlayerBoard extends Board implements PlayerPosition {
         super(); // Uses Board's constructor (board is not yet entirely generated)
         positionBoard = new Board(this);
         directionBoard = new DirectionBoard(this);
-        this.ships = new Ship[5];
-        this.ships[0] = new Ship("Carrier", 5);
-        this.ships[1] = new Ship("Battleship", 4);
-        this.ships[2] = new Ship("Destroyer", 3);
-        this.ships[3] = new Ship("Submarine", 3);
-        this.ships[4] = new Ship("Patrol Boat", 2);
+        this.ships = Ship.createStandardFleet();
+        int maxShipLength = 0; // The length of the longest ship
+        for (Ship ship : ships) {
+            maxShipLength = Math.max(maxShipLength, ship.getLength());
+        }
+        validPositions = new long[maxShipLength + 1][BitBoard.WORDS];
+        for (long[] lengthValidPositions : validPositions) {
+            BitBoard.fill(lengthValidPositions);
+        }
     }
 
     // Methods
 
     /**
      * Generates the player's board by receiving and parsing user input. Iterates for every ship in the Ship[] array.
-     * First, determines all valid positions on the board and allows the player to choose the first position. Then,
-     * determines all valid directions using the player's choice of position and allows the player to choose the
-     * direction. Finally, places the ship onto the board and updates the ship object's position array.
+     * First, shows all valid positions on the board (using the bitboard of valid positions for the ship's length) and
+     * allows the player to choose the first position. Then, determines all valid directions using the player's choice
+     * of position and allows the player to choose the direction. Finally, places the ship onto the board, updates the
+     * ship object's position array and updates the valid positions around the placed ship.
      */
     public void generatePlayerBoard() {
         String shipName; // Name of the current ship
         int shipLength; // Length of the current ship; determines how many positions the player must input and which positions are valid
-        int[][] shipPositions; // Holds the indices of every position of the current ship; inner list length is always 2 (2 indices), outer list length varies with ship length
+        int[] shipPositions; // Holds the cell ids of every position of the current ship; length varies with ship length
         int[] playerPosition; // An int[] array of length 2 that holds the indices of the player's chosen position {i,j}
         int playerIndexI; // The indexI of the player's position
         int playerIndexJ; // The indexJ of the player's position
-        String playerDirection; // The string representation of the player's chosen direction
+        Direction playerDirection; // The player's chosen direction
+        PlacementEvent placementEvent = new PlacementEvent(); // Recorded by Java Flight Recorder, if enabled
 
+        placementEvent.begin();
         for (Ship ship : ships) { // For every ship [5] in the Ship[] array
-            this.resetPositionBoard(); // Set positionBoard to a new Board that is a copy of the current main board
-            this.resetDirectionBoard(); // Set directionBoard to a new DirectionBoard that is a copy of the current main board
+            this.resetDirectionBoard(); // Reset directionBoard to a copy of the current main board
             shipName = ship.getName(); // Get the name of the ship
             shipLength = ship.getLength(); // Get the length of the ship
 
@@ -72,12 +82,10 @@ public class PlayerBoard extends Board implements PlayerPosition {
 
             for (int i = 0; i < positionBoard.getLength(); i++) { // For every row in the position board
                 for (int j = 0; j < positionBoard.getLength(); j++) { // For every position in the position board
-                    if (positionBoard.checkPositionValidity(i, j, shipLength)) { // If the position is valid
+                    if (BitBoard.get(validPositions[shipLength], Board.cellOf(i, j))) { // If the position is valid
                         positionBoard.addValidPosition(i, j); // Represent the position as a ValidPosition
-                    } else {
-                        if (!positionBoard.isShip(i, j)) { // If the position is not a ship
-                            positionBoard.addInvalidPosition(i, j); // Represent the position as an InvalidPosition
-                        }
+                    } else if (!positionBoard.isShip(i, j)) { // If the position is not a ship
+                        positionBoard.addInvalidPosition(i, j); // Represent the position as an InvalidPosition
                     }
                 }
             }
@@ -87,15 +95,63 @@ public class PlayerBoard extends Board implements PlayerPosition {
             playerPosition = this.getPlayerPosition(); // Get the player's choice of position
             playerIndexI = playerPosition[0]; // The indexI of the player's choice of position
             playerIndexJ = playerPosition[1]; // The indexJ of the player's choice of position
-            positionBoard.addShip(playerIndexI, playerIndexJ); // Adds the ship to this object's position board
             directionBoard.addShip(playerIndexI, playerIndexJ); // Adds the ship to this object's direction board
 
-            directionBoard.updateValidPositionDirections(playerIndexI, playerIndexJ, shipLength); // Calculate and update the valid directions based on the player's choice of position and ship length
+            validDirections = directionBoard.updateValidPositionDirections(playerIndexI, playerIndexJ, shipLength); // Calculate and update the valid directions based on the player's choice of position and ship length
             System.out.println();
             directionBoard.printBoard(); // Print the directionBoard with the possible valid directions for the player to choose
             playerDirection = this.getPlayerDirection(); // Get the player's choice of direction
             shipPositions = this.placeShipOnBoard(playerIndexI, playerIndexJ, playerDirection, shipLength); // Place the ship on the main board and receive the ship positions
             ship.addPositions(shipPositions); // Add the received ship positions to the current ship object's positions array
+            for (int shipPosition : shipPositions) {
+                positionBoard.addShip(shipPosition); // Adds the ship to this object's position board
+            }
+            this.updateValidPositions(shipPositions); // Only positions near the placed ship can have become invalid
+        }
+        placementEvent.end();
+        if (placementEvent.shouldCommit()) { // Only fills in the fields if the event will be recorded
+            placementEvent.side = "Player";
+            placementEvent.strategy = "INPUT";
+            placementEvent.ships = ships.length;
+            placementEvent.rejectedPositions = 0; // Only valid positions are accepted from the player
+            placementEvent.commit();
+        }
+    }
+
+    /**
+     * Updates the bitboards of valid positions after a ship has been placed on the passed positions. A position's
+     * validity for a ship of length L can only change if the position is within L - 1 positions of a newly occupied
+     * position, in the same row or column, so only those positions are rechecked (instead of the whole board).
+     *
+     * @param shipPositions: the cell ids of the positions of the ship that was just placed
+     */
+    private void updateValidPositions(int[] shipPositions) {
+        int i; // The indexI of the current ship position
+        int j; // The indexJ of the current ship position
+
+        for (int shipPosition : shipPositions) {
+            i = Board.cellIndexI(shipPosition);
+            j = Board.cellIndexJ(shipPosition);
+            for (int shipLength = 1; shipLength < validPositions.length; shipLength++) {
+                for (int k = 1 - shipLength; k < shipLength; k++) { // Every position within shipLength - 1 of the ship position
+                    this.updateValidPosition(i + k, j, shipLength); // Same column
+                    this.updateValidPosition(i, j + k, shipLength); // Same row
+                }
+            }
+        }
+    }
+
+    /**
+     * Rechecks whether a ship of the passed length can be placed from the passed position and updates that length's
+     * bitboard of valid positions. Does nothing if the position is not within the board.
+     *
+     * @param i:          indexI of the position
+     * @param j:          indexJ of the position
+     * @param shipLength: length of the ship
+     */
+    private void updateValidPosition(int i, int j, int shipLength) {
+        if (this.containsPosition(i, j)) {
+            BitBoard.set(validPositions[shipLength], Board.cellOf(i, j), this.checkPositionValidity(i, j, shipLength));
         }
     }
 
@@ -110,7 +166,7 @@ public class PlayerBoard extends Board implements PlayerPosition {
     public int[] getPlayerPosition() {
         String playerInput; // The player's string input
         int[] playerPosition; // The player's choice of position
-        Scanner playerScanner = new Scanner(System.in); // Scanner to read the player's input
+        Scanner playerScanner = ConsoleInput.getScanner(); // Scanner to read the player's input (shared by every prompt)
 
         while (true) { // Loops until a valid position is received
             try {
@@ -142,23 +198,23 @@ public class PlayerBoard extends Board implements PlayerPosition {
      * Receives player input for their choice of direction and returns it. If the inputted direction is invalid, it
      * keeps on looping until a valid position is entered.
      *
-     * @return playerDirection: a valid direction string that is either "D", "U", "R", or "L"
+     * @return playerDirection: a valid Direction
      */
-    public String getPlayerDirection() {
-        String playerDirection; // The player's string input for the direction
-        Scanner playerScanner = new Scanner(System.in); // Scanner to read the player's input
+    public Direction getPlayerDirection() {
+        Direction playerDirection; // The player's parsed input for the direction
+        Scanner playerScanner = ConsoleInput.getScanner(); // Scanner to read the player's input (shared by every prompt)
 
         while (true) { // Loops until a valid direction is received
             try {
                 System.out.println();
-                System.out.println("Possible directions: " + directionBoard.getPossibleDirectionsString()); // Print out the possible directions to the player
+                System.out.println("Possible directions: " + Direction.toString(validDirections)); // Print out the possible directions to the player
                 System.out.print("Please choose a direction [Letter]: ");
                 if (playerScanner.hasNextLine()) { // If the player inputted something
-                    playerDirection = playerScanner.nextLine(); // Receive the input
-                    if (directionBoard.possibleDirectionsContains(playerDirection)) { // If the player inputted direction is in the possible directions ArrayList, and is thus valid
-                        return playerDirection.toUpperCase(); // Return the valid direction
-                    } else { // If the direction is not in the possible directions ArrayList
-                        if (directionBoard.validDirection(playerDirection)) { // If the direction would otherwise be valid ("D", "U", "R", "L"), but is not in the possible directions for the current position
+                    playerDirection = Direction.fromSymbol(playerScanner.nextLine()); // Receive and parse the input
+                    if ((playerDirection != null) && (playerDirection.isIn(validDirections))) { // If the player inputted direction is in the valid directions bitmask, and is thus valid
+                        return playerDirection; // Return the valid direction
+                    } else { // If the direction is not in the valid directions bitmask
+                        if (playerDirection != null) { // If the direction would otherwise be valid ("D", "U", "R", "L"), but is not in the possible directions for the current position
                             System.out.println("That direction is not available, please try again");
                         } else { // If the direction is simply invalid
                             System.out.println("That input is invalid, please try again");
@@ -174,41 +230,26 @@ public class PlayerBoard extends Board implements PlayerPosition {
     }
 
     /**
-     * Resets the positionBoard back to its original state by setting it to a new Board that is a copy
-     * of the current main board.
-     */
-    public void resetPositionBoard() {
-        positionBoard = new Board(this);
-    }
-
-    /**
-     * Resets the directionBoard back to its original state by setting it to a new DirectionBoard that is a copy
-     * of the current main board.
+     * Resets the directionBoard back to its original state, in place, as a copy of the current main board.
      */
     public void resetDirectionBoard() {
-        directionBoard = new DirectionBoard(this);
+        directionBoard.reset(this);
     }
 
     /**
-     * Receives the computer's move, which has been determined to be a hit, and updates the corresponding position in
-     * one of the ships in the player's board's array of ships. (Note: this method is only called in the Player class,
-     * in which an instance of PlayerBoard exists, because, although player/computer moves are made in the
-     * Player/Computer classes respectively, their ships are stored within their Board classes
-     * (PlayerBoard/ComputerBoard), so there is a need to access the board classes).
+     * Applies the passed shot to the board and the player's ships, and returns its result (see Board's .applyShot(),
+     * which holds the shot rules of both sides). This method's implementation is required by the ShotTarget interface.
      *
-     * @param computerMove: an int[] array of length 2 that contains the two indices of the computer's move {i,j}
+     * @param cell: the cell id (i * 10 + j) of the shot
+     * @return the shot's result, encoded by the ShotResult class
+     * @see ShotTarget
      */
-    public void updateHitShipPositions(int[] computerMove) {
-        for (Ship ship : ships) { // For every ship [5] in the Ship[] array; there will be only one position, in one ship,
-            // that is in the same position as the computer move
-            ship.updateHitPositions(computerMove); // If the computer's move position is in the current ship's positions
-            // it will update the position to {-1,-1} to simulate removal,
-            // otherwise, it does nothing.
-        }
+    public int receiveShot(int cell) {
+        return this.applyShot(cell, ships);
     }
 
     /**
-     * Iterates through every ship in the Ship[] array and checks if they are sunk (all positions are {-1,-1}/removed).
+     * Iterates through every ship in the Ship[] array and checks if they are sunk (all positions are -1/removed).
      * If there is even one non-sunk ship, returns false. Otherwise, returns true.
      *
      * @return boolean: true if all ships are sunk, false if even one ship is not yet sunk
@@ -231,6 +272,14 @@ public class PlayerBoard extends Board implements PlayerPosition {
         return positionBoard;
     }
 
+    /**
+     * @param shipLength: the length of a ship
+     * @return the bitboard of positions from which a ship of the passed length can currently be placed
+     */
+    public long[] getValidPositions(int shipLength) {
+        return validPositions[shipLength];
+    }
+
     /**
      * @return the PlayerBoard's direction board
      */
@@ -0,0 +1,30 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import jdk.jfr.Category; // Groups the game's events in JDK Mission Control
+import jdk.jfr.Description; // Describes the event and its fields
+import jdk.jfr.Event; // The base class of every Java Flight Recorder event
+import jdk.jfr.Label; // The human-readable names of the event and its fields
+import jdk.jfr.Name; // The event's name in recordings
+import jdk.jfr.StackTrace; // Turns off stack traces, which the event doesn't need
+
+/**
+ * A Java Flight Recorder event for a board being printed to the console: which kind of board it was, how many of its
+ * positions were hits or misses, and how long printing it took.
+ */
+@Name("battleship.Render")
+@Label("Board Render")
+@Category("Battleship")
+@Description("A board printed to the console")
+@StackTrace(false)
+public class RenderEvent extends Event {
+    // Variables
+    @Label("Board")
+    @Description("The class of the printed board, e.g. Board, PlayerBoard or DirectionBoard")
+    String board; // The class of the printed board
+
+    @Label("Shots")
+    @Description("The number of hits and misses shown on the board")
+    int shots; // The number of hits and misses shown
+}
@@ -9,8 +9,9 @@ public class Ship {
     // Variables
     private final String name; // Name of the ship
     private final int length; // Length of the ship; used to determine the number of positions for the positions array
-    private int[][] positions; // Nested array holding the positions (i,j) of the ship on a board; outer loop length
-    // determined by length of the ship, inner loop length is always 2 (2 indices)
+    private final int[] positions; // Array holding the cell ids (i * 10 + j) of the ship's positions on a board; length
+    // determined by length of the ship
+    private static final int HIT_POSITION = -1; // Replaces a position's cell id once that position has been hit
 
     // Constructors
 
@@ -23,69 +24,58 @@ public class Ship {
     public Ship(String name, int length) {
         this.name = name;
         this.length = length;
-        this.positions = new int[length][2]; // 2-D board, so each position will have 2 indices
+        this.positions = new int[length]; // One cell id per position
     }
 
     // Methods
 
     /**
-     * Updates the ship position that has been hit by the passed int[] move to {-1,-1}. Iterates through the positions
-     * array, checking for a match to the passed move. Once a match is found, it sets the indices of the position to
-     * {-1,-1} (to simulate removal of that position, which is otherwise difficult because positions is a static int
-     * array). Assumes that the move has already been confirmed to be a hit.
+     * Updates the ship position that has been hit by the passed move to HIT_POSITION (-1). Iterates through the
+     * positions array, checking for a match to the passed cell id. Once a match is found, it sets the position to
+     * HIT_POSITION (to simulate removal of that position, which is otherwise difficult because positions is a static
+     * int array). Assumes that the move has already been confirmed to be a hit.
      *
-     * @param move: the position to look for
+     * @param move: the cell id (i * 10 + j) of the position to look for
+     * @return boolean: true if the move hit one of this ship's positions, false otherwise
      */
-    public void updateHitPositions(int[] move) {
+    public boolean updateHitPositions(int move) {
         for (int i = 0; i < positions.length; i++) {
-            if ((positions[i][0] == move[0]) && (positions[i][1] == move[1])) { // If position == move
-                positions[i][0] = -1; // A ship's position being -1 implies that the position has been hit
-                positions[i][1] = -1;
+            if (positions[i] == move) { // If position == move
+                positions[i] = HIT_POSITION; // A ship's position being -1 implies that the position has been hit
+                return true; // A ship never holds the same position twice
             }
         }
+        return false;
     }
 
     /**
-     * Iterates through the positions array, looking for a non-hit (!= {-1,-1}) position. If there is even one
+     * Iterates through the positions array, looking for a non-hit (!= HIT_POSITION) position. If there is even one
      * non-hit position, the ship is not sunk, and it returns false. Otherwise, the ship is sunk, and it returns true.
      * If all a player's board's ships are sunk, it means that the game is over and that the opponent has won.
      *
      * @return boolean: true if sunk, false otherwise
      */
     public boolean isSunk() {
-        for (int[] position : positions) {
-            if ((position[0] != -1) && (position[1] != -1)) { // If the position has not yet been hit
+        for (int position : positions) {
+            if (position != HIT_POSITION) { // If the position has not yet been hit
                 return false; // Ship has not been sunk
             }
         }
         return true; // Ship has been sunk
-
-//        for(int i = 0; i < positions.length; i++){
-//            for(int j = 0; j < positions[i].length; j++){
-//                if(positions[i][j] != -1){ // If the position has not yet been hit
-//                    return false; // Ship has not been sunk
-//                }
-//            }
-//        }
-//        return true; // Ship has been sunk
     }
 
     // [Setter Methods]
 
     /**
-     * Adds positions to the ship's positions array. Copies the passed int[][] array. Updates all positions in one
-     * method call, instead of a method call per position, thus it requires that the shipPositions array be initialized,
-     * updated, and passed in the calling function.
+     * Adds positions to the ship's positions array. Copies the passed int[] array of cell ids. Updates all positions in
+     * one method call, instead of a method call per position, thus it requires that the shipPositions array be
+     * initialized, updated, and passed in the calling function.
      *
-     * @param shipPositions: int[][] array of positions to be copied
+     * @param shipPositions: int[] array of cell ids to be copied
      */
-    public void addPositions(int[][] shipPositions) {
+    public void addPositions(int[] shipPositions) {
         if (shipPositions.length == length) { // Ensuring that the passed array is of the correct length
-            for (int i = 0; i < shipPositions.length; i++) {
-                for (int j = 0; j < shipPositions[i].length; j++) {
-                    positions[i][j] = shipPositions[i][j];
-                }
-            }
+            System.arraycopy(shipPositions, 0, positions, 0, length);
         }
     }
 
@@ -106,9 +96,55 @@ public class Ship {
     }
 
     /**
-     * @return Ship's positions, a nested array containing 2 indices for each position
+     * @return Ship's positions, an array containing the cell id (i * 10 + j) of each position
      */
-    public int[][] getPositions() {
+    public int[] getPositions() {
         return positions;
     }
+
+    /**
+     * @return the cell id of the ship's top (or leftmost) position (Note: only meaningful before the ship has been hit,
+     * because hit positions are replaced with HIT_POSITION)
+     */
+    public int getFirstPosition() {
+        return Math.min(positions[0], positions[length - 1]); // Ships are placed from either end
+    }
+
+    /**
+     * @return the cell id of the ship's bottom (or rightmost) position (Note: only meaningful before the ship has been
+     * hit, because hit positions are replaced with HIT_POSITION)
+     */
+    public int getLastPosition() {
+        return Math.max(positions[0], positions[length - 1]); // Ships are placed from either end
+    }
+
+    // Static Methods
+
+    /**
+     * Creates the standard fleet of 5 ships that every board holds: {Carrier [5], Battleship [4], Destroyer [3],
+     * Submarine [3], Patrol Boat [2]}, in the order they are placed.
+     *
+     * @return a new Ship[] array holding the 5 ships of the standard fleet
+     */
+    public static Ship[] createStandardFleet() {
+        return new Ship[]{
+                new Ship("Carrier", 5),
+                new Ship("Battleship", 4),
+                new Ship("Destroyer", 3),
+                new Ship("Submarine", 3),
+                new Ship("Patrol Boat", 2)
+        };
+    }
+
+    /**
+     * @return a new int[] array holding the lengths of the standard fleet's ships, in the order they are placed
+     */
+    public static int[] getStandardFleetLengths() {
+        Ship[] fleet = Ship.createStandardFleet();
+        int[] shipLengths = new int[fleet.length];
+        for (int ship = 0; ship < fleet.length; ship++) {
+            shipLengths[ship] = fleet[ship].getLength();
+        }
+        return shipLengths;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.io.IOException; // Thrown if the table file can't be opened or isn't a table
+import java.nio.MappedByteBuffer; // The table, mapped into memory
+import java.nio.channels.FileChannel; // To map the table file
+import java.nio.file.Path; // The location of the table file
+import java.nio.file.StandardOpenOption; // To open (or create) the table file for reading and writing
+
+/**
+ * A persistent table of where human opponents fire early in a game: for every cell, the number of games in which the
+ * opponent fired at it within their first EARLY_SHOTS shots. The table is a small file mapped into memory, so it is
+ * updated in place (a few longs) after every game and survives between runs without ever being loaded or saved as a
+ * whole. Computers use it to place their ships away from the cells opponents tend to fire at first (see
+ * AdaptivePlacer). An opponent's shots are gathered from the game's GameEventBus by the handler returned by
+ * .recordShotsOf(), which adds them to the table once the game is over.
+ * File format (big-endian): MAGIC, VERSION, the number of games recorded (a long), then the count of every cell (100
+ * longs).
+ */
+public class ShotFrequencyTable {
+    // Variables
+    public static final int MAGIC = 0x42534631; // "BSF1"; the first 4 bytes of every table file
+    public static final int VERSION = 1; // The version of the file format
+    public static final int EARLY_SHOTS = 20; // The number of an opponent's first shots that are recorded
+    private static final int GAMES_OFFSET = 8; // The offset of the number of games recorded
+    private static final int COUNTS_OFFSET = 16; // The offset of the first cell's count
+    private static final int FILE_BYTES = COUNTS_OFFSET + 100 * Long.BYTES; // The size of the file
+    private static final double PRIOR_GAMES = 10; // The number of uniform games the counts are smoothed with, so a new table doesn't favour any cell
+    private final FileChannel channel; // The table file
+    private final MappedByteBuffer table; // The table file, mapped into memory
+
+    // Constructors
+
+    /**
+     * --Constructor for ShotFrequencyTable--
+     * Opens the table file and maps it into memory, creating an empty table if the file doesn't exist (or is empty).
+     *
+     * @param file: the table file
+     * @throws IOException if the file can't be opened or holds something other than a table of this version
+     */
+    public ShotFrequencyTable(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        boolean created = channel.size() == 0;
+        if ((!created) && (channel.size() != FILE_BYTES)) {
+            channel.close();
+            throw new IOException(file + " isn't a shot frequency table");
+        }
+        table = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES); // Grows a new file to its full size, filled with 0s
+        if (created) {
+            table.putInt(0, MAGIC);
+            table.putInt(4, VERSION);
+        } else if ((table.getInt(0) != MAGIC) || (table.getInt(4) != VERSION)) {
+            channel.close();
+            throw new IOException(file + " isn't a version " + VERSION + " shot frequency table");
+        }
+    }
+
+    // Methods
+
+    /**
+     * Adds a game to the table: every cell among the opponent's first EARLY_SHOTS shots is counted once.
+     *
+     * @param cells: the cell ids of the opponent's shots, in order
+     * @param shots: the number of shots in the array
+     */
+    public synchronized void recordGame(int[] cells, int shots) {
+        for (int shot = 0; shot < Math.min(shots, EARLY_SHOTS); shot++) {
+            int offset = COUNTS_OFFSET + cells[shot] * Long.BYTES;
+            table.putLong(offset, table.getLong(offset) + 1);
+        }
+        table.putLong(GAMES_OFFSET, table.getLong(GAMES_OFFSET) + 1);
+    }
+
+    /**
+     * Fills the passed array with the probability that an opponent fires at each cell within their first EARLY_SHOTS
+     * shots, smoothed towards the uniform probability (EARLY_SHOTS / 100) by PRIOR_GAMES games.
+     *
+     * @param probabilities: an array of length 100 to fill
+     * @return the number of games recorded when the probabilities were taken
+     */
+    public synchronized long copyProbabilities(double[] probabilities) {
+        long games = table.getLong(GAMES_OFFSET);
+        double uniform = EARLY_SHOTS / 100.0; // The probability if opponents fired at random
+        for (int cell = 0; cell < 100; cell++) {
+            probabilities[cell] = (table.getLong(COUNTS_OFFSET + cell * Long.BYTES) + PRIOR_GAMES * uniform) / (games + PRIOR_GAMES);
+        }
+        return games;
+    }
+
+    /**
+     * Creates a handler that gathers one side's shots from a game's GameEventBus and records them once the game is
+     * over. (Note: create one handler per game; it remembers the shots of a single game).
+     *
+     * @param side: the side whose shots are recorded (e.g. GameEventBus.PLAYER)
+     * @return the handler, to subscribe to the game's event bus
+     */
+    public GameEventHandler recordShotsOf(int side) {
+        int[] cells = new int[EARLY_SHOTS]; // The cell ids of the side's first shots
+        int[] shots = new int[1]; // The number of the side's shots gathered so far
+        return (type, gameId, actor, cell, value, timestamp) -> {
+            if ((type == GameEventType.SHOT_FIRED) && (actor == side) && (shots[0] < EARLY_SHOTS)) {
+                cells[shots[0]++] = cell;
+            } else if (type == GameEventType.GAME_OVER) {
+                this.recordGame(cells, shots[0]);
+            }
+        };
+    }
+
+    /**
+     * Writes the table to the disk and closes the file.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    public synchronized void close() throws IOException {
+        table.force();
+        channel.close();
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of games recorded
+     */
+    public synchronized long getGames() {
+        return table.getLong(GAMES_OFFSET);
+    }
+
+    /**
+     * @param cell: a cell id
+     * @return the number of games in which the opponent fired at the cell within their first EARLY_SHOTS shots
+     */
+    public synchronized long getCount(int cell) {
+        return table.getLong(COUNTS_OFFSET + cell * Long.BYTES);
+    }
+
+    // Static Methods
+
+    /**
+     * Opens the table at the file named by the system property battleship.shotTable, if it is set.
+     *
+     * @return the table, or null if the property isn't set or the file can't be opened
+     */
+    public static ShotFrequencyTable openFromProperty() {
+        String file = System.getProperty("battleship.shotTable");
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new ShotFrequencyTable(Path.of(file));
+        } catch (IOException e) {
+            System.out.println("Couldn't open the shot frequency table [" + file + "]: " + e.getMessage());
+            return null;
+        }
+    }
+}
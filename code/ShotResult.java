@@ -0,0 +1,83 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * A static class that encodes the result of a shot in a single int, so that results can be returned and passed around
+ * the firing pipeline without allocating. A result is either a MISS (0), a HIT (1), or a HIT that sunk a ship, which
+ * also holds the length of the sunk ship: HIT | SUNK_FLAG | (length << LENGTH_SHIFT).
+ */
+public final class ShotResult {
+    // Variables
+    public static final int MISS = 0; // The shot didn't hit a ship
+    public static final int HIT = 1; // The shot hit a ship
+    private static final int SUNK_FLAG = 2; // Set if the shot sunk the ship it hit
+    private static final int LENGTH_SHIFT = 8; // The position of the sunk ship's length
+
+    // Constructors
+
+    /**
+     * --Constructor for ShotResult--
+     * (inaccessible, because there are not meant to be any instances of this class)
+     */
+    private ShotResult() {
+    }
+
+    // Static Methods
+
+    /**
+     * @param shipLength: the length of the sunk ship
+     * @return the result of a shot that sunk a ship of the passed length
+     */
+    public static int sunk(int shipLength) {
+        return HIT | SUNK_FLAG | (shipLength << LENGTH_SHIFT);
+    }
+
+    /**
+     * @param result: a shot result
+     * @return boolean: true if the shot hit a ship (including if it sunk it), false otherwise
+     */
+    public static boolean isHit(int result) {
+        return (result & HIT) != 0;
+    }
+
+    /**
+     * @param result: a shot result
+     * @return boolean: true if the shot sunk a ship, false otherwise
+     */
+    public static boolean isSunk(int result) {
+        return (result & SUNK_FLAG) != 0;
+    }
+
+    /**
+     * @param result: a shot result
+     * @return the length of the sunk ship, or 0 if the shot didn't sink a ship
+     */
+    public static int getSunkLength(int result) {
+        return result >>> LENGTH_SHIFT;
+    }
+
+    /**
+     * @param result: a shot result
+     * @return the outcome of the shot: "MISS", "HIT" or "SUNK" (Note: constants, so nothing is allocated)
+     */
+    public static String getOutcome(int result) {
+        if (!ShotResult.isHit(result)) {
+            return "MISS";
+        }
+        return ShotResult.isSunk(result) ? "SUNK" : "HIT";
+    }
+
+    /**
+     * @param result: a shot result
+     * @return the coloured String representation of the result: "MISS", "HIT", or "HIT (SUNK a ship of length n)"
+     */
+    public static String toColouredString(int result) {
+        if (!ShotResult.isHit(result)) {
+            return Colours.getCyan() + "MISS" + Colours.getReset();
+        }
+        if (ShotResult.isSunk(result)) {
+            return Colours.getRedBoldBright() + "HIT" + Colours.getReset() + " (" + Colours.getRedBoldBright() + "SUNK" + Colours.getReset() + " a ship of length " + Colours.getCyan() + ShotResult.getSunkLength(result) + Colours.getReset() + ")";
+        }
+        return Colours.getRedBoldBright() + "HIT" + Colours.getReset();
+    }
+}
@@ -0,0 +1,22 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+/**
+ * An interface that requires the implementation of a receiveShot() method. This interface was created so that Player
+ * and Computer can fire at each other's real boards (PlayerBoard and ComputerBoard, which both implement the
+ * interface) through a single call that applies the shot and reports its result, instead of checking a copy of the
+ * board and then updating the original.
+ * @see PlayerBoard
+ * @see ComputerBoard
+ * @see ShotResult
+ */
+public interface ShotTarget {
+    /**
+     * Applies a shot to the board: a Ship becomes a Hit (damaging the ship it belongs to), an empty cell becomes a Miss,
+     * and a position that was already fired at is left unchanged.
+     *
+     * @param cell: the cell id (i * 10 + j) of the shot
+     * @return the shot's result, encoded by the ShotResult class
+     */
+    public int receiveShot(int cell);
+}
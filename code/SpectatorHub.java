@@ -0,0 +1,223 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.concurrent.ConcurrentHashMap; // Maps each game id to its channel
+import java.util.concurrent.CopyOnWriteArrayList; // The subscriptions of a game; read on every frame, changed rarely
+import java.util.concurrent.atomic.AtomicInteger; // The sequence number of a game's next frame
+import java.util.concurrent.atomic.LongAdder; // Counts encoded and delivered frames
+
+/**
+ * A hub that lets spectators watch live games. Games publish every shot fired (through a GameEventBus subscriber from
+ * .relayShots(), or a ShotTarget wrapped by .broadcast()); the hub encodes each shot once into an immutable GameFrame
+ * and fans the same frame out to every SpectatorSubscription of that game, each of which is a bounded ring that drops
+ * its oldest frame when its spectator falls behind. Shots of games nobody is watching are not encoded at all.
+ */
+public class SpectatorHub {
+    // Variables
+    private final ConcurrentHashMap<Long, Channel> channels; // The channel of every game with at least one subscription so far
+    private final LongAdder encodedFrames; // The number of frames encoded
+    private final LongAdder deliveredFrames; // The number of frames offered to subscriptions (a frame counts once per subscription)
+
+    // Constructors
+
+    /**
+     * --Constructor for SpectatorHub--
+     */
+    public SpectatorHub() {
+        channels = new ConcurrentHashMap<>();
+        encodedFrames = new LongAdder();
+        deliveredFrames = new LongAdder();
+    }
+
+    // Methods
+
+    /**
+     * Subscribes a new spectator to a game.
+     *
+     * @param gameId:   the id of the game to watch
+     * @param capacity: the maximum number of unread frames held for the spectator
+     * @return the spectator's subscription
+     */
+    public SpectatorSubscription subscribe(long gameId, int capacity) {
+        SpectatorSubscription subscription = new SpectatorSubscription(gameId, capacity);
+        channels.computeIfAbsent(gameId, id -> new Channel()).subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Unsubscribes a spectator; no more frames are offered to the subscription.
+     *
+     * @param subscription: the spectator's subscription
+     */
+    public void unsubscribe(SpectatorSubscription subscription) {
+        subscription.close();
+        Channel channel = channels.get(subscription.getGameId());
+        if (channel != null) {
+            channel.subscriptions.remove(subscription);
+        }
+    }
+
+    /**
+     * Publishes a shot of a game: encodes it once and offers the frame to every subscription of the game that hasn't
+     * been closed.
+     *
+     * @param gameId:     the id of the game
+     * @param actor:      the side that fired
+     * @param target:     the side that was fired at
+     * @param cell:       the cell id of the shot
+     * @param shotResult: the shot's result, encoded by the ShotResult class
+     */
+    public void publishShot(long gameId, int actor, int target, int cell, int shotResult) {
+        Channel channel = channels.get(gameId);
+        if ((channel == null) || (channel.subscriptions.isEmpty())) { // Nobody is watching
+            return;
+        }
+        GameFrame frame = GameFrame.encode(gameId, channel.nextSequence.getAndIncrement(), actor, target, cell, shotResult);
+        encodedFrames.increment();
+        int delivered = 0; // The number of subscriptions offered the frame
+        for (SpectatorSubscription subscription : channel.subscriptions) {
+            if (!subscription.isClosed()) { // A subscription closed while the frame was being published is skipped
+                subscription.offer(frame);
+                delivered++;
+            }
+        }
+        deliveredFrames.add(delivered);
+    }
+
+    /**
+     * Wraps a side's board so that every shot fired at it is also published to the game's spectators. (Note: the
+     * wrapper is created once per game, so firing through it doesn't allocate anything beyond the frames).
+     *
+     * @param gameId: the id of the game
+     * @param actor:  the side firing at the board
+     * @param target: the side whose board it is
+     * @param board:  the board being fired at
+     * @return a ShotTarget that fires at the board and publishes the shot
+     */
+    public ShotTarget broadcast(long gameId, int actor, int target, ShotTarget board) {
+        return cell -> {
+            int shotResult = board.receiveShot(cell);
+            this.publishShot(gameId, actor, target, cell, shotResult);
+            return shotResult;
+        };
+    }
+
+    /**
+     * Creates a handler that publishes every shot on a game's GameEventBus to the game's spectators, so the game loop
+     * never encodes or fans out frames itself. (Note: create one handler per game; it remembers the target of the last
+     * SHOT_FIRED event until its result arrives).
+     *
+     * @param gameId: the id of the game on the hub (which may differ from its id on the bus)
+     * @return the handler, to subscribe to the game's event bus
+     */
+    public GameEventHandler relayShots(long gameId) {
+        int[] target = new int[1]; // The side fired at by the shot whose result is next
+        return (type, busGameId, actor, cell, value, timestamp) -> {
+            if (type == GameEventType.SHOT_FIRED) {
+                target[0] = value;
+            } else if ((type == GameEventType.HIT) || (type == GameEventType.MISS) || (type == GameEventType.SUNK)) {
+                this.publishShot(gameId, actor, target[0], cell, value);
+            }
+        };
+    }
+
+    /**
+     * Forgets a finished game; its subscriptions stay readable but receive no more frames.
+     *
+     * @param gameId: the id of the game
+     */
+    public void endGame(long gameId) {
+        Channel channel = channels.remove(gameId);
+        if (channel != null) {
+            for (SpectatorSubscription subscription : channel.subscriptions) {
+                subscription.close();
+            }
+        }
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the number of frames encoded
+     */
+    public long getEncodedFrames() {
+        return encodedFrames.sum();
+    }
+
+    /**
+     * @return the number of frames offered to subscriptions (a frame counts once per subscription)
+     */
+    public long getDeliveredFrames() {
+        return deliveredFrames.sum();
+    }
+
+    // Static Methods
+
+    /**
+     * Usage: SpectatorHub [spectators] - plays a game between two Computers with [spectators] spectators watching
+     * (1000 by default). Every other spectator reads each frame as it arrives; the rest only read once the game is
+     * over, so their rings overflow. Outputs how many frames were encoded and delivered, what the spectators saw, and
+     * replays the game from the first spectator's frames.
+     *
+     * @param args: the command line arguments
+     */
+    public static void main(String[] args) {
+        int spectatorCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        SpectatorHub hub = new SpectatorHub();
+        long gameId = 1;
+        SpectatorSubscription[] subscriptions = new SpectatorSubscription[spectatorCount];
+        for (int s = 0; s < spectatorCount; s++) {
+            subscriptions[s] = hub.subscribe(gameId, 32);
+        }
+
+        Computer[] computers = {new Computer(), new Computer()};
+        computers[0].generateBoard();
+        computers[1].generateBoard();
+        ShotTarget[] targets = {hub.broadcast(gameId, 0, 1, computers[1].getBoard()), hub.broadcast(gameId, 1, 0, computers[0].getBoard())}; // targets[side] is the board the side fires at
+        Board replay = new Board(); // Side 1's board as seen by the first spectator
+        long liveReads = 0;
+        int shots = 0;
+        for (int side = 0; (!computers[0].checkWin()) && (!computers[1].checkWin()); side = 1 - side) {
+            int cell = computers[side].chooseMove();
+            computers[side].recordMoveResult(cell, targets[side].receiveShot(cell));
+            shots++;
+            for (int s = 0; s < spectatorCount; s += 2) { // The live spectators
+                GameFrame frame;
+                while ((frame = subscriptions[s].poll()) != null) {
+                    liveReads++;
+                    if ((s == 0) && (frame.getTarget() == 1)) {
+                        if (ShotResult.isHit(frame.getShotResult())) {
+                            replay.addHit(frame.getCell());
+                        } else {
+                            replay.addMiss(frame.getCell());
+                        }
+                    }
+                }
+            }
+        }
+        hub.endGame(gameId);
+
+        long lateReads = 0;
+        long dropped = 0;
+        for (int s = 1; s < spectatorCount; s += 2) { // The late spectators
+            while (subscriptions[s].poll() != null) {
+                lateReads++;
+            }
+            dropped += subscriptions[s].getDroppedFrames();
+        }
+        System.out.println("Shots: " + shots + ", frames encoded: " + hub.getEncodedFrames() + ", frames delivered: " + hub.getDeliveredFrames());
+        System.out.println("Live spectators read " + liveReads + " frames; late spectators read " + lateReads + " and dropped " + dropped);
+        System.out.println("Side 1's board, replayed from the first spectator's frames:");
+        replay.printBoard();
+        System.out.println();
+    }
+
+    /**
+     * The subscriptions of a single game, and the sequence number of its next frame.
+     */
+    private static final class Channel {
+        private final CopyOnWriteArrayList<SpectatorSubscription> subscriptions = new CopyOnWriteArrayList<>(); // The game's subscriptions
+        private final AtomicInteger nextSequence = new AtomicInteger(); // The sequence number of the game's next frame
+    }
+}
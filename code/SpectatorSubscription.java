@@ -0,0 +1,107 @@
+// By: Adeshvir Dhillon
+// Date: Oct 19, 2026
+
+// Imports
+import java.util.concurrent.atomic.AtomicLong; // The read and write positions of the ring
+import java.util.concurrent.atomic.AtomicReferenceArray; // The ring's slots, read and written by different threads
+import java.util.concurrent.atomic.LongAdder; // Counts the frames dropped because the spectator fell behind
+
+/**
+ * A single spectator's subscription to a game: a bounded ring of the GameFrames published for the game that the
+ * spectator hasn't read yet. Frames are offered by the thread running the game and polled by the spectator's thread.
+ * When a slow spectator lets the ring fill up, the oldest unread frame is dropped to make room (so the game never waits
+ * for a spectator, and a spectator that catches up always sees the latest frames). Dropped frames show up as gaps in
+ * the frames' sequence numbers. (Note: a subscription has a single publisher, the SpectatorHub, and a single reader).
+ */
+public class SpectatorSubscription {
+    // Variables
+    private final long gameId; // The id of the watched game
+    private final AtomicReferenceArray<GameFrame> ring; // The unread frames; frame n is held in slot n % capacity
+    private final int capacity; // The number of slots of the ring
+    private final AtomicLong head; // The number of frames read or dropped; the next frame to read
+    private final AtomicLong tail; // The number of frames offered; the next slot to write
+    private final LongAdder droppedFrames; // The number of frames dropped to make room
+    private volatile boolean closed; // True once the spectator has unsubscribed
+
+    // Constructors
+
+    /**
+     * --Constructor for SpectatorSubscription--
+     *
+     * @param gameId:   the id of the watched game
+     * @param capacity: the maximum number of unread frames held
+     */
+    public SpectatorSubscription(long gameId, int capacity) {
+        this.gameId = gameId;
+        this.capacity = capacity;
+        ring = new AtomicReferenceArray<>(capacity);
+        head = new AtomicLong();
+        tail = new AtomicLong();
+        droppedFrames = new LongAdder();
+    }
+
+    // Methods
+
+    /**
+     * Adds a frame to the ring, dropping the oldest unread frame if the ring is full. Only called by the SpectatorHub.
+     *
+     * @param frame: the frame to add
+     */
+    void offer(GameFrame frame) {
+        long t = tail.get();
+        long h = head.get();
+        if ((t - h >= capacity) && (head.compareAndSet(h, h + 1))) { // Full; drop the oldest frame (unless the spectator just read it)
+            droppedFrames.increment();
+        }
+        ring.set((int) (t % capacity), frame);
+        tail.set(t + 1);
+    }
+
+    /**
+     * Reads the oldest unread frame.
+     *
+     * @return the oldest unread frame, or null if there are none
+     */
+    public GameFrame poll() {
+        while (true) {
+            long h = head.get();
+            if (h == tail.get()) {
+                return null;
+            }
+            GameFrame frame = ring.get((int) (h % capacity));
+            if (head.compareAndSet(h, h + 1)) { // Fails if the frame was dropped (and maybe overwritten) while being read
+                return frame;
+            }
+        }
+    }
+
+    /**
+     * Marks the subscription as closed, so that the SpectatorHub stops offering it frames.
+     */
+    void close() {
+        closed = true;
+    }
+
+    // [Getter Methods]
+
+    /**
+     * @return the id of the watched game
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * @return the number of frames dropped because the spectator fell behind
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    /**
+     * @return boolean: true if the spectator has unsubscribed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+}